@@ -0,0 +1,77 @@
+package group.gnometrading.gateways.inbound;
+
+import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.sequencer.GlobalSequence;
+import group.gnometrading.sequencer.SequencedRingBuffer;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Feeds each venue's recorded capture through its reader's {@code handleGatewayMessage}, one frame per
+ * invocation, looping over the capture.
+ * <p>
+ * {@link #throughput()} reports msgs/sec and {@link #latency()} reports the ns/msg percentile distribution.
+ * Run with the default {@code -prof gc} and {@code gc.alloc.rate.norm} is the bytes allocated per message.
+ * The output ring has a no-op consumer, so the numbers cover parsing, book maintenance and encoding only.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SocketReaderParseBenchmark {
+
+    @Param({"HYPERLIQUID", "LIGHTER", "KALSHI", "POLYMARKET", "BINANCE"})
+    public RecordedVenue.Venue venue;
+
+    private SequencedRingBuffer<Mbp10Schema> outputBuffer;
+    private RecordedVenue recorded;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.outputBuffer = new SequencedRingBuffer<>(Mbp10Schema::new, new GlobalSequence());
+        this.outputBuffer.handleEventsWith((globalSequence, templateId, buffer, length) -> {});
+        this.outputBuffer.start();
+        this.recorded = new RecordedVenue(this.venue, this.outputBuffer, System::nanoTime);
+        this.next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.outputBuffer.shutdown();
+    }
+
+    private void feedNext() {
+        this.recorded.feed(this.next);
+        if (++this.next == this.recorded.frameCount()) {
+            this.next = 0;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughput() {
+        feedNext();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void latency() {
+        feedNext();
+    }
+}
@@ -0,0 +1,82 @@
+package group.gnometrading.gateways.inbound.mbp.buffer;
+
+import group.gnometrading.gateways.inbound.mbp.Mbp10Levels;
+import group.gnometrading.schemas.Mbp10Schema;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-message work a reader does against {@link MbpBufferBook}: apply a level update and
+ * encode the top 10 levels into the claimed {@link Mbp10Schema}, plus the replay-path {@code updateFrom}
+ * and the reconnect-path {@code copyFrom}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MbpBufferBookBenchmark {
+
+    private static final long BASE_PRICE = 1_000_000L;
+    private static final long TICK = 100L;
+    private static final long SIZE = 500L;
+
+    @Param({"10", "128", "1024"})
+    public int levels;
+
+    private MbpBufferBook<Mbp10Schema> book;
+    private MbpBufferBook<Mbp10Schema> copy;
+    private Mbp10Schema schema;
+    private long size;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.book = new MbpBufferBook<>(this.levels, Mbp10Levels.INSTANCE);
+        this.copy = new MbpBufferBook<>(this.levels, Mbp10Levels.INSTANCE);
+        this.schema = new Mbp10Schema();
+        for (int i = 0; i < this.levels; i++) {
+            this.book.updateBid(BASE_PRICE - i * TICK, SIZE, 1L);
+            this.book.updateAsk(BASE_PRICE + (i + 1) * TICK, SIZE, 1L);
+        }
+        this.book.writeTo(this.schema);
+        this.size = SIZE;
+    }
+
+    @Benchmark
+    public Mbp10Schema writeTo() {
+        this.book.writeTo(this.schema);
+        return this.schema;
+    }
+
+    @Benchmark
+    public Mbp10Schema updateAndWriteTo() {
+        this.size = this.size == SIZE ? SIZE + 1 : SIZE;
+        this.book.updateBid(BASE_PRICE - 7 * TICK, this.size, 1L);
+        this.book.writeTo(this.schema);
+        return this.schema;
+    }
+
+    @Benchmark
+    public MbpBufferBook<Mbp10Schema> updateFrom() {
+        this.copy.updateFrom(this.schema);
+        return this.copy;
+    }
+
+    @Benchmark
+    public MbpBufferBook<Mbp10Schema> copyFrom() {
+        this.copy.copyFrom(this.book);
+        return this.copy;
+    }
+}
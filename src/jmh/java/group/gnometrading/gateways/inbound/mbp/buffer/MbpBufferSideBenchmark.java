@@ -0,0 +1,110 @@
+package group.gnometrading.gateways.inbound.mbp.buffer;
+
+import group.gnometrading.gateways.inbound.mbp.Mbp10Levels;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the insert/remove/update paths of {@link MbpBufferSide} at the depths we run in production:
+ * 10 (top-of-book only), 128 ({@link MbpBufferSchemaFactory}) and 1024 (Polymarket).
+ * <p>
+ * Every churn benchmark leaves the side in the state it found it so the shift cost stays constant across
+ * invocations. The side is kept one level short of capacity so inserts never fall off the end.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MbpBufferSideBenchmark {
+
+    private static final long BASE_PRICE = 1_000_000L;
+    private static final long TICK = 100L;
+    private static final long SIZE = 500L;
+
+    @Param({"10", "128", "1024"})
+    public int levels;
+
+    private MbpBufferSide<Mbp10Schema> side;
+    private MbpBufferSide<Mbp10Schema> snapshotSide;
+    private long topPrice;
+    private long middlePrice;
+    private long deepPrice;
+    private long size;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.side = new MbpBufferSide<>(this.levels, true, Mbp10Levels.INSTANCE);
+        this.snapshotSide = new MbpBufferSide<>(this.levels, true, Mbp10Levels.INSTANCE);
+        for (int i = 0; i < this.levels - 1; i++) {
+            this.side.update(priceAt(i), SIZE, 1L);
+        }
+        this.topPrice = BASE_PRICE + TICK;
+        this.middlePrice = priceAt((this.levels - 1) / 2);
+        this.deepPrice = priceAt(this.levels - 2) - TICK / 2;
+        this.size = SIZE;
+    }
+
+    private static long priceAt(final int level) {
+        return BASE_PRICE - level * TICK;
+    }
+
+    @Benchmark
+    public int topOfBookModify() {
+        this.size = this.size == SIZE ? SIZE + 1 : SIZE;
+        return this.side.update(BASE_PRICE, this.size, 1L);
+    }
+
+    @Benchmark
+    public int topOfBookChurn() {
+        // A new best bid shifts every resting level down, cancelling it shifts them all back up
+        final int inserted = this.side.update(this.topPrice, SIZE, 1L);
+        return inserted + this.side.update(this.topPrice, 0L, 0L);
+    }
+
+    @Benchmark
+    public int deepInsert() {
+        final int inserted = this.side.update(this.deepPrice, SIZE, 1L);
+        return inserted + this.side.update(this.deepPrice, 0L, 0L);
+    }
+
+    @Benchmark
+    public int levelRemoval() {
+        final int removed = this.side.update(this.middlePrice, 0L, 0L);
+        return removed + this.side.update(this.middlePrice, SIZE, 1L);
+    }
+
+    @Benchmark
+    public int snapshotLoadBestFirst() {
+        // Exchanges send snapshots best-first, so every level is appended without a shift
+        this.snapshotSide.reset();
+        int depth = 0;
+        for (int i = 0; i < this.levels; i++) {
+            depth = this.snapshotSide.update(priceAt(i), SIZE, 1L);
+        }
+        return depth;
+    }
+
+    @Benchmark
+    public int snapshotLoadWorstFirst() {
+        // Worst-first snapshots insert every level at index 0 and pay the full shift each time
+        this.snapshotSide.reset();
+        int depth = 0;
+        for (int i = this.levels - 1; i >= 0; i--) {
+            depth = this.snapshotSide.update(priceAt(i), SIZE, 1L);
+        }
+        return depth;
+    }
+}
@@ -9,6 +9,7 @@ import java.nio.ByteBuffer;
 public class FixSocketMessageClient extends AbstractSocketMessageClient {
 
     private final FixMessage inboundMessage;
+    private final ByteBuffer frame;
 
     public FixSocketMessageClient(
             final InetSocketAddress address,
@@ -19,16 +20,34 @@ public class FixSocketMessageClient extends AbstractSocketMessageClient {
             throws IOException {
         super(address, socketFactory, readBufferSize, writeBufferSize);
         this.inboundMessage = new FixMessage(config);
+        this.frame = ByteBuffer.allocate(readBufferSize);
     }
 
     @Override
     @SuppressWarnings("checkstyle:DesignForExtension")
     public boolean isCompleteMessage(final ByteBuffer byteBuffer) {
-        return this.inboundMessage.parseBuffer(byteBuffer);
+        final int start = byteBuffer.position();
+        if (!this.inboundMessage.parseBuffer(byteBuffer)) {
+            return false;
+        }
+        final int length = byteBuffer.position() - start;
+        this.frame.clear();
+        this.frame.put(0, byteBuffer, start, length);
+        this.frame.limit(length);
+        return true;
     }
 
     @SuppressWarnings("checkstyle:DesignForExtension")
     public FixMessage getMessage() {
         return this.inboundMessage;
     }
+
+    /**
+     * @return the wire bytes of the last complete message, copied out of the read buffer so they stay valid
+     *     until the next complete message
+     */
+    @SuppressWarnings("checkstyle:DesignForExtension")
+    public ByteBuffer getFrame() {
+        return this.frame;
+    }
 }
@@ -0,0 +1,173 @@
+package group.gnometrading.gateways.inbound;
+
+import group.gnometrading.concurrent.GnomeAgent;
+import group.gnometrading.gateways.inbound.counters.ListingCounters;
+import java.nio.ByteBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.MessageHandler;
+import org.agrona.concurrent.ringbuffer.OneToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+
+/**
+ * A {@link RawDataSink} that hands captures to another thread through an off-heap single-producer ring.
+ * <p>
+ * {@link #capture} runs on the reader thread and only copies the payload into the ring. This class is also
+ * the {@link GnomeAgent} that drains the ring into the downstream sink, so disk writes, page faults and
+ * writeback happen on the drainer's thread. Run it on its own agent runner; there must be exactly one
+ * capturing thread and one draining thread.
+ */
+public final class AsyncRawDataSink implements RawDataSink, GnomeAgent {
+
+    /**
+     * What the reader thread does when the ring has no room for a capture.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drop the capture and count it, never delaying the reader.
+         */
+        DROP,
+        /**
+         * Spin until the drainer frees enough room, keeping the capture lossless.
+         */
+        BLOCK
+    }
+
+    private static final int MSG_TYPE_ID = 1;
+    private static final int TIMESTAMP_LENGTH = Long.BYTES;
+    private static final int DRAIN_LIMIT = 256;
+
+    private final RawDataSink downstream;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxFrameLength;
+    private final OneToOneRingBuffer ring;
+    private final UnsafeBuffer ringBuffer;
+    private final ByteBuffer payloadView;
+    private final MessageHandler drainHandler;
+    private ListingCounters counters = ListingCounters.NO_OP;
+
+    private volatile long droppedFrames;
+    private volatile long blockedFrames;
+
+    /**
+     * A sink whose largest frame is as much as the ring can hold in one capture.
+     *
+     * @param capacity ring capacity in bytes, a power of two; a single capture may use at most 1/8 of it
+     */
+    public AsyncRawDataSink(final RawDataSink downstream, final int capacity, final OverflowPolicy overflowPolicy) {
+        this(downstream, capacity, maxFrameLength(capacity), overflowPolicy);
+    }
+
+    /**
+     * @param capacity ring capacity in bytes, a power of two; a single capture may use at most 1/8 of it
+     * @param maxFrameLength the largest frame captured; larger frames are dropped and counted
+     */
+    public AsyncRawDataSink(
+            final RawDataSink downstream,
+            final int capacity,
+            final int maxFrameLength,
+            final OverflowPolicy overflowPolicy) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        if (maxFrameLength <= 0 || maxFrameLength > maxFrameLength(capacity)) {
+            throw new IllegalArgumentException("Invalid max frame length: " + maxFrameLength);
+        }
+        this.downstream = downstream;
+        this.overflowPolicy = overflowPolicy;
+        this.maxFrameLength = maxFrameLength;
+        final ByteBuffer backing = ByteBuffer.allocateDirect(capacity + RingBufferDescriptor.TRAILER_LENGTH);
+        this.ringBuffer = new UnsafeBuffer(backing);
+        this.ring = new OneToOneRingBuffer(this.ringBuffer);
+        this.payloadView = backing.duplicate();
+        this.drainHandler = this::onMessage;
+    }
+
+    @Override
+    public void capture(final long recvTimestamp, final ByteBuffer buffer) {
+        final int payloadLength = buffer.remaining();
+        if (payloadLength > this.maxFrameLength) {
+            // Waiting for the drainer cannot make room for it, so it is dropped whatever the policy
+            this.droppedFrames++;
+            return;
+        }
+
+        final int length = TIMESTAMP_LENGTH + payloadLength;
+        int index = this.ring.tryClaim(MSG_TYPE_ID, length);
+        if (index < 0) {
+            if (this.overflowPolicy == OverflowPolicy.DROP) {
+                this.droppedFrames++;
+                return;
+            }
+            this.blockedFrames++;
+            do {
+                Thread.onSpinWait();
+                index = this.ring.tryClaim(MSG_TYPE_ID, length);
+            } while (index < 0);
+        }
+
+        this.ringBuffer.putLong(index, recvTimestamp);
+        this.ringBuffer.putBytes(index + TIMESTAMP_LENGTH, buffer, buffer.position(), payloadLength);
+        this.ring.commit(index);
+    }
+
+    @Override
+    public int doWork() {
+        final int drained = this.ring.read(this.drainHandler, DRAIN_LIMIT);
+        this.counters.captureQueueDepth(this.ring.size());
+        return drained;
+    }
+
+    /**
+     * Report the ring's queue depth into {@code counters} after every drain. Must be called before the
+     * drainer starts.
+     */
+    public void setCounters(final ListingCounters counters) {
+        this.counters = counters;
+    }
+
+    private void onMessage(final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length) {
+        final int payloadOffset = index + TIMESTAMP_LENGTH;
+        this.payloadView.limit(index + length).position(payloadOffset);
+        this.downstream.capture(buffer.getLong(index), this.payloadView);
+    }
+
+    /**
+     * Drain whatever the reader captured before closing.
+     */
+    @Override
+    public void onClose() {
+        while (this.ring.read(this.drainHandler, DRAIN_LIMIT) > 0) {
+            // Keep draining
+        }
+    }
+
+    /**
+     * @return captures dropped because the ring was full, under {@link OverflowPolicy#DROP}, or because they were
+     *     larger than the max frame length
+     */
+    public long droppedFrames() {
+        return this.droppedFrames;
+    }
+
+    /**
+     * @return captures that had to wait for room in the ring, under {@link OverflowPolicy#BLOCK}
+     */
+    public long blockedFrames() {
+        return this.blockedFrames;
+    }
+
+    /**
+     * @return bytes waiting in the ring to be drained
+     */
+    public int queueDepth() {
+        return this.ring.size();
+    }
+
+    /**
+     * @return the largest payload a ring of {@code capacity} bytes takes in one capture
+     */
+    private static int maxFrameLength(final int capacity) {
+        return capacity / 8 - TIMESTAMP_LENGTH;
+    }
+}
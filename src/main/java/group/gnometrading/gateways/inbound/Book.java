@@ -22,4 +22,12 @@ public interface Book<T extends Schema> extends Comparable<Book<T>>, Copyable<Bo
      * @param schema the schema to read
      */
     void updateFrom(T schema);
+
+    /**
+     * Signal that {@code schema} no longer holds an image this book wrote, e.g. another record was copied into
+     * it. Books that only re-encode levels changed since a schema's last writeTo must encode every level next
+     * time it is written.
+     * @param schema the overwritten schema
+     */
+    default void invalidateImage(T schema) {}
 }
@@ -0,0 +1,265 @@
+package group.gnometrading.gateways.inbound;
+
+import group.gnometrading.gateways.inbound.counters.ListingCounters;
+import group.gnometrading.gateways.inbound.mbp.MbpLevels;
+import group.gnometrading.logging.LogMessage;
+import group.gnometrading.logging.Logger;
+import group.gnometrading.schemas.Schema;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Runs the {@link IntegrityCheck}s on every book record a reader publishes, on the reader thread, reading the
+ * levels of the record itself so every book implementation is checked the same way.
+ * <p>
+ * The sequence and stale top of book checks compare a record with the previous one of the same book, so a reader
+ * that publishes several books over one connection, e.g. a multi-token Polymarket reader, keeps their records
+ * apart; the book is the one {@link SocketReader#snapshotRecordBook()} returns.
+ * <p>
+ * Each failure is counted per check and in the listing's shared-memory counters. Checks configured with
+ * {@link IntegrityAction#LOG} also log a message per check through the reader's logger, and checks configured
+ * with {@link IntegrityAction#RECONNECT} raise a resync request, which the gateway's sanity check takes and
+ * turns into a forced reconnect. Configure before the first connect(); the counts and the resync request are
+ * safe to read from any thread.
+ *
+ * @param <T> the schema type
+ */
+public final class BookIntegrityMonitor<T extends Schema> {
+
+    // A side may be empty by default: thin books, prediction markets especially, are often one-sided for long
+    // stretches, and flagging every record of such a book would bury the real anomalies
+    static final int DEFAULT_MIN_LEVELS = 0;
+
+    private static final IntegrityCheck[] CHECKS = IntegrityCheck.values();
+
+    private final MbpLevels<T> levels;
+    private final Logger logger;
+    private final IntegrityAction[] actions = new IntegrityAction[CHECKS.length];
+    private final AtomicLongArray failures = new AtomicLongArray(CHECKS.length);
+    private long staleTopOfBookNanos;
+    private int minLevels = DEFAULT_MIN_LEVELS;
+
+    // Books seen since construction and their state, searched linearly: a reader publishes a handful at most
+    private Object[] books = new Object[1];
+    private BookState[] states = new BookState[1];
+    private int bookCount;
+
+    private volatile boolean resyncRequested;
+
+    BookIntegrityMonitor(final MbpLevels<T> levels, final Logger logger) {
+        this.levels = levels;
+        this.logger = logger;
+        for (int i = 0; i < CHECKS.length; i++) {
+            this.actions[i] = IntegrityAction.COUNT;
+        }
+    }
+
+    public void setAction(final IntegrityCheck check, final IntegrityAction action) {
+        this.actions[check.ordinal()] = action;
+    }
+
+    /**
+     * @param intervalNanos how long the top of book may stay unchanged while book records arrive, 0 to disable
+     */
+    public void setStaleTopOfBookInterval(final long intervalNanos) {
+        if (intervalNanos < 0) {
+            throw new IllegalArgumentException("Invalid stale top of book interval: " + intervalNanos);
+        }
+        this.staleTopOfBookNanos = intervalNanos;
+    }
+
+    /**
+     * @param minLevels populated levels each side must have, 0 to allow empty sides
+     */
+    public void setMinLevels(final int minLevels) {
+        if (minLevels < 0 || minLevels > this.levels.depth()) {
+            throw new IllegalArgumentException("Invalid min levels: " + minLevels);
+        }
+        this.minLevels = minLevels;
+    }
+
+    /**
+     * @return failures of {@code check} since the reader was created
+     */
+    public long failures(final IntegrityCheck check) {
+        return this.failures.get(check.ordinal());
+    }
+
+    /**
+     * Clear and return the resync request raised by a failing check configured to reconnect.
+     */
+    public boolean takeResyncRequest() {
+        if (!this.resyncRequested) {
+            return false;
+        }
+        this.resyncRequested = false;
+        return true;
+    }
+
+    /**
+     * Forget the previous record of every book, e.g. after a reconnect, when sequences and the books start over.
+     */
+    void reset() {
+        for (int i = 0; i < this.bookCount; i++) {
+            this.states[i].reset();
+        }
+    }
+
+    /**
+     * Check a book record about to be published.
+     *
+     * @param book the book the record was written from, compared by identity
+     * @param timed false when recvTimestamp is not the time the record arrived, e.g. in a journal replay, which
+     *     skips the stale top of book check
+     */
+    void check(
+            final T schema,
+            final Object book,
+            final long recvTimestamp,
+            final boolean timed,
+            final ListingCounters counters) {
+        final BookState state = stateOf(book);
+        final long sequence = schema.getSequenceNumber();
+        if (sequence < state.lastSequence) {
+            fail(IntegrityCheck.SEQUENCE_REGRESSION, counters);
+        }
+        state.lastSequence = sequence;
+
+        final boolean bidsValid = checkSide(schema, true);
+        final boolean asksValid = checkSide(schema, false);
+        if (!bidsValid || !asksValid) {
+            fail(IntegrityCheck.LEVEL_ANOMALY, counters);
+        }
+
+        // A gap at the top is a level anomaly, not a missing side
+        final long bestBid =
+                this.levels.hasLevel(schema, true, 0) ? this.levels.readPrice(schema, true, 0) : Long.MIN_VALUE;
+        final long bestAsk =
+                this.levels.hasLevel(schema, false, 0) ? this.levels.readPrice(schema, false, 0) : Long.MAX_VALUE;
+        if (bestBid >= bestAsk) {
+            fail(IntegrityCheck.CROSSED_BOOK, counters);
+        }
+
+        if (timed && this.staleTopOfBookNanos > 0) {
+            checkStaleTop(schema, state, recvTimestamp, bestBid, bestAsk, counters);
+        }
+    }
+
+    /**
+     * @return false if the side has too few levels, a gap, or levels out of price order
+     */
+    private boolean checkSide(final T schema, final boolean isBid) {
+        final int depth = this.levels.depth();
+        int count = 0;
+        boolean valid = true;
+        long previous = 0;
+        for (int level = 0; level < depth; level++) {
+            if (!this.levels.hasLevel(schema, isBid, level)) {
+                continue;
+            }
+            final long price = this.levels.readPrice(schema, isBid, level);
+            if (count != level || (count > 0 && (isBid ? price >= previous : price <= previous))) {
+                valid = false;
+            }
+            previous = price;
+            count++;
+        }
+        return valid && count >= this.minLevels;
+    }
+
+    private void checkStaleTop(
+            final T schema,
+            final BookState state,
+            final long recvTimestamp,
+            final long bestBid,
+            final long bestAsk,
+            final ListingCounters counters) {
+        final long bestBidSize = bestBid != Long.MIN_VALUE ? this.levels.readSize(schema, true, 0) : 0;
+        final long bestAskSize = bestAsk != Long.MAX_VALUE ? this.levels.readSize(schema, false, 0) : 0;
+        if (state.lastTopChange == Long.MIN_VALUE
+                || bestBid != state.bidPrice
+                || bestBidSize != state.bidSize
+                || bestAsk != state.askPrice
+                || bestAskSize != state.askSize) {
+            state.bidPrice = bestBid;
+            state.bidSize = bestBidSize;
+            state.askPrice = bestAsk;
+            state.askSize = bestAskSize;
+            state.lastTopChange = recvTimestamp;
+            state.staleReported = false;
+        } else if (!state.staleReported && recvTimestamp - state.lastTopChange >= this.staleTopOfBookNanos) {
+            // Reported once per stale stretch, not for every record in it
+            state.staleReported = true;
+            fail(IntegrityCheck.STALE_TOP_OF_BOOK, counters);
+        }
+    }
+
+    /**
+     * @return the state of {@code book}, created the first time the book is seen
+     */
+    private BookState stateOf(final Object book) {
+        for (int i = 0; i < this.bookCount; i++) {
+            if (this.books[i] == book) {
+                return this.states[i];
+            }
+        }
+        if (this.bookCount == this.books.length) {
+            this.books = Arrays.copyOf(this.books, this.bookCount << 1);
+            this.states = Arrays.copyOf(this.states, this.bookCount << 1);
+        }
+        final BookState state = new BookState();
+        this.books[this.bookCount] = book;
+        this.states[this.bookCount] = state;
+        this.bookCount++;
+        return state;
+    }
+
+    /**
+     * Count a level the reader's book could not hold. The book no longer matches the venue's, so a resync is
+     * requested whatever the configured action.
+     */
+    void rejectLevel(final ListingCounters counters) {
+        fail(IntegrityCheck.LEVEL_ANOMALY, counters);
+        this.resyncRequested = true;
+    }
+
+    private void fail(final IntegrityCheck check, final ListingCounters counters) {
+        final int index = check.ordinal();
+        this.failures.lazySet(index, this.failures.get(index) + 1);
+        counters.onIntegrityFailure(check);
+        final IntegrityAction action = this.actions[index];
+        if (action == IntegrityAction.LOG) {
+            this.logger.log(logMessage(check));
+        } else if (action == IntegrityAction.RECONNECT && !this.resyncRequested) {
+            this.resyncRequested = true;
+        }
+    }
+
+    private static LogMessage logMessage(final IntegrityCheck check) {
+        return switch (check) {
+            case CROSSED_BOOK -> LogMessage.BOOK_CROSSED;
+            case SEQUENCE_REGRESSION -> LogMessage.BOOK_SEQUENCE_REGRESSED;
+            case STALE_TOP_OF_BOOK -> LogMessage.BOOK_TOP_STALE;
+            case LEVEL_ANOMALY -> LogMessage.BOOK_LEVELS_INVALID;
+        };
+    }
+
+    /**
+     * The previous record of one book.
+     */
+    private static final class BookState {
+        private long lastSequence = Long.MIN_VALUE;
+        private long bidPrice;
+        private long bidSize;
+        private long askPrice;
+        private long askSize;
+        private long lastTopChange = Long.MIN_VALUE;
+        private boolean staleReported;
+
+        private void reset() {
+            this.lastSequence = Long.MIN_VALUE;
+            this.lastTopChange = Long.MIN_VALUE;
+            this.staleReported = false;
+        }
+    }
+}
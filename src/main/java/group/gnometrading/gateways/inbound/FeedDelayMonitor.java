@@ -0,0 +1,176 @@
+package group.gnometrading.gateways.inbound;
+
+/**
+ * Compares the venue's event timestamp with our recvTimestamp for every live record of one listing.
+ * <p>
+ * Recv minus event is clock skew plus the time the update spent in flight. The skew baseline is the minimum of
+ * that offset over the last {@value #BASELINE_WINDOWS} baseline windows, i.e. skew plus best-case wire time,
+ * and rolls forward so a drifting venue clock is followed. What sits above the baseline is feed delay, recorded
+ * into a {@link LatencyHistogram}. Feed delay and our own processing delay (recv to publish) are flagged
+ * against separate thresholds, so a slow venue is not mistaken for a slow reader and vice versa.
+ * <p>
+ * Updated on the reader thread only; the accessors are safe to call from any thread.
+ */
+public final class FeedDelayMonitor {
+
+    static final int BASELINE_WINDOWS = 8;
+    static final long DEFAULT_BASELINE_WINDOW_NANOS = 60_000_000_000L; // 1 minute
+
+    private final long[] windowMinimums = new long[BASELINE_WINDOWS];
+    private final LatencyHistogram feedDelay = new LatencyHistogram();
+    private long baselineWindowNanos = DEFAULT_BASELINE_WINDOW_NANOS;
+    private long feedDelaySpikeNanos;
+    private long processingDelaySpikeNanos;
+    private long windowStart = Long.MIN_VALUE;
+    private int window;
+
+    private volatile long skewBaseline = Long.MAX_VALUE;
+    private volatile long feedDelaySpikes;
+    private volatile long processingDelaySpikes;
+    private volatile boolean feedDelayed;
+    private volatile boolean processingDelayed;
+
+    FeedDelayMonitor() {
+        resetWindows();
+    }
+
+    /**
+     * @param baselineWindowNanos how long each window of the rolling skew baseline spans
+     * @param feedDelaySpikeNanos feed delay above the baseline that counts as a spike, 0 to disable
+     * @param processingDelaySpikeNanos recv to publish time that counts as a spike, 0 to disable
+     */
+    public void setThresholds(
+            final long baselineWindowNanos, final long feedDelaySpikeNanos, final long processingDelaySpikeNanos) {
+        if (baselineWindowNanos <= 0) {
+            throw new IllegalArgumentException("Invalid skew baseline window: " + baselineWindowNanos);
+        }
+        if (feedDelaySpikeNanos < 0) {
+            throw new IllegalArgumentException("Invalid feed delay spike threshold: " + feedDelaySpikeNanos);
+        }
+        if (processingDelaySpikeNanos < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid processing delay spike threshold: " + processingDelaySpikeNanos);
+        }
+        this.baselineWindowNanos = baselineWindowNanos;
+        this.feedDelaySpikeNanos = feedDelaySpikeNanos;
+        this.processingDelaySpikeNanos = processingDelaySpikeNanos;
+    }
+
+    /**
+     * Account for one published record.
+     *
+     * @param eventTimestamp the venue's timestamp for the record, {@link SchemaFactory#NO_TIMESTAMP} if it has
+     *     none; only processing delay is checked then
+     * @param recvTimestamp when the frame carrying the record was read
+     * @param publishTimestamp when the record was published
+     */
+    void record(final long eventTimestamp, final long recvTimestamp, final long publishTimestamp) {
+        final boolean processingSpike = this.processingDelaySpikeNanos > 0
+                && publishTimestamp - recvTimestamp > this.processingDelaySpikeNanos;
+        if (processingSpike) {
+            this.processingDelaySpikes++;
+        }
+        if (processingSpike != this.processingDelayed) {
+            this.processingDelayed = processingSpike;
+        }
+
+        if (eventTimestamp == SchemaFactory.NO_TIMESTAMP) {
+            return;
+        }
+        rollWindows(recvTimestamp);
+        final long offset = recvTimestamp - eventTimestamp;
+        if (offset < this.windowMinimums[this.window]) {
+            this.windowMinimums[this.window] = offset;
+            if (offset < this.skewBaseline) {
+                this.skewBaseline = offset;
+            }
+        }
+
+        final long delay = offset - this.skewBaseline;
+        this.feedDelay.record(delay);
+        final boolean feedSpike = this.feedDelaySpikeNanos > 0 && delay > this.feedDelaySpikeNanos;
+        if (feedSpike) {
+            this.feedDelaySpikes++;
+        }
+        if (feedSpike != this.feedDelayed) {
+            this.feedDelayed = feedSpike;
+        }
+    }
+
+    /**
+     * @return the rolling minimum of recv minus event in nanos, skew plus best-case wire time, or
+     *     {@link Long#MAX_VALUE} before the first timestamped record
+     */
+    public long skewBaselineNanos() {
+        return this.skewBaseline;
+    }
+
+    /**
+     * Copy the distribution of feed delay above the skew baseline into {@code target}.
+     */
+    public void feedDelaySnapshot(final LatencyHistogram target) {
+        this.feedDelay.copyInto(target);
+    }
+
+    /**
+     * @return records whose feed delay exceeded its threshold
+     */
+    public long feedDelaySpikes() {
+        return this.feedDelaySpikes;
+    }
+
+    /**
+     * @return records whose recv to publish time exceeded its threshold
+     */
+    public long processingDelaySpikes() {
+        return this.processingDelaySpikes;
+    }
+
+    /**
+     * @return whether the last timestamped record was a feed delay spike
+     */
+    public boolean isFeedDelayed() {
+        return this.feedDelayed;
+    }
+
+    /**
+     * @return whether the last record was a processing delay spike
+     */
+    public boolean isProcessingDelayed() {
+        return this.processingDelayed;
+    }
+
+    private void rollWindows(final long recvTimestamp) {
+        if (this.windowStart == Long.MIN_VALUE) {
+            this.windowStart = recvTimestamp;
+            return;
+        }
+        final long elapsed = (recvTimestamp - this.windowStart) / this.baselineWindowNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        if (elapsed >= BASELINE_WINDOWS) {
+            resetWindows();
+        } else {
+            for (int i = 0; i < elapsed; i++) {
+                this.window = (this.window + 1) % BASELINE_WINDOWS;
+                this.windowMinimums[this.window] = Long.MAX_VALUE;
+            }
+        }
+        this.windowStart += elapsed * this.baselineWindowNanos;
+
+        long baseline = Long.MAX_VALUE;
+        for (long minimum : this.windowMinimums) {
+            baseline = Math.min(baseline, minimum);
+        }
+        if (baseline != this.skewBaseline) {
+            this.skewBaseline = baseline;
+        }
+    }
+
+    private void resetWindows() {
+        for (int i = 0; i < BASELINE_WINDOWS; i++) {
+            this.windowMinimums[i] = Long.MAX_VALUE;
+        }
+    }
+}
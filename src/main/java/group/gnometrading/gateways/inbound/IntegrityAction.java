@@ -0,0 +1,19 @@
+package group.gnometrading.gateways.inbound;
+
+/**
+ * What happens when an {@link IntegrityCheck} fails.
+ */
+public enum IntegrityAction {
+    /**
+     * Count the failure in the reader's integrity counters and its shared-memory counters.
+     */
+    COUNT,
+    /**
+     * Count the failure and log it through the reader's logger, from the reader thread.
+     */
+    LOG,
+    /**
+     * Count the failure and ask the gateway to resync the book through a forced reconnect.
+     */
+    RECONNECT
+}
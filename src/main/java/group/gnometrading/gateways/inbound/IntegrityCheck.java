@@ -0,0 +1,23 @@
+package group.gnometrading.gateways.inbound;
+
+/**
+ * The book integrity checks a {@link SocketReader} runs on every book record it publishes.
+ */
+public enum IntegrityCheck {
+    /**
+     * The best bid is at or above the best ask.
+     */
+    CROSSED_BOOK,
+    /**
+     * The record's sequence number is lower than the one published before it.
+     */
+    SEQUENCE_REGRESSION,
+    /**
+     * Book records keep arriving but the top of book has not changed for the configured interval.
+     */
+    STALE_TOP_OF_BOOK,
+    /**
+     * A side has fewer levels than configured, a gap between populated levels, or levels out of price order.
+     */
+    LEVEL_ANOMALY
+}
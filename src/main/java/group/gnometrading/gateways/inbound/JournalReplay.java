@@ -0,0 +1,165 @@
+package group.gnometrading.gateways.inbound;
+
+import group.gnometrading.gateways.inbound.journal.JournalArchiveReader;
+import group.gnometrading.gateways.inbound.journal.JournalReader;
+import group.gnometrading.gateways.inbound.journal.JournalSegmentReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link SocketReader} from captured journal segments instead of its socket.
+ * <p>
+ * Each frame is pushed through {@link SocketReader#handleGatewayMessage} with the reader's recvTimestamp set
+ * to the captured one, so the reader publishes into its output buffer exactly what it published live. With
+ * {@link Pacing#AS_FAST_AS_POSSIBLE} this measures parser throughput on real traffic; with
+ * {@link Pacing#RECORDED} frames are released at their original spacing. Those recvTimestamps are historical,
+ * so while replaying the reader keeps them out of its latency histograms, feed delay monitor and stale top of
+ * book check.
+ * <p>
+ * FIX readers replay through their session, so a FIX journal must start at the MsgSeqNum a fresh session
+ * expects.
+ */
+public final class JournalReplay {
+
+    public enum Pacing {
+        AS_FAST_AS_POSSIBLE,
+        RECORDED
+    }
+
+    private static final long SPIN_THRESHOLD_NANOS = 50_000L;
+
+    private final SocketReader<?> reader;
+    private final Pacing pacing;
+    private final JournalSegmentReader.FrameHandler frameHandler;
+
+    private long firstRecvTimestamp;
+    private long startNanos;
+    private long frames;
+
+    public JournalReplay(final SocketReader<?> reader, final Pacing pacing) {
+        this.reader = reader;
+        this.pacing = pacing;
+        this.frameHandler = this::onFrame;
+        this.firstRecvTimestamp = -1;
+    }
+
+    /**
+     * Replay every frame of one segment.
+     *
+     * @return the number of frames replayed
+     */
+    public long replay(final Path segment) {
+        try (JournalSegmentReader segmentReader = new JournalSegmentReader(segment)) {
+            return replay(segmentReader);
+        }
+    }
+
+    /**
+     * Replay the remaining frames of an open segment from its current position.
+     *
+     * @return the number of frames replayed
+     */
+    public long replay(final JournalSegmentReader segmentReader) {
+        final long before = this.frames;
+        this.reader.resume();
+        this.reader.setJournalReplay(true);
+        try {
+            segmentReader.read(this.frameHandler);
+        } finally {
+            this.reader.setJournalReplay(false);
+        }
+        return this.frames - before;
+    }
+
+    /**
+     * Replay every frame of a compacted segment.
+     *
+     * @return the number of frames replayed
+     */
+    public long replay(final JournalArchiveReader archiveReader) {
+        final long before = this.frames;
+        this.reader.resume();
+        this.reader.setJournalReplay(true);
+        try {
+            archiveReader.read(this.frameHandler);
+        } finally {
+            this.reader.setJournalReplay(false);
+        }
+        return this.frames - before;
+    }
+
+    /**
+     * Replay every segment of {@code listingId} in {@code directory}, in segment order, whether it is still a
+     * journal segment or has been compacted into an archive.
+     *
+     * @return the number of frames replayed
+     */
+    public long replay(final Path directory, final int listingId) {
+        return replay(directory, listingId, Long.MIN_VALUE);
+    }
+
+    /**
+     * Replay the frames of {@code listingId} in {@code directory} from {@code fromTimestamp} onwards, seeking
+     * past the earlier ones through the journal indexes.
+     *
+     * @return the number of frames replayed
+     */
+    public long replay(final Path directory, final int listingId, final long fromTimestamp) {
+        final JournalReader journalReader = new JournalReader(directory);
+        journalReader.seek(listingId, fromTimestamp);
+        return replay(journalReader);
+    }
+
+    /**
+     * Replay from a journal reader's seek position to the end of its journal.
+     *
+     * @return the number of frames replayed
+     */
+    public long replay(final JournalReader journalReader) {
+        final long before = this.frames;
+        this.reader.resume();
+        this.reader.setJournalReplay(true);
+        try {
+            journalReader.read(this.frameHandler);
+        } finally {
+            this.reader.setJournalReplay(false);
+        }
+        return this.frames - before;
+    }
+
+    /**
+     * @return the number of frames replayed since construction
+     */
+    public long frames() {
+        return this.frames;
+    }
+
+    private void onFrame(final int listingId, final long recvTimestamp, final ByteBuffer payload) {
+        if (this.pacing == Pacing.RECORDED) {
+            awaitRecordedTime(recvTimestamp);
+        }
+        while (payload.hasRemaining()) {
+            this.reader.recvTimestamp = recvTimestamp;
+            this.reader.handleGatewayMessage(payload);
+        }
+        this.frames++;
+    }
+
+    private void awaitRecordedTime(final long recvTimestamp) {
+        if (this.firstRecvTimestamp < 0) {
+            this.firstRecvTimestamp = recvTimestamp;
+            this.startNanos = System.nanoTime();
+            return;
+        }
+        final long releaseAt = this.startNanos + (recvTimestamp - this.firstRecvTimestamp);
+        long remaining;
+        while ((remaining = releaseAt - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
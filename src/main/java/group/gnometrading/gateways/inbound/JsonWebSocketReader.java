@@ -41,7 +41,8 @@ public abstract class JsonWebSocketReader<T extends Schema> extends WebSocketRea
     }
 
     /**
-     * Allows venue readers to consume application-level text frames such as {@code PONG}.
+     * Allows venue readers to consume frames without JSON decoding, such as application-level {@code PONG}
+     * text or frames recognised from their raw bytes.
      * Implementations must not advance the buffer when returning {@code false}.
      */
     protected boolean handleNonJsonMessage(ByteBuffer buffer) {
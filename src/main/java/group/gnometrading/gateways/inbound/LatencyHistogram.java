@@ -0,0 +1,131 @@
+package group.gnometrading.gateways.inbound;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, allocation-free latency histogram in nanoseconds, bucketed log-linearly in the manner of
+ * HdrHistogram: values below {@value #SUB_BUCKET_COUNT} are counted exactly and every power of two above that
+ * is split into {@value #HALF_SUB_BUCKET_COUNT} buckets, so any recorded value is reported within 1/64 of
+ * itself. Values above {@link #MAX_VALUE} (about 18 minutes) are counted as {@link #MAX_VALUE}.
+ * <p>
+ * One thread records; any thread may {@link #copyInto} a snapshot while it does. Each bucket is read
+ * atomically, but a snapshot taken mid-record may miss the record in flight. {@link #reset} must not race a
+ * recorder, so supervisors copy the live histogram and query or reset their copy.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT >> 1;
+    private static final int MAX_VALUE_BITS = 40;
+    public static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private volatile long minValue = Long.MAX_VALUE;
+    private volatile long maxValue = 0;
+
+    /**
+     * Count one value. Negative values are counted as 0.
+     */
+    public void record(final long nanos) {
+        final long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        final int index = bucketIndex(value);
+        // Single writer: a release store is enough and avoids a locked increment per record
+        this.counts.lazySet(index, this.counts.get(index) + 1);
+        if (value < this.minValue) {
+            this.minValue = value;
+        }
+        if (value > this.maxValue) {
+            this.maxValue = value;
+        }
+    }
+
+    /**
+     * Overwrite {@code target} with the current contents of this histogram.
+     */
+    public void copyInto(final LatencyHistogram target) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            target.counts.lazySet(i, this.counts.get(i));
+        }
+        target.minValue = this.minValue;
+        target.maxValue = this.maxValue;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.counts.lazySet(i, 0);
+        }
+        this.minValue = Long.MAX_VALUE;
+        this.maxValue = 0;
+    }
+
+    /**
+     * @return values recorded since creation or the last reset
+     */
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += this.counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @return the smallest value recorded, 0 if none has been
+     */
+    public long min() {
+        final long min = this.minValue;
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    /**
+     * @return the largest value recorded, 0 if none has been
+     */
+    public long max() {
+        return this.maxValue;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the value at or below which {@code percentile} of recorded values fall, reported as the top of
+     *     its bucket and capped at {@link #max()}, 0 if nothing has been recorded
+     */
+    public long valueAtPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Invalid percentile: " + percentile);
+        }
+        final long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += this.counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), max());
+            }
+        }
+        return max();
+    }
+
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        final int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT + subBucket - HALF_SUB_BUCKET_COUNT;
+    }
+
+    static long highestEquivalentValue(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int offset = index - SUB_BUCKET_COUNT;
+        final int shift = offset / HALF_SUB_BUCKET_COUNT + 1;
+        final long subBucket = offset % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return (subBucket << shift) + (1L << shift) - 1;
+    }
+}
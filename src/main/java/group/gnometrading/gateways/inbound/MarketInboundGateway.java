@@ -1,6 +1,7 @@
 package group.gnometrading.gateways.inbound;
 
 import group.gnometrading.concurrent.GnomeAgent;
+import group.gnometrading.gateways.inbound.counters.ListingCounters;
 import group.gnometrading.logging.LogMessage;
 import group.gnometrading.logging.Logger;
 import group.gnometrading.utils.Schedule;
@@ -15,12 +16,45 @@ public final class MarketInboundGateway implements GnomeAgent {
     private final Schedule keepAliveSchedule;
     private final Schedule sanityCheckSchedule;
     private final SocketConnectController connectController;
+    private final ListingCounters counters;
 
     public MarketInboundGateway(
             Logger logger, MarketInboundGatewayConfig config, SocketReader<?> socketReader, EpochClock clock) {
+        this(logger, config, socketReader, clock, ListingCounters.NO_OP);
+    }
+
+    /**
+     * @param counters the listing's shared-memory counters, which the reader and connect controller report into
+     */
+    public MarketInboundGateway(
+            Logger logger,
+            MarketInboundGatewayConfig config,
+            SocketReader<?> socketReader,
+            EpochClock clock,
+            ListingCounters counters) {
         this.logger = logger;
         this.socketReader = socketReader;
         this.config = config;
+        this.counters = counters;
+        this.socketReader.setCounters(counters);
+        this.socketReader.setFrameBudget(config.frameBudget());
+        this.socketReader.setReplayBuffer(config.replayBufferSize(), config.replaySpillCapacity());
+        this.socketReader.setReplayMode(config.replayMode());
+        this.socketReader.setSnapshotRecordInterval(
+                config.snapshotRecordInterval().toNanos(), config.snapshotRecordEvery());
+        this.socketReader
+                .feedDelayMonitor()
+                .setThresholds(
+                        config.skewBaselineWindow().toNanos(),
+                        config.feedDelaySpikeThreshold().toNanos(),
+                        config.processingDelaySpikeThreshold().toNanos());
+        final BookIntegrityMonitor<?> bookIntegrity = this.socketReader.bookIntegrity();
+        bookIntegrity.setAction(IntegrityCheck.CROSSED_BOOK, config.crossedBookAction());
+        bookIntegrity.setAction(IntegrityCheck.SEQUENCE_REGRESSION, config.sequenceRegressionAction());
+        bookIntegrity.setAction(IntegrityCheck.STALE_TOP_OF_BOOK, config.staleTopOfBookAction());
+        bookIntegrity.setAction(IntegrityCheck.LEVEL_ANOMALY, config.levelAnomalyAction());
+        bookIntegrity.setStaleTopOfBookInterval(config.staleTopOfBookInterval().toNanos());
+        bookIntegrity.setMinLevels(config.minBookLevels());
 
         this.reconnectSchedule = new Schedule(clock, config.reconnectInterval().toMillis(), this::reconnect);
         this.keepAliveSchedule = new Schedule(clock, config.keepAliveInterval().toMillis(), this::keepAlive);
@@ -31,7 +65,8 @@ public final class MarketInboundGateway implements GnomeAgent {
                 this.socketReader,
                 this.config.connectTimeout(),
                 this.config.maxReconnectAttempts(),
-                this.config.initialBackoff());
+                this.config.initialBackoff(),
+                this.counters);
     }
 
     private void keepAlive() {
@@ -42,12 +77,19 @@ public final class MarketInboundGateway implements GnomeAgent {
         }
     }
 
+    /**
+     * The book checks themselves run on the reader thread against every book record; see
+     * {@link BookIntegrityMonitor}. Here the supervisor acts on a failed check configured to resync.
+     */
     private void sanityCheck() {
-        // TODO
+        if (this.socketReader.bookIntegrity().takeResyncRequest()) {
+            this.forceReconnect();
+        }
     }
 
     private void reconnect() {
         this.logger.log(LogMessage.SOCKET_RECONNECTING);
+        this.counters.onReconnect();
         try {
             this.socketReader.disconnect();
         } catch (Exception e) {
@@ -75,6 +117,7 @@ public final class MarketInboundGateway implements GnomeAgent {
         if (this.socketReader.recvTimestamp > 0
                 && nanosSinceLastRecv > this.config.maxSilentInterval().toNanos()) {
             this.logger.log(LogMessage.SOCKET_SILENCE_TIMED_OUT);
+            this.counters.onSilenceTimeout();
             this.reconnectSchedule.forceTrigger();
         }
 
@@ -95,12 +138,29 @@ public final class MarketInboundGateway implements GnomeAgent {
         this.keepAliveSchedule.forceTrigger();
     }
 
+    /**
+     * Copy the reader's receive-to-publish latency for {@code kind} into {@code target}. This will be called
+     * from external threads.
+     */
+    public void latencySnapshot(MessageKind kind, LatencyHistogram target) {
+        this.socketReader.latencySnapshot(kind, target);
+    }
+
+    /**
+     * @return the reader's exchange-to-gateway delay monitor, readable from external threads
+     */
+    public FeedDelayMonitor feedDelayMonitor() {
+        return this.socketReader.feedDelayMonitor();
+    }
+
     @Override
     public void onClose() {
         try {
             this.socketReader.disconnect();
         } catch (Exception e) {
             throw new RuntimeException(e);
+        } finally {
+            this.connectController.close();
         }
     }
 }
@@ -9,15 +9,43 @@ public record MarketInboundGatewayConfig(
         int maxReconnectAttempts,
         Duration maxSilentInterval,
         Duration initialBackoff,
-        Duration connectTimeout) {
+        Duration connectTimeout,
+        int frameBudget,
+        int replayBufferSize,
+        int replaySpillCapacity,
+        ReplayMode replayMode,
+        Duration snapshotRecordInterval,
+        int snapshotRecordEvery,
+        Duration skewBaselineWindow,
+        Duration feedDelaySpikeThreshold,
+        Duration processingDelaySpikeThreshold,
+        IntegrityAction crossedBookAction,
+        IntegrityAction sequenceRegressionAction,
+        IntegrityAction staleTopOfBookAction,
+        IntegrityAction levelAnomalyAction,
+        Duration staleTopOfBookInterval,
+        int minBookLevels) {
 
     static final Duration DEFAULT_RECONNECT_INTERVAL = Duration.ofHours(12);
     static final Duration DEFAULT_KEEP_ALIVE_INTERVAL = Duration.ofSeconds(30);
-    static final Duration DEFAULT_SANITY_CHECK_INTERVAL = Duration.ofHours(1);
+    static final Duration DEFAULT_SANITY_CHECK_INTERVAL = Duration.ofSeconds(1);
     static final int DEFAULT_MAX_RECONNECT_ATTEMPTS = 5;
     static final Duration DEFAULT_MAX_SILENT_INTERVAL = Duration.ofSeconds(30);
     static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
     static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    static final int DEFAULT_FRAME_BUDGET = SocketReader.DEFAULT_FRAME_BUDGET;
+    static final int DEFAULT_REPLAY_BUFFER_SIZE = SocketReader.DEFAULT_REPLAY_BUFFER_SIZE;
+    static final int DEFAULT_REPLAY_SPILL_CAPACITY = SocketReader.DEFAULT_REPLAY_SPILL_CAPACITY;
+    static final ReplayMode DEFAULT_REPLAY_MODE = ReplayMode.DECODED;
+    static final Duration DEFAULT_SNAPSHOT_RECORD_INTERVAL = Duration.ZERO;
+    static final int DEFAULT_SNAPSHOT_RECORD_EVERY = 0;
+    static final Duration DEFAULT_SKEW_BASELINE_WINDOW =
+            Duration.ofNanos(FeedDelayMonitor.DEFAULT_BASELINE_WINDOW_NANOS);
+    static final Duration DEFAULT_FEED_DELAY_SPIKE_THRESHOLD = Duration.ofMillis(250);
+    static final Duration DEFAULT_PROCESSING_DELAY_SPIKE_THRESHOLD = Duration.ofMillis(1);
+    static final IntegrityAction DEFAULT_INTEGRITY_ACTION = IntegrityAction.COUNT;
+    static final Duration DEFAULT_STALE_TOP_OF_BOOK_INTERVAL = Duration.ZERO;
+    static final int DEFAULT_MIN_BOOK_LEVELS = BookIntegrityMonitor.DEFAULT_MIN_LEVELS;
 
     public static final class Builder implements group.gnometrading.utils.Builder<MarketInboundGatewayConfig> {
 
@@ -28,6 +56,21 @@ public record MarketInboundGatewayConfig(
         private Duration maxSilentInterval = DEFAULT_MAX_SILENT_INTERVAL;
         private Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
         private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        private int frameBudget = DEFAULT_FRAME_BUDGET;
+        private int replayBufferSize = DEFAULT_REPLAY_BUFFER_SIZE;
+        private int replaySpillCapacity = DEFAULT_REPLAY_SPILL_CAPACITY;
+        private ReplayMode replayMode = DEFAULT_REPLAY_MODE;
+        private Duration snapshotRecordInterval = DEFAULT_SNAPSHOT_RECORD_INTERVAL;
+        private int snapshotRecordEvery = DEFAULT_SNAPSHOT_RECORD_EVERY;
+        private Duration skewBaselineWindow = DEFAULT_SKEW_BASELINE_WINDOW;
+        private Duration feedDelaySpikeThreshold = DEFAULT_FEED_DELAY_SPIKE_THRESHOLD;
+        private Duration processingDelaySpikeThreshold = DEFAULT_PROCESSING_DELAY_SPIKE_THRESHOLD;
+        private IntegrityAction crossedBookAction = DEFAULT_INTEGRITY_ACTION;
+        private IntegrityAction sequenceRegressionAction = DEFAULT_INTEGRITY_ACTION;
+        private IntegrityAction staleTopOfBookAction = DEFAULT_INTEGRITY_ACTION;
+        private IntegrityAction levelAnomalyAction = DEFAULT_INTEGRITY_ACTION;
+        private Duration staleTopOfBookInterval = DEFAULT_STALE_TOP_OF_BOOK_INTERVAL;
+        private int minBookLevels = DEFAULT_MIN_BOOK_LEVELS;
 
         public Builder withConnectTimeout(Duration connectTimeout) {
             this.connectTimeout = connectTimeout;
@@ -64,6 +107,109 @@ public record MarketInboundGatewayConfig(
             return this;
         }
 
+        public Builder withFrameBudget(int frameBudget) {
+            this.frameBudget = frameBudget;
+            return this;
+        }
+
+        /**
+         * Schema slots held in memory while a connect waits for its snapshot, a power of two.
+         */
+        public Builder withReplayBufferSize(int replayBufferSize) {
+            this.replayBufferSize = replayBufferSize;
+            return this;
+        }
+
+        /**
+         * Off-heap bytes the replay buffer may spill into once its slots are full. In
+         * {@link ReplayMode#RAW_FRAMES} this caps the buffered frames instead.
+         */
+        public Builder withReplaySpillCapacity(int replaySpillCapacity) {
+            this.replaySpillCapacity = replaySpillCapacity;
+            return this;
+        }
+
+        public Builder withReplayMode(ReplayMode replayMode) {
+            this.replayMode = replayMode;
+            return this;
+        }
+
+        /**
+         * Publish a flagged full-book snapshot record at most this often, {@link Duration#ZERO} to disable.
+         */
+        public Builder withSnapshotRecordInterval(Duration snapshotRecordInterval) {
+            this.snapshotRecordInterval = snapshotRecordInterval;
+            return this;
+        }
+
+        /**
+         * Publish a flagged full-book snapshot record after this many records, 0 to disable.
+         */
+        public Builder withSnapshotRecordEvery(int snapshotRecordEvery) {
+            this.snapshotRecordEvery = snapshotRecordEvery;
+            return this;
+        }
+
+        /**
+         * Span of each of the windows whose minimum recv minus event offset forms the rolling skew baseline.
+         */
+        public Builder withSkewBaselineWindow(Duration skewBaselineWindow) {
+            this.skewBaselineWindow = skewBaselineWindow;
+            return this;
+        }
+
+        /**
+         * Feed delay above the skew baseline that is flagged as a spike, {@link Duration#ZERO} to disable.
+         */
+        public Builder withFeedDelaySpikeThreshold(Duration feedDelaySpikeThreshold) {
+            this.feedDelaySpikeThreshold = feedDelaySpikeThreshold;
+            return this;
+        }
+
+        /**
+         * Receive to publish time that is flagged as a spike, {@link Duration#ZERO} to disable.
+         */
+        public Builder withProcessingDelaySpikeThreshold(Duration processingDelaySpikeThreshold) {
+            this.processingDelaySpikeThreshold = processingDelaySpikeThreshold;
+            return this;
+        }
+
+        public Builder withCrossedBookAction(IntegrityAction crossedBookAction) {
+            this.crossedBookAction = crossedBookAction;
+            return this;
+        }
+
+        public Builder withSequenceRegressionAction(IntegrityAction sequenceRegressionAction) {
+            this.sequenceRegressionAction = sequenceRegressionAction;
+            return this;
+        }
+
+        public Builder withStaleTopOfBookAction(IntegrityAction staleTopOfBookAction) {
+            this.staleTopOfBookAction = staleTopOfBookAction;
+            return this;
+        }
+
+        public Builder withLevelAnomalyAction(IntegrityAction levelAnomalyAction) {
+            this.levelAnomalyAction = levelAnomalyAction;
+            return this;
+        }
+
+        /**
+         * How long the top of book may stay unchanged while book records arrive, {@link Duration#ZERO} to disable.
+         */
+        public Builder withStaleTopOfBookInterval(Duration staleTopOfBookInterval) {
+            this.staleTopOfBookInterval = staleTopOfBookInterval;
+            return this;
+        }
+
+        /**
+         * Populated levels each side of a book record must have, 0 to allow empty sides.
+         */
+        public Builder withMinBookLevels(int minBookLevels) {
+            this.minBookLevels = minBookLevels;
+            return this;
+        }
+
         @Override
         public MarketInboundGatewayConfig build() {
             return new MarketInboundGatewayConfig(
@@ -73,7 +219,22 @@ public record MarketInboundGatewayConfig(
                     this.maxReconnectAttempts,
                     this.maxSilentInterval,
                     this.initialBackoff,
-                    this.connectTimeout);
+                    this.connectTimeout,
+                    this.frameBudget,
+                    this.replayBufferSize,
+                    this.replaySpillCapacity,
+                    this.replayMode,
+                    this.snapshotRecordInterval,
+                    this.snapshotRecordEvery,
+                    this.skewBaselineWindow,
+                    this.feedDelaySpikeThreshold,
+                    this.processingDelaySpikeThreshold,
+                    this.crossedBookAction,
+                    this.sequenceRegressionAction,
+                    this.staleTopOfBookAction,
+                    this.levelAnomalyAction,
+                    this.staleTopOfBookInterval,
+                    this.minBookLevels);
         }
     }
 }
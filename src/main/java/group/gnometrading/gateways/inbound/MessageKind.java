@@ -0,0 +1,15 @@
+package group.gnometrading.gateways.inbound;
+
+/**
+ * What a published record describes, for metrics kept separately per kind.
+ */
+public enum MessageKind {
+    /**
+     * A book update, including full-book snapshot records.
+     */
+    BOOK,
+    /**
+     * A trade print.
+     */
+    TRADE
+}
@@ -0,0 +1,110 @@
+package group.gnometrading.gateways.inbound;
+
+import java.nio.ByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Holds raw socket frames and their recvTimestamps, in arrival order, for {@link ReplayMode#RAW_FRAMES}.
+ * <p>
+ * Frames are appended to an off-heap region that is allocated on first use and doubles up to a cap. Appends
+ * come from the reader thread and reads from the connecting thread, never at the same time.
+ */
+final class RawFrameBuffer {
+
+    /**
+     * Receives one buffered frame. The frame is only valid for the duration of the call.
+     */
+    @FunctionalInterface
+    interface FrameHandler {
+        void onFrame(long recvTimestamp, ByteBuffer frame);
+    }
+
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int LENGTH_OFFSET = 0;
+    private static final int TIMESTAMP_OFFSET = 4;
+    private static final int RECORD_HEADER_LENGTH = 12;
+
+    private final int maxCapacity;
+    private final UnsafeBuffer frames;
+    private ByteBuffer frameView;
+    private int position;
+    private int frameCount;
+
+    RawFrameBuffer(final int maxCapacity) {
+        if (maxCapacity <= 0) {
+            throw new IllegalArgumentException("Invalid raw frame capacity: " + maxCapacity);
+        }
+        this.maxCapacity = maxCapacity;
+        this.frames = new UnsafeBuffer(0, 0);
+    }
+
+    /**
+     * Copy the remaining bytes of {@code frame} in behind everything already buffered, without advancing it.
+     *
+     * @return false if the frame does not fit under the cap
+     */
+    boolean append(final long recvTimestamp, final ByteBuffer frame) {
+        final int length = frame.remaining();
+        final int end = this.position + RECORD_HEADER_LENGTH + length;
+        if (end > this.frames.capacity() && !grow(end)) {
+            return false;
+        }
+        this.frames.putInt(this.position + LENGTH_OFFSET, length);
+        this.frames.putLong(this.position + TIMESTAMP_OFFSET, recvTimestamp);
+        this.frames.putBytes(this.position + RECORD_HEADER_LENGTH, frame, frame.position(), length);
+        this.position = end;
+        this.frameCount++;
+        return true;
+    }
+
+    /**
+     * Hand every buffered frame to {@code handler} in arrival order and empty the buffer.
+     */
+    void read(final FrameHandler handler) {
+        int offset = 0;
+        while (offset < this.position) {
+            final int length = this.frames.getInt(offset + LENGTH_OFFSET);
+            final int start = offset + RECORD_HEADER_LENGTH;
+            this.frameView.limit(start + length).position(start);
+            handler.onFrame(this.frames.getLong(offset + TIMESTAMP_OFFSET), this.frameView);
+            offset = start + length;
+        }
+        reset();
+    }
+
+    void reset() {
+        this.position = 0;
+        this.frameCount = 0;
+    }
+
+    /**
+     * @return frames buffered since the last read or reset
+     */
+    int frameCount() {
+        return this.frameCount;
+    }
+
+    /**
+     * @return bytes currently reserved for buffered frames
+     */
+    int capacity() {
+        return this.frames.capacity();
+    }
+
+    private boolean grow(final int required) {
+        if (required > this.maxCapacity) {
+            return false;
+        }
+        int capacity = Math.max(this.frames.capacity(), INITIAL_CAPACITY);
+        while (capacity < required) {
+            capacity = capacity > this.maxCapacity >> 1 ? this.maxCapacity : capacity << 1;
+        }
+        capacity = Math.min(capacity, this.maxCapacity);
+
+        final ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        this.frames.getBytes(0, grown, 0, this.position);
+        this.frames.wrap(grown);
+        this.frameView = grown.duplicate();
+        return true;
+    }
+}
@@ -0,0 +1,142 @@
+package group.gnometrading.gateways.inbound;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.EpochNanoClock;
+import org.agrona.concurrent.IdleStrategy;
+
+/**
+ * The pause/resume handoff between a reader thread and its supervisor.
+ * <p>
+ * Both sides wait with a bounded spin, then yield, then park; each side unparks the other on the transition
+ * it is waiting for, so a paused reader costs no CPU and a handoff still completes in microseconds.
+ * Only the supervisor resumes the reader and only the reader thread acknowledges a pause; the reader thread
+ * may also request its own pause when its socket closes.
+ */
+final class ReaderHandoff {
+
+    private static final long MAX_SPINS = 100;
+    private static final long MAX_YIELDS = 10;
+    private static final long MIN_PARK_NANOS = 1_000L;
+    private static final long MAX_PARK_NANOS = 1_000_000L;
+
+    private static final AtomicReferenceFieldUpdater<ReaderHandoff, ReaderState> STATE =
+            AtomicReferenceFieldUpdater.newUpdater(ReaderHandoff.class, ReaderState.class, "state");
+
+    private final EpochNanoClock clock;
+    private final IdleStrategy readerIdle;
+    private final IdleStrategy supervisorIdle;
+
+    private volatile ReaderState state;
+    private volatile Thread readerThread;
+    private volatile Thread supervisorThread;
+
+    private volatile long pauseRequestedAt;
+    private volatile long lastPauseHandoffNanos;
+    private volatile long lastPausedNanos;
+
+    ReaderHandoff(final EpochNanoClock clock) {
+        this.clock = clock;
+        this.readerIdle = new BackoffIdleStrategy(MAX_SPINS, MAX_YIELDS, MIN_PARK_NANOS, MAX_PARK_NANOS);
+        this.supervisorIdle = new BackoffIdleStrategy(MAX_SPINS, MAX_YIELDS, MIN_PARK_NANOS, MAX_PARK_NANOS);
+        this.pauseRequestedAt = clock.nanoTime();
+        this.state = ReaderState.PAUSE_REQUESTED;
+    }
+
+    ReaderState state() {
+        return this.state;
+    }
+
+    /**
+     * Ask the reader thread to pause without waiting for it. A no-op if it is already paused.
+     */
+    void requestPause() {
+        ReaderState current;
+        do {
+            current = this.state;
+            if (current == ReaderState.PAUSE_REQUESTED || current == ReaderState.PAUSED) {
+                return;
+            }
+            this.pauseRequestedAt = this.clock.nanoTime();
+        } while (!STATE.compareAndSet(this, current, ReaderState.PAUSE_REQUESTED));
+    }
+
+    /**
+     * Request a pause and wait until the reader thread has acknowledged it. Supervisor thread only.
+     */
+    void pause() {
+        requestPause();
+        this.supervisorThread = Thread.currentThread();
+        this.supervisorIdle.reset();
+        while (this.state != ReaderState.PAUSED) {
+            this.supervisorIdle.idle();
+        }
+        this.supervisorThread = null;
+    }
+
+    /**
+     * Hand the reader back to its thread, either publishing ({@link ReaderState#RUNNING}) or buffering
+     * ({@link ReaderState#BUFFERING}).
+     */
+    void resume(final ReaderState target) {
+        if (target != ReaderState.RUNNING && target != ReaderState.BUFFERING) {
+            throw new IllegalArgumentException("Invalid resume state: " + target);
+        }
+        this.state = target;
+        final Thread reader = this.readerThread;
+        if (reader != null) {
+            LockSupport.unpark(reader);
+        }
+    }
+
+    /**
+     * Called by the reader thread before each unit of work. Acknowledges a pending pause and waits while
+     * paused; returns once the supervisor hands the reader back.
+     */
+    void awaitRunnable() {
+        final ReaderState current = this.state;
+        if (current == ReaderState.RUNNING || current == ReaderState.BUFFERING) {
+            return;
+        }
+        if (current == ReaderState.PAUSE_REQUESTED) {
+            this.readerThread = Thread.currentThread();
+            if (!STATE.compareAndSet(this, ReaderState.PAUSE_REQUESTED, ReaderState.PAUSED)) {
+                return;
+            }
+            this.lastPauseHandoffNanos = this.clock.nanoTime() - this.pauseRequestedAt;
+            final Thread supervisor = this.supervisorThread;
+            if (supervisor != null) {
+                LockSupport.unpark(supervisor);
+            }
+        }
+
+        final long pausedAt = this.clock.nanoTime();
+        this.readerIdle.reset();
+        while (this.state == ReaderState.PAUSED) {
+            this.readerIdle.idle();
+        }
+        this.lastPausedNanos = this.clock.nanoTime() - pausedAt;
+    }
+
+    /**
+     * @return true unless the reader is live, in which case offers go straight to the output buffer
+     */
+    boolean isBuffering() {
+        return this.state != ReaderState.RUNNING;
+    }
+
+    /**
+     * @return nanos between the last pause request and the reader thread acknowledging it
+     */
+    long lastPauseHandoffNanos() {
+        return this.lastPauseHandoffNanos;
+    }
+
+    /**
+     * @return nanos the reader thread spent parked in its last pause
+     */
+    long lastPausedNanos() {
+        return this.lastPausedNanos;
+    }
+}
@@ -0,0 +1,23 @@
+package group.gnometrading.gateways.inbound;
+
+/**
+ * Ownership of a {@link SocketReader} between its reader thread and the supervisor thread.
+ */
+public enum ReaderState {
+    /**
+     * The reader thread reads the socket and publishes to the output buffer.
+     */
+    RUNNING,
+    /**
+     * The supervisor has asked the reader thread to stop; anything offered before it does is buffered.
+     */
+    PAUSE_REQUESTED,
+    /**
+     * The reader thread is parked and the supervisor may touch the socket, book and replay buffer.
+     */
+    PAUSED,
+    /**
+     * The reader thread reads the socket but offers into the replay buffer while a snapshot is fetched.
+     */
+    BUFFERING
+}
@@ -0,0 +1,129 @@
+package group.gnometrading.gateways.inbound;
+
+import group.gnometrading.schemas.Schema;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Holds the messages a reader decodes while its snapshot is in flight, in arrival order.
+ * <p>
+ * Messages are copied into pre-allocated schema slots first. Once the slots are full they spill, encoded,
+ * into an off-heap overflow region that is allocated on first use and doubles up to a cap, so a slow snapshot
+ * on a busy venue costs memory rather than a failed connect. Offers come from the reader thread and reads
+ * from the connecting thread, never at the same time; the reader handoff orders the two.
+ */
+final class ReplayBuffer<T extends Schema> {
+
+    private static final int INITIAL_SPILL_CAPACITY = 1 << 16;
+    private static final int RECORD_HEADER_LENGTH = Integer.BYTES;
+
+    private final T[] slots;
+    private final T spillSchema;
+    private final int maxSpillCapacity;
+    private final UnsafeBuffer spill;
+
+    private int slotCount;
+    private int spillPosition;
+    private int spilledMessages;
+
+    /**
+     * @param slots the number of pre-allocated schemas, a power of two
+     * @param maxSpillCapacity the most bytes the overflow region may grow to, 0 to never spill
+     */
+    ReplayBuffer(final SchemaFactory<T> factory, final int slots, final int maxSpillCapacity) {
+        if (slots <= 0 || Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("Invalid replay buffer size: " + slots);
+        }
+        if (maxSpillCapacity < 0) {
+            throw new IllegalArgumentException("Invalid replay spill capacity: " + maxSpillCapacity);
+        }
+        this.slots = factory.createSchemaArray(slots);
+        for (int i = 0; i < slots; i++) {
+            this.slots[i] = factory.createSchema();
+        }
+        this.spillSchema = factory.createSchema();
+        this.maxSpillCapacity = maxSpillCapacity;
+        this.spill = new UnsafeBuffer(0, 0);
+    }
+
+    /**
+     * Copy {@code schema} in behind everything already buffered.
+     *
+     * @return false if neither the slots nor the overflow region has room
+     */
+    boolean offer(final T schema) {
+        // Once spilling, keep spilling so the overflow never overtakes the slots
+        if (this.spillPosition == 0 && this.slotCount < this.slots.length) {
+            this.slots[this.slotCount++].copyFrom(schema);
+            return true;
+        }
+
+        final int length = schema.totalMessageSize();
+        final int end = this.spillPosition + RECORD_HEADER_LENGTH + length;
+        if (end > this.spill.capacity() && !growSpill(end)) {
+            return false;
+        }
+        this.spill.putInt(this.spillPosition, length);
+        this.spill.putBytes(this.spillPosition + RECORD_HEADER_LENGTH, schema.buffer, 0, length);
+        this.spillPosition = end;
+        this.spilledMessages++;
+        return true;
+    }
+
+    /**
+     * Hand every buffered message to {@code consumer} in arrival order and empty the buffer. Spilled messages
+     * are decoded into one reused schema, valid only for the duration of the call. Allocation free.
+     */
+    void read(final Consumer<T> consumer) {
+        for (int i = 0; i < this.slotCount; i++) {
+            consumer.accept(this.slots[i]);
+        }
+        this.slotCount = 0;
+
+        int offset = 0;
+        while (offset < this.spillPosition) {
+            final int length = this.spill.getInt(offset);
+            this.spillSchema.buffer.putBytes(0, this.spill, offset + RECORD_HEADER_LENGTH, length);
+            consumer.accept(this.spillSchema);
+            offset += RECORD_HEADER_LENGTH + length;
+        }
+        this.spillPosition = 0;
+    }
+
+    void reset() {
+        this.slotCount = 0;
+        this.spillPosition = 0;
+        this.spilledMessages = 0;
+    }
+
+    /**
+     * @return messages that overflowed the slots since the last reset
+     */
+    int spilledMessages() {
+        return this.spilledMessages;
+    }
+
+    /**
+     * @return bytes currently reserved for the overflow region
+     */
+    int spillCapacity() {
+        return this.spill.capacity();
+    }
+
+    private boolean growSpill(final int required) {
+        if (required > this.maxSpillCapacity) {
+            return false;
+        }
+        int capacity = Math.max(this.spill.capacity(), INITIAL_SPILL_CAPACITY);
+        while (capacity < required) {
+            capacity = capacity > this.maxSpillCapacity >> 1 ? this.maxSpillCapacity : capacity << 1;
+        }
+        capacity = Math.min(capacity, this.maxSpillCapacity);
+
+        final ByteBuffer memory = ByteBuffer.allocateDirect(capacity);
+        this.spill.getBytes(0, memory, 0, this.spillPosition);
+        this.spill.wrap(memory);
+        return true;
+    }
+}
@@ -0,0 +1,22 @@
+package group.gnometrading.gateways.inbound;
+
+/**
+ * What a {@link SocketReader} holds on to while connect() waits for its snapshot.
+ */
+public enum ReplayMode {
+    /**
+     * Frames are parsed as they arrive and each decoded schema is copied into the replay buffer, then applied
+     * to the snapshot book once it is installed.
+     */
+    DECODED,
+    /**
+     * Frames are kept as raw bytes and parsed only after the snapshot is installed, so the book is rebuilt from
+     * the venue's own updates and no schemas are held per listing. Requires a reader whose
+     * {@code readSocket} returns the wire payload.
+     * <p>
+     * Parsers update the book before offering, so frames older than a snapshot are still applied to it; only
+     * their publication is dropped. That is safe for venues that send absolute level sizes and no snapshot,
+     * which is every reader that supports this mode today.
+     */
+    RAW_FRAMES
+}
@@ -1,8 +1,15 @@
 package group.gnometrading.gateways.inbound;
 
+import group.gnometrading.gateways.inbound.mbp.MbpLevels;
 import group.gnometrading.schemas.Schema;
 
 public interface SchemaFactory<T extends Schema> {
+
+    /**
+     * Returned by {@link #eventTimestamp} for records the venue did not timestamp.
+     */
+    long NO_TIMESTAMP = Long.MIN_VALUE;
+
     /**
      * Create an array of schemas.
      *
@@ -32,4 +39,36 @@ public interface SchemaFactory<T extends Schema> {
      * @return the new book object
      */
     Book<T> createBook();
+
+    /**
+     * Turn a copy of a published record into the header of a full-book snapshot record. The book's levels are
+     * written separately with {@link Book#writeTo}.
+     *
+     * @param schema the copied record to rewrite
+     */
+    default void markSnapshot(T schema) {
+        levels().writeSnapshotHeader(schema);
+    }
+
+    /**
+     * @param schema a record about to be published
+     * @return what the record describes
+     */
+    default MessageKind messageKind(T schema) {
+        return levels().isTrade(schema) ? MessageKind.TRADE : MessageKind.BOOK;
+    }
+
+    /**
+     * @param schema a record about to be published
+     * @return the venue's timestamp for the record in epoch nanos, or {@link #NO_TIMESTAMP}
+     */
+    default long eventTimestamp(T schema) {
+        return levels().readTimestampEvent(schema);
+    }
+
+    /**
+     * @return indexed access to the header and price levels of published records, which the record hooks
+     *     above and the integrity checks read through
+     */
+    MbpLevels<T> levels();
 }
@@ -1,30 +1,41 @@
 package group.gnometrading.gateways.inbound;
 
+import group.gnometrading.gateways.inbound.counters.ListingCounters;
 import group.gnometrading.logging.LogMessage;
 import group.gnometrading.logging.Logger;
 import java.time.Duration;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * This class is responsible for managing the connection to the socket.
  * <p>
- * This class should only be used by the supervisor thread. It produces garbage on every connect attempt.
+ * This class should only be used by the supervisor thread. Timeouts are enforced by one watchdog thread,
+ * started with the controller, that parks until an attempt is armed and then polls its deadline, so a connect
+ * attempt allocates nothing.
  */
-public final class SocketConnectController {
+public final class SocketConnectController implements AutoCloseable {
 
-    private static final Duration MAX_BACKOFF = Duration.ofSeconds(10);
+    private static final long MAX_BACKOFF_MILLIS = Duration.ofSeconds(10).toMillis();
+
+    private static final int TIMEOUT_IDLE = 0;
+    private static final int TIMEOUT_ARMED = 1;
+    private static final int TIMEOUT_FIRING = 2;
+    private static final int TIMEOUT_FIRED = 3;
 
     private final Logger logger;
     private final SocketReader<?> socketReader;
-    private final Duration connectTimeout;
-    private final Duration initialBackoff;
+    private final ListingCounters counters;
+    private final long connectTimeoutNanos;
+    private final long initialBackoffMillis;
     private final int maxReconnectAttempts;
+    private final Thread watchdog;
+    private final AtomicInteger timeoutState;
 
-    private Duration backoff;
+    private volatile Thread connectThread;
+    private volatile long deadlineNanos;
+    private volatile boolean closed;
+    private long backoffMillis;
 
     public SocketConnectController(
             Logger logger,
@@ -32,80 +43,119 @@ public final class SocketConnectController {
             Duration connectTimeout,
             int maxReconnectAttempts,
             Duration initialBackoff) {
+        this(logger, socketReader, connectTimeout, maxReconnectAttempts, initialBackoff, ListingCounters.NO_OP);
+    }
+
+    public SocketConnectController(
+            Logger logger,
+            SocketReader<?> socketReader,
+            Duration connectTimeout,
+            int maxReconnectAttempts,
+            Duration initialBackoff,
+            ListingCounters counters) {
         this.logger = logger;
         this.socketReader = socketReader;
+        this.counters = counters;
         this.maxReconnectAttempts = maxReconnectAttempts;
-        this.connectTimeout = connectTimeout;
-        this.initialBackoff = initialBackoff;
-        this.backoff = initialBackoff;
+        this.connectTimeoutNanos = connectTimeout.toNanos();
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.backoffMillis = this.initialBackoffMillis;
+        this.timeoutState = new AtomicInteger(TIMEOUT_IDLE);
+        this.watchdog = new Thread(this::watch, "SocketConnectTimeout");
+        this.watchdog.setDaemon(true);
+        this.watchdog.start();
     }
 
     public void connect() {
         this.logger.log(LogMessage.SOCKET_CONNECTING);
         Exception lastException = null;
 
-        ScheduledExecutorService timeoutExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread socketThread = new Thread(r, "SocketConnectTimeout");
-            socketThread.setDaemon(true);
-            return socketThread;
-        });
-
-        try {
-            for (int i = 0; i < 1 + this.maxReconnectAttempts; i++) {
-                Thread connectThread = Thread.currentThread();
-                AtomicBoolean timedOut = new AtomicBoolean(false);
-
-                Future<?> timeoutTask = timeoutExecutor.schedule(
-                        () -> {
-                            timedOut.set(true);
-                            connectThread.interrupt();
-                        },
-                        this.connectTimeout.toMillis(),
-                        TimeUnit.MILLISECONDS);
-
-                try {
-                    this.socketReader.connect();
-
-                    timeoutTask.cancel(false);
-
-                    if (!timedOut.get()) {
-                        this.logger.log(LogMessage.SOCKET_CONNECTED);
-                        this.backoff = this.initialBackoff;
-                        return;
-                    } else {
-                        Thread.interrupted(); // Clear interrupt set by our timeout task
-                        this.logger.log(LogMessage.SOCKET_CONNECT_TIMED_OUT);
-                    }
-
-                } catch (Exception e) {
-                    timeoutTask.cancel(false);
-                    Thread.interrupted(); // Clear any interrupt from our timeout task before backoff sleep
-
-                    if (timedOut.get()) {
-                        this.logger.log(LogMessage.SOCKET_CONNECT_TIMED_OUT);
-                    } else {
-                        this.logger.log(LogMessage.SOCKET_CONNECT_FAILED);
-                    }
-                    lastException = e;
+        for (int i = 0; i < 1 + this.maxReconnectAttempts; i++) {
+            this.connectThread = Thread.currentThread();
+            this.deadlineNanos = System.nanoTime() + this.connectTimeoutNanos;
+            this.timeoutState.set(TIMEOUT_ARMED);
+            LockSupport.unpark(this.watchdog);
+
+            try {
+                this.socketReader.connect();
+
+                if (disarm()) {
+                    this.logger.log(LogMessage.SOCKET_CONNECTED);
+                    this.backoffMillis = this.initialBackoffMillis;
+                    return;
+                } else {
+                    this.logger.log(LogMessage.SOCKET_CONNECT_TIMED_OUT);
+                    this.counters.onConnectFailure();
                 }
 
-                try {
-                    Thread.sleep(this.backoff.toMillis());
-                } catch (InterruptedException ex) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException(ex);
-                }
+            } catch (Exception e) {
+                final boolean timedOut = !disarm();
+                Thread.interrupted(); // Clear any interrupt from our watchdog before backoff sleep
 
-                this.backoff = this.backoff.multipliedBy(2);
-                if (this.backoff.compareTo(MAX_BACKOFF) > 0) {
-                    this.backoff = MAX_BACKOFF;
+                this.counters.onConnectFailure();
+                if (timedOut) {
+                    this.logger.log(LogMessage.SOCKET_CONNECT_TIMED_OUT);
+                } else {
+                    this.logger.log(LogMessage.SOCKET_CONNECT_FAILED);
                 }
+                lastException = e;
+            }
+
+            try {
+                Thread.sleep(this.backoffMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(ex);
             }
 
-            throw new RuntimeException(lastException);
+            this.backoffMillis = Math.min(this.backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        }
+
+        throw new RuntimeException(lastException);
+    }
 
-        } finally {
-            timeoutExecutor.shutdown();
+    /**
+     * End the current attempt's timeout. If the watchdog already fired, wait for its interrupt to land and
+     * clear it, so it cannot hit the backoff sleep or the next attempt.
+     *
+     * @return true if the attempt finished before its deadline
+     */
+    private boolean disarm() {
+        if (this.timeoutState.compareAndSet(TIMEOUT_ARMED, TIMEOUT_IDLE)) {
+            return true;
         }
+        while (this.timeoutState.get() == TIMEOUT_FIRING) {
+            Thread.onSpinWait();
+        }
+        Thread.interrupted(); // Clear interrupt set by our watchdog
+        this.timeoutState.set(TIMEOUT_IDLE);
+        return false;
+    }
+
+    /**
+     * The watchdog loop: park while no attempt is armed, otherwise park until the armed deadline and interrupt
+     * the connecting thread once it passes. Every wake re-reads the state and deadline, so a stale wake from an
+     * earlier attempt does nothing.
+     */
+    private void watch() {
+        while (!this.closed) {
+            if (this.timeoutState.get() != TIMEOUT_ARMED) {
+                LockSupport.park(this);
+                continue;
+            }
+            final long remainingNanos = this.deadlineNanos - System.nanoTime();
+            if (remainingNanos > 0) {
+                LockSupport.parkNanos(this, remainingNanos);
+            } else if (this.timeoutState.compareAndSet(TIMEOUT_ARMED, TIMEOUT_FIRING)) {
+                this.connectThread.interrupt();
+                this.timeoutState.set(TIMEOUT_FIRED);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.watchdog);
     }
 }
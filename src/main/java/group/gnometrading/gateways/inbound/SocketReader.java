@@ -1,7 +1,7 @@
 package group.gnometrading.gateways.inbound;
 
-import group.gnometrading.collections.buffer.OneToOneRingBuffer;
 import group.gnometrading.concurrent.GnomeAgent;
+import group.gnometrading.gateways.inbound.counters.ListingCounters;
 import group.gnometrading.logging.LogMessage;
 import group.gnometrading.logging.Logger;
 import group.gnometrading.schemas.Schema;
@@ -9,29 +9,50 @@ import group.gnometrading.sequencer.SequencedRingBuffer;
 import group.gnometrading.sm.Listing;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.function.Consumer;
 import org.agrona.concurrent.EpochNanoClock;
 
 public abstract class SocketReader<T extends Schema> implements GnomeAgent, SchemaFactory<T> {
 
     private static final int DEFAULT_BOOK_BUFFER_SIZE = 1 << 7; // 128 slots
-    private static final int DEFAULT_REPLAY_BUFFER_SIZE = 1 << 11; // 2048 slots
+    static final int DEFAULT_REPLAY_BUFFER_SIZE = 1 << 11; // 2048 slots
+    static final int DEFAULT_REPLAY_SPILL_CAPACITY = 1 << 26; // 64 MiB, reserved only on overflow
+    static final int DEFAULT_FRAME_BUDGET = 16;
 
     private final Logger logger;
     private final SequencedRingBuffer<T> sequencedRingBuffer;
     public final EpochNanoClock clock;
     protected final SocketWriter socketWriter;
     protected final Listing listing;
-    private final OneToOneRingBuffer<T> replayBuffer;
+    // Allocated by the first connect(), once the replay mode and sizes are settled; only one is ever created
+    private ReplayBuffer<T> replayBuffer;
+    private RawFrameBuffer rawFrames;
+    private ReplayMode replayMode = ReplayMode.DECODED;
+    private final RawFrameBuffer.FrameHandler rawFrameHandler;
+    private final Consumer<T> replayConsumer;
+    private int replayBufferSize = DEFAULT_REPLAY_BUFFER_SIZE;
+    private int replaySpillCapacity = DEFAULT_REPLAY_SPILL_CAPACITY;
+    private boolean replayingRawFrames;
+    private boolean journalReplay;
+    private T snapshotRecordScratch;
+    private long snapshotRecordIntervalNanos;
+    private int snapshotRecordEvery;
+    private int recordsSinceSnapshotRecord;
+    private long lastSnapshotRecordTimestamp;
+    private long snapshotRecordsPublished;
+    private final LatencyHistogram bookLatency = new LatencyHistogram();
+    private final LatencyHistogram tradeLatency = new LatencyHistogram();
+    private final FeedDelayMonitor feedDelayMonitor = new FeedDelayMonitor();
+    private final BookIntegrityMonitor<T> bookIntegrity;
 
     public volatile long recvTimestamp = 0L;
     private RawDataSink rawDataSink = RawDataSink.NO_OP;
+    private ListingCounters counters = ListingCounters.NO_OP;
+    private int frameBudget = DEFAULT_FRAME_BUDGET;
     protected T schema;
     protected Book<T> internalBook;
     private Book<T> snapshot;
-
-    public volatile boolean pause;
-    public volatile boolean isPaused;
-    public volatile boolean buffer;
+    private final ReaderHandoff handoff;
 
     public SocketReader(
             Logger logger,
@@ -44,14 +65,15 @@ public abstract class SocketReader<T extends Schema> implements GnomeAgent, Sche
         this.clock = clock;
         this.socketWriter = socketWriter;
         this.listing = listing;
-        this.replayBuffer =
-                new OneToOneRingBuffer<>(this::createSchemaArray, this::createSchema, DEFAULT_REPLAY_BUFFER_SIZE);
+        // Bound once so connect() does not allocate a method reference per call
+        this.rawFrameHandler = this::replayRawFrame;
+        this.replayConsumer = this::consumeReplay;
         this.internalBook = createBook();
         this.snapshot = null;
+        this.bookIntegrity = new BookIntegrityMonitor<>(levels(), logger);
 
-        this.pause = true;
-        this.buffer = true;
-        this.isPaused = false;
+        // Starts PAUSE_REQUESTED: the reader thread parks on its first doWork until connect() hands it back
+        this.handoff = new ReaderHandoff(clock);
         this.claim();
     }
 
@@ -59,7 +81,8 @@ public abstract class SocketReader<T extends Schema> implements GnomeAgent, Sche
      * Reads the socket and returns a ByteBuffer containing the data.
      * <p>
      * If the socket is closed, this method should return null.
-     * If there is no data to read, this method should return null.
+     * If there is no data to read, this method should return null rather than block, so an idle doWork
+     * returns 0 and the agent's idle strategy applies.
      *
      * @return ByteBuffer containing the data
      * @throws IOException if there is an error reading the socket
@@ -97,41 +120,84 @@ public abstract class SocketReader<T extends Schema> implements GnomeAgent, Sche
      * @throws IOException if there is an error connecting to the gateway
      */
     public final void connect() throws IOException {
-        this.buffer = true;
-        this.pause = true;
-        while (!this.isPaused) {
-            Thread.yield();
-        }
+        this.handoff.pause();
 
+        allocateReplay();
         this.attachSocket();
         this.internalBook.reset();
-        this.replayBuffer.reset();
+        resetReplay();
+        this.bookIntegrity.reset();
+        // The first live record after a connect is followed by a snapshot record
+        this.recordsSinceSnapshotRecord = 0;
+        this.lastSnapshotRecordTimestamp = Long.MIN_VALUE;
 
-        this.pause = false;
+        this.handoff.resume(ReaderState.BUFFERING);
 
         this.snapshot = this.fetchSnapshot();
         if (this.snapshot != null) {
             this.internalBook.copyFrom(this.snapshot);
         }
 
-        this.pause = true;
-        while (!this.isPaused) {
-            Thread.yield();
-        }
+        this.handoff.pause();
 
-        this.replayBuffer.read(this::consumeReplay);
+        if (this.replayMode == ReplayMode.RAW_FRAMES) {
+            replayRawFrames();
+        } else {
+            this.replayBuffer.read(this.replayConsumer);
+        }
+        this.counters.replaySpilled(replaySpilledMessages());
 
-        this.buffer = false;
-        this.pause = false;
+        this.handoff.resume(ReaderState.RUNNING);
     }
 
     protected abstract void attachSocket() throws IOException;
 
     protected abstract void disconnectSocket() throws Exception;
 
+    /**
+     * Parse the frames held during buffering on top of the installed snapshot. Offers publish as they would live,
+     * except for messages the snapshot already covers.
+     */
+    private void replayRawFrames() {
+        this.replayingRawFrames = true;
+        try {
+            this.rawFrames.read(this.rawFrameHandler);
+        } finally {
+            this.replayingRawFrames = false;
+        }
+    }
+
+    private void replayRawFrame(final long recvTimestamp, final ByteBuffer frame) {
+        this.recvTimestamp = recvTimestamp;
+        while (frame.hasRemaining()) {
+            handleGatewayMessage(frame);
+        }
+    }
+
+    private void allocateReplay() {
+        if (this.rawFrames != null || this.replayBuffer != null) {
+            return;
+        }
+        if (this.replayMode == ReplayMode.RAW_FRAMES) {
+            this.rawFrames = new RawFrameBuffer(this.replaySpillCapacity);
+        } else {
+            this.replayBuffer = new ReplayBuffer<>(this, this.replayBufferSize, this.replaySpillCapacity);
+        }
+    }
+
+    private void resetReplay() {
+        if (this.rawFrames != null) {
+            this.rawFrames.reset();
+        } else if (this.replayBuffer != null) {
+            this.replayBuffer.reset();
+        }
+    }
+
     private void consumeReplay(final T schema) {
         if (snapshot == null) {
             this.schema.copyFrom(schema);
+            this.internalBook.invalidateImage(this.schema);
+            recordCounters(this.schema).onPublished(messageKind(this.schema));
             this.sequencedRingBuffer.publish();
             this.claim();
         } else if (schema.getSequenceNumber() >= snapshot.getSequenceNumber()) {
@@ -146,16 +212,11 @@ public abstract class SocketReader<T extends Schema> implements GnomeAgent, Sche
      */
     public final void disconnect() throws Exception {
         logger.log(LogMessage.SOCKET_DISCONNECTING);
-        this.pause = true;
-        this.buffer = true;
-
-        while (!this.isPaused) { // Wait for the main consumer thread to pause
-            Thread.yield();
-        }
+        this.handoff.pause();
 
         this.disconnectSocket();
         this.internalBook.reset();
-        this.replayBuffer.reset();
+        resetReplay();
         logger.log(LogMessage.SOCKET_DISCONNECTED);
     }
 
@@ -163,23 +224,227 @@ public abstract class SocketReader<T extends Schema> implements GnomeAgent, Sche
         this.rawDataSink = sink;
     }
 
+    /**
+     * Report this reader's frames, records and replay, and its writer's queue depth, into {@code counters}. Must
+     * be called before the first connect(); {@link MarketInboundGateway} does this with the counters it is given.
+     */
+    public final void setCounters(ListingCounters counters) {
+        this.counters = counters;
+        if (this.socketWriter != null) {
+            this.socketWriter.setCounters(counters);
+        }
+    }
+
+    public final ListingCounters counters() {
+        return this.counters;
+    }
+
+    /**
+     * The counters a record is counted in. Readers that publish several listings return that record's listing's
+     * counters; frames, replay and reconnects belong to the connection and stay in {@link #counters()}.
+     */
+    protected ListingCounters recordCounters(final T record) {
+        return this.counters;
+    }
+
+    /**
+     * Size the buffer that holds live messages while connect() waits for the snapshot. Messages beyond
+     * {@code slots} spill into an off-heap region of up to {@code maxSpillCapacity} bytes; only past that does
+     * buffering fail. Must be called before the first connect(), which allocates the buffer.
+     */
+    public final void setReplayBuffer(int slots, int maxSpillCapacity) {
+        this.replayBufferSize = slots;
+        this.replaySpillCapacity = maxSpillCapacity;
+    }
+
+    /**
+     * Choose what is held while connect() waits for the snapshot. {@link ReplayMode#RAW_FRAMES} keeps up to the
+     * replay spill capacity of raw frames and never allocates the replay schemas. Must be called before the
+     * first connect(), which allocates the storage of the chosen mode.
+     */
+    public final void setReplayMode(ReplayMode replayMode) {
+        if (replayMode == ReplayMode.RAW_FRAMES && !supportsRawFrameReplay()) {
+            throw new IllegalArgumentException("Invalid replay mode for this reader: " + replayMode);
+        }
+        this.replayMode = replayMode;
+    }
+
+    public final ReplayMode replayMode() {
+        return this.replayMode;
+    }
+
+    /**
+     * Whether the frames returned by {@link #readSocket()} can be held and parsed later. Readers that parse
+     * elsewhere and return a placeholder frame must return false.
+     */
+    protected boolean supportsRawFrameReplay() {
+        return true;
+    }
+
+    /**
+     * Publish a flagged full-book snapshot record after live records, so consumers that join late can start
+     * from it rather than rebuilding the book. A snapshot follows the first live record once {@code intervalNanos}
+     * of recvTimestamp has passed since the last one, or once {@code everyRecords} records have been published
+     * since it, whichever comes first. Either may be 0 to disable it; both 0 turns snapshot records off.
+     */
+    public final void setSnapshotRecordInterval(long intervalNanos, int everyRecords) {
+        if (intervalNanos < 0) {
+            throw new IllegalArgumentException("Invalid snapshot record interval: " + intervalNanos);
+        }
+        if (everyRecords < 0) {
+            throw new IllegalArgumentException("Invalid snapshot record count: " + everyRecords);
+        }
+        this.snapshotRecordIntervalNanos = intervalNanos;
+        this.snapshotRecordEvery = everyRecords;
+        if ((intervalNanos > 0 || everyRecords > 0) && this.snapshotRecordScratch == null) {
+            this.snapshotRecordScratch = createSchema();
+        }
+    }
+
+    /**
+     * @return flagged snapshot records published since the reader was created
+     */
+    public final long snapshotRecordsPublished() {
+        return this.snapshotRecordsPublished;
+    }
+
+    /**
+     * The book a snapshot record is written from, for the record that was just published. Readers that keep
+     * a book per listing return the one that record belonged to; the integrity checks also keep their state
+     * per book returned here.
+     */
+    protected Book<T> snapshotRecordBook() {
+        return this.internalBook;
+    }
+
+    /**
+     * Copy the distribution of clock time from recvTimestamp to ring publish for live records of {@code kind}
+     * into {@code target}. Records replayed during connect() or from a journal are not counted. Safe to call
+     * from any thread.
+     */
+    public final void latencySnapshot(MessageKind kind, LatencyHistogram target) {
+        latencyOf(kind).copyInto(target);
+    }
+
+    /**
+     * @return the monitor comparing the venue's event timestamps with recvTimestamp for live records
+     */
+    public final FeedDelayMonitor feedDelayMonitor() {
+        return this.feedDelayMonitor;
+    }
+
+    /**
+     * @return the integrity checks run on the reader thread against every book record before it is published
+     */
+    public final BookIntegrityMonitor<T> bookIntegrity() {
+        return this.bookIntegrity;
+    }
+
+    /**
+     * @return messages that overflowed the replay slots into the spill region during the last connect(), 0 in
+     *     {@link ReplayMode#RAW_FRAMES}
+     */
+    public final int replaySpilledMessages() {
+        return this.replayBuffer != null ? this.replayBuffer.spilledMessages() : 0;
+    }
+
+    /**
+     * Set the maximum number of frames drained from the socket per doWork.
+     * <p>
+     * Each doWork keeps reading until the socket has nothing buffered, the budget is spent or a pause is
+     * requested, so busy listings amortize the agent loop while quiet ones return 0 and back off.
+     */
+    public final void setFrameBudget(int frameBudget) {
+        if (frameBudget < 1) {
+            throw new IllegalArgumentException("Invalid frame budget: " + frameBudget);
+        }
+        this.frameBudget = frameBudget;
+    }
+
+    /**
+     * Mark records as driven by a {@link JournalReplay}: their recvTimestamps are historical, so they are kept
+     * out of the latency histograms, the feed delay monitor and the stale top of book check.
+     */
+    final void setJournalReplay(final boolean journalReplay) {
+        this.journalReplay = journalReplay;
+    }
+
+    public final ReaderState state() {
+        return this.handoff.state();
+    }
+
+    public final boolean isPaused() {
+        return this.handoff.state() == ReaderState.PAUSED;
+    }
+
+    /**
+     * Ask the reader thread to pause at its next doWork without waiting for it.
+     */
+    public final void requestPause() {
+        this.handoff.requestPause();
+    }
+
+    /**
+     * Hand the reader back to its thread, publishing live. connect() does this once the snapshot is applied;
+     * exposed for harnesses that drive {@link #handleGatewayMessage} without a socket.
+     */
+    public final void resume() {
+        this.handoff.resume(ReaderState.RUNNING);
+    }
+
+    /**
+     * @return nanos between the last pause request and the reader thread acknowledging it
+     */
+    public final long lastPauseHandoffNanos() {
+        return this.handoff.lastPauseHandoffNanos();
+    }
+
+    /**
+     * @return nanos the reader thread spent parked in its last pause
+     */
+    public final long lastPausedNanos() {
+        return this.handoff.lastPausedNanos();
+    }
+
+    /**
+     * @return the number of frames handled, 0 if the socket had nothing to read
+     */
     @Override
     public final int doWork() throws Exception {
-        if (this.pause) {
-            this.isPaused = true;
-            while (this.pause) {
-                Thread.yield();
+        this.handoff.awaitRunnable();
+
+        final ReaderState startState = this.handoff.state();
+        int frames = 0;
+        while (frames < this.frameBudget) {
+            final ByteBuffer buffer = readSocket();
+            if (buffer == null || !buffer.hasRemaining()) {
+                break;
+            }
+            this.counters.onFrame(buffer.remaining());
+            while (buffer.hasRemaining()) {
+                this.recvTimestamp = clock.nanoTime();
+                this.rawDataSink.capture(this.recvTimestamp, buffer);
+                if (this.replayMode == ReplayMode.RAW_FRAMES && this.handoff.isBuffering()) {
+                    bufferRawFrame(buffer);
+                    break;
+                }
+                handleGatewayMessage(buffer);
+            }
+            frames++;
+            if (this.handoff.state() != startState) {
+                // Hand control back promptly on a pause request
+                break;
             }
-            this.isPaused = false;
         }
+        return frames;
+    }
 
-        final ByteBuffer buffer = readSocket();
-        while (buffer != null && buffer.hasRemaining()) {
-            this.recvTimestamp = clock.nanoTime();
-            this.rawDataSink.capture(this.recvTimestamp, buffer);
-            handleGatewayMessage(buffer);
+    private void bufferRawFrame(final ByteBuffer buffer) {
+        if (!this.rawFrames.append(this.recvTimestamp, buffer)) {
+            throw new RuntimeException("Replay buffer overflow");
         }
-        return 0;
+        this.counters.onReplayBuffered();
+        buffer.position(buffer.limit());
     }
 
     protected final void claim() {
@@ -187,21 +452,102 @@ public abstract class SocketReader<T extends Schema> implements GnomeAgent, Sche
     }
 
     protected final void offer() {
-        if (this.buffer) {
-            final int index = this.replayBuffer.tryClaim();
-            if (index < 0) {
+        if (this.replayingRawFrames) {
+            if (this.snapshot == null || this.schema.getSequenceNumber() >= this.snapshot.getSequenceNumber()) {
+                publish();
+            }
+        } else if (this.handoff.isBuffering()) {
+            if (this.replayMode == ReplayMode.RAW_FRAMES || this.replayBuffer == null) {
+                // A pause requested mid-frame: connect() resets replay before buffering again, so the rest of a
+                // frame that was already being published live is dropped
+                this.counters.onReplayDropped();
+                return;
+            }
+            if (!this.replayBuffer.offer(this.schema)) {
                 throw new RuntimeException("Replay buffer overflow");
             }
-            this.replayBuffer.indexAt(index).copyFrom(this.schema);
-            this.replayBuffer.commit(index);
+            this.counters.onReplayBuffered();
         } else {
-            this.sequencedRingBuffer.publish();
-            this.claim();
+            publish();
         }
     }
 
+    private void publish() {
+        final boolean snapshotRecordDue = isSnapshotRecordDue();
+        if (snapshotRecordDue) {
+            this.snapshotRecordScratch.copyFrom(this.schema);
+        }
+        final MessageKind kind = messageKind(this.schema);
+        final ListingCounters recordCounters = recordCounters(this.schema);
+        // Replayed frames carry the recvTimestamp of a frame held through the snapshot fetch, journal frames a
+        // historical one, so neither is a latency this reader achieved
+        final LatencyHistogram latency = this.replayingRawFrames || this.journalReplay ? null : latencyOf(kind);
+        final long eventTimestamp = latency != null ? eventTimestamp(this.schema) : NO_TIMESTAMP;
+        if (kind == MessageKind.BOOK) {
+            this.bookIntegrity.check(
+                    this.schema, snapshotRecordBook(), this.recvTimestamp, !this.journalReplay, recordCounters);
+        }
+        recordCounters.onPublished(kind);
+        this.sequencedRingBuffer.publish();
+        if (latency != null) {
+            final long publishTimestamp = this.clock.nanoTime();
+            latency.record(publishTimestamp - this.recvTimestamp);
+            this.feedDelayMonitor.record(eventTimestamp, this.recvTimestamp, publishTimestamp);
+        }
+        this.claim();
+        if (snapshotRecordDue) {
+            publishSnapshotRecord();
+        }
+    }
+
+    private LatencyHistogram latencyOf(final MessageKind kind) {
+        return kind == MessageKind.TRADE ? this.tradeLatency : this.bookLatency;
+    }
+
+    private boolean isSnapshotRecordDue() {
+        if (this.snapshotRecordScratch == null) {
+            return false;
+        }
+        this.recordsSinceSnapshotRecord++;
+        if (this.snapshotRecordEvery > 0 && this.recordsSinceSnapshotRecord >= this.snapshotRecordEvery) {
+            return true;
+        }
+        return this.snapshotRecordIntervalNanos > 0
+                && (this.lastSnapshotRecordTimestamp == Long.MIN_VALUE
+                        || this.recvTimestamp - this.lastSnapshotRecordTimestamp >= this.snapshotRecordIntervalNanos);
+    }
+
+    /**
+     * Publish the record just sent again, flagged as a snapshot and carrying every level of its book. It keeps
+     * the record's sequence and timestamps, so consumers can start from it and apply what follows.
+     */
+    private void publishSnapshotRecord() {
+        final Book<T> book = snapshotRecordBook();
+        this.schema.copyFrom(this.snapshotRecordScratch);
+        markSnapshot(this.schema);
+        final ListingCounters recordCounters = recordCounters(this.schema);
+        // The copied header carried another slot's levels
+        book.invalidateImage(this.schema);
+        book.writeTo(this.schema);
+        this.sequencedRingBuffer.publish();
+        this.claim();
+
+        this.recordsSinceSnapshotRecord = 0;
+        this.lastSnapshotRecordTimestamp = this.recvTimestamp;
+        this.snapshotRecordsPublished++;
+        recordCounters.onSnapshotRecord();
+    }
+
+    /**
+     * Report a level the book rejected, e.g. a price off its tick grid. Counted as a level anomaly; the gateway
+     * resyncs the reader at its next sanity check.
+     */
+    protected final void onRejectedLevel() {
+        this.bookIntegrity.rejectLevel(this.counters);
+    }
+
     protected final void onSocketClose() {
-        this.pause = true;
+        this.handoff.requestPause();
         logger.log(LogMessage.SOCKET_DISCONNECTED);
         throw new RuntimeException("Socket closed");
     }
@@ -3,9 +3,11 @@ package group.gnometrading.gateways.inbound;
 import group.gnometrading.collections.buffer.ManyToOneRingBuffer;
 import group.gnometrading.collections.buffer.RingBuffer;
 import group.gnometrading.concurrent.GnomeAgent;
+import group.gnometrading.gateways.inbound.counters.ListingCounters;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class SocketWriter implements GnomeAgent {
 
@@ -15,6 +17,10 @@ public abstract class SocketWriter implements GnomeAgent {
     private final RingBuffer<ByteBuffer> writeBuffer;
     private final RingBuffer<ByteBuffer> controlWriteBuffer;
     private final int writeBufferSize;
+    // Publishes come from any thread; writes only from this agent, so depth is published minus written
+    private final AtomicLong published;
+    private long written;
+    private ListingCounters counters = ListingCounters.NO_OP;
 
     public SocketWriter() {
         this(DEFAULT_WRITE_BUFFER_SIZE, DEFAULT_MESSAGE_BUS_CAPACITY);
@@ -25,6 +31,7 @@ public abstract class SocketWriter implements GnomeAgent {
         this.writeBuffer = new ManyToOneRingBuffer<>(ByteBuffer[]::new, this::createWriteBuffer, messageBusCapacity);
         this.controlWriteBuffer =
                 new ManyToOneRingBuffer<>(ByteBuffer[]::new, this::createWriteBuffer, messageBusCapacity);
+        this.published = new AtomicLong();
     }
 
     private ByteBuffer createWriteBuffer() {
@@ -33,14 +40,24 @@ public abstract class SocketWriter implements GnomeAgent {
 
     protected abstract void write(ByteBuffer buffer) throws IOException;
 
+    /**
+     * Report the messages still queued on the write and control rings into {@code counters} after every drain.
+     * Must be called before the writer starts.
+     */
+    public final void setCounters(ListingCounters counters) {
+        this.counters = counters;
+    }
+
     @Override
     public final int doWork() {
         this.writeBuffer.read(this::handleWrite);
         this.controlWriteBuffer.read(this::handleWrite);
+        this.counters.writerQueueDepth(this.published.get() - this.written);
         return 0;
     }
 
     private void handleWrite(ByteBuffer buffer) {
+        this.written++;
         buffer.flip();
         try {
             this.write(buffer);
@@ -51,6 +68,7 @@ public abstract class SocketWriter implements GnomeAgent {
     }
 
     public final void publishWriteBuffer(int writeSequence) {
+        this.published.incrementAndGet();
         this.writeBuffer.commit(writeSequence);
     }
 
@@ -67,6 +85,7 @@ public abstract class SocketWriter implements GnomeAgent {
     }
 
     public final void publishControlWriteBuffer(int controlWriteSequence) {
+        this.published.incrementAndGet();
         this.controlWriteBuffer.commit(controlWriteSequence);
     }
 
@@ -50,7 +50,8 @@ public abstract class WebSocketReader<T extends Schema> extends SocketReader<T>
     protected final void attachSocket() throws IOException {
         beforeConnect();
         this.socketClient.connect();
-        this.socketClient.configureBlocking(true);
+        // The handshake above blocks; reads after it return without a frame when nothing is buffered
+        this.socketClient.configureBlocking(false);
         this.socketClient.setTcpNoDelay(true);
         this.socketClient.setKeepAlive(true);
         this.subscribe();
@@ -4,14 +4,32 @@ import group.gnometrading.networking.websockets.WebSocketClient;
 import group.gnometrading.networking.websockets.enums.Opcode;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
 
 public class WebSocketWriter extends SocketWriter {
 
+    private static final long MAX_SPINS = 100;
+    private static final long MAX_YIELDS = 10;
+    private static final long MIN_PARK_NANOS = 1_000L;
+    private static final long MAX_PARK_NANOS = 1_000_000L;
+    // A peer that takes nothing for this long is gone; failing the writer lets the gateway reconnect
+    private static final long MAX_SEND_STALL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
     private final WebSocketClient socketClient;
+    private final IdleStrategy sendIdle;
+    private final long maxSendStallNanos;
 
     public WebSocketWriter(WebSocketClient socketClient) {
+        this(socketClient, MAX_SEND_STALL_NANOS);
+    }
+
+    WebSocketWriter(WebSocketClient socketClient, long maxSendStallNanos) {
         super();
         this.socketClient = socketClient;
+        this.sendIdle = new BackoffIdleStrategy(MAX_SPINS, MAX_YIELDS, MIN_PARK_NANOS, MAX_PARK_NANOS);
+        this.maxSendStallNanos = maxSendStallNanos;
     }
 
     public final void writePong() {
@@ -42,8 +60,31 @@ public class WebSocketWriter extends SocketWriter {
         }
     }
 
+    /**
+     * The socket is non-blocking, so a full send buffer takes a partial write or none. The rest is retried with
+     * a backoff until the peer drains it, and the write fails once it has made no progress for the stall limit.
+     */
     @Override
     protected final void write(ByteBuffer buffer) throws IOException {
-        this.socketClient.writeBuffer(buffer);
+        boolean stalled = false;
+        long stalledSince = 0;
+        this.sendIdle.reset();
+        while (buffer.hasRemaining()) {
+            final int position = buffer.position();
+            this.socketClient.writeBuffer(buffer);
+            if (buffer.position() != position) {
+                stalled = false;
+                this.sendIdle.reset();
+                continue;
+            }
+            final long now = System.nanoTime();
+            if (!stalled) {
+                stalled = true;
+                stalledSince = now;
+            } else if (now - stalledSince >= this.maxSendStallNanos) {
+                throw new IOException("Socket send buffer stayed full for " + (now - stalledSince) + "ns");
+            }
+            this.sendIdle.idle();
+        }
     }
 }
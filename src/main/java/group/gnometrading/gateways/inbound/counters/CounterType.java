@@ -0,0 +1,41 @@
+package group.gnometrading.gateways.inbound.counters;
+
+/**
+ * The counters kept for every listing. The type id is stored with each counter so a monitoring process can
+ * tell them apart without parsing labels; the key of every counter is the listing id as an int.
+ */
+public enum CounterType {
+    FRAMES_READ(1, "frames read"),
+    BYTES_READ(2, "bytes read"),
+    BOOK_EMITS(3, "book records published"),
+    TRADES(4, "trades published"),
+    SNAPSHOT_RECORDS(5, "snapshot records published"),
+    REPLAY_BUFFERED(6, "replay buffered"),
+    REPLAY_SPILLED(7, "replay spilled on last connect"),
+    RECONNECTS(8, "reconnects"),
+    CONNECT_FAILURES(9, "connect failures"),
+    SILENCE_TIMEOUTS(10, "silence timeouts"),
+    WRITER_QUEUE_DEPTH(11, "socket writer messages queued"),
+    CROSSED_BOOKS(12, "crossed or locked books"),
+    SEQUENCE_REGRESSIONS(13, "sequence regressions"),
+    STALE_TOPS_OF_BOOK(14, "stale tops of book"),
+    LEVEL_ANOMALIES(15, "level anomalies"),
+    REPLAY_DROPPED(16, "records dropped by a pause mid-frame"),
+    CAPTURE_QUEUE_DEPTH(17, "raw capture bytes queued");
+
+    private final int typeId;
+    private final String label;
+
+    CounterType(final int typeId, final String label) {
+        this.typeId = typeId;
+        this.label = label;
+    }
+
+    public int typeId() {
+        return this.typeId;
+    }
+
+    public String label() {
+        return this.label;
+    }
+}
@@ -0,0 +1,154 @@
+package group.gnometrading.gateways.inbound.counters;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersManager;
+import org.agrona.concurrent.status.CountersReader;
+
+/**
+ * Gateway counters in a memory-mapped file, so a monitoring process can read them without touching the
+ * trading JVM.
+ * <p>
+ * The file is a {@value #HEADER_LENGTH} byte header ({@code [int magic][int version][int maxCounters]}) followed
+ * by an Agrona {@link CountersManager} metadata region and its values region, both sized for
+ * {@code maxCounters}. Counter values are written with ordered stores and read without locks; another
+ * process maps the same file with {@link #open(Path)} and reads it through {@link #reader()}.
+ */
+public final class GatewayCounters implements AutoCloseable {
+
+    public static final int MAGIC = 0x474E4331; // "GNC1"
+    public static final int VERSION = 1;
+
+    public static final int MAGIC_OFFSET = 0;
+    public static final int VERSION_OFFSET = 4;
+    public static final int MAX_COUNTERS_OFFSET = 8;
+    public static final int HEADER_LENGTH = 64;
+
+    private final MappedByteBuffer mapped;
+    private final CountersReader reader;
+    private final CountersManager manager;
+    private boolean closed;
+
+    /**
+     * Create, or replace, the counters file at {@code path} with room for {@code maxCounters} counters.
+     */
+    public GatewayCounters(final Path path, final int maxCounters) {
+        if (maxCounters <= 0) {
+            throw new IllegalArgumentException("Invalid max counters: " + maxCounters);
+        }
+        final int length = fileLength(maxCounters);
+        try {
+            Files.deleteIfExists(path);
+            this.mapped = map(path, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final UnsafeBuffer header = new UnsafeBuffer(this.mapped, 0, HEADER_LENGTH);
+        header.putInt(VERSION_OFFSET, VERSION);
+        header.putInt(MAX_COUNTERS_OFFSET, maxCounters);
+        this.manager = new CountersManager(
+                metaDataBuffer(this.mapped, maxCounters),
+                valuesBuffer(this.mapped, maxCounters),
+                StandardCharsets.US_ASCII);
+        this.reader = this.manager;
+        // Readers check the magic last, so they never see a half-written header
+        header.putIntOrdered(MAGIC_OFFSET, MAGIC);
+    }
+
+    private GatewayCounters(final MappedByteBuffer mapped, final int maxCounters) {
+        this.mapped = mapped;
+        this.manager = null;
+        this.reader = new CountersReader(
+                metaDataBuffer(mapped, maxCounters), valuesBuffer(mapped, maxCounters), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Map an existing counters file for reading, e.g. from a monitoring process.
+     */
+    public static GatewayCounters open(final Path path) {
+        final MappedByteBuffer mapped;
+        try {
+            final long length = Files.size(path);
+            if (length < HEADER_LENGTH || length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid counters file length: " + path);
+            }
+            mapped = map(path, (int) length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final UnsafeBuffer header = new UnsafeBuffer(mapped, 0, HEADER_LENGTH);
+        if (header.getIntVolatile(MAGIC_OFFSET) != MAGIC) {
+            IoUtil.unmap(mapped);
+            throw new IllegalArgumentException("Invalid counters file: " + path);
+        }
+        final int maxCounters = header.getInt(MAX_COUNTERS_OFFSET);
+        if (mapped.capacity() < fileLength(maxCounters)) {
+            IoUtil.unmap(mapped);
+            throw new IllegalArgumentException("Invalid counters file length: " + path);
+        }
+        return new GatewayCounters(mapped, maxCounters);
+    }
+
+    /**
+     * Allocate the counters of one listing. Called while wiring gateways up, not on the hot path.
+     *
+     * @param listingId stored as the key of every counter
+     * @param name appended to each counter's label, e.g. the exchange symbol
+     */
+    public synchronized ListingCounters allocate(final int listingId, final String name) {
+        if (this.manager == null) {
+            throw new IllegalStateException("Counters file is open for reading");
+        }
+        if (this.closed) {
+            throw new IllegalStateException("Counters are closed");
+        }
+        return new ListingCounters(this.manager, listingId, name);
+    }
+
+    /**
+     * @return a lock-free view of every counter in the file
+     */
+    public CountersReader reader() {
+        return this.reader;
+    }
+
+    /**
+     * Unmap the file. Counters allocated from it must no longer be used.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        IoUtil.unmap(this.mapped);
+    }
+
+    static int fileLength(final int maxCounters) {
+        return HEADER_LENGTH + maxCounters * (CountersReader.METADATA_LENGTH + CountersReader.COUNTER_LENGTH);
+    }
+
+    private static MappedByteBuffer map(final Path path, final int length) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(length);
+            return file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+        }
+    }
+
+    private static UnsafeBuffer metaDataBuffer(final MappedByteBuffer mapped, final int maxCounters) {
+        return new UnsafeBuffer(mapped, HEADER_LENGTH, maxCounters * CountersReader.METADATA_LENGTH);
+    }
+
+    private static UnsafeBuffer valuesBuffer(final MappedByteBuffer mapped, final int maxCounters) {
+        final int offset = HEADER_LENGTH + maxCounters * CountersReader.METADATA_LENGTH;
+        return new UnsafeBuffer(mapped, offset, maxCounters * CountersReader.COUNTER_LENGTH);
+    }
+}
@@ -0,0 +1,236 @@
+package group.gnometrading.gateways.inbound.counters;
+
+import group.gnometrading.gateways.inbound.IntegrityCheck;
+import group.gnometrading.gateways.inbound.MessageKind;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+/**
+ * The {@link CounterType counters} of one listing. Each counter has a single writer: the reader thread for
+ * frames, records, replay and book integrity, the supervisor for connects and silence, the socket writer and
+ * the raw capture drainer for their queue depths.
+ * Every update is an ordered store, never a locked instruction.
+ */
+public class ListingCounters implements AutoCloseable {
+
+    /**
+     * Counters for readers nobody is monitoring. Every update is a no-op, so the readers sharing it never
+     * write to a common cache line, and every counter reads 0.
+     */
+    public static final ListingCounters NO_OP = new Unmonitored();
+
+    private final int listingId;
+    private final AtomicCounter framesRead;
+    private final AtomicCounter bytesRead;
+    private final AtomicCounter bookEmits;
+    private final AtomicCounter trades;
+    private final AtomicCounter snapshotRecords;
+    private final AtomicCounter replayBuffered;
+    private final AtomicCounter replaySpilled;
+    private final AtomicCounter reconnects;
+    private final AtomicCounter connectFailures;
+    private final AtomicCounter silenceTimeouts;
+    private final AtomicCounter writerQueueDepth;
+    private final AtomicCounter crossedBooks;
+    private final AtomicCounter sequenceRegressions;
+    private final AtomicCounter staleTopsOfBook;
+    private final AtomicCounter levelAnomalies;
+    private final AtomicCounter replayDropped;
+    private final AtomicCounter captureQueueDepth;
+
+    ListingCounters(final CountersManager manager, final int listingId, final String name) {
+        this.listingId = listingId;
+        this.framesRead = newCounter(manager, CounterType.FRAMES_READ, listingId, name);
+        this.bytesRead = newCounter(manager, CounterType.BYTES_READ, listingId, name);
+        this.bookEmits = newCounter(manager, CounterType.BOOK_EMITS, listingId, name);
+        this.trades = newCounter(manager, CounterType.TRADES, listingId, name);
+        this.snapshotRecords = newCounter(manager, CounterType.SNAPSHOT_RECORDS, listingId, name);
+        this.replayBuffered = newCounter(manager, CounterType.REPLAY_BUFFERED, listingId, name);
+        this.replaySpilled = newCounter(manager, CounterType.REPLAY_SPILLED, listingId, name);
+        this.reconnects = newCounter(manager, CounterType.RECONNECTS, listingId, name);
+        this.connectFailures = newCounter(manager, CounterType.CONNECT_FAILURES, listingId, name);
+        this.silenceTimeouts = newCounter(manager, CounterType.SILENCE_TIMEOUTS, listingId, name);
+        this.writerQueueDepth = newCounter(manager, CounterType.WRITER_QUEUE_DEPTH, listingId, name);
+        this.crossedBooks = newCounter(manager, CounterType.CROSSED_BOOKS, listingId, name);
+        this.sequenceRegressions = newCounter(manager, CounterType.SEQUENCE_REGRESSIONS, listingId, name);
+        this.staleTopsOfBook = newCounter(manager, CounterType.STALE_TOPS_OF_BOOK, listingId, name);
+        this.levelAnomalies = newCounter(manager, CounterType.LEVEL_ANOMALIES, listingId, name);
+        this.replayDropped = newCounter(manager, CounterType.REPLAY_DROPPED, listingId, name);
+        this.captureQueueDepth = newCounter(manager, CounterType.CAPTURE_QUEUE_DEPTH, listingId, name);
+    }
+
+    private ListingCounters() {
+        this.listingId = 0;
+        this.framesRead = null;
+        this.bytesRead = null;
+        this.bookEmits = null;
+        this.trades = null;
+        this.snapshotRecords = null;
+        this.replayBuffered = null;
+        this.replaySpilled = null;
+        this.reconnects = null;
+        this.connectFailures = null;
+        this.silenceTimeouts = null;
+        this.writerQueueDepth = null;
+        this.crossedBooks = null;
+        this.sequenceRegressions = null;
+        this.staleTopsOfBook = null;
+        this.levelAnomalies = null;
+        this.replayDropped = null;
+        this.captureQueueDepth = null;
+    }
+
+    public int listingId() {
+        return this.listingId;
+    }
+
+    public void onFrame(final int bytes) {
+        this.framesRead.incrementOrdered();
+        this.bytesRead.getAndAddOrdered(bytes);
+    }
+
+    public void onPublished(final MessageKind kind) {
+        if (kind == MessageKind.TRADE) {
+            this.trades.incrementOrdered();
+        } else {
+            this.bookEmits.incrementOrdered();
+        }
+    }
+
+    public void onSnapshotRecord() {
+        this.snapshotRecords.incrementOrdered();
+    }
+
+    public void onReplayBuffered() {
+        this.replayBuffered.incrementOrdered();
+    }
+
+    public void replaySpilled(final int messages) {
+        this.replaySpilled.setOrdered(messages);
+    }
+
+    public void onReplayDropped() {
+        this.replayDropped.incrementOrdered();
+    }
+
+    public void onReconnect() {
+        this.reconnects.incrementOrdered();
+    }
+
+    public void onConnectFailure() {
+        this.connectFailures.incrementOrdered();
+    }
+
+    public void onSilenceTimeout() {
+        this.silenceTimeouts.incrementOrdered();
+    }
+
+    public void writerQueueDepth(final long messages) {
+        this.writerQueueDepth.setOrdered(messages);
+    }
+
+    public void captureQueueDepth(final long bytes) {
+        this.captureQueueDepth.setOrdered(bytes);
+    }
+
+    public void onIntegrityFailure(final IntegrityCheck check) {
+        switch (check) {
+            case CROSSED_BOOK -> this.crossedBooks.incrementOrdered();
+            case SEQUENCE_REGRESSION -> this.sequenceRegressions.incrementOrdered();
+            case STALE_TOP_OF_BOOK -> this.staleTopsOfBook.incrementOrdered();
+            case LEVEL_ANOMALY -> this.levelAnomalies.incrementOrdered();
+        }
+    }
+
+    /**
+     * @return the current value of {@code type}
+     */
+    public long get(final CounterType type) {
+        return counter(type).get();
+    }
+
+    /**
+     * Free every counter so its slot can be reused.
+     */
+    @Override
+    public void close() {
+        for (CounterType type : CounterType.values()) {
+            counter(type).close();
+        }
+    }
+
+    private AtomicCounter counter(final CounterType type) {
+        return switch (type) {
+            case FRAMES_READ -> this.framesRead;
+            case BYTES_READ -> this.bytesRead;
+            case BOOK_EMITS -> this.bookEmits;
+            case TRADES -> this.trades;
+            case SNAPSHOT_RECORDS -> this.snapshotRecords;
+            case REPLAY_BUFFERED -> this.replayBuffered;
+            case REPLAY_SPILLED -> this.replaySpilled;
+            case RECONNECTS -> this.reconnects;
+            case CONNECT_FAILURES -> this.connectFailures;
+            case SILENCE_TIMEOUTS -> this.silenceTimeouts;
+            case WRITER_QUEUE_DEPTH -> this.writerQueueDepth;
+            case CROSSED_BOOKS -> this.crossedBooks;
+            case SEQUENCE_REGRESSIONS -> this.sequenceRegressions;
+            case STALE_TOPS_OF_BOOK -> this.staleTopsOfBook;
+            case LEVEL_ANOMALIES -> this.levelAnomalies;
+            case REPLAY_DROPPED -> this.replayDropped;
+            case CAPTURE_QUEUE_DEPTH -> this.captureQueueDepth;
+        };
+    }
+
+    private static AtomicCounter newCounter(
+            final CountersManager manager, final CounterType type, final int listingId, final String name) {
+        return manager.newCounter(
+                type.label() + ": " + name, type.typeId(), keyBuffer -> keyBuffer.putInt(0, listingId));
+    }
+
+    private static final class Unmonitored extends ListingCounters {
+
+        @Override
+        public void onFrame(final int bytes) {}
+
+        @Override
+        public void onPublished(final MessageKind kind) {}
+
+        @Override
+        public void onSnapshotRecord() {}
+
+        @Override
+        public void onReplayBuffered() {}
+
+        @Override
+        public void replaySpilled(final int messages) {}
+
+        @Override
+        public void onReplayDropped() {}
+
+        @Override
+        public void onReconnect() {}
+
+        @Override
+        public void onConnectFailure() {}
+
+        @Override
+        public void onSilenceTimeout() {}
+
+        @Override
+        public void writerQueueDepth(final long messages) {}
+
+        @Override
+        public void captureQueueDepth(final long bytes) {}
+
+        @Override
+        public void onIntegrityFailure(final IntegrityCheck check) {}
+
+        @Override
+        public long get(final CounterType type) {
+            return 0;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
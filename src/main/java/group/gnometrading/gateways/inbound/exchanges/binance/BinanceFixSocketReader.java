@@ -36,19 +36,26 @@ public final class BinanceFixSocketReader extends SocketReader<Mbp10Schema>
 
     private static final long NANOS_PER_MICRO = 1_000L;
     private static final int MAX_LEVELS = 10;
+    private static final int SIGNATURE_LENGTH = 64;
+    private static final int ENCODED_SIGNATURE_LENGTH = 88;
 
     private final FixSocketMessageClient fixClient;
     private final FixSession fixSession;
     private final FixConfig fixConfig;
     private final FixMessage outboundMessage;
-    private final MbpBufferBook book;
+    private final FixMessage replayMessage;
+    private final MbpBufferBook<Mbp10Schema> book;
     private final PrivateKey privateKey;
     private final String apiKey;
     private final String symbol;
-    private final ByteBuffer messageReady;
     private final ByteBuffer logonPayloadBuffer;
+    private final byte[] signature;
+    private final byte[] encodedSignature;
+    private final ByteBuffer encodedSignatureBuffer;
+    private final Base64.Encoder base64;
+    private final MbpBufferBook<Mbp10Schema> snapshotBook;
 
-    private MbpBufferBook snapshotBook;
+    private Signature signer;
     private long lastTradePrice;
     private long lastTradeSize;
     private long lastSequenceNumber;
@@ -67,12 +74,17 @@ public final class BinanceFixSocketReader extends SocketReader<Mbp10Schema>
         this.fixConfig = fixConfig;
         this.fixSession = new FixSession(fixConfig, fixClient, this);
         this.outboundMessage = new FixMessage(fixConfig);
-        this.book = (MbpBufferBook) this.internalBook;
+        this.replayMessage = new FixMessage(fixConfig);
+        this.book = (MbpBufferBook<Mbp10Schema>) this.internalBook;
         this.privateKey = privateKey;
         this.apiKey = apiKey;
         this.symbol = listing.exchangeSecuritySymbol();
-        this.messageReady = ByteBuffer.allocate(1);
         this.logonPayloadBuffer = ByteBuffer.allocate(256);
+        this.signature = new byte[SIGNATURE_LENGTH];
+        this.encodedSignature = new byte[ENCODED_SIGNATURE_LENGTH];
+        this.encodedSignatureBuffer = ByteBuffer.wrap(this.encodedSignature);
+        this.base64 = Base64.getEncoder();
+        this.snapshotBook = createBook();
         this.lastTradePrice = Mbp10Encoder.priceNullValue();
         this.lastTradeSize = Mbp10Encoder.sizeNullValue();
         this.lastSequenceNumber = Mbp10Encoder.sequenceNullValue();
@@ -89,7 +101,7 @@ public final class BinanceFixSocketReader extends SocketReader<Mbp10Schema>
         waitForMsgType(FixDefaultMsgTypes.Logon);
         sendMarketDataRequest("DEPTH", 10, false);
         sendMarketDataRequest("TRADES", 1, true);
-        this.snapshotBook = readDepthSnapshot();
+        readDepthSnapshot();
     }
 
     private void sendLogon() throws IOException {
@@ -98,14 +110,15 @@ public final class BinanceFixSocketReader extends SocketReader<Mbp10Schema>
                 .getTag(Fix50Sp2Tags.SendingTime)
                 .setTimestamp(System.currentTimeMillis(), FixTimestampPrecision.MILLISECONDS);
 
-        final byte[] payload = buildLogonPayload();
-        final byte[] signature = signPayload(payload);
-        final byte[] encodedSig = Base64.getEncoder().encode(signature);
+        buildLogonPayload();
+        signPayload();
+        final int encodedLength = this.base64.encode(this.signature, this.encodedSignature);
+        this.encodedSignatureBuffer.clear().limit(encodedLength);
 
         this.outboundMessage.addTag(Fix50Sp2Tags.EncryptMethod).setInt(0);
         this.outboundMessage.addTag(Fix50Sp2Tags.HeartBtInt).setInt(this.fixConfig.heartbeatSeconds());
-        this.outboundMessage.addTag(Fix50Sp2Tags.RawDataLength).setInt(encodedSig.length);
-        this.outboundMessage.addTag(Fix50Sp2Tags.RawData).setByteBuffer(ByteBuffer.wrap(encodedSig));
+        this.outboundMessage.addTag(Fix50Sp2Tags.RawDataLength).setInt(encodedLength);
+        this.outboundMessage.addTag(Fix50Sp2Tags.RawData).setByteBuffer(this.encodedSignatureBuffer);
         this.outboundMessage.addTag(Fix50Sp2Tags.ResetSeqNumFlag).setBoolean(true);
         this.outboundMessage.addTag(Fix50Sp2Tags.Username).setString(this.apiKey);
         this.outboundMessage.addTag(BinanceFixTags.MessageHandling).setInt(1);
@@ -113,7 +126,10 @@ public final class BinanceFixSocketReader extends SocketReader<Mbp10Schema>
         this.fixSession.send(this.outboundMessage);
     }
 
-    private byte[] buildLogonPayload() {
+    /**
+     * Write the signed logon fields into the payload buffer, flipped for reading.
+     */
+    private void buildLogonPayload() {
         this.logonPayloadBuffer.clear();
         appendTagBytes(Fix50Sp2Tags.MsgType);
         this.logonPayloadBuffer.put(FixConstants.SOH);
@@ -125,9 +141,6 @@ public final class BinanceFixSocketReader extends SocketReader<Mbp10Schema>
         this.logonPayloadBuffer.put(FixConstants.SOH);
         appendTagBytes(Fix50Sp2Tags.SendingTime);
         this.logonPayloadBuffer.flip();
-        final byte[] result = new byte[this.logonPayloadBuffer.remaining()];
-        this.logonPayloadBuffer.get(result);
-        return result;
     }
 
     private void appendTagBytes(final int tag) {
@@ -137,13 +150,20 @@ public final class BinanceFixSocketReader extends SocketReader<Mbp10Schema>
         }
     }
 
-    private byte[] signPayload(final byte[] payload) throws IOException {
+    /**
+     * Sign the logon payload into the reused signature array. The signer is initialised on the first logon
+     * and reset by each sign(), so reconnects reuse it. Ed25519 signatures are always 64 bytes.
+     */
+    private void signPayload() throws IOException {
         try {
-            final Signature sig = Signature.getInstance("Ed25519");
-            sig.initSign(this.privateKey);
-            sig.update(payload);
-            return sig.sign();
+            if (this.signer == null) {
+                this.signer = Signature.getInstance("Ed25519");
+                this.signer.initSign(this.privateKey);
+            }
+            this.signer.update(this.logonPayloadBuffer);
+            this.signer.sign(this.signature, 0, SIGNATURE_LENGTH);
         } catch (Exception e) {
+            this.signer = null;
             throw new IOException("Ed25519 signing failed", e);
         }
     }
@@ -181,7 +201,7 @@ public final class BinanceFixSocketReader extends SocketReader<Mbp10Schema>
         }
     }
 
-    private MbpBufferBook readDepthSnapshot() throws IOException {
+    private void readDepthSnapshot() throws IOException {
         final ByteBuffer buf = this.fixClient.getReadBuffer();
         while (true) {
             while (this.fixClient.readMessage(buf) != 1) {
@@ -196,12 +216,14 @@ public final class BinanceFixSocketReader extends SocketReader<Mbp10Schema>
             if (lastBookUpdate == null || lastBookUpdate.asLong() == 0) {
                 continue;
             }
-            return parseSnapshotBook(msg);
+            parseSnapshotBook(msg);
+            return;
         }
     }
 
-    private MbpBufferBook parseSnapshotBook(final FixMessage message) {
-        final MbpBufferBook snapshotBook = createBook();
+    private void parseSnapshotBook(final FixMessage message) {
+        final MbpBufferBook<Mbp10Schema> snapshotBook = this.snapshotBook;
+        snapshotBook.reset();
         long lastBookUpdateId = 0;
         char currentType = 0;
         long currentPrice = 0;
@@ -229,10 +251,10 @@ public final class BinanceFixSocketReader extends SocketReader<Mbp10Schema>
             applySnapshotLevel(snapshotBook, currentType, currentPrice, currentSize);
         }
         snapshotBook.setSequenceNumber(lastBookUpdateId + 1);
-        return snapshotBook;
     }
 
-    private void applySnapshotLevel(final MbpBufferBook target, final char type, final long price, final long size) {
+    private void applySnapshotLevel(
+            final MbpBufferBook<Mbp10Schema> target, final char type, final long price, final long size) {
         if (type == '0') {
             target.updateBid(price, size, 1);
         } else if (type == '1') {
@@ -255,14 +277,23 @@ public final class BinanceFixSocketReader extends SocketReader<Mbp10Schema>
         if (result == 0) {
             return null;
         }
-        this.messageReady.clear();
-        return this.messageReady;
+        // The message is already parsed into the client; the frame is what gets captured and held for replay
+        return this.fixClient.getFrame().rewind();
     }
 
     @Override
     protected void handleGatewayMessage(final ByteBuffer buffer) {
-        buffer.position(buffer.limit());
-        final FixMessage msg = this.fixClient.getMessage();
+        final FixMessage msg;
+        if (buffer == this.fixClient.getFrame()) {
+            buffer.position(buffer.limit());
+            msg = this.fixClient.getMessage();
+        } else if (this.replayMessage.parseBuffer(buffer)) {
+            // A frame held through the snapshot fetch, or read back from a journal
+            msg = this.replayMessage;
+        } else {
+            buffer.position(buffer.limit());
+            return;
+        }
         try {
             if (!this.fixSession.handleFixMessage(msg)) {
                 dispatchMarketMessage(msg);
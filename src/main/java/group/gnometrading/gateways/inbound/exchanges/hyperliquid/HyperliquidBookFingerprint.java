@@ -0,0 +1,193 @@
+package group.gnometrading.gateways.inbound.exchanges.hyperliquid;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Fingerprints the raw bytes of the top levels of an {@code l2Book} frame without JSON decoding.
+ * <p>
+ * Hyperliquid pushes the full book on every tick and most ticks leave the visible levels untouched, so a
+ * reader can compare each frame with the last one it applied and skip parsing entirely when they match. The
+ * fingerprint is only a quick reject: a match is confirmed against a copy of the applied frame's level bytes,
+ * so a hash collision can't republish a stale book. Expects the compact layout
+ * Hyperliquid sends, {@code {"channel":"l2Book","data":{"coin":..,"time":..,"levels":[[..],[..]]}}};
+ * anything else is reported as not scannable and should go through the regular decoder.
+ */
+final class HyperliquidBookFingerprint {
+
+    private static final byte[] L2_BOOK_PREFIX =
+            "{\"channel\":\"l2Book\",\"data\":{".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TIME_KEY = "\"time\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LEVELS_KEY = "\"levels\":[".getBytes(StandardCharsets.US_ASCII);
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int NOT_FOUND = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int maxLevels;
+    private long fingerprint;
+    private long time;
+    private byte[] levelBytes = new byte[INITIAL_CAPACITY];
+    private int levelLength;
+
+    private long appliedFingerprint;
+    private byte[] appliedBytes = new byte[INITIAL_CAPACITY];
+    private int appliedLength;
+    private boolean appliedValid;
+
+    HyperliquidBookFingerprint(final int maxLevels) {
+        this.maxLevels = maxLevels;
+    }
+
+    /**
+     * Scan {@code buffer} between its position and limit without moving either.
+     *
+     * @return true if the frame is an l2Book frame and {@link #fingerprint()}, {@link #time()} and the copy of
+     *     its top level bytes are set
+     */
+    boolean scan(final ByteBuffer buffer) {
+        final int limit = buffer.limit();
+        int index = buffer.position();
+        if (!startsWith(buffer, index, limit, L2_BOOK_PREFIX)) {
+            return false;
+        }
+
+        index = indexAfter(buffer, index + L2_BOOK_PREFIX.length, limit, TIME_KEY);
+        if (index == NOT_FOUND) {
+            return false;
+        }
+        long parsedTime = 0;
+        int digits = 0;
+        for (; index < limit; index++, digits++) {
+            final byte b = buffer.get(index);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            parsedTime = parsedTime * 10 + (b - '0');
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        index = indexAfter(buffer, index, limit, LEVELS_KEY);
+        if (index == NOT_FOUND) {
+            return false;
+        }
+        long hash = FNV_OFFSET;
+        this.levelLength = 0;
+        for (int side = 0; side < 2; side++) {
+            if (side == 1) {
+                if (index >= limit || buffer.get(index) != ',') {
+                    return false;
+                }
+                index++;
+            }
+            if (index >= limit || buffer.get(index) != '[') {
+                return false;
+            }
+            index++;
+
+            // Hash each level object up to maxLevels; level objects hold no nested braces or brackets
+            int levels = 0;
+            while (index < limit && buffer.get(index) != ']') {
+                final byte b = buffer.get(index++);
+                if (levels < this.maxLevels) {
+                    hash = (hash ^ b) * FNV_PRIME;
+                    append(b);
+                }
+                if (b == '}') {
+                    levels++;
+                }
+            }
+            if (index >= limit) {
+                return false;
+            }
+            index++;
+            // Separate the sides so a level can't shift from one to the other unnoticed
+            final byte sideLevels = (byte) (levels < this.maxLevels ? levels : this.maxLevels);
+            hash = (hash ^ sideLevels) * FNV_PRIME;
+            hash = (hash ^ ']') * FNV_PRIME;
+            append(sideLevels);
+            append((byte) ']');
+        }
+
+        this.fingerprint = hash;
+        this.time = parsedTime;
+        return true;
+    }
+
+    /**
+     * @return the fingerprint of the last scanned frame's top levels
+     */
+    long fingerprint() {
+        return this.fingerprint;
+    }
+
+    /**
+     * @return the {@code time} field of the last scanned frame, in epoch millis
+     */
+    long time() {
+        return this.time;
+    }
+
+    /**
+     * @return true if the last scanned frame's top levels are byte-identical to the applied frame's
+     */
+    boolean matchesApplied() {
+        return this.appliedValid
+                && this.fingerprint == this.appliedFingerprint
+                && Arrays.equals(this.levelBytes, 0, this.levelLength, this.appliedBytes, 0, this.appliedLength);
+    }
+
+    /**
+     * Record the last scanned frame as the one the book was brought to.
+     */
+    void markApplied() {
+        final byte[] previous = this.appliedBytes;
+        this.appliedBytes = this.levelBytes;
+        this.appliedLength = this.levelLength;
+        this.appliedFingerprint = this.fingerprint;
+        this.appliedValid = true;
+        this.levelBytes = previous;
+        this.levelLength = 0;
+    }
+
+    /**
+     * Forget the applied frame, e.g. when the book changed through a frame that could not be scanned.
+     */
+    void invalidate() {
+        this.appliedValid = false;
+    }
+
+    private void append(final byte b) {
+        if (this.levelLength == this.levelBytes.length) {
+            // Grows while the first deep books arrive, then the buffers are reused
+            this.levelBytes = Arrays.copyOf(this.levelBytes, this.levelBytes.length << 1);
+        }
+        this.levelBytes[this.levelLength++] = b;
+    }
+
+    private static boolean startsWith(final ByteBuffer buffer, final int from, final int limit, final byte[] pattern) {
+        if (limit - from < pattern.length) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length; i++) {
+            if (buffer.get(from + i) != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexAfter(final ByteBuffer buffer, final int from, final int limit, final byte[] pattern) {
+        final int last = limit - pattern.length;
+        for (int i = from; i <= last; i++) {
+            if (startsWith(buffer, i, limit, pattern)) {
+                return i + pattern.length;
+            }
+        }
+        return NOT_FOUND;
+    }
+}
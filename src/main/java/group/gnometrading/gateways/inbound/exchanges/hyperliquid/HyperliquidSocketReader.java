@@ -19,6 +19,7 @@ import group.gnometrading.schemas.Statics;
 import group.gnometrading.sequencer.SequencedRingBuffer;
 import group.gnometrading.sm.Listing;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import org.agrona.concurrent.EpochNanoClock;
 
 public final class HyperliquidSocketReader extends JsonWebSocketReader<Mbp10Schema> implements Mbp10SchemaFactory {
@@ -33,6 +34,9 @@ public final class HyperliquidSocketReader extends JsonWebSocketReader<Mbp10Sche
     }
 
     private final Mbp10Book book;
+    private final HyperliquidBookFingerprint fingerprint;
+    private final Mbp10Schema bookImage;
+    private boolean frameScanned;
     private long lastTradePrice;
     private long lastTradeSize;
     private boolean initialTradesBatchReceived;
@@ -47,6 +51,8 @@ public final class HyperliquidSocketReader extends JsonWebSocketReader<Mbp10Sche
             JsonDecoder jsonDecoder) {
         super(logger, outputBuffer, clock, socketWriter, listing, socketClient, jsonDecoder);
         this.book = (Mbp10Book) this.internalBook;
+        this.fingerprint = new HyperliquidBookFingerprint(MAX_LEVEL_DEPTH);
+        this.bookImage = createSchema();
 
         this.lastTradePrice = Mbp10Encoder.priceNullValue();
         this.lastTradeSize = Mbp10Encoder.sizeNullValue();
@@ -70,6 +76,32 @@ public final class HyperliquidSocketReader extends JsonWebSocketReader<Mbp10Sche
         return null;
     }
 
+    /**
+     * Short-circuits l2Book frames whose top levels are byte-identical to the last one applied: the record
+     * encoded for that frame is republished with the new timestamps, without decoding or encoding any levels.
+     */
+    @Override
+    protected boolean handleNonJsonMessage(final ByteBuffer buffer) {
+        if (!this.fingerprint.scan(buffer)) {
+            return false;
+        }
+        if (this.fingerprint.matchesApplied()) {
+            final long timestamp = this.fingerprint.time() * NANOS_PER_MILLI;
+            this.schema.copyFrom(this.bookImage);
+            prepareEncoder();
+            this.schema.encoder.timestampEvent(timestamp);
+            this.schema.encoder.sequence(timestamp);
+            this.schema.encoder.price(this.lastTradePrice);
+            this.schema.encoder.size(this.lastTradeSize);
+            this.schema.encoder.depth(Mbp10Encoder.depthNullValue());
+            offer();
+            return true;
+        }
+        // The full parse below brings the book to this frame's levels
+        this.frameScanned = true;
+        return false;
+    }
+
     @Override
     protected void handleJsonMessage(JsonDecoder.JsonNode node) {
         try (var obj = node.asObject()) {
@@ -180,7 +212,7 @@ public final class HyperliquidSocketReader extends JsonWebSocketReader<Mbp10Sche
         return (short) depth;
     }
 
-    private void parseL2Book(final JsonDecoder.JsonNode node) {
+    private void encodeBookHeader() {
         prepareEncoder();
 
         this.schema.encoder.timestampEvent(Mbp10Encoder.timestampEventNullValue());
@@ -193,6 +225,10 @@ public final class HyperliquidSocketReader extends JsonWebSocketReader<Mbp10Sche
 
         this.schema.encoder.flags().clear();
         this.schema.encoder.flags().marketByPrice(true);
+    }
+
+    private void parseL2Book(final JsonDecoder.JsonNode node) {
+        encodeBookHeader();
 
         try (var object = node.asObject()) {
             while (object.hasNextKey()) {
@@ -201,6 +237,13 @@ public final class HyperliquidSocketReader extends JsonWebSocketReader<Mbp10Sche
         }
 
         this.book.writeTo(this.schema);
+        this.bookImage.copyFrom(this.schema);
+        if (this.frameScanned) {
+            this.fingerprint.markApplied();
+        } else {
+            this.fingerprint.invalidate();
+        }
+        this.frameScanned = false;
         offer();
     }
 
@@ -293,6 +336,8 @@ public final class HyperliquidSocketReader extends JsonWebSocketReader<Mbp10Sche
     @Override
     protected void subscribe() throws IOException {
         this.initialTradesBatchReceived = false;
+        this.fingerprint.invalidate();
+        this.frameScanned = false;
         this.writeSubscription("l2Book");
         this.writeSubscription("trades");
     }
@@ -9,6 +9,7 @@ import group.gnometrading.gateways.inbound.SocketWriter;
 import group.gnometrading.gateways.inbound.WebSocketWriter;
 import group.gnometrading.gateways.inbound.mbp.Mbp10Book;
 import group.gnometrading.gateways.inbound.mbp.Mbp10SchemaFactory;
+import group.gnometrading.gateways.inbound.mbp.MbpBook;
 import group.gnometrading.logging.Logger;
 import group.gnometrading.networking.websockets.WebSocketClient;
 import group.gnometrading.schemas.Action;
@@ -34,8 +35,8 @@ import org.agrona.concurrent.EpochNanoClock;
  *
  * <p>Connects to the Kalshi WebSocket API and subscribes to the {@code orderbook_delta} and
  * {@code trade} channels for a single market ticker. Maintains a full-depth YES and NO orderbook
- * internally (indexed by integer cent price 1–99) and extracts top-10 levels into Mbp10Schema on
- * each book update.
+ * internally (indexed by integer cent price 1–99) with a two-word occupancy bitmask per side, and
+ * keeps the top-10 levels of the Mbp10Book in step with each delta.
  *
  * <p>YES levels map to bids. NO levels map to asks: a NO bid at price P implies a YES ask at price
  * (100 - P) cents.
@@ -68,6 +69,8 @@ public final class KalshiSocketReader extends JsonWebSocketReader<Mbp10Schema> i
     private static final long CENT_DOLLAR_TO_SIZE = Statics.SIZE_SCALING_FACTOR / 100L;
     private static final long NANOS_PER_MILLI = 1_000_000L;
     private static final String WEBSOCKET_PATH = "/trade-api/ws/v2";
+    private static final byte[] SIGNED_SUFFIX = ("GET" + WEBSOCKET_PATH).getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_TIMESTAMP_DIGITS = 19;
 
     private enum MsgType {
         UNKNOWN,
@@ -85,8 +88,18 @@ public final class KalshiSocketReader extends JsonWebSocketReader<Mbp10Schema> i
     private final long[] yesQty = new long[PRICE_ARRAY_SIZE];
     private final long[] noQty = new long[PRICE_ARRAY_SIZE];
 
+    // Occupancy of yesQty/noQty: bit p set iff qty[p] > 0. Price p lives in word p >>> 6, bit p & 63.
+    private final long[] yesMask = new long[2];
+    private final long[] noMask = new long[2];
+
     private long lastTimestampNanos;
 
+    // Auth state reused across reconnects; the signer and signature arrays are created on the first connect
+    private final byte[] signedPayload = new byte[MAX_TIMESTAMP_DIGITS + SIGNED_SUFFIX.length];
+    private Signature signer;
+    private byte[] signature;
+    private byte[] encodedSignature;
+
     public KalshiSocketReader(
             Logger logger,
             SequencedRingBuffer<Mbp10Schema> outputBuffer,
@@ -109,25 +122,57 @@ public final class KalshiSocketReader extends JsonWebSocketReader<Mbp10Schema> i
 
     @Override
     protected void beforeConnect() throws IOException {
-        long timestampMillis = clock.nanoTime() / NANOS_PER_MILLI;
-        String timestamp = Long.toString(timestampMillis);
-        String payload = timestamp + "GET" + WEBSOCKET_PATH;
+        final int digits = writeTimestamp(clock.nanoTime() / NANOS_PER_MILLI);
+        System.arraycopy(SIGNED_SUFFIX, 0, this.signedPayload, digits, SIGNED_SUFFIX.length);
 
         try {
-            Signature sig = Signature.getInstance("RSASSA-PSS");
-            sig.setParameter(new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1));
-            sig.initSign(privateKey);
-            sig.update(payload.getBytes(StandardCharsets.UTF_8));
-            String signature = Base64.getEncoder().encodeToString(sig.sign());
+            if (this.signer == null) {
+                this.signer = Signature.getInstance("RSASSA-PSS");
+                this.signer.setParameter(
+                        new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1));
+                this.signer.initSign(privateKey);
+            }
+            this.signer.update(this.signedPayload, 0, digits + SIGNED_SUFFIX.length);
+            if (this.signature == null) {
+                // The signature is as long as the key's modulus; size the reused arrays from the first one
+                this.signature = this.signer.sign();
+                this.encodedSignature = new byte[4 * ((this.signature.length + 2) / 3)];
+            } else {
+                this.signer.sign(this.signature, 0, this.signature.length);
+            }
+            final int encodedLength = Base64.getEncoder().encode(this.signature, this.encodedSignature);
 
+            // The client takes header values as Strings, so these two are the only per-connect allocations
             socketClient.setHeader("KALSHI-ACCESS-KEY", apiKey);
-            socketClient.setHeader("KALSHI-ACCESS-TIMESTAMP", timestamp);
-            socketClient.setHeader("KALSHI-ACCESS-SIGNATURE", signature);
+            socketClient.setHeader(
+                    "KALSHI-ACCESS-TIMESTAMP", new String(this.signedPayload, 0, digits, StandardCharsets.US_ASCII));
+            socketClient.setHeader(
+                    "KALSHI-ACCESS-SIGNATURE",
+                    new String(this.encodedSignature, 0, encodedLength, StandardCharsets.US_ASCII));
         } catch (Exception e) {
+            this.signer = null;
             throw new IOException("Failed to compute Kalshi auth signature", e);
         }
     }
 
+    /**
+     * Write the decimal digits of a positive millisecond timestamp at the start of the signed payload.
+     *
+     * @return the number of digits written
+     */
+    private int writeTimestamp(final long timestampMillis) {
+        int digits = 1;
+        for (long remaining = timestampMillis / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        long remaining = timestampMillis;
+        for (int i = digits - 1; i >= 0; i--) {
+            this.signedPayload[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return digits;
+    }
+
     @Override
     protected void subscribe() throws IOException {
         // {"id": 1, "cmd": "subscribe", "params": {"channels": ["orderbook_delta", "trade"], "market_tickers":
@@ -211,15 +256,17 @@ public final class KalshiSocketReader extends JsonWebSocketReader<Mbp10Schema> i
     private void parseSnapshot(final JsonDecoder.JsonNode msgNode) {
         Arrays.fill(yesQty, 0L);
         Arrays.fill(noQty, 0L);
+        Arrays.fill(yesMask, 0L);
+        Arrays.fill(noMask, 0L);
         lastTimestampNanos = Mbp10Encoder.timestampEventNullValue();
 
         try (var msg = msgNode.asObject()) {
             while (msg.hasNextKey()) {
                 try (var key = msg.nextKey()) {
                     if (key.getName().equals("yes_dollars_fp")) {
-                        parseLevelPairs(key, yesQty);
+                        parseLevelPairs(key, yesQty, yesMask);
                     } else if (key.getName().equals("no_dollars_fp")) {
-                        parseLevelPairs(key, noQty);
+                        parseLevelPairs(key, noQty, noMask);
                     }
                     // market_ticker, market_id: auto-consumed on close
                 }
@@ -229,18 +276,18 @@ public final class KalshiSocketReader extends JsonWebSocketReader<Mbp10Schema> i
         refreshMbp10Book();
     }
 
-    private void parseLevelPairs(final JsonDecoder.JsonNode node, final long[] qtyArray) {
+    private void parseLevelPairs(final JsonDecoder.JsonNode node, final long[] qtyArray, final long[] mask) {
         try (var array = node.asArray()) {
             while (array.hasNextItem()) {
                 try (var pairNode = array.nextItem();
                         var pair = pairNode.asArray()) {
-                    parsePair(pair, qtyArray);
+                    parsePair(pair, qtyArray, mask);
                 }
             }
         }
     }
 
-    private void parsePair(final JsonDecoder.JsonArray pair, final long[] qtyArray) {
+    private void parsePair(final JsonDecoder.JsonArray pair, final long[] qtyArray, final long[] mask) {
         int priceCents = 0;
         long qty = 0;
         if (pair.hasNextItem()) {
@@ -255,6 +302,7 @@ public final class KalshiSocketReader extends JsonWebSocketReader<Mbp10Schema> i
         }
         if (priceCents > 0 && priceCents < PRICE_ARRAY_SIZE) {
             qtyArray[priceCents] = qty;
+            setOccupied(mask, priceCents, qty > 0);
         }
     }
 
@@ -286,13 +334,33 @@ public final class KalshiSocketReader extends JsonWebSocketReader<Mbp10Schema> i
             return;
         }
 
-        long[] qtyArray = isYes ? yesQty : noQty;
-        qtyArray[priceCents] = Math.max(0L, qtyArray[priceCents] + delta);
-
-        refreshMbp10Book();
+        applyDelta(isYes, priceCents, delta);
         emitBookUpdate();
     }
 
+    /**
+     * Apply a delta and touch only the Mbp10Book slots it can affect: nothing if the level ranks below the
+     * top 10, a single slot if the level stays populated, otherwise the slots from its rank down.
+     */
+    private void applyDelta(final boolean isYes, final int priceCents, final long delta) {
+        final long[] qty = isYes ? yesQty : noQty;
+        final long[] mask = isYes ? yesMask : noMask;
+        final MbpBook.PriceLevel[] levels = isYes ? book.bids : book.asks;
+        final boolean wasOccupied = qty[priceCents] > 0;
+        qty[priceCents] = Math.max(0L, qty[priceCents] + delta);
+        final boolean occupied = qty[priceCents] > 0;
+
+        final int rank = countAbove(mask, priceCents);
+        if (wasOccupied != occupied) {
+            setOccupied(mask, priceCents, occupied);
+            if (rank < MAX_LEVEL_DEPTH) {
+                refreshLevels(qty, mask, levels, !isYes, rank, priceCents);
+            }
+        } else if (occupied && rank < MAX_LEVEL_DEPTH) {
+            levels[rank].update(levelPrice(priceCents, !isYes), qty[priceCents] * CENT_DOLLAR_TO_SIZE, 1L);
+        }
+    }
+
     private void parseTrade(final JsonDecoder.JsonNode msgNode) {
         long tradePrice = 0;
         long tradeSize = 0;
@@ -331,31 +399,72 @@ public final class KalshiSocketReader extends JsonWebSocketReader<Mbp10Schema> i
     }
 
     private void refreshMbp10Book() {
-        // Bids: YES levels, descending by price (highest = best bid first)
-        int bidIdx = 0;
-        for (int p = PRICE_ARRAY_SIZE - 1; p >= 1 && bidIdx < MAX_LEVEL_DEPTH; p--) {
-            if (yesQty[p] > 0) {
-                book.bids[bidIdx].update((long) p * CENTS_TO_PRICE_SCALE, yesQty[p] * CENT_DOLLAR_TO_SIZE, 1L);
-                bidIdx++;
+        refreshLevels(yesQty, yesMask, book.bids, false, 0, PRICE_ARRAY_SIZE - 1);
+        refreshLevels(noQty, noMask, book.asks, true, 0, PRICE_ARRAY_SIZE - 1);
+    }
+
+    /**
+     * Fill {@code levels[fromRank..]} walking populated prices downward from {@code fromCents}.
+     * Bids are YES levels, highest first. Asks are derived from NO levels: a NO bid at P is a YES ask at
+     * (100 - P), so the highest NO price is the lowest YES ask.
+     */
+    private void refreshLevels(
+            final long[] qty,
+            final long[] mask,
+            final MbpBook.PriceLevel[] levels,
+            final boolean isAsk,
+            final int fromRank,
+            final int fromCents) {
+        int p = highestAtOrBelow(mask, fromCents);
+        for (int rank = fromRank; rank < MAX_LEVEL_DEPTH; rank++) {
+            if (p == 0) {
+                levels[rank].reset();
+            } else {
+                levels[rank].update(levelPrice(p, isAsk), qty[p] * CENT_DOLLAR_TO_SIZE, 1L);
+                p = highestAtOrBelow(mask, p - 1);
             }
         }
-        for (; bidIdx < MAX_LEVEL_DEPTH; bidIdx++) {
-            book.bids[bidIdx].reset();
+    }
+
+    private static long levelPrice(final int priceCents, final boolean isAsk) {
+        return (isAsk ? PRICE_ARRAY_SIZE - priceCents : priceCents) * CENTS_TO_PRICE_SCALE;
+    }
+
+    private static void setOccupied(final long[] mask, final int priceCents, final boolean occupied) {
+        if (occupied) {
+            mask[priceCents >>> 6] |= 1L << priceCents;
+        } else {
+            mask[priceCents >>> 6] &= ~(1L << priceCents);
         }
+    }
 
-        // Asks: derived from NO levels. NO bid at P → YES ask at (100 - P).
-        // Highest NO price → lowest YES ask, so iterate NO from high to low for ascending asks.
-        int askIdx = 0;
-        for (int p = PRICE_ARRAY_SIZE - 1; p >= 1 && askIdx < MAX_LEVEL_DEPTH; p--) {
-            if (noQty[p] > 0) {
-                long askPriceCents = PRICE_ARRAY_SIZE - p;
-                book.asks[askIdx].update(askPriceCents * CENTS_TO_PRICE_SCALE, noQty[p] * CENT_DOLLAR_TO_SIZE, 1L);
-                askIdx++;
+    /**
+     * @return the highest populated price at or below {@code priceCents}, or 0 if there is none
+     */
+    private static int highestAtOrBelow(final long[] mask, final int priceCents) {
+        if (priceCents <= 0) {
+            return 0;
+        }
+        int p = priceCents;
+        if (p >= 64) {
+            final long high = mask[1] & (-1L >>> (127 - p));
+            if (high != 0) {
+                return 127 - Long.numberOfLeadingZeros(high);
             }
+            p = 63;
         }
-        for (; askIdx < MAX_LEVEL_DEPTH; askIdx++) {
-            book.asks[askIdx].reset();
+        final long low = mask[0] & (-1L >>> (63 - p));
+        return low != 0 ? 63 - Long.numberOfLeadingZeros(low) : 0;
+    }
+
+    /**
+     * @return the number of populated prices strictly above {@code priceCents}
+     */
+    private static int countAbove(final long[] mask, final int priceCents) {
+        if (priceCents >= 64) {
+            return Long.bitCount(mask[1] & (-2L << priceCents));
         }
+        return Long.bitCount(mask[0] & (-2L << priceCents)) + Long.bitCount(mask[1]);
     }
 
     private void emitBookUpdate() {
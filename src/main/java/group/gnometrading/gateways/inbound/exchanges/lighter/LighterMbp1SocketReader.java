@@ -0,0 +1,30 @@
+package group.gnometrading.gateways.inbound.exchanges.lighter;
+
+import group.gnometrading.codecs.json.JsonDecoder;
+import group.gnometrading.gateways.inbound.SocketWriter;
+import group.gnometrading.gateways.inbound.mbp.buffer.Mbp1BufferSchemaFactory;
+import group.gnometrading.logging.Logger;
+import group.gnometrading.networking.websockets.WebSocketClient;
+import group.gnometrading.schemas.Mbp1Schema;
+import group.gnometrading.sequencer.SequencedRingBuffer;
+import group.gnometrading.sm.Listing;
+import org.agrona.concurrent.EpochNanoClock;
+
+/**
+ * Lighter top of book: the same parser and full book as {@link LighterSocketReader}, publishing a record only
+ * when the best bid or ask changes, and on every trade.
+ */
+public final class LighterMbp1SocketReader extends LighterMbpSocketReader<Mbp1Schema>
+        implements Mbp1BufferSchemaFactory {
+
+    public LighterMbp1SocketReader(
+            Logger logger,
+            SequencedRingBuffer<Mbp1Schema> outputBuffer,
+            EpochNanoClock clock,
+            SocketWriter socketWriter,
+            Listing listing,
+            WebSocketClient socketClient,
+            JsonDecoder jsonDecoder) {
+        super(logger, outputBuffer, clock, socketWriter, listing, socketClient, jsonDecoder);
+    }
+}
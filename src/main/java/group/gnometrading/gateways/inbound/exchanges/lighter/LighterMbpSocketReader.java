@@ -0,0 +1,261 @@
+package group.gnometrading.gateways.inbound.exchanges.lighter;
+
+import group.gnometrading.codecs.json.JsonDecoder;
+import group.gnometrading.codecs.json.JsonEncoder;
+import group.gnometrading.gateways.inbound.Book;
+import group.gnometrading.gateways.inbound.JsonWebSocketReader;
+import group.gnometrading.gateways.inbound.JsonWebSocketWriter;
+import group.gnometrading.gateways.inbound.SchemaFactory;
+import group.gnometrading.gateways.inbound.SocketWriter;
+import group.gnometrading.gateways.inbound.WebSocketWriter;
+import group.gnometrading.gateways.inbound.mbp.MbpIncrementalBook;
+import group.gnometrading.gateways.inbound.mbp.MbpLevels;
+import group.gnometrading.logging.Logger;
+import group.gnometrading.networking.websockets.WebSocketClient;
+import group.gnometrading.schemas.Action;
+import group.gnometrading.schemas.Schema;
+import group.gnometrading.schemas.Side;
+import group.gnometrading.schemas.Statics;
+import group.gnometrading.sequencer.SequencedRingBuffer;
+import group.gnometrading.sm.Listing;
+import java.io.IOException;
+import org.agrona.concurrent.EpochNanoClock;
+
+/**
+ * Lighter market data at any market-by-price depth: the book is kept in full and records are written through
+ * {@link MbpLevels}, so the same parser publishes whatever schema the subclass's factory creates.
+ * {@link LighterSocketReader} publishes MBP-10 and {@link LighterMbp1SocketReader} top of book.
+ *
+ * @param <T> the output schema type
+ */
+public abstract class LighterMbpSocketReader<T extends Schema> extends JsonWebSocketReader<T> {
+
+    private static final long NANOS_PER_MILLIS = 1_000_000L;
+
+    private final MbpLevels<T> levels;
+    private final MbpIncrementalBook<T> book;
+    private final String orderBookChannel;
+    private final String tradeChannel;
+    private long lastTradePrice;
+    private long lastTradeSize;
+    private long lastSequenceNumber;
+
+    @SuppressWarnings("unchecked")
+    protected LighterMbpSocketReader(
+            Logger logger,
+            SequencedRingBuffer<T> outputBuffer,
+            EpochNanoClock clock,
+            SocketWriter socketWriter,
+            Listing listing,
+            WebSocketClient socketClient,
+            JsonDecoder jsonDecoder) {
+        super(logger, outputBuffer, clock, socketWriter, listing, socketClient, jsonDecoder);
+        this.levels = levels();
+        this.book = (MbpIncrementalBook<T>) this.internalBook;
+
+        this.orderBookChannel = "order_book/" + listing.exchangeSecurityId();
+        this.tradeChannel = "trade/" + listing.exchangeSecurityId();
+
+        this.lastTradePrice = MbpLevels.NULL_VALUE;
+        this.lastTradeSize = MbpLevels.NULL_VALUE;
+        this.lastSequenceNumber = MbpLevels.NULL_VALUE;
+    }
+
+    @Override
+    protected void handleJsonMessage(JsonDecoder.JsonNode node) {
+        boolean shouldOffer = false;
+        long timestamp = SchemaFactory.NO_TIMESTAMP;
+
+        try (var obj = node.asObject()) {
+            while (obj.hasNextKey()) {
+                try (var key = obj.nextKey()) {
+                    if (key.getName().equals("offset")) {
+                        this.lastSequenceNumber = key.asLong();
+                    } else if (key.getName().equals("order_book")) {
+                        shouldOffer = parseOrderBook(key);
+                    } else if (key.getName().equals("trades")) {
+                        parseTrades(key);
+                    } else if (key.getName().equals("type") && key.asString().equals("ping")) {
+                        sendPong();
+                    } else if (key.getName().equals("timestamp")) {
+                        timestamp = key.asLong() * NANOS_PER_MILLIS;
+                    } else {
+                        // NO-OP: consume it
+                    }
+                }
+            }
+        }
+
+        if (shouldOffer) {
+            this.levels.writeTimestampEvent(this.schema, timestamp);
+            offer();
+        }
+    }
+
+    private void parseTrades(final JsonDecoder.JsonNode node) {
+        try (var array = node.asArray()) {
+            while (array.hasNextItem()) {
+                try (var item = array.nextItem();
+                        var obj = item.asObject()) {
+                    parseTrade(obj);
+                }
+            }
+        }
+    }
+
+    private void parseTrade(final JsonDecoder.JsonObject obj) {
+        long timestamp = SchemaFactory.NO_TIMESTAMP;
+        Side side = Side.None;
+
+        while (obj.hasNextKey()) {
+            try (var key = obj.nextKey()) {
+                if (key.getName().equals("price")) {
+                    this.lastTradePrice = key.asString().toFixedPointLong(Statics.PRICE_SCALING_FACTOR);
+                } else if (key.getName().equals("size")) {
+                    this.lastTradeSize = key.asString().toFixedPointLong(Statics.SIZE_SCALING_FACTOR);
+                } else if (key.getName().equals("timestamp")) {
+                    timestamp = key.asLong() * NANOS_PER_MILLIS;
+                } else if (key.getName().equals("is_maker_ask")) {
+                    side = key.asBoolean() ? Side.Bid : Side.Ask; // is_maker_ask = true implies the aggressor was a bid
+                } else {
+                    // NO-OP: consume it
+                }
+            }
+        }
+
+        this.levels.writeHeader(
+                this.schema,
+                this.listing,
+                this.recvTimestamp,
+                this.lastSequenceNumber,
+                this.lastTradePrice,
+                this.lastTradeSize,
+                Action.Trade,
+                side,
+                MbpLevels.NULL_DEPTH);
+        this.levels.writeTimestampEvent(this.schema, timestamp);
+        this.book.writeTo(this.schema);
+
+        offer();
+    }
+
+    private boolean parseOrderBook(final JsonDecoder.JsonNode node) {
+        int depth = MbpLevels.NULL_DEPTH;
+        try (var obj = node.asObject()) {
+            while (obj.hasNextKey()) {
+                try (var key = obj.nextKey()) {
+                    if (key.getName().equals("asks")) {
+                        depth = Math.min(depth, parseOrders(key, true));
+                    } else if (key.getName().equals("bids")) {
+                        depth = Math.min(depth, parseOrders(key, false));
+                    } else {
+                        // NO-OP: consume it
+                    }
+                }
+            }
+        }
+        // Only changes within the published depth produce a record
+        if (depth >= this.levels.depth()) {
+            return false;
+        }
+
+        // Timestamp event will be set in handleJsonMessage
+        this.levels.writeHeader(
+                this.schema,
+                this.listing,
+                this.recvTimestamp,
+                this.lastSequenceNumber,
+                this.lastTradePrice,
+                this.lastTradeSize,
+                Action.Modify,
+                Side.None,
+                depth);
+
+        this.book.writeTo(this.schema);
+        return true;
+    }
+
+    private int parseOrders(final JsonDecoder.JsonNode node, final boolean isAsk) {
+        int depth = MbpLevels.NULL_DEPTH;
+        try (var array = node.asArray()) {
+            while (array.hasNextItem()) {
+                try (var item = array.nextItem();
+                        var obj = item.asObject()) {
+                    depth = Math.min(depth, parseOrder(obj, isAsk));
+                }
+            }
+        }
+        return depth;
+    }
+
+    private int parseOrder(final JsonDecoder.JsonObject obj, final boolean isAsk) {
+        long price = 0;
+        long size = 0;
+        while (obj.hasNextKey()) {
+            try (var key = obj.nextKey()) {
+                if (key.getName().equals("price")) {
+                    price = key.asString().toFixedPointLong(Statics.PRICE_SCALING_FACTOR);
+                } else if (key.getName().equals("size")) {
+                    size = key.asString().toFixedPointLong(Statics.SIZE_SCALING_FACTOR);
+                } else {
+                    // NO-OP: consume it
+                }
+            }
+        }
+        if (isAsk) {
+            return this.book.updateAsk(price, size, 1);
+        } else {
+            return this.book.updateBid(price, size, 1);
+        }
+    }
+
+    private void writeSubscription(final String channel) {
+        final JsonWebSocketWriter jsonWebSocketWriter = (JsonWebSocketWriter) this.socketWriter;
+        final JsonEncoder jsonEncoder = jsonWebSocketWriter.getJsonEncoder();
+        jsonEncoder
+                .writeObjectStart()
+                .writeObjectEntry("type", "subscribe")
+                .writeComma()
+                .writeObjectEntry("channel", channel)
+                .writeObjectEnd();
+
+        ((WebSocketWriter) this.socketWriter).writeText(jsonWebSocketWriter.getAndFlipJsonBodyBuffer(), false);
+    }
+
+    @Override
+    protected void subscribe() throws IOException {
+        // { "type": "subscribe", "channel": "order_book/{MARKET_INDEX}"}
+        // { "type": "subscribe", "channel": "trade/{MARKET_INDEX}" }
+        this.writeSubscription(this.orderBookChannel);
+        this.writeSubscription(this.tradeChannel);
+    }
+
+    private void sendPong() {
+        // { "type": "pong" }
+        final JsonWebSocketWriter jsonWebSocketWriter = (JsonWebSocketWriter) this.socketWriter;
+        final JsonEncoder jsonEncoder = jsonWebSocketWriter.getJsonEncoder();
+
+        jsonEncoder.writeObjectStart();
+        jsonEncoder.writeObjectEntry("type", "pong");
+        jsonEncoder.writeObjectEnd();
+
+        ((WebSocketWriter) this.socketWriter).writeText(jsonWebSocketWriter.getAndFlipJsonBodyBuffer(), true);
+    }
+
+    @Override
+    protected void keepAlive() throws IOException {
+        // { "type": "ping" }
+        final JsonWebSocketWriter jsonWebSocketWriter = (JsonWebSocketWriter) this.socketWriter;
+        final JsonEncoder jsonEncoder = jsonWebSocketWriter.getJsonEncoder();
+        jsonEncoder.writeObjectStart();
+        jsonEncoder.writeObjectEntry("type", "ping");
+        jsonEncoder.writeObjectEnd();
+
+        ((WebSocketWriter) this.socketWriter).writeText(jsonWebSocketWriter.getAndFlipJsonBodyBuffer(), true);
+    }
+
+    @Override
+    public Book<T> fetchSnapshot() throws IOException {
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+package group.gnometrading.gateways.inbound.exchanges.polymarket;
+
+import group.gnometrading.strings.GnomeString;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Open-addressed map from Polymarket asset id bytes to a token index. Lookups hash the decoder's
+ * {@link GnomeString} in place, so routing a price change never materialises a String.
+ */
+final class PolymarketAssetIndex {
+
+    static final int MISSING = -1;
+
+    private static final int FNV_OFFSET = 0x811C9DC5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private final byte[][] keys;
+    private final int[] values;
+    private final int mask;
+
+    PolymarketAssetIndex(final String[] assetIds) {
+        int capacity = 8;
+        while (capacity < assetIds.length * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new byte[capacity][];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < assetIds.length; i++) {
+            put(assetIds[i].getBytes(StandardCharsets.US_ASCII), i);
+        }
+    }
+
+    private void put(final byte[] key, final int value) {
+        int slot = hash(key) & this.mask;
+        while (this.keys[slot] != null) {
+            if (Arrays.equals(this.keys[slot], key)) {
+                throw new IllegalArgumentException(
+                        "Duplicate asset id: " + new String(key, StandardCharsets.US_ASCII));
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        this.keys[slot] = key;
+        this.values[slot] = value;
+    }
+
+    /**
+     * @return the token index of {@code assetId}, or {@link #MISSING}
+     */
+    int get(final GnomeString assetId) {
+        int slot = hash(assetId) & this.mask;
+        byte[] key;
+        while ((key = this.keys[slot]) != null) {
+            if (matches(key, assetId)) {
+                return this.values[slot];
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return MISSING;
+    }
+
+    private static int hash(final byte[] key) {
+        int hash = FNV_OFFSET;
+        for (byte b : key) {
+            hash = (hash ^ b) * FNV_PRIME;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int hash(final GnomeString key) {
+        int hash = FNV_OFFSET;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.byteAt(i)) * FNV_PRIME;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(final byte[] key, final GnomeString other) {
+        if (key.length != other.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != other.byteAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
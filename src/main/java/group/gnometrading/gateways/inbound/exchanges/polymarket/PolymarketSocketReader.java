@@ -7,8 +7,9 @@ import group.gnometrading.gateways.inbound.JsonWebSocketReader;
 import group.gnometrading.gateways.inbound.JsonWebSocketWriter;
 import group.gnometrading.gateways.inbound.SocketWriter;
 import group.gnometrading.gateways.inbound.WebSocketWriter;
-import group.gnometrading.gateways.inbound.mbp.buffer.MbpBufferBook;
-import group.gnometrading.gateways.inbound.mbp.buffer.MbpBufferSchemaFactory;
+import group.gnometrading.gateways.inbound.counters.ListingCounters;
+import group.gnometrading.gateways.inbound.mbp.MbpIncrementalBook;
+import group.gnometrading.gateways.inbound.mbp.ladder.MbpLadderSchemaFactory;
 import group.gnometrading.logging.Logger;
 import group.gnometrading.networking.websockets.WebSocketClient;
 import group.gnometrading.schemas.Action;
@@ -24,18 +25,52 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import org.agrona.concurrent.EpochNanoClock;
 
-public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schema> implements MbpBufferSchemaFactory {
+/**
+ * Inbound gateway for Polymarket market data.
+ *
+ * <p>One connection can carry many tokens: every listing's token id is subscribed, and each book, price
+ * change and trade is routed by its {@code asset_id} to that token's book and published under its listing.
+ * Events without an {@code asset_id} are applied to the token only when a single listing is subscribed.
+ *
+ * <p>Each token's records are counted in the counters given to {@link #setCounters(Listing, ListingCounters)},
+ * or the reader's own until then, and its book is integrity checked on its own. Frames, replay, reconnects,
+ * latency and feed delay are properties of the one connection and are reported under the primary listing.
+ *
+ * <p>Assumes {@code asset_id} precedes {@code bids}/{@code asks} within a book event, consistent with
+ * observed API behavior.
+ */
+public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schema> implements MbpLadderSchemaFactory {
 
-    private static final int MAX_BOOK_LEVELS = 1 << 10;
     private static final long NANOS_PER_MILLI = 1_000_000L;
     private static final byte[] PING = "PING".getBytes(StandardCharsets.US_ASCII);
     private static final byte EVENT_TYPE_UNKNOWN = 0;
     private static final byte EVENT_TYPE_BOOK = 1;
     private static final byte EVENT_TYPE_PRICE_CHANGE = 2;
     private static final byte EVENT_TYPE_LAST_TRADE = 3;
+    private static final int NO_ASSET = -2;
+
+    private static final class TokenBook {
+        private final String tokenId;
+        private final Listing listing;
+        private final MbpIncrementalBook<Mbp10Schema> book;
+        private long lastTradePrice;
+        private long lastTradeSize;
+        private boolean touched;
+        // Null until set: the token's records go to the reader's counters
+        private ListingCounters counters;
+
+        private TokenBook(final String tokenId, final Listing listing, final MbpIncrementalBook<Mbp10Schema> book) {
+            this.tokenId = tokenId;
+            this.listing = listing;
+            this.book = book;
+            this.lastTradePrice = Mbp10Encoder.priceNullValue();
+            this.lastTradeSize = Mbp10Encoder.sizeNullValue();
+        }
+    }
 
     private static final class ParsedEvent {
         private byte type;
+        private int token;
         private long timestamp;
         private long price;
         private long size;
@@ -44,6 +79,7 @@ public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schem
 
         private void reset() {
             this.type = EVENT_TYPE_UNKNOWN;
+            this.token = NO_ASSET;
             this.timestamp = Mbp10Encoder.timestampEventNullValue();
             this.price = Mbp10Encoder.priceNullValue();
             this.size = Mbp10Encoder.sizeNullValue();
@@ -52,12 +88,13 @@ public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schem
         }
     }
 
-    private final MbpBufferBook book;
+    private final TokenBook[] tokens;
+    private final PolymarketAssetIndex assetIndex;
+    private final int[] touchedTokens;
+    private int touchedCount;
     private final ParsedEvent parsedEvent;
     private final ByteBuffer pingBuffer;
-    private final String tokenId;
-    private long lastTradePrice;
-    private long lastTradeSize;
+    private TokenBook emittedToken;
 
     public PolymarketSocketReader(
             Logger logger,
@@ -67,22 +104,65 @@ public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schem
             Listing listing,
             WebSocketClient socketClient,
             JsonDecoder jsonDecoder) {
-        super(logger, outputBuffer, clock, socketWriter, listing, socketClient, jsonDecoder);
-        this.book = (MbpBufferBook) this.internalBook;
+        this(logger, outputBuffer, clock, socketWriter, new Listing[] {listing}, socketClient, jsonDecoder);
+    }
+
+    /**
+     * @param listings the tokens to subscribe to on this connection; the first is the reader's primary listing
+     */
+    @SuppressWarnings("unchecked")
+    public PolymarketSocketReader(
+            Logger logger,
+            SequencedRingBuffer<Mbp10Schema> outputBuffer,
+            EpochNanoClock clock,
+            SocketWriter socketWriter,
+            Listing[] listings,
+            WebSocketClient socketClient,
+            JsonDecoder jsonDecoder) {
+        super(logger, outputBuffer, clock, socketWriter, listings[0], socketClient, jsonDecoder);
+        this.tokens = new TokenBook[listings.length];
+        final String[] tokenIds = new String[listings.length];
+        for (int i = 0; i < listings.length; i++) {
+            tokenIds[i] = tokenId(listings[i]);
+            final MbpIncrementalBook<Mbp10Schema> book =
+                    (MbpIncrementalBook<Mbp10Schema>) (i == 0 ? this.internalBook : createBook());
+            this.tokens[i] = new TokenBook(tokenIds[i], listings[i], book);
+        }
+        this.assetIndex = new PolymarketAssetIndex(tokenIds);
+        this.touchedTokens = new int[listings.length];
+        this.touchedCount = 0;
         this.parsedEvent = new ParsedEvent();
         this.pingBuffer = ByteBuffer.wrap(PING);
+        this.emittedToken = this.tokens[0];
+    }
+
+    /**
+     * Count the records of {@code listing}'s token in {@code counters}. Must be called before the first
+     * connect(); the primary listing's records follow {@link #setCounters(ListingCounters)} instead.
+     */
+    public void setCounters(final Listing listing, final ListingCounters counters) {
+        for (int i = 1; i < this.tokens.length; i++) {
+            if (this.tokens[i].listing.equals(listing)) {
+                this.tokens[i].counters = counters;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Not a secondary listing of this reader: " + listing);
+    }
+
+    private static String tokenId(final Listing listing) {
         // exchangeSecurityId is "{condition_id}:{token_id}"
         final String exchangeSecurityId = listing.exchangeSecurityId();
         final int colonIndex = exchangeSecurityId.indexOf(':');
-        this.tokenId = colonIndex >= 0 ? exchangeSecurityId.substring(colonIndex + 1) : exchangeSecurityId;
-
-        this.lastTradePrice = Mbp10Encoder.priceNullValue();
-        this.lastTradeSize = Mbp10Encoder.sizeNullValue();
+        return colonIndex >= 0 ? exchangeSecurityId.substring(colonIndex + 1) : exchangeSecurityId;
     }
 
     @Override
-    public MbpBufferBook createBook() {
-        return new MbpBufferBook(MAX_BOOK_LEVELS);
+    protected void beforeConnect() {
+        // The primary book is reset by connect(); the others are reset here while the reader is paused.
+        for (int i = 1; i < this.tokens.length; i++) {
+            this.tokens[i].book.reset();
+        }
     }
 
     @Override
@@ -143,11 +223,14 @@ public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schem
             }
         }
         emitParsedEvent(event);
+        clearTouched();
     }
 
     private void parseEventKey(final GnomeString name, final JsonDecoder.JsonNode key, final ParsedEvent event) {
         if (name.equals("event_type")) {
             event.type = parseEventType(key.asString());
+        } else if (name.equals("asset_id")) {
+            event.token = this.assetIndex.get(key.asString());
         } else if (name.equals("timestamp")) {
             event.timestamp = parseTimestamp(key);
         } else if (name.equals("bids")) {
@@ -180,32 +263,58 @@ public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schem
         return name.equals("last_trade_price") || name.equals("price");
     }
 
+    /**
+     * @return the token an event applies to, or null if its asset is not subscribed on this connection
+     */
+    private TokenBook eventToken(final ParsedEvent event) {
+        if (event.token == NO_ASSET) {
+            return this.tokens.length == 1 ? this.tokens[0] : null;
+        }
+        return event.token == PolymarketAssetIndex.MISSING ? null : this.tokens[event.token];
+    }
+
     private void parseSnapshotEventSide(final JsonDecoder.JsonNode key, final boolean isBid, final ParsedEvent event) {
+        final TokenBook token = eventToken(event);
+        if (token == null) {
+            return;
+        }
         if (!event.snapshotInitialized) {
-            this.book.reset();
+            token.book.reset();
             event.snapshotInitialized = true;
         }
-        parseSnapshotSide(key, isBid);
+        parseSnapshotSide(key, isBid, token);
     }
 
     private void emitParsedEvent(final ParsedEvent event) {
         switch (event.type) {
             case EVENT_TYPE_BOOK -> {
+                final TokenBook token = eventToken(event);
+                if (token == null) {
+                    return;
+                }
                 if (event.price != Mbp10Encoder.priceNullValue()) {
-                    this.lastTradePrice = event.price;
+                    token.lastTradePrice = event.price;
+                }
+                emit(token, event.timestamp, Action.Modify, Side.None, token.lastTradePrice, token.lastTradeSize);
+            }
+            case EVENT_TYPE_PRICE_CHANGE -> {
+                for (int i = 0; i < this.touchedCount; i++) {
+                    final TokenBook token = this.tokens[this.touchedTokens[i]];
+                    emit(token, event.timestamp, Action.Modify, Side.None, token.lastTradePrice, token.lastTradeSize);
                 }
-                emit(event.timestamp, Action.Modify, Side.None, this.lastTradePrice, this.lastTradeSize);
             }
-            case EVENT_TYPE_PRICE_CHANGE -> emit(
-                    event.timestamp, Action.Modify, Side.None, this.lastTradePrice, this.lastTradeSize);
             case EVENT_TYPE_LAST_TRADE -> {
+                final TokenBook token = eventToken(event);
+                if (token == null) {
+                    return;
+                }
                 if (event.price != Mbp10Encoder.priceNullValue()) {
-                    this.lastTradePrice = event.price;
+                    token.lastTradePrice = event.price;
                 }
                 if (event.size != Mbp10Encoder.sizeNullValue()) {
-                    this.lastTradeSize = event.size;
+                    token.lastTradeSize = event.size;
                 }
-                emit(event.timestamp, Action.Trade, event.side, event.price, event.size);
+                emit(token, event.timestamp, Action.Trade, event.side, event.price, event.size);
             }
             default -> {
                 // Other event types are retained in the lossless archive.
@@ -213,12 +322,27 @@ public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schem
         }
     }
 
+    private void touch(final int tokenIndex) {
+        final TokenBook token = this.tokens[tokenIndex];
+        if (!token.touched) {
+            token.touched = true;
+            this.touchedTokens[this.touchedCount++] = tokenIndex;
+        }
+    }
+
+    private void clearTouched() {
+        for (int i = 0; i < this.touchedCount; i++) {
+            this.tokens[this.touchedTokens[i]].touched = false;
+        }
+        this.touchedCount = 0;
+    }
+
     private long parseTimestamp(final JsonDecoder.JsonNode node) {
         return node.asString().toFixedPointLong(1L) * NANOS_PER_MILLI;
     }
 
-    private void emit(long timestampEvent, Action action, Side side, long price, long size) {
-        prepareEncoder();
+    private void emit(TokenBook token, long timestampEvent, Action action, Side side, long price, long size) {
+        prepareEncoder(token.listing);
         this.schema.encoder.timestampEvent(timestampEvent);
         // Polymarket does not publish an order-book sequence number.
         this.schema.encoder.sequence(Mbp10Encoder.sequenceNullValue());
@@ -229,19 +353,40 @@ public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schem
         this.schema.encoder.depth(Mbp10Encoder.depthNullValue());
         this.schema.encoder.flags().clear();
         this.schema.encoder.flags().marketByPrice(true);
-        this.book.writeTo(this.schema);
+        // The claimed slot may last have held another token's image
+        token.book.invalidateImage(this.schema);
+        token.book.writeTo(this.schema);
+        this.emittedToken = token;
         offer();
     }
 
-    private void parseSnapshotSide(final JsonDecoder.JsonNode node, final boolean isBid) {
+    @Override
+    protected Book<Mbp10Schema> snapshotRecordBook() {
+        return this.emittedToken.book;
+    }
+
+    @Override
+    protected ListingCounters recordCounters(final Mbp10Schema record) {
+        // Keyed by the record rather than the last emit, so records replayed after a connect are counted too
+        final int securityId = record.decoder.securityId();
+        for (int i = 1; i < this.tokens.length; i++) {
+            final TokenBook token = this.tokens[i];
+            if (token.counters != null && token.listing.security().securityId() == securityId) {
+                return token.counters;
+            }
+        }
+        return counters();
+    }
+
+    private void parseSnapshotSide(final JsonDecoder.JsonNode node, final boolean isBid, final TokenBook token) {
         try (var array = node.asArray()) {
             while (array.hasNextItem()) {
-                parseLevel(array, isBid);
+                parseLevel(array, isBid, token);
             }
         }
     }
 
-    private void parseLevel(final JsonDecoder.JsonArray array, final boolean isBid) {
+    private void parseLevel(final JsonDecoder.JsonArray array, final boolean isBid, final TokenBook token) {
         long price = Mbp10Encoder.askPrice0NullValue();
         long size = Mbp10Encoder.askSize0NullValue();
 
@@ -258,7 +403,7 @@ public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schem
             }
         }
 
-        updateLevel(isBid, price, size);
+        updateLevel(token, isBid, price, size);
     }
 
     private void parsePriceChanges(final JsonDecoder.JsonNode node) {
@@ -273,7 +418,7 @@ public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schem
     }
 
     private void parsePriceChange(final JsonDecoder.JsonObject change) {
-        boolean matchesToken = false;
+        int tokenIndex = PolymarketAssetIndex.MISSING;
         long price = Mbp10Encoder.askPrice0NullValue();
         long size = Mbp10Encoder.askSize0NullValue();
         boolean isBid = false;
@@ -283,7 +428,7 @@ public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schem
             try (var key = change.nextKey()) {
                 final GnomeString name = key.getName();
                 if (name.equals("asset_id")) {
-                    matchesToken = key.asString().equals(this.tokenId);
+                    tokenIndex = this.assetIndex.get(key.asString());
                 } else if (name.equals("price")) {
                     price = key.asString().toFixedPointLong(Statics.PRICE_SCALING_FACTOR);
                 } else if (name.equals("size")) {
@@ -296,33 +441,33 @@ public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schem
             }
         }
 
-        if (!matchesToken || !sideParsed) {
+        if (tokenIndex == PolymarketAssetIndex.MISSING || !sideParsed) {
             return;
         }
-        updateLevel(isBid, price, size);
+        touch(tokenIndex);
+        updateLevel(this.tokens[tokenIndex], isBid, price, size);
     }
 
-    private void updateLevel(final boolean isBid, final long price, final long size) {
+    private void updateLevel(final TokenBook token, final boolean isBid, final long price, final long size) {
         if (price == Mbp10Encoder.askPrice0NullValue() || size == Mbp10Encoder.askSize0NullValue()) {
             return;
         }
-        if (isBid) {
-            this.book.updateBid(price, size, 1L);
-        } else {
-            this.book.updateAsk(price, size, 1L);
+        final int depth = isBid ? token.book.updateBid(price, size, 1L) : token.book.updateAsk(price, size, 1L);
+        if (depth == MbpIncrementalBook.REJECTED) {
+            onRejectedLevel();
         }
     }
 
-    private void prepareEncoder() {
-        this.schema.encoder.exchangeId(this.listing.exchange().exchangeId());
-        this.schema.encoder.securityId(this.listing.security().securityId());
+    private void prepareEncoder(final Listing listing) {
+        this.schema.encoder.exchangeId(listing.exchange().exchangeId());
+        this.schema.encoder.securityId(listing.security().securityId());
         this.schema.encoder.timestampSent(Mbp10Encoder.timestampSentNullValue());
         this.schema.encoder.timestampRecv(this.recvTimestamp);
     }
 
     @Override
     protected void subscribe() throws IOException {
-        // { "assets_ids": ["<token_id>"], "type": "market" }
+        // { "assets_ids": ["<token_id>", ...], "type": "market" }
         final JsonWebSocketWriter jsonWebSocketWriter = (JsonWebSocketWriter) this.socketWriter;
         final JsonEncoder jsonEncoder = jsonWebSocketWriter.getJsonEncoder();
 
@@ -332,7 +477,12 @@ public final class PolymarketSocketReader extends JsonWebSocketReader<Mbp10Schem
         jsonEncoder.writeString("assets_ids");
         jsonEncoder.writeColon();
         jsonEncoder.writeArrayStart();
-        jsonEncoder.writeString(this.tokenId);
+        for (int i = 0; i < this.tokens.length; i++) {
+            if (i > 0) {
+                jsonEncoder.writeComma();
+            }
+            jsonEncoder.writeString(this.tokens[i].tokenId);
+        }
         jsonEncoder.writeArrayEnd();
         jsonEncoder.writeComma();
         jsonEncoder.writeObjectEntry("custom_feature_enabled", true);
@@ -0,0 +1,35 @@
+package group.gnometrading.gateways.inbound.journal;
+
+/**
+ * On-disk layout of a compacted journal segment.
+ * <p>
+ * An archive holds the frames of one closed segment, unchanged, cut at frame boundaries into blocks of roughly
+ * {@link JournalConfig#archiveBlockSize()} bytes that are deflated independently. A fixed header is followed by
+ * the compressed blocks and then the block index, one {@link #INDEX_ENTRY_LENGTH} entry per block:
+ * {@code [long fileOffset][int compressedLength][int uncompressedLength][long firstTimestamp][long lastTimestamp]}.
+ * The index is ordered by recvTimestamp, so a reader can find and inflate only the blocks covering a window.
+ */
+public final class JournalArchiveFormat {
+
+    public static final int MAGIC = 0x474E4131; // "GNA1"
+    public static final int VERSION = 1;
+
+    public static final int MAGIC_OFFSET = 0;
+    public static final int VERSION_OFFSET = 4;
+    public static final int LISTING_ID_OFFSET = 8;
+    public static final int BLOCK_COUNT_OFFSET = 12;
+    public static final int SEGMENT_INDEX_OFFSET = 16;
+    public static final int FIRST_TIMESTAMP_OFFSET = 24;
+    public static final int INDEX_OFFSET_OFFSET = 32;
+    public static final int FRAME_COUNT_OFFSET = 40;
+    public static final int HEADER_LENGTH = 64;
+
+    public static final int ENTRY_FILE_OFFSET = 0;
+    public static final int ENTRY_COMPRESSED_LENGTH_OFFSET = 8;
+    public static final int ENTRY_UNCOMPRESSED_LENGTH_OFFSET = 12;
+    public static final int ENTRY_FIRST_TIMESTAMP_OFFSET = 16;
+    public static final int ENTRY_LAST_TIMESTAMP_OFFSET = 24;
+    public static final int INDEX_ENTRY_LENGTH = 32;
+
+    private JournalArchiveFormat() {}
+}
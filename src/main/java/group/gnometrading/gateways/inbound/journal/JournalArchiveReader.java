@@ -0,0 +1,223 @@
+package group.gnometrading.gateways.inbound.journal;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Reads the frames of one compacted segment, inflating only the blocks it is asked for.
+ * <p>
+ * The archive is mapped read-only and each block is inflated into one reused buffer, sized to the largest
+ * block, so reading does not allocate once the reader is open. Frames are handed to the same
+ * {@link JournalSegmentReader.FrameHandler} as a live segment.
+ */
+public final class JournalArchiveReader implements AutoCloseable {
+
+    private final Path path;
+    private final MappedByteBuffer mapped;
+    private final UnsafeBuffer archive;
+    private final ByteBuffer compressed;
+    private final Inflater inflater;
+    private final int blockCount;
+    private final int indexOffset;
+    private final ByteBuffer block;
+    private final UnsafeBuffer blockBuffer;
+    private final ByteBuffer payload;
+
+    private int inflatedBlock;
+    private int inflatedLength;
+    private long blocksInflated;
+
+    public JournalArchiveReader(final Path path) {
+        this.path = path;
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            this.mapped = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.archive = new UnsafeBuffer(this.mapped);
+        if (this.archive.capacity() < JournalArchiveFormat.HEADER_LENGTH
+                || this.archive.getInt(JournalArchiveFormat.MAGIC_OFFSET) != JournalArchiveFormat.MAGIC) {
+            IoUtil.unmap(this.mapped);
+            throw new IllegalArgumentException("Invalid journal archive: " + path);
+        }
+        this.compressed = this.mapped.duplicate();
+        this.inflater = new Inflater();
+        this.blockCount = this.archive.getInt(JournalArchiveFormat.BLOCK_COUNT_OFFSET);
+        this.indexOffset = (int) this.archive.getLong(JournalArchiveFormat.INDEX_OFFSET_OFFSET);
+
+        int maxBlockLength = JournalFormat.FRAME_HEADER_LENGTH;
+        for (int i = 0; i < this.blockCount; i++) {
+            maxBlockLength =
+                    Math.max(maxBlockLength, entryInt(i, JournalArchiveFormat.ENTRY_UNCOMPRESSED_LENGTH_OFFSET));
+        }
+        this.block = ByteBuffer.allocateDirect(maxBlockLength);
+        this.blockBuffer = new UnsafeBuffer(this.block);
+        this.payload = this.block.duplicate();
+        this.inflatedBlock = -1;
+    }
+
+    public Path path() {
+        return this.path;
+    }
+
+    public int listingId() {
+        return this.archive.getInt(JournalArchiveFormat.LISTING_ID_OFFSET);
+    }
+
+    public long segmentIndex() {
+        return this.archive.getLong(JournalArchiveFormat.SEGMENT_INDEX_OFFSET);
+    }
+
+    public long firstTimestamp() {
+        return this.archive.getLong(JournalArchiveFormat.FIRST_TIMESTAMP_OFFSET);
+    }
+
+    public long frameCount() {
+        return this.archive.getLong(JournalArchiveFormat.FRAME_COUNT_OFFSET);
+    }
+
+    public int blockCount() {
+        return this.blockCount;
+    }
+
+    public long blockFirstTimestamp(final int block) {
+        return entryLong(block, JournalArchiveFormat.ENTRY_FIRST_TIMESTAMP_OFFSET);
+    }
+
+    public long blockLastTimestamp(final int block) {
+        return entryLong(block, JournalArchiveFormat.ENTRY_LAST_TIMESTAMP_OFFSET);
+    }
+
+    /**
+     * @return the first block holding a frame at or after {@code recvTimestamp}, or {@link #blockCount()} if
+     *     every frame is earlier
+     */
+    public int findBlock(final long recvTimestamp) {
+        int low = 0;
+        int high = this.blockCount;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (blockLastTimestamp(mid) < recvTimestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Inflate one block and hand its frames to {@code handler}.
+     *
+     * @return the number of frames handed to {@code handler}
+     */
+    public int readBlock(final int block, final JournalSegmentReader.FrameHandler handler) {
+        return readBlock(block, handler, Long.MIN_VALUE);
+    }
+
+    /**
+     * Read every frame in the archive.
+     *
+     * @return the number of frames handed to {@code handler}
+     */
+    public long read(final JournalSegmentReader.FrameHandler handler) {
+        return read(handler, Long.MIN_VALUE);
+    }
+
+    /**
+     * Read the frames at or after {@code fromTimestamp}, skipping the blocks before it without inflating them.
+     *
+     * @return the number of frames handed to {@code handler}
+     */
+    public long read(final JournalSegmentReader.FrameHandler handler, final long fromTimestamp) {
+        long frames = 0;
+        for (int i = findBlock(fromTimestamp); i < this.blockCount; i++) {
+            frames += readBlock(i, handler, fromTimestamp);
+        }
+        return frames;
+    }
+
+    /**
+     * @return the number of blocks inflated since the reader was opened
+     */
+    public long blocksInflated() {
+        return this.blocksInflated;
+    }
+
+    private int readBlock(final int block, final JournalSegmentReader.FrameHandler handler, final long from) {
+        if (block < 0 || block >= this.blockCount) {
+            throw new IllegalArgumentException("Invalid block: " + block);
+        }
+        inflate(block);
+
+        int frames = 0;
+        int offset = 0;
+        while (offset < this.inflatedLength) {
+            final int frameLength = this.blockBuffer.getInt(offset + JournalFormat.FRAME_LENGTH_OFFSET);
+            final long recvTimestamp = this.blockBuffer.getLong(offset + JournalFormat.FRAME_TIMESTAMP_OFFSET);
+            if (recvTimestamp >= from) {
+                this.payload.limit(offset + frameLength).position(offset + JournalFormat.FRAME_HEADER_LENGTH);
+                handler.onFrame(
+                        this.blockBuffer.getInt(offset + JournalFormat.FRAME_LISTING_ID_OFFSET),
+                        recvTimestamp,
+                        this.payload);
+                frames++;
+            }
+            offset += JournalFormat.align(frameLength);
+        }
+        return frames;
+    }
+
+    private void inflate(final int block) {
+        if (block == this.inflatedBlock) {
+            return;
+        }
+        final int fileOffset = (int) entryLong(block, JournalArchiveFormat.ENTRY_FILE_OFFSET);
+        final int compressedLength = entryInt(block, JournalArchiveFormat.ENTRY_COMPRESSED_LENGTH_OFFSET);
+        final int uncompressedLength = entryInt(block, JournalArchiveFormat.ENTRY_UNCOMPRESSED_LENGTH_OFFSET);
+        this.inflatedBlock = -1;
+
+        this.compressed.limit(fileOffset + compressedLength).position(fileOffset);
+        this.block.clear().limit(uncompressedLength);
+        this.inflater.reset();
+        this.inflater.setInput(this.compressed);
+        try {
+            while (this.block.hasRemaining() && !this.inflater.finished()) {
+                if (this.inflater.inflate(this.block) == 0 && this.inflater.needsInput()) {
+                    break;
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new RuntimeException("Corrupt block " + block + " in journal archive: " + this.path, e);
+        }
+        if (this.block.position() != uncompressedLength) {
+            throw new RuntimeException("Truncated block " + block + " in journal archive: " + this.path);
+        }
+        this.inflatedBlock = block;
+        this.inflatedLength = uncompressedLength;
+        this.blocksInflated++;
+    }
+
+    private int entryInt(final int block, final int field) {
+        return this.archive.getInt(this.indexOffset + block * JournalArchiveFormat.INDEX_ENTRY_LENGTH + field);
+    }
+
+    private long entryLong(final int block, final int field) {
+        return this.archive.getLong(this.indexOffset + block * JournalArchiveFormat.INDEX_ENTRY_LENGTH + field);
+    }
+
+    @Override
+    public void close() {
+        this.inflater.end();
+        IoUtil.unmap(this.mapped);
+    }
+}
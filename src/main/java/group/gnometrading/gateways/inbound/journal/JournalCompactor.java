@@ -0,0 +1,242 @@
+package group.gnometrading.gateways.inbound.journal;
+
+import group.gnometrading.concurrent.GnomeAgent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Compacts the closed journal segments of one listing into block-compressed archives.
+ * <p>
+ * Segments are taken in index order. Once the writer marks a segment closed, or has moved on to a later segment
+ * as it does when restarted after a crash left one active, the segment is deflated block by block into
+ * a {@link JournalArchiveFormat} archive, which is written under a temporary name, forced and renamed into
+ * place before the segment is deleted; a crash part-way leaves the segment intact. Run it on its own agent
+ * runner, off the reader thread; it compacts at most one segment per {@link #doWork()}.
+ */
+public final class JournalCompactor implements GnomeAgent {
+
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final JournalConfig config;
+    private final int listingId;
+    private final Deflater deflater;
+    private final ByteBuffer output;
+    private final ByteBuffer headerBytes;
+    private final UnsafeBuffer header;
+    private final ExpandableArrayBuffer index;
+    private final JournalSegmentReader.FrameHandler frameHandler;
+
+    private JournalSegmentReader pending;
+    private long nextSegmentIndex;
+    private long compactedSegments;
+    private long lastFrameTimestamp;
+
+    public JournalCompactor(final JournalConfig config, final int listingId) {
+        this.config = config;
+        this.listingId = listingId;
+        this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        this.output = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+        this.headerBytes = ByteBuffer.allocateDirect(JournalArchiveFormat.HEADER_LENGTH);
+        this.header = new UnsafeBuffer(this.headerBytes);
+        this.index = new ExpandableArrayBuffer(JournalArchiveFormat.INDEX_ENTRY_LENGTH * 64);
+        this.frameHandler = (frameListingId, recvTimestamp, payload) -> this.lastFrameTimestamp = recvTimestamp;
+        try {
+            this.nextSegmentIndex = firstSegmentIndex(config.directory(), listingId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int doWork() {
+        final long segmentIndex = this.nextSegmentIndex;
+        final Path segment = segmentPath(segmentIndex);
+        if (this.pending == null) {
+            if (!Files.exists(segment)) {
+                // Already archived, or a gap the writer has moved past
+                if (Files.exists(archivePath(segmentIndex)) || Files.exists(segmentPath(segmentIndex + 1))) {
+                    this.nextSegmentIndex++;
+                    return 1;
+                }
+                return 0;
+            }
+            try {
+                this.pending = new JournalSegmentReader(segment);
+            } catch (IllegalArgumentException e) {
+                // The writer has created the file but not yet written its header
+                return 0;
+            }
+        }
+        if (!this.pending.isClosed() && !Files.exists(segmentPath(segmentIndex + 1))) {
+            return 0;
+        }
+
+        try {
+            compact(this.pending, archivePath(segmentIndex));
+        } finally {
+            this.pending.close();
+            this.pending = null;
+        }
+        try {
+            Files.delete(segment);
+            Files.deleteIfExists(
+                    this.config.directory().resolve(JournalFormat.indexFileName(this.listingId, segmentIndex)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.nextSegmentIndex++;
+        this.compactedSegments++;
+        return 1;
+    }
+
+    /**
+     * @return the index of the next segment to compact
+     */
+    public long nextSegmentIndex() {
+        return this.nextSegmentIndex;
+    }
+
+    /**
+     * @return segments archived and deleted since construction
+     */
+    public long compactedSegments() {
+        return this.compactedSegments;
+    }
+
+    private void compact(final JournalSegmentReader segment, final Path archive) {
+        final Path temp = archive.resolveSibling(archive.getFileName() + TEMP_SUFFIX);
+        final ByteBuffer frames = segment.frames();
+        final int blockSize = this.config.archiveBlockSize();
+
+        try (FileChannel channel = FileChannel.open(
+                temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(JournalArchiveFormat.HEADER_LENGTH);
+            int blockCount = 0;
+            long frameCount = 0;
+            while (true) {
+                final int blockStart = segment.position();
+                long firstTimestamp = -1;
+                while (segment.position() - blockStart < blockSize && segment.read(this.frameHandler, 1) == 1) {
+                    if (firstTimestamp < 0) {
+                        firstTimestamp = this.lastFrameTimestamp;
+                    }
+                    frameCount++;
+                }
+                final int blockEnd = segment.position();
+                if (blockEnd == blockStart) {
+                    break;
+                }
+
+                final long fileOffset = channel.position();
+                final int compressedLength = deflate(frames, blockStart, blockEnd, channel);
+                final int entry = blockCount * JournalArchiveFormat.INDEX_ENTRY_LENGTH;
+                this.index.putLong(entry + JournalArchiveFormat.ENTRY_FILE_OFFSET, fileOffset);
+                this.index.putInt(entry + JournalArchiveFormat.ENTRY_COMPRESSED_LENGTH_OFFSET, compressedLength);
+                this.index.putInt(entry + JournalArchiveFormat.ENTRY_UNCOMPRESSED_LENGTH_OFFSET, blockEnd - blockStart);
+                this.index.putLong(entry + JournalArchiveFormat.ENTRY_FIRST_TIMESTAMP_OFFSET, firstTimestamp);
+                this.index.putLong(entry + JournalArchiveFormat.ENTRY_LAST_TIMESTAMP_OFFSET, this.lastFrameTimestamp);
+                blockCount++;
+            }
+
+            final long indexOffset = channel.position();
+            final ByteBuffer indexBytes =
+                    ByteBuffer.wrap(this.index.byteArray(), 0, blockCount * JournalArchiveFormat.INDEX_ENTRY_LENGTH);
+            while (indexBytes.hasRemaining()) {
+                channel.write(indexBytes);
+            }
+
+            this.header.setMemory(0, JournalArchiveFormat.HEADER_LENGTH, (byte) 0);
+            this.header.putInt(JournalArchiveFormat.MAGIC_OFFSET, JournalArchiveFormat.MAGIC);
+            this.header.putInt(JournalArchiveFormat.VERSION_OFFSET, JournalArchiveFormat.VERSION);
+            this.header.putInt(JournalArchiveFormat.LISTING_ID_OFFSET, segment.listingId());
+            this.header.putInt(JournalArchiveFormat.BLOCK_COUNT_OFFSET, blockCount);
+            this.header.putLong(JournalArchiveFormat.SEGMENT_INDEX_OFFSET, segment.segmentIndex());
+            this.header.putLong(JournalArchiveFormat.FIRST_TIMESTAMP_OFFSET, segment.firstTimestamp());
+            this.header.putLong(JournalArchiveFormat.INDEX_OFFSET_OFFSET, indexOffset);
+            this.header.putLong(JournalArchiveFormat.FRAME_COUNT_OFFSET, frameCount);
+            this.headerBytes.clear();
+            while (this.headerBytes.hasRemaining()) {
+                channel.write(this.headerBytes, this.headerBytes.position());
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            Files.move(temp, archive, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int deflate(final ByteBuffer frames, final int from, final int to, final FileChannel channel)
+            throws IOException {
+        frames.limit(to).position(from);
+        this.deflater.reset();
+        this.deflater.setInput(frames);
+        this.deflater.finish();
+        int compressedLength = 0;
+        while (!this.deflater.finished()) {
+            this.output.clear();
+            this.deflater.deflate(this.output);
+            this.output.flip();
+            compressedLength += this.output.remaining();
+            while (this.output.hasRemaining()) {
+                channel.write(this.output);
+            }
+        }
+        return compressedLength;
+    }
+
+    private Path segmentPath(final long segmentIndex) {
+        return this.config.directory().resolve(JournalFormat.segmentFileName(this.listingId, segmentIndex));
+    }
+
+    private Path archivePath(final long segmentIndex) {
+        return this.config.directory().resolve(JournalFormat.archiveFileName(this.listingId, segmentIndex));
+    }
+
+    /**
+     * @return the lowest segment still to compact, or the index the writer will use next if there is none
+     */
+    private static long firstSegmentIndex(final Path directory, final int listingId) throws IOException {
+        long first = Long.MAX_VALUE;
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream =
+                    Files.newDirectoryStream(directory, listingId + "-*" + JournalFormat.SEGMENT_SUFFIX)) {
+                for (Path path : stream) {
+                    final long index = JournalFormat.parseSegmentIndex(path.getFileName().toString(), listingId);
+                    if (index >= 0) {
+                        first = Math.min(first, index);
+                    }
+                }
+            }
+        }
+        if (first == Long.MAX_VALUE) {
+            // -1 when the directory holds nothing yet, so the sink's first segment is 0
+            first = JournalFormat.lastSegmentIndex(directory, listingId) + 1;
+        }
+        return first;
+    }
+
+    @Override
+    public void onClose() {
+        if (this.pending != null) {
+            this.pending.close();
+            this.pending = null;
+        }
+        this.deflater.end();
+    }
+}
@@ -0,0 +1,99 @@
+package group.gnometrading.gateways.inbound.journal;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+public record JournalConfig(
+        Path directory,
+        int segmentSize,
+        Duration rollInterval,
+        boolean preTouch,
+        int archiveBlockSize,
+        int indexInterval) {
+
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 26; // 64 MiB
+    static final Duration DEFAULT_ROLL_INTERVAL = Duration.ofHours(1);
+    static final boolean DEFAULT_PRE_TOUCH = true;
+    static final int DEFAULT_ARCHIVE_BLOCK_SIZE = 1 << 18; // 256 KiB
+    static final int DEFAULT_INDEX_INTERVAL = 1 << 14; // 16 KiB
+
+    public JournalConfig {
+        if (directory == null) {
+            throw new IllegalArgumentException("Invalid directory: null");
+        }
+        if (segmentSize <= JournalFormat.HEADER_LENGTH + JournalFormat.FRAME_HEADER_LENGTH
+                || segmentSize % JournalFormat.FRAME_ALIGNMENT != 0) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+        }
+        if (rollInterval.isNegative() || rollInterval.isZero()) {
+            throw new IllegalArgumentException("Invalid roll interval: " + rollInterval);
+        }
+        if (archiveBlockSize <= 0) {
+            throw new IllegalArgumentException("Invalid archive block size: " + archiveBlockSize);
+        }
+        if (indexInterval <= 0) {
+            throw new IllegalArgumentException("Invalid index interval: " + indexInterval);
+        }
+    }
+
+    public static final class Builder implements group.gnometrading.utils.Builder<JournalConfig> {
+
+        private Path directory;
+        private int segmentSize = DEFAULT_SEGMENT_SIZE;
+        private Duration rollInterval = DEFAULT_ROLL_INTERVAL;
+        private boolean preTouch = DEFAULT_PRE_TOUCH;
+        private int archiveBlockSize = DEFAULT_ARCHIVE_BLOCK_SIZE;
+        private int indexInterval = DEFAULT_INDEX_INTERVAL;
+
+        public Builder withDirectory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public Builder withSegmentSize(int segmentSize) {
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        public Builder withRollInterval(Duration rollInterval) {
+            this.rollInterval = rollInterval;
+            return this;
+        }
+
+        /**
+         * Fault in every page of a segment when it is mapped, so the writer never takes a page fault.
+         */
+        public Builder withPreTouch(boolean preTouch) {
+            this.preTouch = preTouch;
+            return this;
+        }
+
+        /**
+         * Uncompressed bytes per compressed archive block: smaller blocks make seeks cheaper, larger ones
+         * compress better.
+         */
+        public Builder withArchiveBlockSize(int archiveBlockSize) {
+            this.archiveBlockSize = archiveBlockSize;
+            return this;
+        }
+
+        /**
+         * Bytes of frames between entries of the sparse timestamp index: a seek scans at most this much.
+         */
+        public Builder withIndexInterval(int indexInterval) {
+            this.indexInterval = indexInterval;
+            return this;
+        }
+
+        @Override
+        public JournalConfig build() {
+            return new JournalConfig(
+                    this.directory,
+                    this.segmentSize,
+                    this.rollInterval,
+                    this.preTouch,
+                    this.archiveBlockSize,
+                    this.indexInterval);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package group.gnometrading.gateways.inbound.journal;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * On-disk layout of a raw capture journal segment.
+ * <p>
+ * A segment is a pre-allocated file: a fixed header followed by 8-byte aligned frames. Each frame is
+ * {@code [int frameLength][int listingId][long recvTimestamp][payload]}, where {@code frameLength} covers
+ * the frame header and payload but not the alignment padding. The length is stored last with release
+ * semantics, so a zero length marks the end of the written data for concurrent readers.
+ * <p>
+ * A closed segment may be compacted into an archive of the same index; see {@link JournalArchiveFormat}.
+ * Segment indices are shared between the two, so a listing's history is its segments and archives together.
+ * <p>
+ * Each segment has a sparse index file alongside it mapping recvTimestamp to frame offset, one
+ * {@code [long recvTimestamp][long offset]} entry every {@link JournalConfig#indexInterval()} bytes of frames.
+ * The entry count in its header is stored after each entry with release semantics.
+ */
+public final class JournalFormat {
+
+    public static final int MAGIC = 0x474E4A31; // "GNJ1"
+    public static final int VERSION = 1;
+
+    public static final int MAGIC_OFFSET = 0;
+    public static final int VERSION_OFFSET = 4;
+    public static final int LISTING_ID_OFFSET = 8;
+    public static final int STATE_OFFSET = 12;
+    public static final int SEGMENT_INDEX_OFFSET = 16;
+    public static final int FIRST_TIMESTAMP_OFFSET = 24;
+    public static final int CAPACITY_OFFSET = 32;
+    public static final int HEADER_LENGTH = 64;
+
+    public static final int STATE_ACTIVE = 0;
+    public static final int STATE_CLOSED = 1;
+
+    public static final int FRAME_LENGTH_OFFSET = 0;
+    public static final int FRAME_LISTING_ID_OFFSET = 4;
+    public static final int FRAME_TIMESTAMP_OFFSET = 8;
+    public static final int FRAME_HEADER_LENGTH = 16;
+    public static final int FRAME_ALIGNMENT = 8;
+
+    public static final int INDEX_MAGIC = 0x474E4931; // "GNI1"
+    public static final int INDEX_MAGIC_OFFSET = 0;
+    public static final int INDEX_COUNT_OFFSET = 4;
+    public static final int INDEX_HEADER_LENGTH = 8;
+    public static final int INDEX_ENTRY_TIMESTAMP_OFFSET = 0;
+    public static final int INDEX_ENTRY_POSITION_OFFSET = 8;
+    public static final int INDEX_ENTRY_LENGTH = 16;
+
+    public static final String SEGMENT_SUFFIX = ".journal";
+    public static final String ARCHIVE_SUFFIX = ".archive";
+    public static final String INDEX_SUFFIX = ".index";
+
+    private JournalFormat() {}
+
+    public static int align(final int length) {
+        return (length + FRAME_ALIGNMENT - 1) & -FRAME_ALIGNMENT;
+    }
+
+    /**
+     * @return the segment file name, ordered lexically by segment index
+     */
+    public static String segmentFileName(final int listingId, final long segmentIndex) {
+        return listingId + "-" + String.format("%012d", segmentIndex) + SEGMENT_SUFFIX;
+    }
+
+    /**
+     * @return the archive file name for a compacted segment
+     */
+    public static String archiveFileName(final int listingId, final long segmentIndex) {
+        return listingId + "-" + String.format("%012d", segmentIndex) + ARCHIVE_SUFFIX;
+    }
+
+    /**
+     * @return the sparse timestamp index file name for a segment
+     */
+    public static String indexFileName(final int listingId, final long segmentIndex) {
+        return listingId + "-" + String.format("%012d", segmentIndex) + INDEX_SUFFIX;
+    }
+
+    /**
+     * @return the size of an index file that can hold every entry of a segment
+     */
+    public static int indexCapacity(final int segmentSize, final int indexInterval) {
+        return INDEX_HEADER_LENGTH + (segmentSize / indexInterval + 1) * INDEX_ENTRY_LENGTH;
+    }
+
+    /**
+     * @return the segment index parsed from a segment or archive file name of {@code listingId}, or -1 if it
+     *     is neither
+     */
+    public static long parseSegmentIndex(final String fileName, final int listingId) {
+        final String prefix = listingId + "-";
+        final String suffix;
+        if (fileName.endsWith(SEGMENT_SUFFIX)) {
+            suffix = SEGMENT_SUFFIX;
+        } else if (fileName.endsWith(ARCHIVE_SUFFIX)) {
+            suffix = ARCHIVE_SUFFIX;
+        } else {
+            return -1;
+        }
+        if (!fileName.startsWith(prefix)) {
+            return -1;
+        }
+        final String index = fileName.substring(prefix.length(), fileName.length() - suffix.length());
+        try {
+            return Long.parseLong(index);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the highest segment index of {@code listingId} in {@code directory}, counting archives, or -1 if
+     *     there are none
+     */
+    public static long lastSegmentIndex(final Path directory, final int listingId) throws IOException {
+        long last = -1;
+        if (!Files.isDirectory(directory)) {
+            return last;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, listingId + "-*")) {
+            for (Path path : stream) {
+                last = Math.max(last, parseSegmentIndex(path.getFileName().toString(), listingId));
+            }
+        }
+        return last;
+    }
+}
@@ -0,0 +1,133 @@
+package group.gnometrading.gateways.inbound.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a listing's capture history from a journal directory, across segments and archives in index order.
+ * <p>
+ * {@link #seek(int, long)} picks the segment holding a recvTimestamp from the segment headers alone, then
+ * positions within it through the segment's sparse index or the archive's block index, so a window late in a
+ * long capture is reached without scanning the frames before it.
+ */
+public final class JournalReader {
+
+    private final Path directory;
+    private final ByteBuffer header;
+
+    private int listingId;
+    private long fromTimestamp;
+    private long startSegmentIndex;
+
+    public JournalReader(final Path directory) {
+        this.directory = directory;
+        this.header = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.nativeOrder());
+        this.fromTimestamp = Long.MIN_VALUE;
+        this.startSegmentIndex = -1;
+    }
+
+    /**
+     * Position the reader on the first frame of {@code listingId} at or after {@code recvTimestamp}.
+     */
+    public void seek(final int listingId, final long recvTimestamp) {
+        this.listingId = listingId;
+        this.fromTimestamp = recvTimestamp;
+        this.startSegmentIndex = -1;
+
+        final long last = lastSegmentIndex();
+        for (long index = 0; index <= last; index++) {
+            final long firstTimestamp = firstTimestamp(index);
+            if (firstTimestamp < 0) {
+                continue;
+            }
+            // Every frame of an earlier segment precedes this segment's first frame, so only the last segment
+            // starting strictly before recvTimestamp can hold frames at or after it
+            if (this.startSegmentIndex < 0 || (firstTimestamp > 0 && firstTimestamp < recvTimestamp)) {
+                this.startSegmentIndex = index;
+            }
+        }
+    }
+
+    /**
+     * Read every frame from the seek position to the end of the journal.
+     *
+     * @return the number of frames handed to {@code handler}
+     */
+    public long read(final JournalSegmentReader.FrameHandler handler) {
+        if (this.startSegmentIndex < 0) {
+            return 0;
+        }
+        long frames = 0;
+        final long last = lastSegmentIndex();
+        for (long index = this.startSegmentIndex; index <= last; index++) {
+            final Path segment = segmentPath(index);
+            final Path archive = archivePath(index);
+            if (Files.exists(segment)) {
+                try (JournalSegmentReader reader = new JournalSegmentReader(segment)) {
+                    reader.seek(this.fromTimestamp);
+                    frames += reader.read(handler);
+                }
+            } else if (Files.exists(archive)) {
+                try (JournalArchiveReader reader = new JournalArchiveReader(archive)) {
+                    frames += reader.read(handler, this.fromTimestamp);
+                }
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * @return the segment index the next {@link #read} starts from, or -1 if the listing has no segments
+     */
+    public long startSegmentIndex() {
+        return this.startSegmentIndex;
+    }
+
+    /**
+     * @return the first recvTimestamp recorded in a segment or archive header, 0 for an empty segment or -1 if
+     *     neither exists
+     */
+    private long firstTimestamp(final long index) {
+        Path path = segmentPath(index);
+        if (!Files.exists(path)) {
+            path = archivePath(index);
+            if (!Files.exists(path)) {
+                return -1;
+            }
+        }
+        // Segments and archives keep the first timestamp at the same header offset
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            this.header.clear();
+            while (this.header.hasRemaining()) {
+                if (channel.read(this.header, JournalFormat.FIRST_TIMESTAMP_OFFSET + this.header.position()) < 0) {
+                    return -1;
+                }
+            }
+            return this.header.getLong(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long lastSegmentIndex() {
+        try {
+            return JournalFormat.lastSegmentIndex(this.directory, this.listingId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentPath(final long index) {
+        return this.directory.resolve(JournalFormat.segmentFileName(this.listingId, index));
+    }
+
+    private Path archivePath(final long index) {
+        return this.directory.resolve(JournalFormat.archiveFileName(this.listingId, index));
+    }
+}
@@ -0,0 +1,231 @@
+package group.gnometrading.gateways.inbound.journal;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Reads the frames of one journal segment through a read-only mapping.
+ * <p>
+ * Frames are handed out as a reused {@link ByteBuffer} view over the mapping, positioned on the payload, so
+ * iterating a segment does not allocate. A segment that is still being written can be polled; frames become
+ * visible as the writer publishes them.
+ */
+public final class JournalSegmentReader implements AutoCloseable {
+
+    /**
+     * Receives one captured frame. The payload is only valid for the duration of the call.
+     */
+    @FunctionalInterface
+    public interface FrameHandler {
+        void onFrame(int listingId, long recvTimestamp, ByteBuffer payload);
+    }
+
+    private final Path path;
+    private final MappedByteBuffer mapped;
+    private final UnsafeBuffer segment;
+    private final ByteBuffer payload;
+    private MappedByteBuffer indexMapped;
+    private UnsafeBuffer index;
+    private int position;
+
+    public JournalSegmentReader(final Path path) {
+        this.path = path;
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            this.mapped = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.segment = new UnsafeBuffer(this.mapped);
+        if (this.segment.capacity() < JournalFormat.HEADER_LENGTH
+                || this.segment.getInt(JournalFormat.MAGIC_OFFSET) != JournalFormat.MAGIC) {
+            IoUtil.unmap(this.mapped);
+            throw new IllegalArgumentException("Invalid journal segment: " + path);
+        }
+        this.payload = this.mapped.duplicate();
+        this.position = JournalFormat.HEADER_LENGTH;
+    }
+
+    public Path path() {
+        return this.path;
+    }
+
+    public int listingId() {
+        return this.segment.getInt(JournalFormat.LISTING_ID_OFFSET);
+    }
+
+    public long segmentIndex() {
+        return this.segment.getLong(JournalFormat.SEGMENT_INDEX_OFFSET);
+    }
+
+    /**
+     * @return the recvTimestamp of the segment's first frame, or 0 if nothing has been written
+     */
+    public long firstTimestamp() {
+        return this.segment.getLong(JournalFormat.FIRST_TIMESTAMP_OFFSET);
+    }
+
+    /**
+     * @return true once the writer has rolled past or closed this segment
+     */
+    public boolean isClosed() {
+        return this.segment.getIntVolatile(JournalFormat.STATE_OFFSET) == JournalFormat.STATE_CLOSED;
+    }
+
+    /**
+     * @return the file offset of the next frame to read
+     */
+    public int position() {
+        return this.position;
+    }
+
+    /**
+     * Move to a frame boundary, typically one taken from {@link #position()} or a journal index.
+     */
+    public void position(final int position) {
+        if (position < JournalFormat.HEADER_LENGTH
+                || position > this.segment.capacity()
+                || (position & (JournalFormat.FRAME_ALIGNMENT - 1)) != 0) {
+            throw new IllegalArgumentException("Invalid position: " + position);
+        }
+        this.position = position;
+    }
+
+    /**
+     * Move to the first available frame at or after {@code recvTimestamp}, or past the last available frame if
+     * there is none.
+     * <p>
+     * The segment's sparse index narrows the search to one index interval, which is then scanned; without an
+     * index the scan starts at the first frame.
+     */
+    public void seek(final long recvTimestamp) {
+        int start = JournalFormat.HEADER_LENGTH;
+        if (mapIndex()) {
+            int low = 0;
+            int high = this.index.getIntVolatile(JournalFormat.INDEX_COUNT_OFFSET);
+            // Find the last entry strictly before recvTimestamp; frames with equal timestamps may precede it
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (indexTimestamp(mid) < recvTimestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low > 0) {
+                start = (int) this.index.getLong(indexEntry(low - 1) + JournalFormat.INDEX_ENTRY_POSITION_OFFSET);
+            }
+        }
+
+        this.position = start;
+        long next;
+        while ((next = peekTimestamp()) >= 0 && next < recvTimestamp) {
+            this.position += JournalFormat.align(frameLengthAt(this.position));
+        }
+    }
+
+    private boolean mapIndex() {
+        if (this.index != null) {
+            return true;
+        }
+        final Path indexPath = this.path.resolveSibling(JournalFormat.indexFileName(listingId(), segmentIndex()));
+        if (!Files.exists(indexPath)) {
+            return false;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(indexPath.toFile(), "r")) {
+            this.indexMapped = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final UnsafeBuffer index = new UnsafeBuffer(this.indexMapped);
+        if (index.capacity() < JournalFormat.INDEX_HEADER_LENGTH
+                || index.getInt(JournalFormat.INDEX_MAGIC_OFFSET) != JournalFormat.INDEX_MAGIC) {
+            IoUtil.unmap(this.indexMapped);
+            this.indexMapped = null;
+            return false;
+        }
+        this.index = index;
+        return true;
+    }
+
+    private static int indexEntry(final int entry) {
+        return JournalFormat.INDEX_HEADER_LENGTH + entry * JournalFormat.INDEX_ENTRY_LENGTH;
+    }
+
+    private long indexTimestamp(final int entry) {
+        return this.index.getLong(indexEntry(entry) + JournalFormat.INDEX_ENTRY_TIMESTAMP_OFFSET);
+    }
+
+    /**
+     * @return the recvTimestamp of the next frame without consuming it, or -1 if none is available
+     */
+    public long peekTimestamp() {
+        if (frameLengthAt(this.position) == 0) {
+            return -1;
+        }
+        return this.segment.getLong(this.position + JournalFormat.FRAME_TIMESTAMP_OFFSET);
+    }
+
+    /**
+     * Read up to {@code limit} available frames.
+     *
+     * @return the number of frames handed to {@code handler}
+     */
+    public int read(final FrameHandler handler, final int limit) {
+        int frames = 0;
+        while (frames < limit) {
+            final int offset = this.position;
+            final int frameLength = frameLengthAt(offset);
+            if (frameLength == 0) {
+                break;
+            }
+            final int payloadOffset = offset + JournalFormat.FRAME_HEADER_LENGTH;
+            this.payload.limit(offset + frameLength).position(payloadOffset);
+            this.position = offset + JournalFormat.align(frameLength);
+            handler.onFrame(
+                    this.segment.getInt(offset + JournalFormat.FRAME_LISTING_ID_OFFSET),
+                    this.segment.getLong(offset + JournalFormat.FRAME_TIMESTAMP_OFFSET),
+                    this.payload);
+            frames++;
+        }
+        return frames;
+    }
+
+    /**
+     * Read every available frame.
+     *
+     * @return the number of frames handed to {@code handler}
+     */
+    public int read(final FrameHandler handler) {
+        return read(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return a fresh view over the whole mapping, for bulk copies of frame ranges
+     */
+    ByteBuffer frames() {
+        return this.mapped.duplicate();
+    }
+
+    private int frameLengthAt(final int offset) {
+        if (offset + JournalFormat.FRAME_HEADER_LENGTH > this.segment.capacity()) {
+            return 0;
+        }
+        return this.segment.getIntVolatile(offset + JournalFormat.FRAME_LENGTH_OFFSET);
+    }
+
+    @Override
+    public void close() {
+        if (this.indexMapped != null) {
+            IoUtil.unmap(this.indexMapped);
+        }
+        IoUtil.unmap(this.mapped);
+    }
+}
@@ -0,0 +1,190 @@
+package group.gnometrading.gateways.inbound.journal;
+
+import group.gnometrading.gateways.inbound.RawDataSink;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A {@link RawDataSink} that appends every payload to memory-mapped journal segments for one listing.
+ * <p>
+ * Segments are pre-allocated at {@link JournalConfig#segmentSize()} and optionally pre-touched, so a capture
+ * is a bounds check and a memory copy: no allocation and no syscalls. A segment is rolled when the next frame
+ * does not fit or when its first frame is older than {@link JournalConfig#rollInterval()} by recvTimestamp;
+ * only rolling maps a new file. Writes are single-threaded, from the thread that owns the sink.
+ * <p>
+ * The sink also writes each segment's sparse timestamp index, one entry per
+ * {@link JournalConfig#indexInterval()} bytes of frames, into a small mapped file alongside it.
+ */
+public final class MappedJournalSink implements RawDataSink, AutoCloseable {
+
+    private static final int PAGE_SIZE = 4096;
+
+    private final JournalConfig config;
+    private final int listingId;
+    private final long rollIntervalNanos;
+    private final UnsafeBuffer segment;
+    private final UnsafeBuffer index;
+
+    private MappedByteBuffer mapped;
+    private MappedByteBuffer indexMapped;
+    private int indexCount;
+    private int lastIndexedPosition;
+    private long segmentIndex;
+    private int position;
+    private long firstTimestamp;
+    private boolean closed;
+
+    public MappedJournalSink(final JournalConfig config, final int listingId) {
+        this.config = config;
+        this.listingId = listingId;
+        this.rollIntervalNanos = config.rollInterval().toNanos();
+        this.segment = new UnsafeBuffer(0, 0);
+        this.index = new UnsafeBuffer(0, 0);
+        try {
+            Files.createDirectories(config.directory());
+            this.segmentIndex = JournalFormat.lastSegmentIndex(config.directory(), listingId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        openNextSegment();
+    }
+
+    @Override
+    public void capture(final long recvTimestamp, final ByteBuffer buffer) {
+        if (this.closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        final int payloadLength = buffer.remaining();
+        final int frameLength = JournalFormat.FRAME_HEADER_LENGTH + payloadLength;
+        final int alignedLength = JournalFormat.align(frameLength);
+        if (alignedLength > this.config.segmentSize() - JournalFormat.HEADER_LENGTH) {
+            throw new IllegalArgumentException("Invalid frame length: " + payloadLength);
+        }
+
+        if (this.position + alignedLength > this.segment.capacity()
+                || (this.firstTimestamp != 0 && recvTimestamp - this.firstTimestamp >= this.rollIntervalNanos)) {
+            roll();
+        }
+        if (this.firstTimestamp == 0) {
+            this.firstTimestamp = recvTimestamp;
+            this.segment.putLong(JournalFormat.FIRST_TIMESTAMP_OFFSET, recvTimestamp);
+        }
+
+        final int offset = this.position;
+        this.segment.putInt(offset + JournalFormat.FRAME_LISTING_ID_OFFSET, this.listingId);
+        this.segment.putLong(offset + JournalFormat.FRAME_TIMESTAMP_OFFSET, recvTimestamp);
+        this.segment.putBytes(offset + JournalFormat.FRAME_HEADER_LENGTH, buffer, buffer.position(), payloadLength);
+        // Publish the frame last so a concurrent reader never sees a partial payload
+        this.segment.putIntOrdered(offset + JournalFormat.FRAME_LENGTH_OFFSET, frameLength);
+        this.position = offset + alignedLength;
+
+        if (this.indexCount == 0 || offset - this.lastIndexedPosition >= this.config.indexInterval()) {
+            appendIndexEntry(recvTimestamp, offset);
+        }
+    }
+
+    private void appendIndexEntry(final long recvTimestamp, final int offset) {
+        final int entry = JournalFormat.INDEX_HEADER_LENGTH + this.indexCount * JournalFormat.INDEX_ENTRY_LENGTH;
+        this.index.putLong(entry + JournalFormat.INDEX_ENTRY_TIMESTAMP_OFFSET, recvTimestamp);
+        this.index.putLong(entry + JournalFormat.INDEX_ENTRY_POSITION_OFFSET, offset);
+        this.indexCount++;
+        this.index.putIntOrdered(JournalFormat.INDEX_COUNT_OFFSET, this.indexCount);
+        this.lastIndexedPosition = offset;
+    }
+
+    /**
+     * @return the index of the segment currently being written
+     */
+    public long segmentIndex() {
+        return this.segmentIndex;
+    }
+
+    /**
+     * @return the path of the segment currently being written
+     */
+    public Path segmentPath() {
+        return this.config.directory().resolve(JournalFormat.segmentFileName(this.listingId, this.segmentIndex));
+    }
+
+    /**
+     * @return the path of the current segment's timestamp index
+     */
+    public Path indexPath() {
+        return this.config.directory().resolve(JournalFormat.indexFileName(this.listingId, this.segmentIndex));
+    }
+
+    private void roll() {
+        closeSegment();
+        openNextSegment();
+    }
+
+    private void closeSegment() {
+        this.segment.putIntOrdered(JournalFormat.STATE_OFFSET, JournalFormat.STATE_CLOSED);
+        IoUtil.unmap(this.mapped);
+        IoUtil.unmap(this.indexMapped);
+        this.mapped = null;
+        this.indexMapped = null;
+    }
+
+    private void openNextSegment() {
+        this.segmentIndex++;
+        final int size = this.config.segmentSize();
+        final Path path = segmentPath();
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(size);
+            this.mapped = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final int indexSize = JournalFormat.indexCapacity(size, this.config.indexInterval());
+        try (RandomAccessFile file = new RandomAccessFile(indexPath().toFile(), "rw")) {
+            file.setLength(indexSize);
+            this.indexMapped = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, indexSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.index.wrap(this.indexMapped);
+        this.index.putInt(JournalFormat.INDEX_MAGIC_OFFSET, JournalFormat.INDEX_MAGIC);
+        this.index.putIntOrdered(JournalFormat.INDEX_COUNT_OFFSET, 0);
+        this.indexCount = 0;
+        this.lastIndexedPosition = 0;
+
+        this.segment.wrap(this.mapped);
+        if (this.config.preTouch()) {
+            for (int i = 0; i < size; i += PAGE_SIZE) {
+                this.segment.putByte(i, (byte) 0);
+            }
+        }
+
+        this.segment.putInt(JournalFormat.MAGIC_OFFSET, JournalFormat.MAGIC);
+        this.segment.putInt(JournalFormat.VERSION_OFFSET, JournalFormat.VERSION);
+        this.segment.putInt(JournalFormat.LISTING_ID_OFFSET, this.listingId);
+        this.segment.putLong(JournalFormat.SEGMENT_INDEX_OFFSET, this.segmentIndex);
+        this.segment.putInt(JournalFormat.CAPACITY_OFFSET, size);
+        this.segment.putIntOrdered(JournalFormat.STATE_OFFSET, JournalFormat.STATE_ACTIVE);
+        this.position = JournalFormat.HEADER_LENGTH;
+        this.firstTimestamp = 0;
+    }
+
+    /**
+     * Mark the current segment closed and unmap it. Captures after close are an error.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.mapped.force();
+        this.indexMapped.force();
+        closeSegment();
+    }
+}
@@ -1,8 +1,10 @@
 package group.gnometrading.gateways.inbound.mbp;
 
-public final class Mbp10Book extends MbpBook {
+import group.gnometrading.schemas.Mbp10Schema;
+
+public final class Mbp10Book extends MbpBook<Mbp10Schema> {
 
     public Mbp10Book() {
-        super(10);
+        super(Mbp10Levels.DEPTH, Mbp10Levels.INSTANCE);
     }
 }
@@ -0,0 +1,345 @@
+package group.gnometrading.gateways.inbound.mbp;
+
+import group.gnometrading.gateways.inbound.SchemaFactory;
+import group.gnometrading.schemas.Action;
+import group.gnometrading.schemas.Mbp10Decoder;
+import group.gnometrading.schemas.Mbp10Encoder;
+import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.schemas.Side;
+import group.gnometrading.sm.Listing;
+
+/**
+ * Indexed access to the ten unrolled price levels of {@link Mbp10Encoder} / {@link Mbp10Decoder}, for books
+ * that walk their levels in a loop rather than by name.
+ */
+@SuppressWarnings({"checkstyle:MethodLength", "checkstyle:CyclomaticComplexity"})
+public final class Mbp10Levels implements MbpLevels<Mbp10Schema> {
+
+    public static final int DEPTH = 10;
+
+    public static final Mbp10Levels INSTANCE = new Mbp10Levels();
+
+    private Mbp10Levels() {}
+
+    @Override
+    public int depth() {
+        return DEPTH;
+    }
+
+    @Override
+    public void writeLevel(
+            final Mbp10Schema schema,
+            final boolean isBid,
+            final int level,
+            final long price,
+            final long size,
+            final long count) {
+        writeLevel(schema.encoder, isBid, level, price, size, count);
+    }
+
+    @Override
+    public void writeNullLevel(final Mbp10Schema schema, final boolean isBid, final int level) {
+        writeNullLevel(schema.encoder, isBid, level);
+    }
+
+    @Override
+    public long readPrice(final Mbp10Schema schema, final boolean isBid, final int level) {
+        return readPrice(schema.decoder, isBid, level);
+    }
+
+    @Override
+    public long readSize(final Mbp10Schema schema, final boolean isBid, final int level) {
+        return readSize(schema.decoder, isBid, level);
+    }
+
+    @Override
+    public long readCount(final Mbp10Schema schema, final boolean isBid, final int level) {
+        return readCount(schema.decoder, isBid, level);
+    }
+
+    @Override
+    public boolean hasLevel(final Mbp10Schema schema, final boolean isBid, final int level) {
+        final long size = readSize(schema, isBid, level);
+        return readPrice(schema, isBid, level) != Mbp10Encoder.bidPrice0NullValue()
+                && size != Mbp10Encoder.bidSize0NullValue()
+                && size > 0;
+    }
+
+    @Override
+    public void writeHeader(
+            final Mbp10Schema schema,
+            final Listing listing,
+            final long timestampRecv,
+            final long sequence,
+            final long price,
+            final long size,
+            final Action action,
+            final Side side,
+            final int depth) {
+        schema.encoder.exchangeId(listing.exchange().exchangeId());
+        schema.encoder.securityId(listing.security().securityId());
+        schema.encoder.timestampSent(Mbp10Encoder.timestampSentNullValue());
+        schema.encoder.timestampRecv(timestampRecv);
+        schema.encoder.sequence(sequence == NULL_VALUE ? Mbp10Encoder.sequenceNullValue() : sequence);
+        schema.encoder.price(price == NULL_VALUE ? Mbp10Encoder.priceNullValue() : price);
+        schema.encoder.size(size == NULL_VALUE ? Mbp10Encoder.sizeNullValue() : size);
+        schema.encoder.action(action);
+        schema.encoder.side(side);
+        schema.encoder.depth(depth == NULL_DEPTH ? Mbp10Encoder.depthNullValue() : (short) depth);
+        schema.encoder.flags().clear();
+        schema.encoder.flags().marketByPrice(true);
+    }
+
+    @Override
+    public void writeTimestampEvent(final Mbp10Schema schema, final long timestampEvent) {
+        schema.encoder.timestampEvent(
+                timestampEvent == SchemaFactory.NO_TIMESTAMP ? Mbp10Encoder.timestampEventNullValue() : timestampEvent);
+    }
+
+    @Override
+    public void writeSnapshotHeader(final Mbp10Schema schema) {
+        schema.encoder.price(Mbp10Encoder.priceNullValue());
+        schema.encoder.size(Mbp10Encoder.sizeNullValue());
+        schema.encoder.action(Action.Modify);
+        schema.encoder.side(Side.None);
+        schema.encoder.depth(Mbp10Encoder.depthNullValue());
+        schema.encoder.flags().clear();
+        schema.encoder.flags().marketByPrice(true);
+        schema.encoder.flags().snapshot(true);
+    }
+
+    @Override
+    public boolean isTrade(final Mbp10Schema schema) {
+        return schema.decoder.action() == Action.Trade;
+    }
+
+    @Override
+    public long readTimestampEvent(final Mbp10Schema schema) {
+        final long timestamp = schema.decoder.timestampEvent();
+        return timestamp == Mbp10Encoder.timestampEventNullValue() || timestamp == 0
+                ? SchemaFactory.NO_TIMESTAMP
+                : timestamp;
+    }
+
+    public static void writeLevel(
+            final Mbp10Encoder encoder,
+            final boolean isBid,
+            final int level,
+            final long price,
+            final long size,
+            final long count) {
+        if (isBid) {
+            switch (level) {
+                case 0 -> {
+                    encoder.bidPrice0(price);
+                    encoder.bidSize0(size);
+                    encoder.bidCount0(count);
+                }
+                case 1 -> {
+                    encoder.bidPrice1(price);
+                    encoder.bidSize1(size);
+                    encoder.bidCount1(count);
+                }
+                case 2 -> {
+                    encoder.bidPrice2(price);
+                    encoder.bidSize2(size);
+                    encoder.bidCount2(count);
+                }
+                case 3 -> {
+                    encoder.bidPrice3(price);
+                    encoder.bidSize3(size);
+                    encoder.bidCount3(count);
+                }
+                case 4 -> {
+                    encoder.bidPrice4(price);
+                    encoder.bidSize4(size);
+                    encoder.bidCount4(count);
+                }
+                case 5 -> {
+                    encoder.bidPrice5(price);
+                    encoder.bidSize5(size);
+                    encoder.bidCount5(count);
+                }
+                case 6 -> {
+                    encoder.bidPrice6(price);
+                    encoder.bidSize6(size);
+                    encoder.bidCount6(count);
+                }
+                case 7 -> {
+                    encoder.bidPrice7(price);
+                    encoder.bidSize7(size);
+                    encoder.bidCount7(count);
+                }
+                case 8 -> {
+                    encoder.bidPrice8(price);
+                    encoder.bidSize8(size);
+                    encoder.bidCount8(count);
+                }
+                case 9 -> {
+                    encoder.bidPrice9(price);
+                    encoder.bidSize9(size);
+                    encoder.bidCount9(count);
+                }
+                default -> throw new IllegalArgumentException("Invalid level: " + level);
+            }
+        } else {
+            switch (level) {
+                case 0 -> {
+                    encoder.askPrice0(price);
+                    encoder.askSize0(size);
+                    encoder.askCount0(count);
+                }
+                case 1 -> {
+                    encoder.askPrice1(price);
+                    encoder.askSize1(size);
+                    encoder.askCount1(count);
+                }
+                case 2 -> {
+                    encoder.askPrice2(price);
+                    encoder.askSize2(size);
+                    encoder.askCount2(count);
+                }
+                case 3 -> {
+                    encoder.askPrice3(price);
+                    encoder.askSize3(size);
+                    encoder.askCount3(count);
+                }
+                case 4 -> {
+                    encoder.askPrice4(price);
+                    encoder.askSize4(size);
+                    encoder.askCount4(count);
+                }
+                case 5 -> {
+                    encoder.askPrice5(price);
+                    encoder.askSize5(size);
+                    encoder.askCount5(count);
+                }
+                case 6 -> {
+                    encoder.askPrice6(price);
+                    encoder.askSize6(size);
+                    encoder.askCount6(count);
+                }
+                case 7 -> {
+                    encoder.askPrice7(price);
+                    encoder.askSize7(size);
+                    encoder.askCount7(count);
+                }
+                case 8 -> {
+                    encoder.askPrice8(price);
+                    encoder.askSize8(size);
+                    encoder.askCount8(count);
+                }
+                case 9 -> {
+                    encoder.askPrice9(price);
+                    encoder.askSize9(size);
+                    encoder.askCount9(count);
+                }
+                default -> throw new IllegalArgumentException("Invalid level: " + level);
+            }
+        }
+    }
+
+    public static void writeNullLevel(final Mbp10Encoder encoder, final boolean isBid, final int level) {
+        writeLevel(
+                encoder,
+                isBid,
+                level,
+                Mbp10Encoder.bidPrice0NullValue(),
+                Mbp10Encoder.bidSize0NullValue(),
+                Mbp10Encoder.bidCount0NullValue());
+    }
+
+
+    public static long readPrice(final Mbp10Decoder decoder, final boolean isBid, final int level) {
+        if (isBid) {
+            return switch (level) {
+                case 0 -> decoder.bidPrice0();
+                case 1 -> decoder.bidPrice1();
+                case 2 -> decoder.bidPrice2();
+                case 3 -> decoder.bidPrice3();
+                case 4 -> decoder.bidPrice4();
+                case 5 -> decoder.bidPrice5();
+                case 6 -> decoder.bidPrice6();
+                case 7 -> decoder.bidPrice7();
+                case 8 -> decoder.bidPrice8();
+                case 9 -> decoder.bidPrice9();
+                default -> throw new IllegalArgumentException("Invalid level: " + level);
+            };
+        }
+        return switch (level) {
+            case 0 -> decoder.askPrice0();
+            case 1 -> decoder.askPrice1();
+            case 2 -> decoder.askPrice2();
+            case 3 -> decoder.askPrice3();
+            case 4 -> decoder.askPrice4();
+            case 5 -> decoder.askPrice5();
+            case 6 -> decoder.askPrice6();
+            case 7 -> decoder.askPrice7();
+            case 8 -> decoder.askPrice8();
+            case 9 -> decoder.askPrice9();
+            default -> throw new IllegalArgumentException("Invalid level: " + level);
+        };
+    }
+
+    public static long readSize(final Mbp10Decoder decoder, final boolean isBid, final int level) {
+        if (isBid) {
+            return switch (level) {
+                case 0 -> decoder.bidSize0();
+                case 1 -> decoder.bidSize1();
+                case 2 -> decoder.bidSize2();
+                case 3 -> decoder.bidSize3();
+                case 4 -> decoder.bidSize4();
+                case 5 -> decoder.bidSize5();
+                case 6 -> decoder.bidSize6();
+                case 7 -> decoder.bidSize7();
+                case 8 -> decoder.bidSize8();
+                case 9 -> decoder.bidSize9();
+                default -> throw new IllegalArgumentException("Invalid level: " + level);
+            };
+        }
+        return switch (level) {
+            case 0 -> decoder.askSize0();
+            case 1 -> decoder.askSize1();
+            case 2 -> decoder.askSize2();
+            case 3 -> decoder.askSize3();
+            case 4 -> decoder.askSize4();
+            case 5 -> decoder.askSize5();
+            case 6 -> decoder.askSize6();
+            case 7 -> decoder.askSize7();
+            case 8 -> decoder.askSize8();
+            case 9 -> decoder.askSize9();
+            default -> throw new IllegalArgumentException("Invalid level: " + level);
+        };
+    }
+
+    public static long readCount(final Mbp10Decoder decoder, final boolean isBid, final int level) {
+        if (isBid) {
+            return switch (level) {
+                case 0 -> decoder.bidCount0();
+                case 1 -> decoder.bidCount1();
+                case 2 -> decoder.bidCount2();
+                case 3 -> decoder.bidCount3();
+                case 4 -> decoder.bidCount4();
+                case 5 -> decoder.bidCount5();
+                case 6 -> decoder.bidCount6();
+                case 7 -> decoder.bidCount7();
+                case 8 -> decoder.bidCount8();
+                case 9 -> decoder.bidCount9();
+                default -> throw new IllegalArgumentException("Invalid level: " + level);
+            };
+        }
+        return switch (level) {
+            case 0 -> decoder.askCount0();
+            case 1 -> decoder.askCount1();
+            case 2 -> decoder.askCount2();
+            case 3 -> decoder.askCount3();
+            case 4 -> decoder.askCount4();
+            case 5 -> decoder.askCount5();
+            case 6 -> decoder.askCount6();
+            case 7 -> decoder.askCount7();
+            case 8 -> decoder.askCount8();
+            case 9 -> decoder.askCount9();
+            default -> throw new IllegalArgumentException("Invalid level: " + level);
+        };
+    }
+}
@@ -24,4 +24,9 @@ public interface Mbp10SchemaFactory extends SchemaFactory<Mbp10Schema> {
     default Mbp10Book createBook() {
         return new Mbp10Book();
     }
+
+    @Override
+    default MbpLevels<Mbp10Schema> levels() {
+        return Mbp10Levels.INSTANCE;
+    }
 }
@@ -0,0 +1,10 @@
+package group.gnometrading.gateways.inbound.mbp;
+
+import group.gnometrading.schemas.Mbp1Schema;
+
+public final class Mbp1Book extends MbpBook<Mbp1Schema> {
+
+    public Mbp1Book() {
+        super(Mbp1Levels.DEPTH, Mbp1Levels.INSTANCE);
+    }
+}
@@ -0,0 +1,144 @@
+package group.gnometrading.gateways.inbound.mbp;
+
+import group.gnometrading.gateways.inbound.SchemaFactory;
+import group.gnometrading.schemas.Action;
+import group.gnometrading.schemas.Mbp1Encoder;
+import group.gnometrading.schemas.Mbp1Schema;
+import group.gnometrading.schemas.Side;
+import group.gnometrading.sm.Listing;
+
+/**
+ * Top-of-book access to {@link Mbp1Schema}, for readers that publish a BBO-only stream.
+ */
+public final class Mbp1Levels implements MbpLevels<Mbp1Schema> {
+
+    public static final int DEPTH = 1;
+
+    public static final Mbp1Levels INSTANCE = new Mbp1Levels();
+
+    private Mbp1Levels() {}
+
+    @Override
+    public int depth() {
+        return DEPTH;
+    }
+
+    @Override
+    public void writeLevel(
+            final Mbp1Schema schema,
+            final boolean isBid,
+            final int level,
+            final long price,
+            final long size,
+            final long count) {
+        checkLevel(level);
+        if (isBid) {
+            schema.encoder.bidPrice0(price);
+            schema.encoder.bidSize0(size);
+            schema.encoder.bidCount0(count);
+        } else {
+            schema.encoder.askPrice0(price);
+            schema.encoder.askSize0(size);
+            schema.encoder.askCount0(count);
+        }
+    }
+
+    @Override
+    public void writeNullLevel(final Mbp1Schema schema, final boolean isBid, final int level) {
+        writeLevel(
+                schema,
+                isBid,
+                level,
+                Mbp1Encoder.bidPrice0NullValue(),
+                Mbp1Encoder.bidSize0NullValue(),
+                Mbp1Encoder.bidCount0NullValue());
+    }
+
+    @Override
+    public long readPrice(final Mbp1Schema schema, final boolean isBid, final int level) {
+        checkLevel(level);
+        return isBid ? schema.decoder.bidPrice0() : schema.decoder.askPrice0();
+    }
+
+    @Override
+    public long readSize(final Mbp1Schema schema, final boolean isBid, final int level) {
+        checkLevel(level);
+        return isBid ? schema.decoder.bidSize0() : schema.decoder.askSize0();
+    }
+
+    @Override
+    public long readCount(final Mbp1Schema schema, final boolean isBid, final int level) {
+        checkLevel(level);
+        return isBid ? schema.decoder.bidCount0() : schema.decoder.askCount0();
+    }
+
+    @Override
+    public boolean hasLevel(final Mbp1Schema schema, final boolean isBid, final int level) {
+        final long size = readSize(schema, isBid, level);
+        return readPrice(schema, isBid, level) != Mbp1Encoder.bidPrice0NullValue()
+                && size != Mbp1Encoder.bidSize0NullValue()
+                && size > 0;
+    }
+
+    @Override
+    public void writeHeader(
+            final Mbp1Schema schema,
+            final Listing listing,
+            final long timestampRecv,
+            final long sequence,
+            final long price,
+            final long size,
+            final Action action,
+            final Side side,
+            final int depth) {
+        schema.encoder.exchangeId(listing.exchange().exchangeId());
+        schema.encoder.securityId(listing.security().securityId());
+        schema.encoder.timestampSent(Mbp1Encoder.timestampSentNullValue());
+        schema.encoder.timestampRecv(timestampRecv);
+        schema.encoder.sequence(sequence == NULL_VALUE ? Mbp1Encoder.sequenceNullValue() : sequence);
+        schema.encoder.price(price == NULL_VALUE ? Mbp1Encoder.priceNullValue() : price);
+        schema.encoder.size(size == NULL_VALUE ? Mbp1Encoder.sizeNullValue() : size);
+        schema.encoder.action(action);
+        schema.encoder.side(side);
+        schema.encoder.depth(depth == NULL_DEPTH ? Mbp1Encoder.depthNullValue() : (short) depth);
+        schema.encoder.flags().clear();
+        schema.encoder.flags().marketByPrice(true);
+    }
+
+    @Override
+    public void writeTimestampEvent(final Mbp1Schema schema, final long timestampEvent) {
+        schema.encoder.timestampEvent(
+                timestampEvent == SchemaFactory.NO_TIMESTAMP ? Mbp1Encoder.timestampEventNullValue() : timestampEvent);
+    }
+
+    @Override
+    public void writeSnapshotHeader(final Mbp1Schema schema) {
+        schema.encoder.price(Mbp1Encoder.priceNullValue());
+        schema.encoder.size(Mbp1Encoder.sizeNullValue());
+        schema.encoder.action(Action.Modify);
+        schema.encoder.side(Side.None);
+        schema.encoder.depth(Mbp1Encoder.depthNullValue());
+        schema.encoder.flags().clear();
+        schema.encoder.flags().marketByPrice(true);
+        schema.encoder.flags().snapshot(true);
+    }
+
+    @Override
+    public boolean isTrade(final Mbp1Schema schema) {
+        return schema.decoder.action() == Action.Trade;
+    }
+
+    @Override
+    public long readTimestampEvent(final Mbp1Schema schema) {
+        final long timestamp = schema.decoder.timestampEvent();
+        return timestamp == Mbp1Encoder.timestampEventNullValue() || timestamp == 0
+                ? SchemaFactory.NO_TIMESTAMP
+                : timestamp;
+    }
+
+    private static void checkLevel(final int level) {
+        if (level != 0) {
+            throw new IllegalArgumentException("Invalid level: " + level);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package group.gnometrading.gateways.inbound.mbp;
+
+import group.gnometrading.gateways.inbound.SchemaFactory;
+import group.gnometrading.schemas.Mbp1Schema;
+
+public interface Mbp1SchemaFactory extends SchemaFactory<Mbp1Schema> {
+
+    @Override
+    default Mbp1Schema[] createSchemaArray(int size) {
+        return new Mbp1Schema[size];
+    }
+
+    @Override
+    default Mbp1Schema createSchema() {
+        return new Mbp1Schema();
+    }
+
+    @Override
+    default Mbp1Book[] createBookArray(int size) {
+        return new Mbp1Book[size];
+    }
+
+    @Override
+    default Mbp1Book createBook() {
+        return new Mbp1Book();
+    }
+
+    @Override
+    default MbpLevels<Mbp1Schema> levels() {
+        return Mbp1Levels.INSTANCE;
+    }
+}
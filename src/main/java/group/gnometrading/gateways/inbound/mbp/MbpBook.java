@@ -2,22 +2,26 @@ package group.gnometrading.gateways.inbound.mbp;
 
 import group.gnometrading.gateways.inbound.Book;
 import group.gnometrading.schemas.Mbp10Encoder;
-import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.schemas.Schema;
 import group.gnometrading.utils.Copyable;
 import java.util.Objects;
 
 /**
  * MbpBook is used when an exchange sends entire book updates rather than incremental updates.
+ * <p>
+ * The book may hold more or fewer levels than the schema carries: writeTo publishes the top
+ * {@code levels.depth()} levels and nulls any the book does not have.
  */
-public class MbpBook implements Book<Mbp10Schema> {
+public class MbpBook<T extends Schema> implements Book<T> {
 
     public final PriceLevel[] asks;
     public final PriceLevel[] bids;
     public long sequenceNumber;
 
     private final int depth;
+    private final MbpLevels<T> levels;
 
-    public MbpBook(int depth) {
+    public MbpBook(int depth, MbpLevels<T> levels) {
         this.asks = new PriceLevel[depth];
         this.bids = new PriceLevel[depth];
         this.sequenceNumber = Mbp10Encoder.sequenceNullValue();
@@ -26,6 +30,7 @@ public class MbpBook implements Book<Mbp10Schema> {
             this.bids[i] = new PriceLevel();
         }
         this.depth = depth;
+        this.levels = levels;
     }
 
     @Override
@@ -34,111 +39,37 @@ public class MbpBook implements Book<Mbp10Schema> {
     }
 
     @Override
-    public final void writeTo(final Mbp10Schema schema) {
-        schema.encoder.bidPrice0(this.bids[0].price);
-        schema.encoder.bidSize0(this.bids[0].size);
-        schema.encoder.bidCount0(this.bids[0].count);
-
-        schema.encoder.bidPrice1(this.bids[1].price);
-        schema.encoder.bidSize1(this.bids[1].size);
-        schema.encoder.bidCount1(this.bids[1].count);
-
-        schema.encoder.bidPrice2(this.bids[2].price);
-        schema.encoder.bidSize2(this.bids[2].size);
-        schema.encoder.bidCount2(this.bids[2].count);
-
-        schema.encoder.bidPrice3(this.bids[3].price);
-        schema.encoder.bidSize3(this.bids[3].size);
-        schema.encoder.bidCount3(this.bids[3].count);
-
-        schema.encoder.bidPrice4(this.bids[4].price);
-        schema.encoder.bidSize4(this.bids[4].size);
-        schema.encoder.bidCount4(this.bids[4].count);
-
-        schema.encoder.bidPrice5(this.bids[5].price);
-        schema.encoder.bidSize5(this.bids[5].size);
-        schema.encoder.bidCount5(this.bids[5].count);
-
-        schema.encoder.bidPrice6(this.bids[6].price);
-        schema.encoder.bidSize6(this.bids[6].size);
-        schema.encoder.bidCount6(this.bids[6].count);
-
-        schema.encoder.bidPrice7(this.bids[7].price);
-        schema.encoder.bidSize7(this.bids[7].size);
-        schema.encoder.bidCount7(this.bids[7].count);
-
-        schema.encoder.bidPrice8(this.bids[8].price);
-        schema.encoder.bidSize8(this.bids[8].size);
-        schema.encoder.bidCount8(this.bids[8].count);
-
-        schema.encoder.bidPrice9(this.bids[9].price);
-        schema.encoder.bidSize9(this.bids[9].size);
-        schema.encoder.bidCount9(this.bids[9].count);
-
-        schema.encoder.askPrice0(this.asks[0].price);
-        schema.encoder.askSize0(this.asks[0].size);
-        schema.encoder.askCount0(this.asks[0].count);
-
-        schema.encoder.askPrice1(this.asks[1].price);
-        schema.encoder.askSize1(this.asks[1].size);
-        schema.encoder.askCount1(this.asks[1].count);
-
-        schema.encoder.askPrice2(this.asks[2].price);
-        schema.encoder.askSize2(this.asks[2].size);
-        schema.encoder.askCount2(this.asks[2].count);
-
-        schema.encoder.askPrice3(this.asks[3].price);
-        schema.encoder.askSize3(this.asks[3].size);
-        schema.encoder.askCount3(this.asks[3].count);
-
-        schema.encoder.askPrice4(this.asks[4].price);
-        schema.encoder.askSize4(this.asks[4].size);
-        schema.encoder.askCount4(this.asks[4].count);
-
-        schema.encoder.askPrice5(this.asks[5].price);
-        schema.encoder.askSize5(this.asks[5].size);
-        schema.encoder.askCount5(this.asks[5].count);
-
-        schema.encoder.askPrice6(this.asks[6].price);
-        schema.encoder.askSize6(this.asks[6].size);
-        schema.encoder.askCount6(this.asks[6].count);
-
-        schema.encoder.askPrice7(this.asks[7].price);
-        schema.encoder.askSize7(this.asks[7].size);
-        schema.encoder.askCount7(this.asks[7].count);
-
-        schema.encoder.askPrice8(this.asks[8].price);
-        schema.encoder.askSize8(this.asks[8].size);
-        schema.encoder.askCount8(this.asks[8].count);
-
-        schema.encoder.askPrice9(this.asks[9].price);
-        schema.encoder.askSize9(this.asks[9].size);
-        schema.encoder.askCount9(this.asks[9].count);
+    public final void writeTo(final T schema) {
+        writeSide(schema, this.bids, true);
+        writeSide(schema, this.asks, false);
+    }
+
+    private void writeSide(final T schema, final PriceLevel[] side, final boolean isBid) {
+        final int schemaDepth = this.levels.depth();
+        for (int level = 0; level < schemaDepth; level++) {
+            if (level < this.depth) {
+                final PriceLevel priceLevel = side[level];
+                this.levels.writeLevel(schema, isBid, level, priceLevel.price, priceLevel.size, priceLevel.count);
+            } else {
+                this.levels.writeNullLevel(schema, isBid, level);
+            }
+        }
     }
 
     @Override
-    public final void updateFrom(final Mbp10Schema schema) {
-        this.bids[0].update(schema.decoder.bidPrice0(), schema.decoder.bidSize0(), schema.decoder.bidCount0());
-        this.bids[1].update(schema.decoder.bidPrice1(), schema.decoder.bidSize1(), schema.decoder.bidCount1());
-        this.bids[2].update(schema.decoder.bidPrice2(), schema.decoder.bidSize2(), schema.decoder.bidCount2());
-        this.bids[3].update(schema.decoder.bidPrice3(), schema.decoder.bidSize3(), schema.decoder.bidCount3());
-        this.bids[4].update(schema.decoder.bidPrice4(), schema.decoder.bidSize4(), schema.decoder.bidCount4());
-        this.bids[5].update(schema.decoder.bidPrice5(), schema.decoder.bidSize5(), schema.decoder.bidCount5());
-        this.bids[6].update(schema.decoder.bidPrice6(), schema.decoder.bidSize6(), schema.decoder.bidCount6());
-        this.bids[7].update(schema.decoder.bidPrice7(), schema.decoder.bidSize7(), schema.decoder.bidCount7());
-        this.bids[8].update(schema.decoder.bidPrice8(), schema.decoder.bidSize8(), schema.decoder.bidCount8());
-        this.bids[9].update(schema.decoder.bidPrice9(), schema.decoder.bidSize9(), schema.decoder.bidCount9());
-        this.asks[0].update(schema.decoder.askPrice0(), schema.decoder.askSize0(), schema.decoder.askCount0());
-        this.asks[1].update(schema.decoder.askPrice1(), schema.decoder.askSize1(), schema.decoder.askCount1());
-        this.asks[2].update(schema.decoder.askPrice2(), schema.decoder.askSize2(), schema.decoder.askCount2());
-        this.asks[3].update(schema.decoder.askPrice3(), schema.decoder.askSize3(), schema.decoder.askCount3());
-        this.asks[4].update(schema.decoder.askPrice4(), schema.decoder.askSize4(), schema.decoder.askCount4());
-        this.asks[5].update(schema.decoder.askPrice5(), schema.decoder.askSize5(), schema.decoder.askCount5());
-        this.asks[6].update(schema.decoder.askPrice6(), schema.decoder.askSize6(), schema.decoder.askCount6());
-        this.asks[7].update(schema.decoder.askPrice7(), schema.decoder.askSize7(), schema.decoder.askCount7());
-        this.asks[8].update(schema.decoder.askPrice8(), schema.decoder.askSize8(), schema.decoder.askCount8());
-        this.asks[9].update(schema.decoder.askPrice9(), schema.decoder.askSize9(), schema.decoder.askCount9());
-        this.sequenceNumber = schema.decoder.sequence();
+    public final void updateFrom(final T schema) {
+        final int count = Math.min(this.depth, this.levels.depth());
+        for (int level = 0; level < count; level++) {
+            this.bids[level].update(
+                    this.levels.readPrice(schema, true, level),
+                    this.levels.readSize(schema, true, level),
+                    this.levels.readCount(schema, true, level));
+            this.asks[level].update(
+                    this.levels.readPrice(schema, false, level),
+                    this.levels.readSize(schema, false, level),
+                    this.levels.readCount(schema, false, level));
+        }
+        this.sequenceNumber = schema.getSequenceNumber();
     }
 
     public final void reset() {
@@ -150,9 +81,10 @@ public class MbpBook implements Book<Mbp10Schema> {
     }
 
     @Override
-    public final void copyFrom(Book<Mbp10Schema> book) {
+    @SuppressWarnings("unchecked")
+    public final void copyFrom(Book<T> book) {
         assert book instanceof MbpBook;
-        MbpBook other = (MbpBook) book;
+        MbpBook<T> other = (MbpBook<T>) book;
         this.sequenceNumber = other.sequenceNumber;
         for (int i = 0; i < this.depth; i++) {
             this.asks[i].copyFrom(other.asks[i]);
@@ -161,7 +93,7 @@ public class MbpBook implements Book<Mbp10Schema> {
     }
 
     @Override
-    public final int compareTo(Book<Mbp10Schema> other) {
+    public final int compareTo(Book<T> other) {
         if (this.sequenceNumber < other.getSequenceNumber()) {
             return -1;
         } else if (this.sequenceNumber > other.getSequenceNumber()) {
@@ -178,7 +110,7 @@ public class MbpBook implements Book<Mbp10Schema> {
         if (obj == null || getClass() != obj.getClass()) {
             return false;
         }
-        MbpBook other = (MbpBook) obj;
+        MbpBook<?> other = (MbpBook<?>) obj;
         if (this.sequenceNumber == other.sequenceNumber) {
             for (int i = 0; i < this.depth; i++) {
                 if (!this.asks[i].equals(other.asks[i]) || !this.bids[i].equals(other.bids[i])) {
@@ -0,0 +1,33 @@
+package group.gnometrading.gateways.inbound.mbp;
+
+import group.gnometrading.gateways.inbound.Book;
+import group.gnometrading.schemas.Schema;
+
+/**
+ * A full-depth book maintained from per-level updates. Readers of incremental feeds hold their book through
+ * this interface so the backing structure can be chosen by {@code SchemaFactory.createBook()}.
+ */
+public interface MbpIncrementalBook<T extends Schema> extends Book<T> {
+
+    /**
+     * Returned by the updates when the book cannot hold the level, e.g. a price off a ladder's tick grid. The
+     * book no longer matches the venue's and must be resynced.
+     */
+    int REJECTED = Integer.MAX_VALUE;
+
+    /**
+     * Set, update or remove (when {@code size} is 0) the bid level at {@code price}.
+     *
+     * @return the depth of the level from the top of the book, or {@link #REJECTED}
+     */
+    int updateBid(long price, long size, long count);
+
+    /**
+     * Set, update or remove (when {@code size} is 0) the ask level at {@code price}.
+     *
+     * @return the depth of the level from the top of the book, or {@link #REJECTED}
+     */
+    int updateAsk(long price, long size, long count);
+
+    void setSequenceNumber(long sequenceNumber);
+}
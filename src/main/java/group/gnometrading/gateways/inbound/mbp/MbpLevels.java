@@ -0,0 +1,84 @@
+package group.gnometrading.gateways.inbound.mbp;
+
+import group.gnometrading.gateways.inbound.SchemaFactory;
+import group.gnometrading.schemas.Action;
+import group.gnometrading.schemas.Schema;
+import group.gnometrading.schemas.Side;
+import group.gnometrading.sm.Listing;
+
+/**
+ * Indexed access to the price levels of a market-by-price schema, so books can be written against any
+ * output depth (e.g. {@link Mbp1Levels} for top of book, {@link Mbp10Levels} for ten levels).
+ *
+ * @param <T> the schema type
+ */
+public interface MbpLevels<T extends Schema> {
+
+    /**
+     * Passed to {@link #writeHeader} for a sequence, price or size the record does not carry; written as the
+     * schema's null value for the field.
+     */
+    long NULL_VALUE = Long.MIN_VALUE;
+
+    /**
+     * Passed to {@link #writeHeader} for records not tied to a level; written as the schema's null depth.
+     */
+    int NULL_DEPTH = Integer.MAX_VALUE;
+
+    /**
+     * @return the number of levels per side the schema carries
+     */
+    int depth();
+
+    void writeLevel(T schema, boolean isBid, int level, long price, long size, long count);
+
+    void writeNullLevel(T schema, boolean isBid, int level);
+
+    long readPrice(T schema, boolean isBid, int level);
+
+    long readSize(T schema, boolean isBid, int level);
+
+    long readCount(T schema, boolean isBid, int level);
+
+    /**
+     * @return whether the level holds a price with a positive size, rather than a null or empty level
+     */
+    boolean hasLevel(T schema, boolean isBid, int level);
+
+    /**
+     * Write the header of a market-by-price record for {@code listing}, so venue parsers can publish at any
+     * depth: ids, recvTimestamp, a null sent timestamp, the event's fields and the market-by-price flag alone.
+     * The event timestamp and the levels are written separately.
+     */
+    void writeHeader(
+            T schema,
+            Listing listing,
+            long timestampRecv,
+            long sequence,
+            long price,
+            long size,
+            Action action,
+            Side side,
+            int depth);
+
+    /**
+     * @param timestampEvent epoch nanos, or {@link SchemaFactory#NO_TIMESTAMP} to write the null value
+     */
+    void writeTimestampEvent(T schema, long timestampEvent);
+
+    /**
+     * Rewrite the header of a copied record as a full-book snapshot: fields describing a single event are
+     * nulled and the snapshot flag is set. Timestamps, sequence and ids are left as copied.
+     */
+    void writeSnapshotHeader(T schema);
+
+    /**
+     * @return whether the record is a trade print rather than a book update
+     */
+    boolean isTrade(T schema);
+
+    /**
+     * @return the record's timestampEvent, or {@link SchemaFactory#NO_TIMESTAMP} if it is null or unset
+     */
+    long readTimestampEvent(T schema);
+}
@@ -0,0 +1,82 @@
+package group.gnometrading.gateways.inbound.mbp.buffer;
+
+import java.util.Arrays;
+
+/**
+ * Identity map from the schemas a book side has written to the write that last filled each one. Output ring
+ * slots are reused, so a slot claimed again still holds the image of its previous write and only levels changed
+ * since need re-encoding. The table grows while the ring's slots are first seen and is allocation free after.
+ */
+final class ImageSlots {
+
+    static final long UNKNOWN = -1L;
+
+    private static final int INITIAL_CAPACITY = 16;
+    // Far more slots than any output ring holds; beyond it schemas are not being reused
+    private static final int MAX_CAPACITY = 1 << 14;
+
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private long[] writes = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @return the write that last filled {@code slot}, or {@link #UNKNOWN}
+     */
+    long lastWrite(final Object slot) {
+        final int index = indexOf(slot);
+        return this.keys[index] == slot ? this.writes[index] : UNKNOWN;
+    }
+
+    void record(final Object slot, final long write) {
+        int index = indexOf(slot);
+        if (this.keys[index] != slot) {
+            if ((this.size + 1) * 2 > this.keys.length) {
+                grow();
+                index = indexOf(slot);
+            }
+            this.keys[index] = slot;
+            this.size++;
+        }
+        this.writes[index] = write;
+    }
+
+    /**
+     * Mark {@code slot} as no longer holding an image written by this side.
+     */
+    void forget(final Object slot) {
+        final int index = indexOf(slot);
+        if (this.keys[index] == slot) {
+            this.writes[index] = UNKNOWN;
+        }
+    }
+
+    private int indexOf(final Object slot) {
+        final int mask = this.keys.length - 1;
+        final int hash = System.identityHashCode(slot);
+        int index = (hash ^ (hash >>> 16)) & mask;
+        Object key;
+        while ((key = this.keys[index]) != null && key != slot) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void grow() {
+        if (this.keys.length == MAX_CAPACITY) {
+            Arrays.fill(this.keys, null);
+            this.size = 0;
+            return;
+        }
+        final Object[] oldKeys = this.keys;
+        final long[] oldWrites = this.writes;
+        this.keys = new Object[oldKeys.length << 1];
+        this.writes = new long[oldKeys.length << 1];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                final int index = indexOf(oldKeys[i]);
+                this.keys[index] = oldKeys[i];
+                this.writes[index] = oldWrites[i];
+            }
+        }
+    }
+}
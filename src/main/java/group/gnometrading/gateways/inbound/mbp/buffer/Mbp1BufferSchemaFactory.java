@@ -0,0 +1,38 @@
+package group.gnometrading.gateways.inbound.mbp.buffer;
+
+import group.gnometrading.gateways.inbound.SchemaFactory;
+import group.gnometrading.gateways.inbound.mbp.Mbp1Levels;
+import group.gnometrading.gateways.inbound.mbp.MbpLevels;
+import group.gnometrading.schemas.Mbp1Schema;
+
+/**
+ * Incremental book publishing top of book only, for consumers that do not need the ten-level records.
+ */
+public interface Mbp1BufferSchemaFactory extends SchemaFactory<Mbp1Schema> {
+
+    @Override
+    default Mbp1Schema[] createSchemaArray(int size) {
+        return new Mbp1Schema[size];
+    }
+
+    @Override
+    default Mbp1Schema createSchema() {
+        return new Mbp1Schema();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default MbpBufferBook<Mbp1Schema>[] createBookArray(int size) {
+        return new MbpBufferBook[size];
+    }
+
+    @Override
+    default MbpBufferBook<Mbp1Schema> createBook() {
+        return new MbpBufferBook<>(128, Mbp1Levels.INSTANCE);
+    }
+
+    @Override
+    default MbpLevels<Mbp1Schema> levels() {
+        return Mbp1Levels.INSTANCE;
+    }
+}
@@ -1,21 +1,23 @@
 package group.gnometrading.gateways.inbound.mbp.buffer;
 
 import group.gnometrading.gateways.inbound.Book;
+import group.gnometrading.gateways.inbound.mbp.MbpIncrementalBook;
+import group.gnometrading.gateways.inbound.mbp.MbpLevels;
 import group.gnometrading.schemas.Mbp10Encoder;
-import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.schemas.Schema;
 
 /**
  * MbpBufferBook is used when an exchange sends incremental updates rather than entire book updates.
  */
-public final class MbpBufferBook implements Book<Mbp10Schema> {
+public final class MbpBufferBook<T extends Schema> implements MbpIncrementalBook<T> {
 
-    private final MbpBufferSide asks;
-    private final MbpBufferSide bids;
+    private final MbpBufferSide<T> asks;
+    private final MbpBufferSide<T> bids;
     private long sequenceNumber;
 
-    public MbpBufferBook(int maxLevels) {
-        this.asks = new MbpBufferSide(maxLevels, false);
-        this.bids = new MbpBufferSide(maxLevels, true);
+    public MbpBufferBook(int maxLevels, MbpLevels<T> levels) {
+        this.asks = new MbpBufferSide<>(maxLevels, false, levels);
+        this.bids = new MbpBufferSide<>(maxLevels, true, levels);
     }
 
     @Override
@@ -24,22 +26,29 @@ public final class MbpBufferBook implements Book<Mbp10Schema> {
     }
 
     @Override
-    public void writeTo(Mbp10Schema schema) {
+    public void writeTo(T schema) {
         this.bids.writeTo(schema);
         this.asks.writeTo(schema);
     }
 
     @Override
-    public void updateFrom(Mbp10Schema schema) {
+    public void invalidateImage(T schema) {
+        this.bids.invalidateImage(schema);
+        this.asks.invalidateImage(schema);
+    }
+
+    @Override
+    public void updateFrom(T schema) {
         this.bids.updateFrom(schema);
         this.asks.updateFrom(schema);
-        this.sequenceNumber = schema.decoder.sequence();
+        this.sequenceNumber = schema.getSequenceNumber();
     }
 
     @Override
-    public void copyFrom(Book<Mbp10Schema> mbp10SchemaBook) {
-        assert mbp10SchemaBook instanceof MbpBufferBook;
-        MbpBufferBook other = (MbpBufferBook) mbp10SchemaBook;
+    @SuppressWarnings("unchecked")
+    public void copyFrom(Book<T> book) {
+        assert book instanceof MbpBufferBook;
+        MbpBufferBook<T> other = (MbpBufferBook<T>) book;
         this.sequenceNumber = other.sequenceNumber;
         this.bids.copyFrom(other.bids);
         this.asks.copyFrom(other.asks);
@@ -53,7 +62,7 @@ public final class MbpBufferBook implements Book<Mbp10Schema> {
     }
 
     @Override
-    public int compareTo(Book<Mbp10Schema> other) {
+    public int compareTo(Book<T> other) {
         if (this.sequenceNumber < other.getSequenceNumber()) {
             return -1;
         } else if (this.sequenceNumber > other.getSequenceNumber()) {
@@ -62,14 +71,17 @@ public final class MbpBufferBook implements Book<Mbp10Schema> {
         return 0;
     }
 
+    @Override
     public void setSequenceNumber(long sequenceNumber) {
         this.sequenceNumber = sequenceNumber;
     }
 
+    @Override
     public int updateAsk(final long price, final long size, final long count) {
         return this.asks.update(price, size, count);
     }
 
+    @Override
     public int updateBid(final long price, final long size, final long count) {
         return this.bids.update(price, size, count);
     }
@@ -1,6 +1,8 @@
 package group.gnometrading.gateways.inbound.mbp.buffer;
 
 import group.gnometrading.gateways.inbound.SchemaFactory;
+import group.gnometrading.gateways.inbound.mbp.Mbp10Levels;
+import group.gnometrading.gateways.inbound.mbp.MbpLevels;
 import group.gnometrading.schemas.Mbp10Schema;
 
 public interface MbpBufferSchemaFactory extends SchemaFactory<Mbp10Schema> {
@@ -16,12 +18,18 @@ public interface MbpBufferSchemaFactory extends SchemaFactory<Mbp10Schema> {
     }
 
     @Override
-    default MbpBufferBook[] createBookArray(int size) {
+    @SuppressWarnings("unchecked")
+    default MbpBufferBook<Mbp10Schema>[] createBookArray(int size) {
         return new MbpBufferBook[size];
     }
 
     @Override
-    default MbpBufferBook createBook() {
-        return new MbpBufferBook(128);
+    default MbpBufferBook<Mbp10Schema> createBook() {
+        return new MbpBufferBook<>(128, Mbp10Levels.INSTANCE);
+    }
+
+    @Override
+    default MbpLevels<Mbp10Schema> levels() {
+        return Mbp10Levels.INSTANCE;
     }
 }
@@ -1,26 +1,36 @@
 package group.gnometrading.gateways.inbound.mbp.buffer;
 
-import group.gnometrading.schemas.Mbp10Encoder;
-import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.gateways.inbound.mbp.MbpLevels;
+import group.gnometrading.schemas.Schema;
+import java.util.Arrays;
 import org.agrona.concurrent.UnsafeBuffer;
 
-class MbpBufferSide {
+class MbpBufferSide<T extends Schema> {
 
     private static final int ENTRY_SIZE = 24; // 8 bytes price + 8 bytes size + 8 bytes count
 
     private final UnsafeBuffer buf;
     private final int maxLevels;
     private final boolean isBid;
+    private final MbpLevels<T> levels;
 
     private int depth = 0;
 
-    MbpBufferSide(int maxLevels, boolean isBid) {
+    // Per output level, the writeTo count when it last changed; a slot filled by a later write holds it
+    private final long[] changedAt;
+    private final ImageSlots images = new ImageSlots();
+    private long writes = 0;
+
+    MbpBufferSide(int maxLevels, boolean isBid, MbpLevels<T> levels) {
         if (maxLevels < 1) {
             throw new IllegalArgumentException("Invalid max levels: " + maxLevels);
         }
         this.maxLevels = maxLevels;
         this.isBid = isBid;
+        this.levels = levels;
         this.buf = new UnsafeBuffer(new byte[maxLevels * ENTRY_SIZE]);
+        this.changedAt = new long[levels.depth()];
+        Arrays.fill(this.changedAt, ImageSlots.UNKNOWN);
     }
 
     /**
@@ -33,6 +43,7 @@ class MbpBufferSide {
     public int update(final long price, final long size, final long count) {
         int idxOrIns = binarySearch(price);
         if (idxOrIns >= 0) {
+            markDirty(idxOrIns);
             if (size == 0L) {
                 removeAt(idxOrIns);
             } else {
@@ -45,11 +56,22 @@ class MbpBufferSide {
             if (size == 0L) {
                 return ins; // removing a non-present level -> ignore
             }
+            markDirty(ins);
             insertAt(ins, price, size, count);
             return ins;
         }
     }
 
+    /**
+     * Inserts and removals shift every level below {@code idx}; writeTo re-encodes from the first changed
+     * level down, so the change is only recorded at {@code idx}.
+     */
+    private void markDirty(final int idx) {
+        if (idx < this.changedAt.length) {
+            this.changedAt[idx] = this.writes;
+        }
+    }
+
     /**
      * Binary search over the sorted entries in the buffer.
      * Returns the index if found, otherwise, (-(insertionPoint) - 1) like Arrays#binarySearch.
@@ -145,252 +167,56 @@ class MbpBufferSide {
         buf.putLong(idx * ENTRY_SIZE + 16, count);
     }
 
-    public void updateFrom(Mbp10Schema schema) {
-        if (isBid) {
-            update(schema.decoder.bidPrice0(), schema.decoder.bidSize0(), schema.decoder.bidCount0());
-            update(schema.decoder.bidPrice1(), schema.decoder.bidSize1(), schema.decoder.bidCount1());
-            update(schema.decoder.bidPrice2(), schema.decoder.bidSize2(), schema.decoder.bidCount2());
-            update(schema.decoder.bidPrice3(), schema.decoder.bidSize3(), schema.decoder.bidCount3());
-            update(schema.decoder.bidPrice4(), schema.decoder.bidSize4(), schema.decoder.bidCount4());
-            update(schema.decoder.bidPrice5(), schema.decoder.bidSize5(), schema.decoder.bidCount5());
-            update(schema.decoder.bidPrice6(), schema.decoder.bidSize6(), schema.decoder.bidCount6());
-            update(schema.decoder.bidPrice7(), schema.decoder.bidSize7(), schema.decoder.bidCount7());
-            update(schema.decoder.bidPrice8(), schema.decoder.bidSize8(), schema.decoder.bidCount8());
-            update(schema.decoder.bidPrice9(), schema.decoder.bidSize9(), schema.decoder.bidCount9());
-        } else {
-            update(schema.decoder.askPrice0(), schema.decoder.askSize0(), schema.decoder.askCount0());
-            update(schema.decoder.askPrice1(), schema.decoder.askSize1(), schema.decoder.askCount1());
-            update(schema.decoder.askPrice2(), schema.decoder.askSize2(), schema.decoder.askCount2());
-            update(schema.decoder.askPrice3(), schema.decoder.askSize3(), schema.decoder.askCount3());
-            update(schema.decoder.askPrice4(), schema.decoder.askSize4(), schema.decoder.askCount4());
-            update(schema.decoder.askPrice5(), schema.decoder.askSize5(), schema.decoder.askCount5());
-            update(schema.decoder.askPrice6(), schema.decoder.askSize6(), schema.decoder.askCount6());
-            update(schema.decoder.askPrice7(), schema.decoder.askSize7(), schema.decoder.askCount7());
-            update(schema.decoder.askPrice8(), schema.decoder.askSize8(), schema.decoder.askCount8());
-            update(schema.decoder.askPrice9(), schema.decoder.askSize9(), schema.decoder.askCount9());
+    public void updateFrom(T schema) {
+        final int schemaDepth = this.levels.depth();
+        for (int level = 0; level < schemaDepth; level++) {
+            update(
+                    this.levels.readPrice(schema, this.isBid, level),
+                    this.levels.readSize(schema, this.isBid, level),
+                    this.levels.readCount(schema, this.isBid, level));
         }
     }
 
-    @SuppressWarnings({"checkstyle:MethodLength", "checkstyle:CyclomaticComplexity"})
-    public void writeTo(Mbp10Schema schema) {
-        if (this.depth > 0) {
-            if (isBid) {
-                schema.encoder.bidPrice0(getPrice(0));
-                schema.encoder.bidSize0(getSize(0));
-                schema.encoder.bidCount0(getCount(0));
-            } else {
-                schema.encoder.askPrice0(getPrice(0));
-                schema.encoder.askSize0(getSize(0));
-                schema.encoder.askCount0(getCount(0));
-            }
-        } else {
-            if (isBid) {
-                schema.encoder.bidPrice0(Mbp10Encoder.bidPrice0NullValue());
-                schema.encoder.bidSize0(Mbp10Encoder.bidSize0NullValue());
-                schema.encoder.bidCount0(Mbp10Encoder.bidCount0NullValue());
-            } else {
-                schema.encoder.askPrice0(Mbp10Encoder.askPrice0NullValue());
-                schema.encoder.askSize0(Mbp10Encoder.askSize0NullValue());
-                schema.encoder.askCount0(Mbp10Encoder.askCount0NullValue());
-            }
-        }
-        if (this.depth > 1) {
-            if (isBid) {
-                schema.encoder.bidPrice1(getPrice(1));
-                schema.encoder.bidSize1(getSize(1));
-                schema.encoder.bidCount1(getCount(1));
-            } else {
-                schema.encoder.askPrice1(getPrice(1));
-                schema.encoder.askSize1(getSize(1));
-                schema.encoder.askCount1(getCount(1));
-            }
-        } else {
-            if (isBid) {
-                schema.encoder.bidPrice1(Mbp10Encoder.bidPrice0NullValue());
-                schema.encoder.bidSize1(Mbp10Encoder.bidSize0NullValue());
-                schema.encoder.bidCount1(Mbp10Encoder.bidCount0NullValue());
-            } else {
-                schema.encoder.askPrice1(Mbp10Encoder.askPrice0NullValue());
-                schema.encoder.askSize1(Mbp10Encoder.askSize0NullValue());
-                schema.encoder.askCount1(Mbp10Encoder.askCount0NullValue());
-            }
-        }
-        if (this.depth > 2) {
-            if (isBid) {
-                schema.encoder.bidPrice2(getPrice(2));
-                schema.encoder.bidSize2(getSize(2));
-                schema.encoder.bidCount2(getCount(2));
-            } else {
-                schema.encoder.askPrice2(getPrice(2));
-                schema.encoder.askSize2(getSize(2));
-                schema.encoder.askCount2(getCount(2));
-            }
-        } else {
-            if (isBid) {
-                schema.encoder.bidPrice2(Mbp10Encoder.bidPrice0NullValue());
-                schema.encoder.bidSize2(Mbp10Encoder.bidSize0NullValue());
-                schema.encoder.bidCount2(Mbp10Encoder.bidCount0NullValue());
-            } else {
-                schema.encoder.askPrice2(Mbp10Encoder.askPrice0NullValue());
-                schema.encoder.askSize2(Mbp10Encoder.askSize0NullValue());
-                schema.encoder.askCount2(Mbp10Encoder.askCount0NullValue());
-            }
-        }
-        if (this.depth > 3) {
-            if (isBid) {
-                schema.encoder.bidPrice3(getPrice(3));
-                schema.encoder.bidSize3(getSize(3));
-                schema.encoder.bidCount3(getCount(3));
-            } else {
-                schema.encoder.askPrice3(getPrice(3));
-                schema.encoder.askSize3(getSize(3));
-                schema.encoder.askCount3(getCount(3));
-            }
-        } else {
-            if (isBid) {
-                schema.encoder.bidPrice3(Mbp10Encoder.bidPrice0NullValue());
-                schema.encoder.bidSize3(Mbp10Encoder.bidSize0NullValue());
-                schema.encoder.bidCount3(Mbp10Encoder.bidCount0NullValue());
-            } else {
-                schema.encoder.askPrice3(Mbp10Encoder.askPrice0NullValue());
-                schema.encoder.askSize3(Mbp10Encoder.askSize0NullValue());
-                schema.encoder.askCount3(Mbp10Encoder.askCount0NullValue());
-            }
-        }
-        if (this.depth > 4) {
-            if (isBid) {
-                schema.encoder.bidPrice4(getPrice(4));
-                schema.encoder.bidSize4(getSize(4));
-                schema.encoder.bidCount4(getCount(4));
-            } else {
-                schema.encoder.askPrice4(getPrice(4));
-                schema.encoder.askSize4(getSize(4));
-                schema.encoder.askCount4(getCount(4));
-            }
-        } else {
-            if (isBid) {
-                schema.encoder.bidPrice4(Mbp10Encoder.bidPrice0NullValue());
-                schema.encoder.bidSize4(Mbp10Encoder.bidSize0NullValue());
-                schema.encoder.bidCount4(Mbp10Encoder.bidCount0NullValue());
-            } else {
-                schema.encoder.askPrice4(Mbp10Encoder.askPrice0NullValue());
-                schema.encoder.askSize4(Mbp10Encoder.askSize0NullValue());
-                schema.encoder.askCount4(Mbp10Encoder.askCount0NullValue());
-            }
-        }
-        if (this.depth > 5) {
-            if (isBid) {
-                schema.encoder.bidPrice5(getPrice(5));
-                schema.encoder.bidSize5(getSize(5));
-                schema.encoder.bidCount5(getCount(5));
-            } else {
-                schema.encoder.askPrice5(getPrice(5));
-                schema.encoder.askSize5(getSize(5));
-                schema.encoder.askCount5(getCount(5));
-            }
-        } else {
-            if (isBid) {
-                schema.encoder.bidPrice5(Mbp10Encoder.bidPrice0NullValue());
-                schema.encoder.bidSize5(Mbp10Encoder.bidSize0NullValue());
-                schema.encoder.bidCount5(Mbp10Encoder.bidCount0NullValue());
-            } else {
-                schema.encoder.askPrice5(Mbp10Encoder.askPrice0NullValue());
-                schema.encoder.askSize5(Mbp10Encoder.askSize0NullValue());
-                schema.encoder.askCount5(Mbp10Encoder.askCount0NullValue());
-            }
-        }
-        if (this.depth > 6) {
-            if (isBid) {
-                schema.encoder.bidPrice6(getPrice(6));
-                schema.encoder.bidSize6(getSize(6));
-                schema.encoder.bidCount6(getCount(6));
-            } else {
-                schema.encoder.askPrice6(getPrice(6));
-                schema.encoder.askSize6(getSize(6));
-                schema.encoder.askCount6(getCount(6));
-            }
-        } else {
-            if (isBid) {
-                schema.encoder.bidPrice6(Mbp10Encoder.bidPrice0NullValue());
-                schema.encoder.bidSize6(Mbp10Encoder.bidSize0NullValue());
-                schema.encoder.bidCount6(Mbp10Encoder.bidCount0NullValue());
-            } else {
-                schema.encoder.askPrice6(Mbp10Encoder.askPrice0NullValue());
-                schema.encoder.askSize6(Mbp10Encoder.askSize0NullValue());
-                schema.encoder.askCount6(Mbp10Encoder.askCount0NullValue());
-            }
-        }
-        if (this.depth > 7) {
-            if (isBid) {
-                schema.encoder.bidPrice7(getPrice(7));
-                schema.encoder.bidSize7(getSize(7));
-                schema.encoder.bidCount7(getCount(7));
-            } else {
-                schema.encoder.askPrice7(getPrice(7));
-                schema.encoder.askSize7(getSize(7));
-                schema.encoder.askCount7(getCount(7));
-            }
-        } else {
-            if (isBid) {
-                schema.encoder.bidPrice7(Mbp10Encoder.bidPrice0NullValue());
-                schema.encoder.bidSize7(Mbp10Encoder.bidSize0NullValue());
-                schema.encoder.bidCount7(Mbp10Encoder.bidCount0NullValue());
-            } else {
-                schema.encoder.askPrice7(Mbp10Encoder.askPrice0NullValue());
-                schema.encoder.askSize7(Mbp10Encoder.askSize0NullValue());
-                schema.encoder.askCount7(Mbp10Encoder.askCount0NullValue());
-            }
-        }
-        if (this.depth > 8) {
-            if (isBid) {
-                schema.encoder.bidPrice8(getPrice(8));
-                schema.encoder.bidSize8(getSize(8));
-                schema.encoder.bidCount8(getCount(8));
-            } else {
-                schema.encoder.askPrice8(getPrice(8));
-                schema.encoder.askSize8(getSize(8));
-                schema.encoder.askCount8(getCount(8));
-            }
-        } else {
-            if (isBid) {
-                schema.encoder.bidPrice8(Mbp10Encoder.bidPrice0NullValue());
-                schema.encoder.bidSize8(Mbp10Encoder.bidSize0NullValue());
-                schema.encoder.bidCount8(Mbp10Encoder.bidCount0NullValue());
-            } else {
-                schema.encoder.askPrice8(Mbp10Encoder.askPrice0NullValue());
-                schema.encoder.askSize8(Mbp10Encoder.askSize0NullValue());
-                schema.encoder.askCount8(Mbp10Encoder.askCount0NullValue());
+    /**
+     * Encode the top levels into the schema. If the schema was last filled by this side, e.g. an output ring
+     * slot claimed again, only levels at or below the lowest one changed since that write are re-encoded.
+     */
+    public void writeTo(T schema) {
+        final int schemaDepth = this.levels.depth();
+        final long since = this.images.lastWrite(schema);
+        int from = 0;
+        if (since != ImageSlots.UNKNOWN) {
+            while (from < schemaDepth && this.changedAt[from] < since) {
+                from++;
             }
         }
-        if (this.depth > 9) {
-            if (isBid) {
-                schema.encoder.bidPrice9(getPrice(9));
-                schema.encoder.bidSize9(getSize(9));
-                schema.encoder.bidCount9(getCount(9));
+        for (int level = from; level < schemaDepth; level++) {
+            if (level < this.depth) {
+                this.levels.writeLevel(schema, this.isBid, level, getPrice(level), getSize(level), getCount(level));
             } else {
-                schema.encoder.askPrice9(getPrice(9));
-                schema.encoder.askSize9(getSize(9));
-                schema.encoder.askCount9(getCount(9));
-            }
-        } else {
-            if (isBid) {
-                schema.encoder.bidPrice9(Mbp10Encoder.bidPrice0NullValue());
-                schema.encoder.bidSize9(Mbp10Encoder.bidSize0NullValue());
-                schema.encoder.bidCount9(Mbp10Encoder.bidCount0NullValue());
-            } else {
-                schema.encoder.askPrice9(Mbp10Encoder.askPrice0NullValue());
-                schema.encoder.askSize9(Mbp10Encoder.askSize0NullValue());
-                schema.encoder.askCount9(Mbp10Encoder.askCount0NullValue());
+                this.levels.writeNullLevel(schema, this.isBid, level);
             }
         }
+        this.writes++;
+        this.images.record(schema, this.writes);
+    }
+
+    /**
+     * Forget the image held by {@code schema}, e.g. after another record was copied into it, so the next
+     * writeTo into it encodes every level.
+     */
+    public void invalidateImage(T schema) {
+        this.images.forget(schema);
     }
 
-    public void copyFrom(MbpBufferSide other) {
+    public void copyFrom(MbpBufferSide<T> other) {
+        markDirty(0);
         this.depth = other.depth;
         this.buf.putBytes(0, other.buf, 0, other.depth * ENTRY_SIZE);
     }
 
     public void reset() {
+        markDirty(0);
         this.depth = 0;
     }
 }
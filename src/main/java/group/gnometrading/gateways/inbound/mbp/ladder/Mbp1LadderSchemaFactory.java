@@ -0,0 +1,46 @@
+package group.gnometrading.gateways.inbound.mbp.ladder;
+
+import group.gnometrading.gateways.inbound.SchemaFactory;
+import group.gnometrading.gateways.inbound.mbp.Mbp1Levels;
+import group.gnometrading.gateways.inbound.mbp.MbpLevels;
+import group.gnometrading.schemas.Mbp1Schema;
+
+/**
+ * Ladder book publishing top of book only, for consumers that do not need the ten-level records.
+ */
+public interface Mbp1LadderSchemaFactory extends SchemaFactory<Mbp1Schema> {
+
+    /**
+     * @see MbpLadderSchemaFactory#ladderTickSize()
+     */
+    default long ladderTickSize() {
+        return MbpLadderSchemaFactory.DEFAULT_TICK_SIZE;
+    }
+
+    @Override
+    default Mbp1Schema[] createSchemaArray(int size) {
+        return new Mbp1Schema[size];
+    }
+
+    @Override
+    default Mbp1Schema createSchema() {
+        return new Mbp1Schema();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default MbpLadderBook<Mbp1Schema>[] createBookArray(int size) {
+        return new MbpLadderBook[size];
+    }
+
+    @Override
+    default MbpLadderBook<Mbp1Schema> createBook() {
+        final long tickSize = ladderTickSize();
+        return new MbpLadderBook<>(0L, tickSize, MbpLadderSchemaFactory.ticksFor(tickSize), Mbp1Levels.INSTANCE);
+    }
+
+    @Override
+    default MbpLevels<Mbp1Schema> levels() {
+        return Mbp1Levels.INSTANCE;
+    }
+}
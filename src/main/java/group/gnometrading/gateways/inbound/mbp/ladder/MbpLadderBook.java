@@ -0,0 +1,85 @@
+package group.gnometrading.gateways.inbound.mbp.ladder;
+
+import group.gnometrading.gateways.inbound.Book;
+import group.gnometrading.gateways.inbound.mbp.MbpIncrementalBook;
+import group.gnometrading.gateways.inbound.mbp.MbpLevels;
+import group.gnometrading.schemas.Mbp10Encoder;
+import group.gnometrading.schemas.Schema;
+
+/**
+ * MbpLadderBook is used for incremental feeds whose prices sit on a fixed, bounded tick grid
+ * (e.g. prediction markets priced between 0 and 1). Every tick in {@code [minPrice, minPrice + ticks * tickSize)}
+ * has a dedicated slot, so updates never shift levels the way {@code MbpBufferBook} does.
+ */
+public final class MbpLadderBook<T extends Schema> implements MbpIncrementalBook<T> {
+
+    private final MbpLadderSide<T> asks;
+    private final MbpLadderSide<T> bids;
+    private long sequenceNumber;
+
+    public MbpLadderBook(long minPrice, long tickSize, int ticks, MbpLevels<T> levels) {
+        this.asks = new MbpLadderSide<>(minPrice, tickSize, ticks, false, levels);
+        this.bids = new MbpLadderSide<>(minPrice, tickSize, ticks, true, levels);
+        this.sequenceNumber = Mbp10Encoder.sequenceNullValue();
+    }
+
+    @Override
+    public long getSequenceNumber() {
+        return this.sequenceNumber;
+    }
+
+    @Override
+    public void writeTo(T schema) {
+        this.bids.writeTo(schema);
+        this.asks.writeTo(schema);
+    }
+
+    @Override
+    public void updateFrom(T schema) {
+        this.bids.updateFrom(schema);
+        this.asks.updateFrom(schema);
+        this.sequenceNumber = schema.getSequenceNumber();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void copyFrom(Book<T> book) {
+        assert book instanceof MbpLadderBook;
+        MbpLadderBook<T> other = (MbpLadderBook<T>) book;
+        this.sequenceNumber = other.sequenceNumber;
+        this.bids.copyFrom(other.bids);
+        this.asks.copyFrom(other.asks);
+    }
+
+    @Override
+    public void reset() {
+        this.sequenceNumber = Mbp10Encoder.sequenceNullValue();
+        this.bids.reset();
+        this.asks.reset();
+    }
+
+    @Override
+    public int compareTo(Book<T> other) {
+        if (this.sequenceNumber < other.getSequenceNumber()) {
+            return -1;
+        } else if (this.sequenceNumber > other.getSequenceNumber()) {
+            return 1;
+        }
+        return 0;
+    }
+
+    @Override
+    public void setSequenceNumber(long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    @Override
+    public int updateAsk(final long price, final long size, final long count) {
+        return this.asks.update(price, size, count);
+    }
+
+    @Override
+    public int updateBid(final long price, final long size, final long count) {
+        return this.bids.update(price, size, count);
+    }
+}
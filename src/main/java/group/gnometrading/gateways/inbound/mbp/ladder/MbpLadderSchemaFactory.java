@@ -0,0 +1,63 @@
+package group.gnometrading.gateways.inbound.mbp.ladder;
+
+import group.gnometrading.gateways.inbound.SchemaFactory;
+import group.gnometrading.gateways.inbound.mbp.Mbp10Levels;
+import group.gnometrading.gateways.inbound.mbp.MbpLevels;
+import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.schemas.Statics;
+
+public interface MbpLadderSchemaFactory extends SchemaFactory<Mbp10Schema> {
+
+    /**
+     * Default ladder: prices in [0, 1] on a 0.0001 grid, the finest tick Polymarket lists. Coarser ticks
+     * (0.1, 0.01, 0.001) sit on the same grid.
+     */
+    long DEFAULT_TICK_SIZE = Statics.PRICE_SCALING_FACTOR / 10_000L;
+
+    int DEFAULT_TICKS = ticksFor(DEFAULT_TICK_SIZE);
+
+    /**
+     * @return the ticks a ladder over [0, 1] needs at {@code tickSize}, e.g. 10001 for 0.0001
+     */
+    static int ticksFor(long tickSize) {
+        if (tickSize < 1 || Statics.PRICE_SCALING_FACTOR % tickSize != 0) {
+            throw new IllegalArgumentException("Invalid tick size: " + tickSize);
+        }
+        return Math.toIntExact(Statics.PRICE_SCALING_FACTOR / tickSize + 1);
+    }
+
+    /**
+     * The grid {@link #createBook()} lays the ladder on. Readers whose listings all trade on a coarser tick
+     * may override this to shrink the ladder; prices off the grid are rejected by the book.
+     */
+    default long ladderTickSize() {
+        return DEFAULT_TICK_SIZE;
+    }
+
+    @Override
+    default Mbp10Schema[] createSchemaArray(int size) {
+        return new Mbp10Schema[size];
+    }
+
+    @Override
+    default Mbp10Schema createSchema() {
+        return new Mbp10Schema();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default MbpLadderBook<Mbp10Schema>[] createBookArray(int size) {
+        return new MbpLadderBook[size];
+    }
+
+    @Override
+    default MbpLadderBook<Mbp10Schema> createBook() {
+        final long tickSize = ladderTickSize();
+        return new MbpLadderBook<>(0L, tickSize, ticksFor(tickSize), Mbp10Levels.INSTANCE);
+    }
+
+    @Override
+    default MbpLevels<Mbp10Schema> levels() {
+        return Mbp10Levels.INSTANCE;
+    }
+}
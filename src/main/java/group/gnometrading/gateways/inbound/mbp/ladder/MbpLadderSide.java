@@ -0,0 +1,229 @@
+package group.gnometrading.gateways.inbound.mbp.ladder;
+
+import group.gnometrading.gateways.inbound.mbp.MbpIncrementalBook;
+import group.gnometrading.gateways.inbound.mbp.MbpLevels;
+import group.gnometrading.schemas.Schema;
+import java.util.Arrays;
+
+/**
+ * One side of a price ladder: sizes and counts indexed directly by tick, with a bitmap of occupied ticks.
+ * <p>
+ * Updates are O(1). The best tick is cached and only rescanned when it is removed; walking to the next level
+ * and computing the depth of a tick are word-at-a-time bit scans.
+ */
+class MbpLadderSide<T extends Schema> {
+
+    static final int OUT_OF_LADDER = MbpIncrementalBook.REJECTED;
+
+    private static final int NONE = -1;
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = (1 << WORD_SHIFT) - 1;
+
+    private final long minPrice;
+    private final long tickSize;
+    private final int ticks;
+    private final boolean isBid;
+    private final MbpLevels<T> levels;
+    private final long[] sizes;
+    private final long[] counts;
+    private final long[] occupancy;
+
+    private int best = NONE;
+
+    MbpLadderSide(long minPrice, long tickSize, int ticks, boolean isBid, MbpLevels<T> levels) {
+        if (tickSize < 1) {
+            throw new IllegalArgumentException("Invalid tick size: " + tickSize);
+        }
+        if (ticks < 1) {
+            throw new IllegalArgumentException("Invalid ticks: " + ticks);
+        }
+        this.minPrice = minPrice;
+        this.tickSize = tickSize;
+        this.ticks = ticks;
+        this.isBid = isBid;
+        this.levels = levels;
+        this.sizes = new long[ticks];
+        this.counts = new long[ticks];
+        this.occupancy = new long[(ticks + WORD_MASK) >>> WORD_SHIFT];
+    }
+
+    /**
+     * Direct update from the exchange. If `size` == 0, remove the level.
+     * <p>
+     * Prices outside the ladder or off the tick grid cannot be held; the side is left unchanged and the caller
+     * must treat its book as out of sync.
+     *
+     * @param price the price to update
+     * @param size the size to update
+     * @return the depth of the level, or {@link #OUT_OF_LADDER} if the price was rejected
+     */
+    public int update(final long price, final long size, final long count) {
+        final int tick = tickOf(price);
+        if (tick < 0) {
+            return OUT_OF_LADDER;
+        }
+
+        final int depth = depthOf(tick);
+        if (size == 0L) {
+            if (isOccupied(tick)) {
+                clear(tick);
+            }
+        } else {
+            this.sizes[tick] = size;
+            this.counts[tick] = count;
+            if (!isOccupied(tick)) {
+                set(tick);
+            }
+        }
+        return depth;
+    }
+
+    private int tickOf(final long price) {
+        if (price < this.minPrice) {
+            return NONE;
+        }
+        final long offset = price - this.minPrice;
+        if (offset % this.tickSize != 0) {
+            return NONE;
+        }
+        final long tick = offset / this.tickSize;
+        return tick < this.ticks ? (int) tick : NONE;
+    }
+
+    private long priceOf(final int tick) {
+        return this.minPrice + tick * this.tickSize;
+    }
+
+    private boolean isOccupied(final int tick) {
+        return (this.occupancy[tick >>> WORD_SHIFT] & (1L << tick)) != 0;
+    }
+
+    private void set(final int tick) {
+        this.occupancy[tick >>> WORD_SHIFT] |= 1L << tick;
+        if (this.best == NONE || isBetter(tick, this.best)) {
+            this.best = tick;
+        }
+    }
+
+    private void clear(final int tick) {
+        this.occupancy[tick >>> WORD_SHIFT] &= ~(1L << tick);
+        if (tick == this.best) {
+            this.best = next(tick);
+        }
+    }
+
+    private boolean isBetter(final int tick, final int other) {
+        return this.isBid ? tick > other : tick < other;
+    }
+
+    /**
+     * The next occupied tick after {@code tick} in priority order, or {@link #NONE}.
+     */
+    private int next(final int tick) {
+        return this.isBid ? previousSetBit(tick - 1) : nextSetBit(tick + 1);
+    }
+
+    private int nextSetBit(final int from) {
+        if (from >= this.ticks) {
+            return NONE;
+        }
+        int wordIndex = from >>> WORD_SHIFT;
+        long word = this.occupancy[wordIndex] & (-1L << from);
+        while (word == 0) {
+            if (++wordIndex == this.occupancy.length) {
+                return NONE;
+            }
+            word = this.occupancy[wordIndex];
+        }
+        return (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+    }
+
+    private int previousSetBit(final int from) {
+        if (from < 0) {
+            return NONE;
+        }
+        int wordIndex = from >>> WORD_SHIFT;
+        long word = this.occupancy[wordIndex] & (-1L >>> (WORD_MASK - (from & WORD_MASK)));
+        while (word == 0) {
+            if (--wordIndex < 0) {
+                return NONE;
+            }
+            word = this.occupancy[wordIndex];
+        }
+        return (wordIndex << WORD_SHIFT) + WORD_MASK - Long.numberOfLeadingZeros(word);
+    }
+
+    /**
+     * Number of occupied ticks ahead of {@code tick}. Only the words between the best tick and {@code tick}
+     * are visited since nothing is occupied ahead of the best.
+     */
+    private int depthOf(final int tick) {
+        if (this.best == NONE || !isBetter(this.best, tick)) {
+            return 0;
+        }
+        final int tickWord = tick >>> WORD_SHIFT;
+        final int bestWord = this.best >>> WORD_SHIFT;
+        int depth = 0;
+        if (this.isBid) {
+            // Occupied ticks strictly above `tick`
+            depth += Long.bitCount(this.occupancy[tickWord] & (-2L << tick));
+            for (int w = tickWord + 1; w <= bestWord; w++) {
+                depth += Long.bitCount(this.occupancy[w]);
+            }
+        } else {
+            // Occupied ticks strictly below `tick`
+            depth += Long.bitCount(this.occupancy[tickWord] & ((1L << tick) - 1));
+            for (int w = bestWord; w < tickWord; w++) {
+                depth += Long.bitCount(this.occupancy[w]);
+            }
+        }
+        return depth;
+    }
+
+    public void updateFrom(final T schema) {
+        final int schemaDepth = this.levels.depth();
+        for (int level = 0; level < schemaDepth; level++) {
+            update(
+                    this.levels.readPrice(schema, this.isBid, level),
+                    this.levels.readSize(schema, this.isBid, level),
+                    this.levels.readCount(schema, this.isBid, level));
+        }
+    }
+
+    public void writeTo(final T schema) {
+        final int schemaDepth = this.levels.depth();
+        int tick = this.best;
+        for (int level = 0; level < schemaDepth; level++) {
+            if (tick == NONE) {
+                this.levels.writeNullLevel(schema, this.isBid, level);
+            } else {
+                this.levels.writeLevel(schema, this.isBid, level, priceOf(tick), this.sizes[tick], this.counts[tick]);
+                tick = next(tick);
+            }
+        }
+    }
+
+    /**
+     * Copies the bitmap and only the occupied ticks' sizes and counts. Unoccupied ticks are never read, so a
+     * sparse book costs a pass over the bitmap rather than a copy of the whole ladder.
+     */
+    public void copyFrom(final MbpLadderSide<T> other) {
+        assert other.ticks == this.ticks && other.minPrice == this.minPrice && other.tickSize == this.tickSize;
+        for (int wordIndex = 0; wordIndex < this.occupancy.length; wordIndex++) {
+            long word = other.occupancy[wordIndex];
+            this.occupancy[wordIndex] = word;
+            while (word != 0) {
+                final int tick = (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                this.sizes[tick] = other.sizes[tick];
+                this.counts[tick] = other.counts[tick];
+                word &= word - 1;
+            }
+        }
+        this.best = other.best;
+    }
+
+    public void reset() {
+        Arrays.fill(this.occupancy, 0L);
+        this.best = NONE;
+    }
+}
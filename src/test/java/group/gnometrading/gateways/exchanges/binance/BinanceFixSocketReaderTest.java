@@ -25,6 +25,8 @@ import group.gnometrading.sm.Exchange;
 import group.gnometrading.sm.Listing;
 import group.gnometrading.sm.Security;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
@@ -72,6 +74,8 @@ public class BinanceFixSocketReaderTest {
             return pos;
         });
         when(mockFixClient.getReadBuffer()).thenReturn(ByteBuffer.allocate(65536));
+        // The stubbed message is what gets parsed; the frame only stands in for its wire bytes
+        when(mockFixClient.getFrame()).thenReturn(ByteBuffer.allocate(1));
 
         FixConfig config = new FixConfig.Builder()
                 .withSessionVersion(FixVersion.FIX_4_4)
@@ -101,8 +105,7 @@ public class BinanceFixSocketReaderTest {
         reader = new BinanceFixSocketReader(
                 new NullLogger(), sequencedRingBuffer, clock, mockFixClient, listing, config, null, "TEST_API_KEY");
 
-        reader.buffer = false;
-        reader.pause = false;
+        reader.resume();
         seqNum = 1;
     }
 
@@ -243,6 +246,24 @@ public class BinanceFixSocketReaderTest {
         assertEquals(parsePrice("49999.00"), schema.decoder.bidPrice1());
     }
 
+    @Test
+    void testRawSinkCapturesTheFixFrame() throws Exception {
+        byte[] wire = "8=FIX.4.4\u00019=5\u000135=X\u000110=000\u0001".getBytes(StandardCharsets.US_ASCII);
+        when(mockFixClient.getFrame()).thenReturn(ByteBuffer.wrap(wire));
+        List<byte[]> captured = new ArrayList<>();
+        reader.setRawDataSink((recvTimestamp, buffer) -> {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            captured.add(bytes);
+        });
+
+        processMessage(buildXMessage(seqNum++, 1005L, m -> addBookEntry(m, '0', '0', "50000.00", "1.50000")));
+
+        assertEquals(1, capturedSchemas.size());
+        assertEquals(1, captured.size());
+        assertArrayEquals(wire, captured.get(0));
+    }
+
     // ========== Helpers ==========
 
     private FixMessage buildXMessage(int msgSeqNum, long lastBookUpdateId, Consumer<FixMessage> entryBuilder) {
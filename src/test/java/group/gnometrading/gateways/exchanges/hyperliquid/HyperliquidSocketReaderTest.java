@@ -0,0 +1,221 @@
+package group.gnometrading.gateways.exchanges.hyperliquid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import group.gnometrading.codecs.json.JsonDecoder;
+import group.gnometrading.gateways.inbound.exchanges.hyperliquid.HyperliquidSocketReader;
+import group.gnometrading.logging.NullLogger;
+import group.gnometrading.networking.websockets.WebSocketClient;
+import group.gnometrading.networking.websockets.WebSocketResponse;
+import group.gnometrading.networking.websockets.enums.Opcode;
+import group.gnometrading.schemas.Action;
+import group.gnometrading.schemas.Mbp10Encoder;
+import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.schemas.SchemaType;
+import group.gnometrading.schemas.Statics;
+import group.gnometrading.sequencer.GlobalSequence;
+import group.gnometrading.sequencer.SequencedRingBuffer;
+import group.gnometrading.sm.Exchange;
+import group.gnometrading.sm.Listing;
+import group.gnometrading.sm.Security;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HyperliquidSocketReaderTest {
+
+    private SequencedRingBuffer<Mbp10Schema> ringBuffer;
+    private HyperliquidSocketReader reader;
+    private WebSocketClient client;
+    private WebSocketResponse response;
+    private List<Mbp10Schema> captured;
+
+    @BeforeEach
+    void setUp() {
+        captured = new CopyOnWriteArrayList<>();
+        ringBuffer = new SequencedRingBuffer<>(Mbp10Schema::new, new GlobalSequence());
+        ringBuffer.handleEventsWith((globalSequence, templateId, buffer, length) -> {
+            Mbp10Schema copy = new Mbp10Schema();
+            copy.buffer.putBytes(0, buffer, 0, length);
+            copy.wrap(copy.buffer);
+            captured.add(copy);
+        });
+        ringBuffer.start();
+
+        client = mock(WebSocketClient.class);
+        response = mock(WebSocketResponse.class);
+        when(response.isSuccess()).thenReturn(true);
+        when(response.getOpcode()).thenReturn(Opcode.TEXT);
+
+        Listing listing = new Listing(
+                0,
+                new Exchange(1, "hyperliquid", "global", SchemaType.MBP_10),
+                new Security(1, "ETH", 1),
+                "ETH",
+                "ETH");
+        reader = new HyperliquidSocketReader(
+                new NullLogger(), ringBuffer, () -> 9_000_000_000L, null, listing, client, new JsonDecoder());
+        reader.resume();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ringBuffer.shutdown();
+    }
+
+    // ========== Book Fingerprint Tests ==========
+
+    @Test
+    void unchangedTopLevelsRepublishBookWithNewTimestamp() throws Exception {
+        process(l2Book(1000, "3500.0", "1.5", "3500.1"));
+        process(l2Book(1001, "3500.0", "1.5", "3500.1"));
+
+        Mbp10Schema first = captured.get(0);
+        Mbp10Schema second = captured.get(1);
+        assertEquals(1_000_000_000L, first.decoder.timestampEvent());
+        assertEquals(1_001_000_000L, second.decoder.timestampEvent());
+        assertEquals(1_001_000_000L, second.decoder.sequence());
+        assertEquals(Action.Modify, second.decoder.action());
+        assertEquals(Mbp10Encoder.depthNullValue(), second.decoder.depth());
+        assertEquals(price("3500.0"), second.decoder.bidPrice0());
+        assertEquals(size("1.5"), second.decoder.bidSize0());
+        assertEquals(price("3500.1"), second.decoder.askPrice0());
+        assertEquals(first.decoder.bidPrice9(), second.decoder.bidPrice9());
+        assertEquals(first.decoder.askPrice9(), second.decoder.askPrice9());
+    }
+
+    @Test
+    void changedTopLevelIsParsed() throws Exception {
+        process(l2Book(1000, "3500.0", "1.5", "3500.1"));
+        process(l2Book(1001, "3500.0", "2.5", "3500.1"));
+        process(l2Book(1002, "3500.0", "2.5", "3500.1"));
+
+        assertEquals(size("2.5"), captured.get(1).decoder.bidSize0());
+        assertEquals(0, captured.get(1).decoder.depth());
+        assertEquals(size("2.5"), captured.get(2).decoder.bidSize0());
+        assertEquals(Mbp10Encoder.depthNullValue(), captured.get(2).decoder.depth());
+    }
+
+    @Test
+    void changeBeyondTopLevelsDoesNotAffectBook() throws Exception {
+        process(l2Book(1000, "3500.0", "1.5", "3500.1", "9.0"));
+        process(l2Book(1001, "3500.0", "1.5", "3500.1", "4.0"));
+
+        assertEquals(captured.get(0).decoder.bidSize9(), captured.get(1).decoder.bidSize9());
+        assertEquals(Mbp10Encoder.depthNullValue(), captured.get(1).decoder.depth());
+    }
+
+    @Test
+    void levelCountChangeIsParsed() throws Exception {
+        process(l2Book(1000, "3500.0", "1.5", "3500.1"));
+        process(
+                """
+                {"channel":"l2Book","data":{"coin":"ETH","time":1001,"levels":[\
+                [{"px":"3500.0","sz":"1.5","n":1}],\
+                [{"px":"3500.1","sz":"1.0","n":1}]]}}
+                """);
+
+        Mbp10Schema schema = captured.get(1);
+        assertEquals(price("3500.0"), schema.decoder.bidPrice0());
+        assertEquals(Mbp10Encoder.bidPrice1NullValue(), schema.decoder.bidPrice1());
+        assertEquals(Mbp10Encoder.askPrice1NullValue(), schema.decoder.askPrice1());
+    }
+
+    @Test
+    void republishedBookCarriesLatestTrade() throws Exception {
+        process(l2Book(1000, "3500.0", "1.5", "3500.1"));
+        process("{\"channel\":\"trades\",\"data\":[]}");
+        process(
+                """
+                {"channel":"trades","data":[{"coin":"ETH","side":"B","px":"3500.1","sz":"0.2","time":1001}]}
+                """);
+        process(l2Book(1002, "3500.0", "1.5", "3500.1"));
+
+        Mbp10Schema republished = captured.get(captured.size() - 1);
+        assertEquals(Action.Modify, republished.decoder.action());
+        assertEquals(price("3500.1"), republished.decoder.price());
+        assertEquals(size("0.2"), republished.decoder.size());
+        assertEquals(1_002_000_000L, republished.decoder.timestampEvent());
+        assertEquals(price("3500.0"), republished.decoder.bidPrice0());
+    }
+
+    @Test
+    void bookChangedByUnscannableFrameIsNotRepublishedStale() throws Exception {
+        process(l2Book(1000, "3500.0", "1.5", "3500.1"));
+        // Whitespace after the channel key falls back to the decoder
+        process(l2Book(1001, "3500.0", "2.5", "3500.1").replace("\"channel\":", "\"channel\": "));
+        process(l2Book(1002, "3500.0", "1.5", "3500.1"));
+
+        assertEquals(size("2.5"), captured.get(1).decoder.bidSize0());
+        Mbp10Schema third = captured.get(2);
+        assertEquals(size("1.5"), third.decoder.bidSize0());
+        assertEquals(0, third.decoder.depth());
+    }
+
+    private static String l2Book(long time, String bestBid, String bestBidSize, String bestAsk) {
+        return l2Book(time, bestBid, bestBidSize, bestAsk, "1.0");
+    }
+
+    /**
+     * Eleven levels per side one tick apart; {@code deepSize} is the size of the eleventh bid.
+     */
+    private static String l2Book(long time, String bestBid, String bestBidSize, String bestAsk, String deepSize) {
+        final StringBuilder frame = new StringBuilder();
+        frame.append("{\"channel\":\"l2Book\",\"data\":{\"coin\":\"ETH\",\"time\":")
+                .append(time)
+                .append(",\"levels\":[[");
+        final java.math.BigDecimal bid = new java.math.BigDecimal(bestBid);
+        final java.math.BigDecimal ask = new java.math.BigDecimal(bestAsk);
+        final java.math.BigDecimal tick = new java.math.BigDecimal("0.1");
+        for (int i = 0; i < 11; i++) {
+            final String levelSize = i == 0 ? bestBidSize : i == 10 ? deepSize : "1.0";
+            appendLevel(frame, i, bid.subtract(tick.multiply(java.math.BigDecimal.valueOf(i))), levelSize);
+        }
+        frame.append("],[");
+        for (int i = 0; i < 11; i++) {
+            appendLevel(frame, i, ask.add(tick.multiply(java.math.BigDecimal.valueOf(i))), "1.0");
+        }
+        return frame.append("]]}}").toString();
+    }
+
+    private static void appendLevel(StringBuilder frame, int index, java.math.BigDecimal px, String sz) {
+        if (index > 0) {
+            frame.append(',');
+        }
+        frame.append("{\"px\":\"")
+                .append(px.toPlainString())
+                .append("\",\"sz\":\"")
+                .append(sz)
+                .append("\",\"n\":1}");
+    }
+
+    private void process(String message) throws Exception {
+        int before = captured.size();
+        when(client.read()).thenReturn(response);
+        when(response.getBody()).thenReturn(ByteBuffer.wrap(message.strip().getBytes(StandardCharsets.UTF_8)));
+        reader.doWork();
+
+        long deadline = System.currentTimeMillis() + 1_000;
+        while (captured.size() == before && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+    }
+
+    private long price(String value) {
+        return new java.math.BigDecimal(value)
+                .multiply(java.math.BigDecimal.valueOf(Statics.PRICE_SCALING_FACTOR))
+                .longValueExact();
+    }
+
+    private long size(String value) {
+        return new java.math.BigDecimal(value)
+                .multiply(java.math.BigDecimal.valueOf(Statics.SIZE_SCALING_FACTOR))
+                .longValueExact();
+    }
+}
@@ -85,8 +85,7 @@ class KalshiSocketReaderTest {
                 new JsonDecoder(),
                 "test-api-key",
                 TEST_PRIVATE_KEY);
-        reader.buffer = false;
-        reader.pause = false;
+        reader.resume();
     }
 
     @AfterEach
@@ -252,6 +251,58 @@ class KalshiSocketReaderTest {
         assertEquals(Mbp10Encoder.askPrice3NullValue(), schema.decoder.askPrice3());
     }
 
+    @Test
+    void deltaBeyondTopTenLeavesPublishedLevelsAndIsPromotedOnRemoval() throws Exception {
+        // YES levels at 50..70 cents straddle the 64-cent bitmask word boundary
+        StringBuilder levels = new StringBuilder();
+        for (int cents = 50; cents <= 70; cents += 2) {
+            if (levels.length() > 0) {
+                levels.append(',');
+            }
+            levels.append("[\"0.").append(cents).append("00\",\"").append(cents).append(".00\"]");
+        }
+        processNoEmit("{\"type\":\"orderbook_snapshot\",\"sid\":1,\"seq\":1,\"msg\":{\"market_ticker\":"
+                + "\"TEST-TICKER\",\"yes_dollars_fp\":[" + levels + "],\"no_dollars_fp\":[]}}");
+
+        // 50 cents is the 11th level: not published
+        process(
+                """
+                {"type":"orderbook_delta","sid":1,"seq":2,"msg":{"market_ticker":"TEST-TICKER",\
+                "price_dollars":"0.500","delta_fp":"5.00","side":"yes","ts_ms":1700000000000}}
+                """);
+        Mbp10Schema schema = captured.get(0);
+        assertEquals(price("0.70"), schema.decoder.bidPrice0());
+        assertEquals(price("0.64"), schema.decoder.bidPrice3());
+        assertEquals(price("0.62"), schema.decoder.bidPrice4());
+        assertEquals(price("0.52"), schema.decoder.bidPrice9());
+        assertEquals(size("52"), schema.decoder.bidSize9());
+
+        // Modify inside the top 10 only changes that level
+        process(
+                """
+                {"type":"orderbook_delta","sid":1,"seq":3,"msg":{"market_ticker":"TEST-TICKER",\
+                "price_dollars":"0.640","delta_fp":"1.00","side":"yes","ts_ms":1700000000001}}
+                """);
+        schema = captured.get(1);
+        assertEquals(price("0.64"), schema.decoder.bidPrice3());
+        assertEquals(size("65"), schema.decoder.bidSize3());
+        assertEquals(price("0.52"), schema.decoder.bidPrice9());
+
+        // Removing 66 cents shifts the lower levels up and promotes 50 cents
+        process(
+                """
+                {"type":"orderbook_delta","sid":1,"seq":4,"msg":{"market_ticker":"TEST-TICKER",\
+                "price_dollars":"0.660","delta_fp":"-66.00","side":"yes","ts_ms":1700000000002}}
+                """);
+        schema = captured.get(2);
+        assertEquals(price("0.68"), schema.decoder.bidPrice1());
+        assertEquals(price("0.64"), schema.decoder.bidPrice2());
+        assertEquals(size("65"), schema.decoder.bidSize2());
+        assertEquals(price("0.52"), schema.decoder.bidPrice8());
+        assertEquals(price("0.50"), schema.decoder.bidPrice9());
+        assertEquals(size("55"), schema.decoder.bidSize9());
+    }
+
     @Test
     void sequenceNumberIsNull() throws Exception {
         processSnapshot();
@@ -5,6 +5,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import group.gnometrading.codecs.json.JsonDecoder;
+import group.gnometrading.gateways.inbound.exchanges.lighter.LighterMbp1SocketReader;
 import group.gnometrading.gateways.inbound.exchanges.lighter.LighterSocketReader;
 import group.gnometrading.logging.NullLogger;
 import group.gnometrading.networking.websockets.WebSocketClient;
@@ -78,8 +79,7 @@ public class LighterSocketReaderTest {
 
         socketReader = new LighterSocketReader(
                 new NullLogger(), sequencedRingBuffer, clock, null, listing, mockClient, jsonDecoder);
-        socketReader.buffer = false;
-        socketReader.pause = false;
+        socketReader.resume();
     }
 
     @AfterEach
@@ -200,6 +200,54 @@ public class LighterSocketReaderTest {
         }
     }
 
+    @Test
+    void testMbp1ReaderPublishesSameTopOfBook() throws Exception {
+        List<Mbp1Schema> topOfBook = new CopyOnWriteArrayList<>();
+        SequencedRingBuffer<Mbp1Schema> mbp1RingBuffer =
+                new SequencedRingBuffer<>(Mbp1Schema::new, new GlobalSequence());
+        mbp1RingBuffer.handleEventsWith((gSeq, templateId, buffer, length) -> {
+            Mbp1Schema captured = new Mbp1Schema();
+            captured.buffer.putBytes(0, buffer, 0, length);
+            captured.wrap(captured.buffer);
+            topOfBook.add(captured);
+        });
+        mbp1RingBuffer.start();
+        Listing listing = new Listing(
+                0,
+                new Exchange(1, "test-exchange", "test-region", SchemaType.MBP_1),
+                new Security(1, "test-security", 1),
+                "0",
+                "TEST");
+        LighterMbp1SocketReader mbp1Reader = new LighterMbp1SocketReader(
+                new NullLogger(), mbp1RingBuffer, clock, null, listing, mockClient, jsonDecoder);
+        mbp1Reader.resume();
+
+        try {
+            String message = readLighterMessages().get(0);
+            when(mockClient.read()).thenReturn(mockResponse);
+            when(mockResponse.getBody()).thenReturn(ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)));
+            mbp1Reader.doWork();
+            processMessage(message);
+            long deadline = System.currentTimeMillis() + 1000;
+            while (topOfBook.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.yield();
+            }
+
+            assertEquals(1, topOfBook.size());
+            Mbp10Schema expected = capturedSchemas.get(0);
+            Mbp1Schema actual = topOfBook.get(0);
+            assertEquals(expected.decoder.sequence(), actual.decoder.sequence());
+            assertEquals(Action.Modify, actual.decoder.action());
+            assertTrue(actual.decoder.flags().marketByPrice());
+            assertEquals(expected.decoder.bidPrice0(), actual.decoder.bidPrice0());
+            assertEquals(expected.decoder.bidSize0(), actual.decoder.bidSize0());
+            assertEquals(expected.decoder.askPrice0(), actual.decoder.askPrice0());
+            assertEquals(expected.decoder.askSize0(), actual.decoder.askSize0());
+        } finally {
+            mbp1RingBuffer.shutdown();
+        }
+    }
+
     // ========== Helper Methods ==========
 
     private void processMessage(String message) throws Exception {
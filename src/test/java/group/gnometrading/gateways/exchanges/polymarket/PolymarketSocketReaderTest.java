@@ -1,10 +1,17 @@
 package group.gnometrading.gateways.exchanges.polymarket;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import group.gnometrading.codecs.json.JsonDecoder;
+import group.gnometrading.gateways.inbound.IntegrityCheck;
+import group.gnometrading.gateways.inbound.counters.CounterType;
+import group.gnometrading.gateways.inbound.counters.GatewayCounters;
+import group.gnometrading.gateways.inbound.counters.ListingCounters;
 import group.gnometrading.gateways.inbound.exchanges.polymarket.PolymarketSocketReader;
 import group.gnometrading.logging.NullLogger;
 import group.gnometrading.networking.websockets.WebSocketClient;
@@ -23,11 +30,14 @@ import group.gnometrading.sm.Listing;
 import group.gnometrading.sm.Security;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class PolymarketSocketReaderTest {
 
@@ -64,8 +74,7 @@ class PolymarketSocketReaderTest {
                 "TEST-YES");
         reader = new PolymarketSocketReader(
                 new NullLogger(), ringBuffer, () -> 9_000_000_000L, null, listing, client, new JsonDecoder());
-        reader.buffer = false;
-        reader.pause = false;
+        reader.resume();
     }
 
     @AfterEach
@@ -166,6 +175,184 @@ class PolymarketSocketReaderTest {
         assertEquals(price("0.10"), schema.decoder.bidPrice9());
     }
 
+    @Test
+    void tenThousandthTickPricesAreKept() throws Exception {
+        process(
+                """
+                {"event_type":"book","timestamp":"1782753357257",\
+                "bids":[{"price":"0.0012","size":"3"},{"price":"0.0011","size":"4"}],\
+                "asks":[{"price":"0.0013","size":"6"}]}
+                """);
+        process(
+                """
+                {"price_changes":[{"asset_id":"token-yes","price":"0.0125","size":"2","side":"SELL"}],\
+                "timestamp":"1782753358257","event_type":"price_change"}
+                """);
+
+        Mbp10Schema schema = captured.get(1);
+        assertEquals(price("0.0012"), schema.decoder.bidPrice0());
+        assertEquals(price("0.0011"), schema.decoder.bidPrice1());
+        assertEquals(price("0.0013"), schema.decoder.askPrice0());
+        assertEquals(price("0.0125"), schema.decoder.askPrice1());
+        assertFalse(reader.bookIntegrity().takeResyncRequest());
+    }
+
+    @Test
+    void offGridPriceRequestsResync() throws Exception {
+        process(
+                """
+                {"event_type":"book","timestamp":"1782753357257",\
+                "bids":[{"price":"0.08","size":"3"}],\
+                "asks":[{"price":"0.10","size":"6"}]}
+                """);
+        assertFalse(reader.bookIntegrity().takeResyncRequest());
+
+        process(
+                """
+                {"price_changes":[{"asset_id":"token-yes","price":"0.08005","size":"2","side":"BUY"}],\
+                "timestamp":"1782753358257","event_type":"price_change"}
+                """);
+
+        assertEquals(1, reader.bookIntegrity().failures(IntegrityCheck.LEVEL_ANOMALY));
+        assertTrue(reader.bookIntegrity().takeResyncRequest());
+    }
+
+    @Test
+    void priceChangesAreRoutedToEachSubscribedToken() throws Exception {
+        Exchange exchange = new Exchange(2, "Polymarket", "global", SchemaType.MBP_10);
+        Listing yes = new Listing(7, exchange, new Security(3, "TEST", 3), "condition-1:token-yes", "TEST-YES");
+        Listing no = new Listing(8, exchange, new Security(4, "TEST", 3), "condition-1:token-no", "TEST-NO");
+        reader = new PolymarketSocketReader(
+                new NullLogger(),
+                ringBuffer,
+                () -> 9_000_000_000L,
+                null,
+                new Listing[] {yes, no},
+                client,
+                new JsonDecoder());
+        reader.resume();
+
+        process(
+                """
+                [{"asset_id":"token-yes","event_type":"book","timestamp":"1782753357257",\
+                "bids":[{"price":"0.40","size":"1"}],"asks":[{"price":"0.42","size":"1"}]},\
+                {"asset_id":"token-no","event_type":"book","timestamp":"1782753357257",\
+                "bids":[{"price":"0.58","size":"2"}],"asks":[{"price":"0.60","size":"2"}]}]
+                """);
+        awaitCaptured(2);
+        assertEquals(3, captured.get(0).decoder.securityId());
+        assertEquals(price("0.40"), captured.get(0).decoder.bidPrice0());
+        assertEquals(4, captured.get(1).decoder.securityId());
+        assertEquals(price("0.58"), captured.get(1).decoder.bidPrice0());
+
+        process(
+                """
+                {"price_changes":[\
+                {"asset_id":"token-no","price":"0.59","size":"3","side":"BUY"},\
+                {"asset_id":"token-yes","price":"0.41","size":"5","side":"BUY"},\
+                {"asset_id":"token-no","price":"0.60","size":"0","side":"SELL"},\
+                {"asset_id":"other-token","price":"0.12","size":"999","side":"SELL"}],\
+                "timestamp":"1782753358257","event_type":"price_change"}
+                """);
+        awaitCaptured(4);
+
+        Mbp10Schema noBook = captured.get(2);
+        assertEquals(4, noBook.decoder.securityId());
+        assertEquals(price("0.59"), noBook.decoder.bidPrice0());
+        assertEquals(Mbp10Encoder.askPrice0NullValue(), noBook.decoder.askPrice0());
+
+        Mbp10Schema yesBook = captured.get(3);
+        assertEquals(3, yesBook.decoder.securityId());
+        assertEquals(price("0.41"), yesBook.decoder.bidPrice0());
+        assertEquals(price("0.40"), yesBook.decoder.bidPrice1());
+        assertEquals(price("0.42"), yesBook.decoder.askPrice0());
+
+        process(
+                """
+                {"price_changes":[{"asset_id":"other-token","price":"0.12","size":"1","side":"SELL"}],\
+                "timestamp":"1782753359257","event_type":"price_change"}
+                """);
+        assertEquals(4, captured.size());
+    }
+
+    @Test
+    void staleTopOfBookIsTrackedPerToken() throws Exception {
+        Exchange exchange = new Exchange(2, "Polymarket", "global", SchemaType.MBP_10);
+        Listing yes = new Listing(7, exchange, new Security(3, "TEST", 3), "condition-1:token-yes", "TEST-YES");
+        Listing no = new Listing(8, exchange, new Security(4, "TEST", 3), "condition-1:token-no", "TEST-NO");
+        AtomicLong now = new AtomicLong();
+        reader = new PolymarketSocketReader(
+                new NullLogger(), ringBuffer, now::get, null, new Listing[] {yes, no}, client, new JsonDecoder());
+        reader.bookIntegrity().setStaleTopOfBookInterval(1_000L);
+        reader.resume();
+
+        process(
+                """
+                [{"asset_id":"token-yes","event_type":"book","timestamp":"1782753357257",\
+                "bids":[{"price":"0.40","size":"1"}],"asks":[{"price":"0.42","size":"1"}]},\
+                {"asset_id":"token-no","event_type":"book","timestamp":"1782753357257",\
+                "bids":[{"price":"0.58","size":"2"}],"asks":[{"price":"0.60","size":"2"}]}]
+                """);
+        awaitCaptured(2);
+
+        // The yes top moves while the no top, interleaved with it, stays put past the interval
+        now.set(2_000L);
+        process(
+                """
+                {"price_changes":[\
+                {"asset_id":"token-yes","price":"0.41","size":"5","side":"BUY"},\
+                {"asset_id":"token-no","price":"0.50","size":"1","side":"BUY"}],\
+                "timestamp":"1782753358257","event_type":"price_change"}
+                """);
+        awaitCaptured(4);
+
+        assertEquals(1, reader.bookIntegrity().failures(IntegrityCheck.STALE_TOP_OF_BOOK));
+    }
+
+    @Test
+    void tokenRecordsAreCountedUnderTheirListing(@TempDir Path directory) throws Exception {
+        Exchange exchange = new Exchange(2, "Polymarket", "global", SchemaType.MBP_10);
+        Listing yes = new Listing(7, exchange, new Security(3, "TEST", 3), "condition-1:token-yes", "TEST-YES");
+        Listing no = new Listing(8, exchange, new Security(4, "TEST", 3), "condition-1:token-no", "TEST-NO");
+        try (GatewayCounters counters = new GatewayCounters(directory.resolve("counters.dat"), 64)) {
+            ListingCounters yesCounters = counters.allocate(7, "TEST-YES");
+            ListingCounters noCounters = counters.allocate(8, "TEST-NO");
+            reader = new PolymarketSocketReader(
+                    new NullLogger(),
+                    ringBuffer,
+                    () -> 9_000_000_000L,
+                    null,
+                    new Listing[] {yes, no},
+                    client,
+                    new JsonDecoder());
+            reader.setCounters(yesCounters);
+            reader.setCounters(no, noCounters);
+            reader.resume();
+
+            process(
+                    """
+                    [{"asset_id":"token-yes","event_type":"book","timestamp":"1782753357257",\
+                    "bids":[{"price":"0.40","size":"1"}],"asks":[{"price":"0.42","size":"1"}]},\
+                    {"asset_id":"token-no","event_type":"book","timestamp":"1782753357257",\
+                    "bids":[{"price":"0.58","size":"2"}],"asks":[{"price":"0.60","size":"2"}]}]
+                    """);
+            awaitCaptured(2);
+            process(
+                    """
+                    {"price_changes":[{"asset_id":"token-no","price":"0.59","size":"3","side":"BUY"}],\
+                    "timestamp":"1782753358257","event_type":"price_change"}
+                    """);
+            awaitCaptured(3);
+
+            assertEquals(1L, yesCounters.get(CounterType.BOOK_EMITS));
+            assertEquals(2L, noCounters.get(CounterType.BOOK_EMITS));
+            // Frames belong to the connection
+            assertEquals(2L, yesCounters.get(CounterType.FRAMES_READ));
+            assertEquals(0L, noCounters.get(CounterType.FRAMES_READ));
+            assertThrows(IllegalArgumentException.class, () -> reader.setCounters(yes, noCounters));
+        }
+    }
+
     @Test
     void pongIsConsumedWithoutJsonDecoding() throws Exception {
         process("PONG");
@@ -184,6 +371,14 @@ class PolymarketSocketReaderTest {
         }
     }
 
+    private void awaitCaptured(int count) {
+        long deadline = System.currentTimeMillis() + 1_000;
+        while (captured.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(count, captured.size());
+    }
+
     private long price(String value) {
         return new java.math.BigDecimal(value)
                 .multiply(java.math.BigDecimal.valueOf(Statics.PRICE_SCALING_FACTOR))
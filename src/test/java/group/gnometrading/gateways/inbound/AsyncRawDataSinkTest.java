@@ -0,0 +1,161 @@
+package group.gnometrading.gateways.inbound;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class AsyncRawDataSinkTest {
+
+    private static final int CAPACITY = 1 << 10;
+
+    private record Capture(long recvTimestamp, String payload) {}
+
+    private final List<Capture> captured = new CopyOnWriteArrayList<>();
+    private final RawDataSink downstream = (recvTimestamp, buffer) -> {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        captured.add(new Capture(recvTimestamp, new String(bytes, StandardCharsets.US_ASCII)));
+    };
+
+    // ========== Handoff Tests ==========
+
+    @Test
+    void testCapturesAreForwardedInOrderWhenDrained() {
+        AsyncRawDataSink sink = new AsyncRawDataSink(downstream, CAPACITY, AsyncRawDataSink.OverflowPolicy.DROP);
+        capture(sink, 1L, "first");
+        capture(sink, 2L, "second");
+
+        assertTrue(captured.isEmpty(), "Nothing reaches downstream until the drainer runs");
+        assertTrue(sink.queueDepth() > 0);
+
+        assertEquals(2, sink.doWork());
+        assertEquals(List.of(new Capture(1L, "first"), new Capture(2L, "second")), captured);
+        assertEquals(0, sink.queueDepth());
+        assertEquals(0, sink.doWork());
+    }
+
+    @Test
+    void testCaptureDoesNotAdvanceBuffer() {
+        AsyncRawDataSink sink = new AsyncRawDataSink(downstream, CAPACITY, AsyncRawDataSink.OverflowPolicy.DROP);
+        ByteBuffer buffer = ByteBuffer.wrap("xxpayload".getBytes(StandardCharsets.US_ASCII));
+        buffer.position(2);
+
+        sink.capture(7L, buffer);
+        sink.doWork();
+
+        assertEquals(2, buffer.position());
+        assertEquals(List.of(new Capture(7L, "payload")), captured);
+    }
+
+    @Test
+    void testDropPolicyCountsCapturesWhenFull() {
+        AsyncRawDataSink sink = new AsyncRawDataSink(downstream, CAPACITY, AsyncRawDataSink.OverflowPolicy.DROP);
+        String payload = "x".repeat(100);
+        for (int i = 0; i < 20; i++) {
+            capture(sink, i, payload);
+        }
+        int accepted = 20 - (int) sink.droppedFrames();
+
+        assertTrue(sink.droppedFrames() > 0);
+        assertEquals(accepted, sink.doWork());
+        assertEquals(accepted, captured.size());
+    }
+
+    @Test
+    @Timeout(10)
+    void testBlockPolicyWaitsForDrainer() throws Exception {
+        AsyncRawDataSink sink = new AsyncRawDataSink(downstream, CAPACITY, AsyncRawDataSink.OverflowPolicy.BLOCK);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread drainer = new Thread(() -> {
+            while (running.get()) {
+                if (sink.doWork() == 0) {
+                    Thread.yield();
+                }
+            }
+        });
+        drainer.start();
+
+        String payload = "x".repeat(100);
+        for (int i = 0; i < 500; i++) {
+            capture(sink, i, payload);
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (captured.size() < 500 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        running.set(false);
+        drainer.join(1000);
+
+        assertEquals(500, captured.size());
+        assertEquals(0, sink.droppedFrames());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, captured.get(i).recvTimestamp());
+        }
+    }
+
+    @Test
+    void testCloseDrainsRemainingCaptures() {
+        AsyncRawDataSink sink = new AsyncRawDataSink(downstream, 1 << 16, AsyncRawDataSink.OverflowPolicy.DROP);
+        for (int i = 0; i < 300; i++) {
+            capture(sink, i, "frame");
+        }
+
+        sink.onClose();
+
+        assertEquals(300, captured.size());
+    }
+
+    @Test
+    void testOversizedCaptureIsDroppedAndCounted() {
+        AsyncRawDataSink sink = new AsyncRawDataSink(downstream, CAPACITY, AsyncRawDataSink.OverflowPolicy.DROP);
+
+        sink.capture(1L, ByteBuffer.allocate(CAPACITY));
+        capture(sink, 2L, "next");
+
+        assertEquals(1, sink.doWork());
+        assertEquals(List.of(new Capture(2L, "next")), captured);
+        assertEquals(1, sink.droppedFrames());
+    }
+
+    @Test
+    void testBlockPolicyDropsFramesOverTheMaxFrameLength() {
+        AsyncRawDataSink sink = new AsyncRawDataSink(downstream, CAPACITY, 8, AsyncRawDataSink.OverflowPolicy.BLOCK);
+
+        capture(sink, 1L, "too-large-frame");
+        capture(sink, 2L, "fits");
+
+        assertEquals(1, sink.doWork());
+        assertEquals(List.of(new Capture(2L, "fits")), captured);
+        assertEquals(1, sink.droppedFrames());
+        assertEquals(0, sink.blockedFrames());
+    }
+
+    @Test
+    void testMaxFrameLengthLargerThanRingAllowsThrows() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new AsyncRawDataSink(downstream, CAPACITY, CAPACITY, AsyncRawDataSink.OverflowPolicy.DROP));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new AsyncRawDataSink(downstream, CAPACITY, 0, AsyncRawDataSink.OverflowPolicy.DROP));
+    }
+
+    @Test
+    void testInvalidCapacityThrows() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new AsyncRawDataSink(downstream, 1000, AsyncRawDataSink.OverflowPolicy.DROP));
+    }
+
+    // ========== Helper Methods ==========
+
+    private static void capture(AsyncRawDataSink sink, long recvTimestamp, String payload) {
+        sink.capture(recvTimestamp, ByteBuffer.wrap(payload.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
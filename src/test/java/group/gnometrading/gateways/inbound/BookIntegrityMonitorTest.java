@@ -0,0 +1,244 @@
+package group.gnometrading.gateways.inbound;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import group.gnometrading.gateways.inbound.counters.ListingCounters;
+import group.gnometrading.gateways.inbound.mbp.Mbp10Levels;
+import group.gnometrading.logging.LogMessage;
+import group.gnometrading.logging.Logger;
+import group.gnometrading.schemas.Mbp10Schema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BookIntegrityMonitorTest {
+
+    private static final Object BOOK = new Object();
+    private static final Object OTHER_BOOK = new Object();
+
+    private Logger logger;
+    private BookIntegrityMonitor<Mbp10Schema> monitor;
+    private Mbp10Schema schema;
+
+    @BeforeEach
+    void setUp() {
+        logger = mock(Logger.class);
+        monitor = new BookIntegrityMonitor<>(Mbp10Levels.INSTANCE, logger);
+        schema = new Mbp10Schema();
+    }
+
+    // ========== Check Tests ==========
+
+    @Test
+    void testHealthyBookPasses() {
+        writeBook(1L, new long[] {100, 99, 98}, new long[] {101, 102, 103});
+        check(0L);
+
+        for (IntegrityCheck check : IntegrityCheck.values()) {
+            assertEquals(0L, monitor.failures(check), check.name());
+        }
+    }
+
+    @Test
+    void testCrossedAndLockedBooksFail() {
+        writeBook(1L, new long[] {101}, new long[] {100});
+        check(0L);
+        writeBook(2L, new long[] {100}, new long[] {100});
+        check(0L);
+
+        assertEquals(2L, monitor.failures(IntegrityCheck.CROSSED_BOOK));
+    }
+
+    @Test
+    void testSequenceRegressionFails() {
+        writeBook(5L, new long[] {100}, new long[] {101});
+        check(0L);
+        writeBook(5L, new long[] {100}, new long[] {101});
+        check(0L);
+        writeBook(4L, new long[] {100}, new long[] {101});
+        check(0L);
+        writeBook(6L, new long[] {100}, new long[] {101});
+        check(0L);
+
+        assertEquals(1L, monitor.failures(IntegrityCheck.SEQUENCE_REGRESSION));
+    }
+
+    @Test
+    void testResetForgetsThePreviousSequence() {
+        writeBook(5L, new long[] {100}, new long[] {101});
+        check(0L);
+        monitor.reset();
+        writeBook(1L, new long[] {100}, new long[] {101});
+        check(0L);
+
+        assertEquals(0L, monitor.failures(IntegrityCheck.SEQUENCE_REGRESSION));
+    }
+
+    @Test
+    void testOneSidedBookPassesByDefault() {
+        writeBook(1L, new long[] {100}, new long[] {});
+        check(0L);
+        writeBook(2L, new long[] {}, new long[] {});
+        check(0L);
+
+        assertEquals(0L, monitor.failures(IntegrityCheck.LEVEL_ANOMALY));
+    }
+
+    @Test
+    void testEmptySideIsALevelAnomaly() {
+        monitor.setMinLevels(1);
+        writeBook(1L, new long[] {100}, new long[] {});
+        check(0L);
+        assertEquals(1L, monitor.failures(IntegrityCheck.LEVEL_ANOMALY));
+
+        monitor.setMinLevels(0);
+        check(0L);
+        assertEquals(1L, monitor.failures(IntegrityCheck.LEVEL_ANOMALY));
+        assertEquals(0L, monitor.failures(IntegrityCheck.CROSSED_BOOK));
+    }
+
+    @Test
+    void testGapsAndUnorderedLevelsAreLevelAnomalies() {
+        writeBook(1L, new long[] {100, 99}, new long[] {101, 102});
+        Mbp10Levels.INSTANCE.writeNullLevel(schema, true, 0);
+        check(0L);
+        writeBook(2L, new long[] {100, 100}, new long[] {101, 102});
+        check(0L);
+        writeBook(3L, new long[] {100, 99}, new long[] {102, 101});
+        check(0L);
+
+        assertEquals(3L, monitor.failures(IntegrityCheck.LEVEL_ANOMALY));
+    }
+
+    @Test
+    void testStaleTopOfBookIsReportedOncePerStretch() {
+        monitor.setStaleTopOfBookInterval(1_000L);
+        writeBook(1L, new long[] {100, 99}, new long[] {101});
+        check(0L);
+        writeBook(2L, new long[] {100, 98}, new long[] {101});
+        check(999L);
+        assertEquals(0L, monitor.failures(IntegrityCheck.STALE_TOP_OF_BOOK));
+
+        check(1_000L);
+        check(5_000L);
+        assertEquals(1L, monitor.failures(IntegrityCheck.STALE_TOP_OF_BOOK));
+
+        writeBook(3L, new long[] {100}, new long[] {102});
+        check(6_000L);
+        check(7_000L);
+        assertEquals(2L, monitor.failures(IntegrityCheck.STALE_TOP_OF_BOOK));
+    }
+
+    @Test
+    void testStaleTopOfBookOffByDefault() {
+        writeBook(1L, new long[] {100}, new long[] {101});
+        check(0L);
+        check(Long.MAX_VALUE / 2);
+
+        assertEquals(0L, monitor.failures(IntegrityCheck.STALE_TOP_OF_BOOK));
+    }
+
+    @Test
+    void testUntimedRecordsSkipStaleTopOfBook() {
+        monitor.setStaleTopOfBookInterval(1_000L);
+        writeBook(1L, new long[] {100}, new long[] {101});
+        monitor.check(schema, BOOK, 0L, false, ListingCounters.NO_OP);
+        monitor.check(schema, BOOK, 5_000L, false, ListingCounters.NO_OP);
+
+        assertEquals(0L, monitor.failures(IntegrityCheck.STALE_TOP_OF_BOOK));
+    }
+
+    @Test
+    void testBooksAreTrackedSeparately() {
+        monitor.setStaleTopOfBookInterval(1_000L);
+        // Interleaved records of two books, each with its own sequence and an unchanged top
+        writeBook(10L, new long[] {100}, new long[] {101});
+        check(BOOK, 0L);
+        writeBook(3L, new long[] {50}, new long[] {51});
+        check(OTHER_BOOK, 500L);
+        writeBook(11L, new long[] {100}, new long[] {101});
+        check(BOOK, 900L);
+        writeBook(4L, new long[] {50}, new long[] {51});
+        check(OTHER_BOOK, 1_400L);
+
+        assertEquals(0L, monitor.failures(IntegrityCheck.SEQUENCE_REGRESSION));
+        assertEquals(0L, monitor.failures(IntegrityCheck.STALE_TOP_OF_BOOK));
+
+        writeBook(12L, new long[] {100}, new long[] {101});
+        check(BOOK, 1_000L);
+        assertEquals(1L, monitor.failures(IntegrityCheck.STALE_TOP_OF_BOOK));
+    }
+
+    // ========== Action Tests ==========
+
+    @Test
+    void testCountActionDoesNotRequestResync() {
+        writeBook(1L, new long[] {101}, new long[] {100});
+        check(0L);
+
+        assertFalse(monitor.takeResyncRequest());
+        verifyNoInteractions(logger);
+    }
+
+    @Test
+    void testLogActionLogsEachFailureOfThatCheck() {
+        monitor.setAction(IntegrityCheck.CROSSED_BOOK, IntegrityAction.LOG);
+        monitor.setAction(IntegrityCheck.SEQUENCE_REGRESSION, IntegrityAction.LOG);
+        writeBook(2L, new long[] {101}, new long[] {100});
+        check(0L);
+        writeBook(1L, new long[] {101}, new long[] {100});
+        check(0L);
+        writeBook(3L, new long[] {100, 100}, new long[] {101});
+        check(0L);
+
+        verify(logger, times(2)).log(LogMessage.BOOK_CROSSED);
+        verify(logger).log(LogMessage.BOOK_SEQUENCE_REGRESSED);
+        verifyNoMoreInteractions(logger);
+        assertEquals(1L, monitor.failures(IntegrityCheck.LEVEL_ANOMALY), "Counted, but configured not to log");
+        assertFalse(monitor.takeResyncRequest());
+    }
+
+    @Test
+    void testReconnectActionRequestsResyncOnce() {
+        monitor.setAction(IntegrityCheck.CROSSED_BOOK, IntegrityAction.RECONNECT);
+        writeBook(1L, new long[] {101}, new long[] {100});
+        check(0L);
+        check(0L);
+
+        assertTrue(monitor.takeResyncRequest());
+        assertFalse(monitor.takeResyncRequest());
+    }
+
+    @Test
+    void testInvalidSettingsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> monitor.setStaleTopOfBookInterval(-1L));
+        assertThrows(IllegalArgumentException.class, () -> monitor.setMinLevels(-1));
+        assertThrows(IllegalArgumentException.class, () -> monitor.setMinLevels(Mbp10Levels.DEPTH + 1));
+    }
+
+    // ========== Helper Methods ==========
+
+    private void check(long recvTimestamp) {
+        check(BOOK, recvTimestamp);
+    }
+
+    private void check(Object book, long recvTimestamp) {
+        monitor.check(schema, book, recvTimestamp, true, ListingCounters.NO_OP);
+    }
+
+    private void writeBook(long sequence, long[] bids, long[] asks) {
+        schema.encoder.sequence(sequence);
+        writeSide(true, bids);
+        writeSide(false, asks);
+    }
+
+    private void writeSide(boolean isBid, long[] prices) {
+        for (int level = 0; level < Mbp10Levels.DEPTH; level++) {
+            if (level < prices.length) {
+                Mbp10Levels.INSTANCE.writeLevel(schema, isBid, level, prices[level], 10L, 1L);
+            } else {
+                Mbp10Levels.INSTANCE.writeNullLevel(schema, isBid, level);
+            }
+        }
+    }
+}
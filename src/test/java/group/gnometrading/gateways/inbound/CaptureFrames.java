@@ -0,0 +1,73 @@
+package group.gnometrading.gateways.inbound;
+
+import group.gnometrading.gateways.fix.FixConfig;
+import group.gnometrading.gateways.fix.FixMessage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads recorded exchange frames from the test classpath, one frame per line.
+ * <p>
+ * Json venues are stored verbatim. FIX venues are stored as body tags only, separated by {@code |};
+ * BeginString, BodyLength and CheckSum are rebuilt on load so captures stay readable and editable.
+ */
+public final class CaptureFrames {
+
+    private static final int FIX_FRAME_CAPACITY = 1 << 12;
+
+    private CaptureFrames() {}
+
+    public static List<ByteBuffer> json(final String resource) {
+        final List<ByteBuffer> frames = new ArrayList<>();
+        for (String line : readLines(resource)) {
+            frames.add(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+        }
+        return frames;
+    }
+
+    public static List<ByteBuffer> fix(final String resource, final FixConfig config) {
+        final List<ByteBuffer> frames = new ArrayList<>();
+        final FixMessage message = new FixMessage(config);
+        final ByteBuffer scratch = ByteBuffer.allocate(FIX_FRAME_CAPACITY);
+        for (String line : readLines(resource)) {
+            message.reset();
+            for (String field : line.split("\\|")) {
+                final int equals = field.indexOf('=');
+                message.addTag(Integer.parseInt(field.substring(0, equals))).setString(field.substring(equals + 1));
+            }
+            scratch.clear();
+            message.writeToBuffer(scratch);
+            scratch.flip();
+            final ByteBuffer frame = ByteBuffer.allocate(scratch.remaining());
+            frame.put(scratch).flip();
+            frames.add(frame);
+        }
+        return frames;
+    }
+
+    private static List<String> readLines(final String resource) {
+        final InputStream is = CaptureFrames.class.getClassLoader().getResourceAsStream(resource);
+        if (is == null) {
+            throw new IllegalArgumentException("Capture not found on classpath: " + resource);
+        }
+        final List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    lines.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,135 @@
+package group.gnometrading.gateways.inbound;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FeedDelayMonitorTest {
+
+    private static final long WINDOW = 1_000L;
+    private static final long SKEW = 5_000L;
+
+    private FeedDelayMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new FeedDelayMonitor();
+        monitor.setThresholds(WINDOW, 100L, 50L);
+    }
+
+    // ========== Skew Baseline Tests ==========
+
+    @Test
+    void testBaselineIsMinimumOffset() {
+        record(10_000L, 30L);
+        record(10_010L, 10L);
+        record(10_020L, 40L);
+
+        assertEquals(SKEW + 10L, monitor.skewBaselineNanos());
+    }
+
+    @Test
+    void testBaselineIsUnsetWithoutEventTimestamps() {
+        monitor.record(SchemaFactory.NO_TIMESTAMP, 10_000L, 10_001L);
+
+        assertEquals(Long.MAX_VALUE, monitor.skewBaselineNanos());
+        LatencyHistogram delays = new LatencyHistogram();
+        monitor.feedDelaySnapshot(delays);
+        assertEquals(0L, delays.count());
+    }
+
+    @Test
+    void testBaselineRollsForwardWhenOldWindowsExpire() {
+        record(10_000L, 10L);
+        for (int window = 1; window < FeedDelayMonitor.BASELINE_WINDOWS; window++) {
+            record(10_000L + window * WINDOW, 40L);
+        }
+        assertEquals(SKEW + 10L, monitor.skewBaselineNanos(), "Still within the rolling windows");
+
+        record(10_000L + FeedDelayMonitor.BASELINE_WINDOWS * WINDOW, 40L);
+        assertEquals(SKEW + 40L, monitor.skewBaselineNanos(), "The window holding the minimum has expired");
+    }
+
+    @Test
+    void testBaselineRestartsAfterLongGap() {
+        record(10_000L, 10L);
+        record(10_000L + 100 * WINDOW, 70L);
+
+        assertEquals(SKEW + 70L, monitor.skewBaselineNanos());
+    }
+
+    // ========== Spike Tests ==========
+
+    @Test
+    void testFeedDelayIsMeasuredAboveBaseline() {
+        record(10_000L, 10L);
+        record(10_010L, 60L);
+
+        LatencyHistogram delays = new LatencyHistogram();
+        monitor.feedDelaySnapshot(delays);
+        assertEquals(2L, delays.count());
+        assertEquals(0L, delays.min());
+        assertEquals(50L, delays.max());
+    }
+
+    @Test
+    void testFeedDelaySpikeIsFlaggedSeparatelyFromProcessing() {
+        record(10_000L, 10L);
+        record(10_010L, 500L);
+
+        assertEquals(1L, monitor.feedDelaySpikes());
+        assertTrue(monitor.isFeedDelayed());
+        assertEquals(0L, monitor.processingDelaySpikes());
+        assertFalse(monitor.isProcessingDelayed());
+
+        record(10_020L, 20L);
+        assertFalse(monitor.isFeedDelayed());
+        assertEquals(1L, monitor.feedDelaySpikes());
+    }
+
+    @Test
+    void testProcessingDelaySpikeIsFlaggedSeparatelyFromFeed() {
+        record(10_000L, 10L);
+        monitor.record(10_010L - SKEW - 10L, 10_010L, 10_100L);
+
+        assertEquals(1L, monitor.processingDelaySpikes());
+        assertTrue(monitor.isProcessingDelayed());
+        assertEquals(0L, monitor.feedDelaySpikes());
+        assertFalse(monitor.isFeedDelayed());
+    }
+
+    @Test
+    void testProcessingDelayIsCheckedWithoutEventTimestamp() {
+        monitor.record(SchemaFactory.NO_TIMESTAMP, 10_000L, 10_100L);
+
+        assertEquals(1L, monitor.processingDelaySpikes());
+    }
+
+    @Test
+    void testZeroThresholdsDisableSpikes() {
+        monitor.setThresholds(WINDOW, 0L, 0L);
+        record(10_000L, 10L);
+        monitor.record(10_010L - SKEW - 10_000L, 10_010L, 20_000L);
+
+        assertEquals(0L, monitor.feedDelaySpikes());
+        assertEquals(0L, monitor.processingDelaySpikes());
+    }
+
+    @Test
+    void testInvalidThresholdsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> monitor.setThresholds(0L, 0L, 0L));
+        assertThrows(IllegalArgumentException.class, () -> monitor.setThresholds(WINDOW, -1L, 0L));
+        assertThrows(IllegalArgumentException.class, () -> monitor.setThresholds(WINDOW, 0L, -1L));
+    }
+
+    // ========== Helper Methods ==========
+
+    /**
+     * Record a timestamped update received at {@code recvTimestamp} that spent {@code wireNanos} in flight,
+     * from a venue whose clock runs {@link #SKEW} behind ours, published immediately.
+     */
+    private void record(long recvTimestamp, long wireNanos) {
+        monitor.record(recvTimestamp - SKEW - wireNanos, recvTimestamp, recvTimestamp);
+    }
+}
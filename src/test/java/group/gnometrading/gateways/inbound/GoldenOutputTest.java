@@ -0,0 +1,164 @@
+package group.gnometrading.gateways.inbound;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.sequencer.GlobalSequence;
+import group.gnometrading.sequencer.SequencedRingBuffer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Runs every venue's reader over its recorded capture and compares the Mbp10 records it publishes,
+ * byte-for-byte, against the golden output checked in under {@code src/test/resources/golden}.
+ * <p>
+ * Any change to parsing, book maintenance or encoding that alters the output fails here. When a change is
+ * meant to alter it, re-record the goldens with {@code mvn test -Dtest=GoldenOutputTest -Dgolden.update=true}
+ * and review the diff. Each run also prints the venue's single-threaded parse throughput over the capture.
+ */
+class GoldenOutputTest {
+
+    private static final String UPDATE_PROPERTY = "golden.update";
+    private static final Path GOLDEN_SOURCE_DIRECTORY = Path.of("src", "test", "resources", "golden");
+    private static final long CLOCK_STEP_NANOS = 1_000L;
+    private static final int WARMUP_PASSES = 20;
+    private static final int MEASURED_PASSES = 50;
+    private static final HexFormat HEX = HexFormat.of();
+
+    // ========== Golden Output Tests ==========
+
+    @ParameterizedTest
+    @EnumSource(RecordedVenue.Venue.class)
+    void testOutputMatchesGolden(RecordedVenue.Venue venue) throws Exception {
+        List<String> golden = readGolden(venue);
+        List<String> actual = record(venue, golden == null ? 0 : golden.size());
+
+        if (Boolean.getBoolean(UPDATE_PROPERTY)) {
+            Files.createDirectories(GOLDEN_SOURCE_DIRECTORY);
+            Files.write(GOLDEN_SOURCE_DIRECTORY.resolve(goldenResource(venue)), actual, StandardCharsets.US_ASCII);
+            return;
+        }
+        assertNotNull(golden, "No golden output for " + venue + "; record one with -D" + UPDATE_PROPERTY + "=true");
+        assertFalse(actual.isEmpty(), venue + " published nothing");
+
+        int common = Math.min(golden.size(), actual.size());
+        for (int i = 0; i < common; i++) {
+            assertEquals(golden.get(i), actual.get(i), venue + " record " + i + " differs from golden");
+        }
+        assertEquals(golden.size(), actual.size(), venue + " published a different number of records");
+    }
+
+    @ParameterizedTest
+    @EnumSource(RecordedVenue.Venue.class)
+    void testReportThroughput(RecordedVenue.Venue venue) throws Exception {
+        SequencedRingBuffer<Mbp10Schema> ringBuffer =
+                new SequencedRingBuffer<>(Mbp10Schema::new, new GlobalSequence());
+        ringBuffer.handleEventsWith((globalSequence, templateId, buffer, length) -> {});
+        ringBuffer.start();
+        try {
+            RecordedVenue recorded = new RecordedVenue(venue, ringBuffer, System::nanoTime);
+            for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+                feedAll(recorded);
+            }
+
+            long start = System.nanoTime();
+            for (int pass = 0; pass < MEASURED_PASSES; pass++) {
+                feedAll(recorded);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            long messages = (long) MEASURED_PASSES * recorded.frameCount();
+            System.out.printf(
+                    "%-12s %,12.0f msgs/sec %,8.0f ns/msg%n",
+                    venue, messages * 1e9 / elapsed, (double) elapsed / messages);
+            assertTrue(elapsed > 0);
+        } finally {
+            ringBuffer.shutdown();
+        }
+    }
+
+    // ========== Helper Methods ==========
+
+    /**
+     * Feed the capture once through a fresh reader on a deterministic clock and collect its output as hex.
+     */
+    private static List<String> record(RecordedVenue.Venue venue, int expected) throws IOException {
+        List<String> records = new CopyOnWriteArrayList<>();
+        SequencedRingBuffer<Mbp10Schema> ringBuffer =
+                new SequencedRingBuffer<>(Mbp10Schema::new, new GlobalSequence());
+        ringBuffer.handleEventsWith((globalSequence, templateId, buffer, length) -> {
+            byte[] bytes = new byte[length];
+            buffer.getBytes(0, bytes);
+            records.add(HEX.formatHex(bytes));
+        });
+        ringBuffer.start();
+        try {
+            AtomicLong clock = new AtomicLong();
+            RecordedVenue recorded =
+                    new RecordedVenue(venue, ringBuffer, () -> clock.addAndGet(CLOCK_STEP_NANOS));
+            feedAll(recorded);
+            awaitQuiescent(records, expected);
+            return new ArrayList<>(records);
+        } finally {
+            ringBuffer.shutdown();
+        }
+    }
+
+    private static void feedAll(RecordedVenue recorded) {
+        for (int i = 0; i < recorded.frameCount(); i++) {
+            recorded.feed(i);
+        }
+    }
+
+    /**
+     * Wait until at least {@code expected} records have arrived and no more have for a short while.
+     */
+    private static void awaitQuiescent(List<String> records, int expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        int seen = -1;
+        long stableSince = System.currentTimeMillis();
+        while (System.currentTimeMillis() < deadline) {
+            int size = records.size();
+            if (size != seen) {
+                seen = size;
+                stableSince = System.currentTimeMillis();
+            } else if (size >= expected && System.currentTimeMillis() - stableSince >= 100) {
+                return;
+            }
+            Thread.yield();
+        }
+    }
+
+    private static String goldenResource(RecordedVenue.Venue venue) {
+        return venue.name().toLowerCase() + ".mbp10.hex";
+    }
+
+    private static List<String> readGolden(RecordedVenue.Venue venue) throws IOException {
+        InputStream is = GoldenOutputTest.class.getClassLoader().getResourceAsStream("golden/" + goldenResource(venue));
+        if (is == null) {
+            return null;
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+}
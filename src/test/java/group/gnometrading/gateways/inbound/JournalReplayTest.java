@@ -0,0 +1,217 @@
+package group.gnometrading.gateways.inbound;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import group.gnometrading.gateways.inbound.journal.JournalConfig;
+import group.gnometrading.gateways.inbound.journal.MappedJournalSink;
+import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.sequencer.GlobalSequence;
+import group.gnometrading.sequencer.SequencedRingBuffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalReplayTest {
+
+    private static final int LISTING_ID = 1;
+    private static final long FRAME_SPACING_NANOS = 1_000L;
+
+    @TempDir
+    Path directory;
+
+    private final List<SequencedRingBuffer<Mbp10Schema>> ringBuffers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        ringBuffers.forEach(SequencedRingBuffer::shutdown);
+    }
+
+    // ========== Replay Tests ==========
+
+    @Test
+    @Timeout(30)
+    void testReplayReproducesLiveOutput() throws Exception {
+        // Live: feed the capture through the reader, journaling what it sees
+        List<byte[]> live = new CopyOnWriteArrayList<>();
+        AtomicLong clock = new AtomicLong();
+        RecordedVenue liveVenue = new RecordedVenue(
+                RecordedVenue.Venue.HYPERLIQUID, outputInto(live), () -> clock.addAndGet(FRAME_SPACING_NANOS));
+        try (MappedJournalSink sink = new MappedJournalSink(config(), LISTING_ID)) {
+            for (int i = 0; i < liveVenue.frameCount(); i++) {
+                // feed() stamps the frame with the clock's next tick
+                sink.capture((i + 1) * FRAME_SPACING_NANOS, liveVenue.frame(i).clear());
+                liveVenue.feed(i);
+            }
+        }
+
+        // Replay: a fresh reader driven from the journal alone
+        List<byte[]> replayed = new CopyOnWriteArrayList<>();
+        RecordedVenue replayVenue =
+                new RecordedVenue(RecordedVenue.Venue.HYPERLIQUID, outputInto(replayed), System::nanoTime);
+        JournalReplay replay = new JournalReplay(replayVenue.reader(), JournalReplay.Pacing.AS_FAST_AS_POSSIBLE);
+        assertEquals(liveVenue.frameCount(), replay.replay(directory, LISTING_ID));
+
+        awaitSize(replayed, live.size());
+        assertFalse(live.isEmpty());
+        assertEquals(live.size(), replayed.size());
+        for (int i = 0; i < live.size(); i++) {
+            assertArrayEquals(live.get(i), replayed.get(i), "Record " + i + " differs");
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void testFixReplayReproducesLiveOutput() throws Exception {
+        // FIX readers hand the whole message to the journal, so they replay like any other reader
+        List<byte[]> live = new CopyOnWriteArrayList<>();
+        AtomicLong clock = new AtomicLong();
+        RecordedVenue liveVenue = new RecordedVenue(
+                RecordedVenue.Venue.BINANCE, outputInto(live), () -> clock.addAndGet(FRAME_SPACING_NANOS));
+        try (MappedJournalSink sink = new MappedJournalSink(config(), LISTING_ID)) {
+            for (int i = 0; i < liveVenue.frameCount(); i++) {
+                liveVenue.feed(i);
+                sink.capture((i + 1) * FRAME_SPACING_NANOS, liveVenue.fedFrame());
+            }
+        }
+
+        List<byte[]> replayed = new CopyOnWriteArrayList<>();
+        RecordedVenue replayVenue =
+                new RecordedVenue(RecordedVenue.Venue.BINANCE, outputInto(replayed), System::nanoTime);
+        JournalReplay replay = new JournalReplay(replayVenue.reader(), JournalReplay.Pacing.AS_FAST_AS_POSSIBLE);
+        assertEquals(liveVenue.frameCount(), replay.replay(directory, LISTING_ID));
+
+        awaitSize(replayed, live.size());
+        assertFalse(live.isEmpty());
+        assertEquals(live.size(), replayed.size());
+        for (int i = 0; i < live.size(); i++) {
+            assertArrayEquals(live.get(i), replayed.get(i), "Record " + i + " differs");
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testRecordedPacingHonoursTimestampGaps() {
+        long gap = Duration.ofMillis(20).toNanos();
+        try (MappedJournalSink sink = new MappedJournalSink(config(), LISTING_ID)) {
+            for (int i = 0; i < 3; i++) {
+                sink.capture(1_000_000L + i * gap, ByteBuffer.wrap("{}".getBytes(StandardCharsets.US_ASCII)));
+            }
+        }
+
+        RecordingReader reader = new RecordingReader(newRingBuffer());
+        JournalReplay replay = new JournalReplay(reader, JournalReplay.Pacing.RECORDED);
+
+        long start = System.nanoTime();
+        assertEquals(3, replay.replay(directory, LISTING_ID));
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(elapsed >= 2 * gap, "Replay should take at least the recorded span, took " + elapsed);
+        assertEquals(List.of(1_000_000L, 1_000_000L + gap, 1_000_000L + 2 * gap), reader.recvTimestamps);
+    }
+
+    @Test
+    void testReplayResumesPausedReader() {
+        try (MappedJournalSink sink = new MappedJournalSink(config(), LISTING_ID)) {
+            sink.capture(1L, ByteBuffer.wrap("{}".getBytes(StandardCharsets.US_ASCII)));
+        }
+        RecordingReader reader = new RecordingReader(newRingBuffer());
+        assertEquals(ReaderState.PAUSE_REQUESTED, reader.state());
+
+        new JournalReplay(reader, JournalReplay.Pacing.AS_FAST_AS_POSSIBLE).replay(directory, LISTING_ID);
+
+        assertEquals(ReaderState.RUNNING, reader.state());
+        assertEquals(1, reader.recvTimestamps.size());
+    }
+
+    @Test
+    @Timeout(30)
+    void testReplayIsKeptOutOfLiveMonitoring() throws Exception {
+        RecordedVenue capture =
+                new RecordedVenue(RecordedVenue.Venue.HYPERLIQUID, newRingBuffer(), System::nanoTime);
+        try (MappedJournalSink sink = new MappedJournalSink(config(), LISTING_ID)) {
+            for (int i = 0; i < capture.frameCount(); i++) {
+                sink.capture((i + 1) * FRAME_SPACING_NANOS, capture.frame(i).clear());
+            }
+        }
+
+        List<byte[]> replayed = new CopyOnWriteArrayList<>();
+        RecordedVenue replayVenue =
+                new RecordedVenue(RecordedVenue.Venue.HYPERLIQUID, outputInto(replayed), System::nanoTime);
+        SocketReader<Mbp10Schema> reader = replayVenue.reader();
+        // Every historical record would be stale against a nanosecond interval
+        reader.bookIntegrity().setStaleTopOfBookInterval(1L);
+        new JournalReplay(reader, JournalReplay.Pacing.AS_FAST_AS_POSSIBLE).replay(directory, LISTING_ID);
+        awaitSize(replayed, 1);
+        assertFalse(replayed.isEmpty());
+
+        LatencyHistogram latency = new LatencyHistogram();
+        for (MessageKind kind : MessageKind.values()) {
+            reader.latencySnapshot(kind, latency);
+            assertEquals(0L, latency.count(), kind.name());
+        }
+        reader.feedDelayMonitor().feedDelaySnapshot(latency);
+        assertEquals(0L, latency.count());
+        assertEquals(0L, reader.bookIntegrity().failures(IntegrityCheck.STALE_TOP_OF_BOOK));
+    }
+
+    // ========== Helper Methods ==========
+
+    private JournalConfig config() {
+        return new JournalConfig.Builder()
+                .withDirectory(directory)
+                .withSegmentSize(1 << 20)
+                .withPreTouch(false)
+                .build();
+    }
+
+    private SequencedRingBuffer<Mbp10Schema> newRingBuffer() {
+        return outputInto(new ArrayList<>());
+    }
+
+    private SequencedRingBuffer<Mbp10Schema> outputInto(List<byte[]> records) {
+        SequencedRingBuffer<Mbp10Schema> ringBuffer =
+                new SequencedRingBuffer<>(Mbp10Schema::new, new GlobalSequence());
+        ringBuffer.handleEventsWith((globalSequence, templateId, buffer, length) -> {
+            byte[] bytes = new byte[length];
+            buffer.getBytes(0, bytes);
+            records.add(bytes);
+        });
+        ringBuffer.start();
+        ringBuffers.add(ringBuffer);
+        return ringBuffer;
+    }
+
+    private static void awaitSize(List<byte[]> records, int size) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (records.size() < size && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Records the recvTimestamp of each frame it is handed.
+     */
+    static final class RecordingReader extends SocketReaderTest.TestSocketReader {
+
+        final List<Long> recvTimestamps = new ArrayList<>();
+
+        RecordingReader(SequencedRingBuffer<Mbp10Schema> outputBuffer) {
+            super(outputBuffer, System::nanoTime);
+        }
+
+        @Override
+        protected void handleGatewayMessage(ByteBuffer buffer) {
+            recvTimestamps.add(recvTimestamp);
+            buffer.position(buffer.limit());
+        }
+    }
+}
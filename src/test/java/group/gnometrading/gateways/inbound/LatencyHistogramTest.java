@@ -0,0 +1,112 @@
+package group.gnometrading.gateways.inbound;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    // ========== Recording Tests ==========
+
+    @Test
+    void testEmptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0L, histogram.count());
+        assertEquals(0L, histogram.min());
+        assertEquals(0L, histogram.max());
+        assertEquals(0L, histogram.valueAtPercentile(99));
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(100L, histogram.count());
+        assertEquals(1L, histogram.min());
+        assertEquals(100L, histogram.max());
+        assertEquals(50L, histogram.valueAtPercentile(50));
+        assertEquals(99L, histogram.valueAtPercentile(99));
+        assertEquals(100L, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    void testLargeValuesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = {1_000L, 25_000L, 1_500_000L, 3_000_000_000L};
+        for (long value : values) {
+            LatencyHistogram single = new LatencyHistogram();
+            single.record(value);
+            single.record(value * 2);
+            long reported = single.valueAtPercentile(50);
+            assertTrue(reported >= value, "Reported " + reported + " for " + value);
+            assertTrue(reported - value <= value / 64, "Reported " + reported + " for " + value);
+            histogram.record(value);
+        }
+
+        assertEquals(4L, histogram.count());
+        assertEquals(3_000_000_000L, histogram.max());
+    }
+
+    @Test
+    void testOutOfRangeValuesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5L);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0L, histogram.min());
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.max());
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    void testBucketsCoverEveryValueInOrder() {
+        long previous = -1;
+        for (int index = 0; index < LatencyHistogram.BUCKET_COUNT; index++) {
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertEquals(index, LatencyHistogram.bucketIndex(previous + 1), "Bucket " + index + " lowest value");
+            assertEquals(index, LatencyHistogram.bucketIndex(highest), "Bucket " + index + " highest value");
+            previous = highest;
+        }
+        assertEquals(LatencyHistogram.MAX_VALUE, previous);
+    }
+
+    @Test
+    void testInvalidPercentileThrows() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThrows(IllegalArgumentException.class, () -> histogram.valueAtPercentile(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.valueAtPercentile(101));
+    }
+
+    // ========== Snapshot Tests ==========
+
+    @Test
+    void testCopyIntoOverwritesTarget() {
+        LatencyHistogram live = new LatencyHistogram();
+        live.record(10L);
+        live.record(20L);
+        LatencyHistogram snapshot = new LatencyHistogram();
+        snapshot.record(5_000L);
+
+        live.copyInto(snapshot);
+
+        assertEquals(2L, snapshot.count());
+        assertEquals(10L, snapshot.min());
+        assertEquals(20L, snapshot.max());
+    }
+
+    @Test
+    void testResetClearsCounts() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10L);
+        histogram.reset();
+
+        assertEquals(0L, histogram.count());
+        assertEquals(0L, histogram.max());
+        histogram.record(7L);
+        assertEquals(7L, histogram.min());
+    }
+}
@@ -0,0 +1,95 @@
+package group.gnometrading.gateways.inbound;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RawFrameBufferTest {
+
+    // ========== Buffering Tests ==========
+
+    @Test
+    void testFramesAreReadInOrderWithTimestamps() {
+        RawFrameBuffer buffer = new RawFrameBuffer(1 << 20);
+        buffer.append(100L, frame("first"));
+        buffer.append(200L, frame("second"));
+
+        List<String> read = new ArrayList<>();
+        buffer.read((recvTimestamp, frame) -> read.add(recvTimestamp + ":" + text(frame)));
+
+        assertEquals(List.of("100:first", "200:second"), read);
+    }
+
+    @Test
+    void testAppendDoesNotAdvanceTheFrame() {
+        RawFrameBuffer buffer = new RawFrameBuffer(1 << 20);
+        ByteBuffer frame = frame("payload");
+        frame.position(3);
+
+        assertTrue(buffer.append(1L, frame));
+        assertEquals(3, frame.position());
+
+        List<String> read = new ArrayList<>();
+        buffer.read((recvTimestamp, replayed) -> read.add(text(replayed)));
+        assertEquals(List.of("load"), read);
+    }
+
+    @Test
+    void testGrowsUpToItsCapAndThenRejects() {
+        RawFrameBuffer buffer = new RawFrameBuffer(1 << 17);
+        ByteBuffer frame = ByteBuffer.allocate(1000);
+        int appended = 0;
+        while (buffer.append(appended, frame)) {
+            appended++;
+        }
+
+        assertEquals(1 << 17, buffer.capacity());
+        assertEquals(appended, buffer.frameCount());
+        assertEquals((1 << 17) / 1012, appended);
+    }
+
+    @Test
+    void testReadEmptiesTheBuffer() {
+        RawFrameBuffer buffer = new RawFrameBuffer(1 << 16);
+        buffer.append(1L, frame("a"));
+        buffer.read((recvTimestamp, frame) -> {});
+
+        assertEquals(0, buffer.frameCount());
+        buffer.append(2L, frame("b"));
+        List<String> read = new ArrayList<>();
+        buffer.read((recvTimestamp, frame) -> read.add(text(frame)));
+        assertEquals(List.of("b"), read);
+    }
+
+    @Test
+    void testResetDiscardsBufferedFrames() {
+        RawFrameBuffer buffer = new RawFrameBuffer(1 << 16);
+        buffer.append(1L, frame("a"));
+        buffer.reset();
+
+        List<String> read = new ArrayList<>();
+        buffer.read((recvTimestamp, frame) -> read.add(text(frame)));
+        assertEquals(List.of(), read);
+    }
+
+    @Test
+    void testInvalidCapacityThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new RawFrameBuffer(0));
+    }
+
+    // ========== Helper Methods ==========
+
+    private static ByteBuffer frame(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String text(ByteBuffer frame) {
+        byte[] bytes = new byte[frame.remaining()];
+        frame.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
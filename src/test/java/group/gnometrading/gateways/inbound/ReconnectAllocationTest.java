@@ -0,0 +1,344 @@
+package group.gnometrading.gateways.inbound;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import group.gnometrading.codecs.json.JsonDecoder;
+import group.gnometrading.codecs.json.JsonEncoder;
+import group.gnometrading.gateways.fix.FixConfig;
+import group.gnometrading.gateways.fix.FixDefaultMsgTypes;
+import group.gnometrading.gateways.fix.FixMessage;
+import group.gnometrading.gateways.fix.FixTimestampPrecision;
+import group.gnometrading.gateways.fix.FixVersion;
+import group.gnometrading.gateways.fix.fix50sp2.Fix50Sp2Tags;
+import group.gnometrading.gateways.inbound.SocketReaderTest.TestSocketReader;
+import group.gnometrading.gateways.inbound.exchanges.binance.BinanceFixSocketReader;
+import group.gnometrading.gateways.inbound.exchanges.binance.BinanceFixTags;
+import group.gnometrading.gateways.inbound.exchanges.kalshi.KalshiSocketReader;
+import group.gnometrading.logging.NullLogger;
+import group.gnometrading.networking.websockets.WebSocketClient;
+import group.gnometrading.networking.websockets.WebSocketResponse;
+import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.schemas.SchemaType;
+import group.gnometrading.sequencer.GlobalSequence;
+import group.gnometrading.sequencer.SequencedRingBuffer;
+import group.gnometrading.sm.Exchange;
+import group.gnometrading.sm.Listing;
+import group.gnometrading.sm.Security;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Reconnect storms must not allocate: the reader thread keeps running through every connect and disconnect,
+ * so garbage there turns a flapping venue into GC pauses on the hot path.
+ */
+class ReconnectAllocationTest {
+
+    private static final int WARM_UP_CYCLES = 2_000;
+    private static final int MEASURED_CYCLES = 1_000;
+    private static final int FRAMES_PER_CYCLE = 4;
+    // Venue connects sign a logon or auth header, which costs far more than a test reconnect
+    private static final int VENUE_WARM_UP_CYCLES = 500;
+    private static final int VENUE_MEASURED_CYCLES = 250;
+    private static final int KALSHI_CYCLES = 100;
+
+    private static final String SENDER_COMP_ID = "TEST";
+    private static final String TARGET_COMP_ID = "SPOT";
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private SequencedRingBuffer<Mbp10Schema> sequencedRingBuffer;
+    private SocketReader<Mbp10Schema> socketReader;
+    private SocketConnectController connectController;
+    private Thread readerThread;
+    private volatile boolean running;
+    private final AtomicReference<Throwable> readerFailure = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        sequencedRingBuffer = new SequencedRingBuffer<>(Mbp10Schema::new, new GlobalSequence());
+        sequencedRingBuffer.handleEventsWith((gSeq, templateId, buffer, length) -> {});
+        sequencedRingBuffer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (connectController != null) {
+            connectController.close();
+        }
+        if (readerThread != null) {
+            running = false;
+            socketReader.resume();
+            readerThread.join(5_000);
+        }
+        sequencedRingBuffer.shutdown();
+    }
+
+    // ========== Allocation Tests ==========
+
+    @Test
+    @Timeout(60)
+    void testReconnectCyclesDoNotAllocate() throws Exception {
+        TestSocketReader reader = new TestSocketReader(sequencedRingBuffer, System::nanoTime, true);
+        ByteBuffer[] frames = testFrames();
+        startReader(reader);
+        runCycles(WARM_UP_CYCLES, false, () -> queueFrames(reader, frames));
+
+        long readerBefore = threads.getThreadAllocatedBytes(readerThread.getId());
+        long supervisorAllocated = runCycles(MEASURED_CYCLES, true, () -> queueFrames(reader, frames));
+        long readerAllocated = threads.getThreadAllocatedBytes(readerThread.getId()) - readerBefore;
+
+        assertNull(readerFailure.get(), "Reader thread failed");
+        assertEquals(0L, readerAllocated, "Bytes allocated on the reader thread across reconnects");
+        assertEquals(0L, supervisorAllocated, "Bytes allocated by connect() and disconnect()");
+    }
+
+    @Test
+    @Timeout(60)
+    void testRawFrameReconnectCyclesDoNotAllocate() throws Exception {
+        TestSocketReader reader = new TestSocketReader(sequencedRingBuffer, System::nanoTime, true);
+        ByteBuffer[] frames = testFrames();
+        reader.setReplayMode(ReplayMode.RAW_FRAMES);
+        startReader(reader);
+        runCycles(WARM_UP_CYCLES, false, () -> queueFrames(reader, frames));
+
+        long readerBefore = threads.getThreadAllocatedBytes(readerThread.getId());
+        long supervisorAllocated = runCycles(MEASURED_CYCLES, true, () -> queueFrames(reader, frames));
+        long readerAllocated = threads.getThreadAllocatedBytes(readerThread.getId()) - readerBefore;
+
+        assertNull(readerFailure.get(), "Reader thread failed");
+        assertEquals(0L, readerAllocated, "Bytes allocated on the reader thread across reconnects");
+        assertEquals(0L, supervisorAllocated, "Bytes allocated by connect() and disconnect()");
+    }
+
+    // ========== Venue Tests ==========
+
+    @Test
+    @Timeout(120)
+    void testBinanceReconnectCyclesDoNotAllocateOnReaderThread() throws Exception {
+        FixConfig config = fixConfig(SENDER_COMP_ID, TARGET_COMP_ID);
+        FixConfig venueConfig = fixConfig(TARGET_COMP_ID, SENDER_COMP_ID);
+        ScriptedFixClient fixClient = new ScriptedFixClient(config);
+        fixClient.onConnect(logonFrame(venueConfig), depthSnapshotFrame(venueConfig));
+
+        KeyPair keys = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        BinanceFixSocketReader reader = new BinanceFixSocketReader(
+                new NullLogger(),
+                sequencedRingBuffer,
+                System::nanoTime,
+                fixClient,
+                listing("binance", "1", "BTCUSDT"),
+                config,
+                keys.getPrivate(),
+                "TEST_API_KEY");
+        startReader(reader);
+        runCycles(VENUE_WARM_UP_CYCLES, false, null);
+        Book<Mbp10Schema> snapshot = reader.fetchSnapshot();
+
+        long readerBefore = threads.getThreadAllocatedBytes(readerThread.getId());
+        runCycles(VENUE_MEASURED_CYCLES, false, null);
+        long readerAllocated = threads.getThreadAllocatedBytes(readerThread.getId()) - readerBefore;
+
+        // Signing the logon allocates inside the JDK, so only the reader thread is held to zero
+        assertNull(readerFailure.get(), "Reader thread failed");
+        assertEquals(0L, readerAllocated, "Bytes allocated on the reader thread across Binance reconnects");
+        assertEquals(VENUE_WARM_UP_CYCLES + VENUE_MEASURED_CYCLES, fixClient.connects());
+        assertSame(snapshot, reader.fetchSnapshot(), "Every depth snapshot is parsed into the same book");
+    }
+
+    @Test
+    @Timeout(120)
+    void testKalshiReconnectCyclesSignFreshHeaders() throws Exception {
+        // Stub only: the reader thread polls the client continuously and invocations must not be recorded
+        WebSocketClient client = mock(WebSocketClient.class, withSettings().stubOnly());
+        WebSocketResponse idle = mock(WebSocketResponse.class, withSettings().stubOnly());
+        when(client.read()).thenReturn(idle);
+        List<String> timestamps = new CopyOnWriteArrayList<>();
+        List<String> signatures = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+                    String name = invocation.getArgument(0);
+                    if (name.equals("KALSHI-ACCESS-TIMESTAMP")) {
+                        timestamps.add(invocation.getArgument(1));
+                    } else if (name.equals("KALSHI-ACCESS-SIGNATURE")) {
+                        signatures.add(invocation.getArgument(1));
+                    }
+                    return null;
+                })
+                .when(client)
+                .setHeader(anyString(), anyString());
+
+        KeyPair keys = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        JsonWebSocketWriter writer = new JsonWebSocketWriter(client, new JsonEncoder());
+        KalshiSocketReader reader = new KalshiSocketReader(
+                new NullLogger(),
+                sequencedRingBuffer,
+                () -> System.currentTimeMillis() * 1_000_000L,
+                writer,
+                listing("kalshi", "TEST-TICKER:yes", "TEST-YES"),
+                client,
+                new JsonDecoder(),
+                "test-api-key",
+                keys.getPrivate());
+        startReader(reader);
+        // Drain each cycle's subscription the way the writer agent would, or its ring fills
+        runCycles(KALSHI_CYCLES, false, writer::doWork);
+
+        assertNull(readerFailure.get(), "Reader thread failed");
+        assertEquals(KALSHI_CYCLES, timestamps.size());
+        assertEquals(KALSHI_CYCLES, signatures.size());
+
+        Signature verifier = Signature.getInstance("RSASSA-PSS");
+        verifier.setParameter(new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1));
+        for (int cycle = 0; cycle < KALSHI_CYCLES; cycle++) {
+            // The signer and signature arrays are reused, so every cycle must still sign its own timestamp
+            verifier.initVerify(keys.getPublic());
+            verifier.update((timestamps.get(cycle) + "GET/trade-api/ws/v2").getBytes(StandardCharsets.US_ASCII));
+            assertTrue(
+                    verifier.verify(Base64.getDecoder().decode(signatures.get(cycle))),
+                    "Signature of reconnect " + cycle);
+        }
+    }
+
+    // ========== Helper Methods ==========
+
+    private void startReader(SocketReader<Mbp10Schema> reader) {
+        socketReader = reader;
+        connectController = new SocketConnectController(
+                new NullLogger(), reader, Duration.ofSeconds(30), 0, Duration.ofMillis(10));
+        running = true;
+        readerThread = new Thread(this::runReader, "ReconnectAllocationReader");
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    /**
+     * Connect through the supervisor's controller and disconnect, running {@code beforeConnect} first on every
+     * cycle when given.
+     *
+     * @return bytes this thread allocated inside connect() and disconnect(), if measured
+     */
+    private long runCycles(int cycles, boolean measure, Runnable beforeConnect) throws Exception {
+        long allocated = 0;
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            if (beforeConnect != null) {
+                beforeConnect.run();
+            }
+
+            long before = measure ? threads.getCurrentThreadAllocatedBytes() : 0;
+            connectController.connect();
+            socketReader.disconnect();
+            if (measure) {
+                allocated += threads.getCurrentThreadAllocatedBytes() - before;
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * Queue a burst of frames so connect() buffers and replays them.
+     */
+    private static void queueFrames(TestSocketReader reader, ByteBuffer[] frames) {
+        for (ByteBuffer frame : frames) {
+            frame.clear();
+            reader.addNextReadResult(frame);
+        }
+    }
+
+    private static ByteBuffer[] testFrames() {
+        ByteBuffer[] frames = new ByteBuffer[FRAMES_PER_CYCLE];
+        Mbp10Schema schema = new Mbp10Schema();
+        for (int i = 0; i < FRAMES_PER_CYCLE; i++) {
+            schema.encoder.sequence(i);
+            frames[i] = ByteBuffer.allocate(schema.totalMessageSize());
+            schema.buffer.getBytes(0, frames[i], 0, schema.totalMessageSize());
+        }
+        return frames;
+    }
+
+    private static Listing listing(String exchange, String exchangeSecurityId, String exchangeSecuritySymbol) {
+        return new Listing(
+                1,
+                new Exchange(2, exchange, "us-east-1", SchemaType.MBP_10),
+                new Security(3, exchangeSecuritySymbol, 1),
+                exchangeSecurityId,
+                exchangeSecuritySymbol);
+    }
+
+    private static FixConfig fixConfig(String senderCompId, String targetCompId) {
+        return new FixConfig.Builder()
+                .withSessionVersion(FixVersion.FIX_4_4)
+                .withApplicationVersion(FixVersion.FIX_4_4)
+                .withSenderCompID(senderCompId)
+                .withTargetCompID(targetCompId)
+                .withHeartbeatSeconds(30)
+                .withDefaultPrecision(FixTimestampPrecision.MILLISECONDS)
+                .build();
+    }
+
+    private static ByteBuffer logonFrame(FixConfig venueConfig) {
+        FixMessage msg = venueMessage(venueConfig, FixDefaultMsgTypes.Logon, 1);
+        return toFrame(msg);
+    }
+
+    private static ByteBuffer depthSnapshotFrame(FixConfig venueConfig) {
+        FixMessage msg = venueMessage(venueConfig, 'W', 2);
+        msg.addTag(BinanceFixTags.LastBookUpdateID).setInt(1000);
+        msg.addTag(Fix50Sp2Tags.MDEntryType).setChar('0');
+        msg.addTag(Fix50Sp2Tags.MDEntryPx).setString("50000.00");
+        msg.addTag(Fix50Sp2Tags.MDEntrySize).setString("1.50000");
+        msg.addTag(Fix50Sp2Tags.MDEntryType).setChar('1');
+        msg.addTag(Fix50Sp2Tags.MDEntryPx).setString("50001.00");
+        msg.addTag(Fix50Sp2Tags.MDEntrySize).setString("2.00000");
+        return toFrame(msg);
+    }
+
+    private static FixMessage venueMessage(FixConfig venueConfig, char msgType, int msgSeqNum) {
+        FixMessage msg = new FixMessage(venueConfig);
+        msg.addTag(Fix50Sp2Tags.MsgType).setChar(msgType);
+        msg.addTag(Fix50Sp2Tags.SenderCompID).setString(TARGET_COMP_ID);
+        msg.addTag(Fix50Sp2Tags.TargetCompID).setString(SENDER_COMP_ID);
+        msg.addTag(Fix50Sp2Tags.MsgSeqNum).setInt(msgSeqNum);
+        msg.addTag(Fix50Sp2Tags.SendingTime)
+                .setTimestamp(System.currentTimeMillis(), FixTimestampPrecision.MILLISECONDS);
+        return msg;
+    }
+
+    private static ByteBuffer toFrame(FixMessage msg) {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        msg.writeToBuffer(buffer);
+        buffer.flip();
+        ByteBuffer frame = ByteBuffer.allocate(buffer.remaining());
+        frame.put(buffer).flip();
+        return frame;
+    }
+
+    private void runReader() {
+        try {
+            while (running) {
+                socketReader.doWork();
+            }
+        } catch (Throwable t) {
+            readerFailure.set(t);
+        }
+    }
+}
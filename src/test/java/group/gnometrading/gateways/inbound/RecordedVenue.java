@@ -0,0 +1,195 @@
+package group.gnometrading.gateways.inbound;
+
+import group.gnometrading.codecs.json.JsonDecoder;
+import group.gnometrading.gateways.fix.FixConfig;
+import group.gnometrading.gateways.fix.FixTimestampPrecision;
+import group.gnometrading.gateways.fix.FixVersion;
+import group.gnometrading.gateways.fix.fix50sp2.Fix50Sp2Tags;
+import group.gnometrading.gateways.inbound.exchanges.binance.BinanceFixSocketReader;
+import group.gnometrading.gateways.inbound.exchanges.hyperliquid.HyperliquidSocketReader;
+import group.gnometrading.gateways.inbound.exchanges.kalshi.KalshiSocketReader;
+import group.gnometrading.gateways.inbound.exchanges.lighter.LighterSocketReader;
+import group.gnometrading.gateways.inbound.exchanges.polymarket.PolymarketSocketReader;
+import group.gnometrading.logging.NullLogger;
+import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.schemas.SchemaType;
+import group.gnometrading.sequencer.SequencedRingBuffer;
+import group.gnometrading.sm.Exchange;
+import group.gnometrading.sm.Listing;
+import group.gnometrading.sm.Security;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.agrona.concurrent.EpochNanoClock;
+
+/**
+ * A venue reader wired to its recorded capture, fed directly through {@code handleGatewayMessage}
+ * without a socket. Shared by the parse benchmarks and the capture-driven tests.
+ */
+public final class RecordedVenue {
+
+    public enum Venue {
+        HYPERLIQUID("hyperliquid.txt"),
+        LIGHTER("lighter.txt"),
+        KALSHI("kalshi.txt"),
+        POLYMARKET("polymarket.txt"),
+        BINANCE("binance.txt");
+
+        private final String capture;
+
+        Venue(String capture) {
+            this.capture = capture;
+        }
+
+        public String capture() {
+            return this.capture;
+        }
+    }
+
+    private static final String FIX_SENDER = "GNOME";
+    private static final String FIX_TARGET = "SPOT";
+
+    private final Venue venue;
+    private final SocketReader<Mbp10Schema> reader;
+    private final EpochNanoClock clock;
+    private final List<ByteBuffer> frames;
+    private final ScriptedFixClient fixClient;
+    private final ByteBuffer fixScratch;
+    private int fixSeqNum;
+    private int lastFed;
+
+    public RecordedVenue(Venue venue, SequencedRingBuffer<Mbp10Schema> outputBuffer, EpochNanoClock clock)
+            throws IOException {
+        this.venue = venue;
+        this.clock = clock;
+        this.fixScratch = ByteBuffer.allocate(1 << 12);
+        this.fixSeqNum = 1;
+
+        switch (venue) {
+            case HYPERLIQUID -> {
+                this.reader = new HyperliquidSocketReader(
+                        new NullLogger(), outputBuffer, clock, null, listing(1, "ETH"), null, new JsonDecoder());
+                this.frames = CaptureFrames.json(venue.capture());
+                this.fixClient = null;
+            }
+            case LIGHTER -> {
+                this.reader = new LighterSocketReader(
+                        new NullLogger(), outputBuffer, clock, null, listing(2, "0"), null, new JsonDecoder());
+                this.frames = CaptureFrames.json(venue.capture());
+                this.fixClient = null;
+            }
+            case KALSHI -> {
+                this.reader = new KalshiSocketReader(
+                        new NullLogger(),
+                        outputBuffer,
+                        clock,
+                        null,
+                        listing(3, "KXTEST-26:yes"),
+                        null,
+                        new JsonDecoder(),
+                        "recorded",
+                        null);
+                this.frames = CaptureFrames.json(venue.capture());
+                this.fixClient = null;
+            }
+            case POLYMARKET -> {
+                this.reader = new PolymarketSocketReader(
+                        new NullLogger(),
+                        outputBuffer,
+                        clock,
+                        null,
+                        // The capture interleaves both outcome tokens of one market
+                        new Listing[] {listing(4, "condition-1:token-yes"), listing(6, "condition-1:token-no")},
+                        null,
+                        new JsonDecoder());
+                this.frames = CaptureFrames.json(venue.capture());
+                this.fixClient = null;
+            }
+            case BINANCE -> {
+                final FixConfig readerConfig = fixConfig(FIX_SENDER, FIX_TARGET);
+                this.fixClient = new ScriptedFixClient(readerConfig);
+                this.reader = new BinanceFixSocketReader(
+                        new NullLogger(),
+                        outputBuffer,
+                        clock,
+                        this.fixClient,
+                        listing(5, "BTCUSDT"),
+                        readerConfig,
+                        null,
+                        "recorded");
+                this.frames = CaptureFrames.fix(venue.capture(), fixConfig(FIX_TARGET, FIX_SENDER));
+            }
+            default -> throw new IllegalArgumentException("Unknown venue: " + venue);
+        }
+
+        this.reader.resume();
+    }
+
+    private static Listing listing(int id, String exchangeSecurityId) {
+        return new Listing(
+                id,
+                new Exchange(id, "recorded", "test-region", SchemaType.MBP_10),
+                new Security(id, "RECORDED", 1),
+                exchangeSecurityId,
+                exchangeSecurityId);
+    }
+
+    private static FixConfig fixConfig(String sender, String target) {
+        return new FixConfig.Builder()
+                .withSessionVersion(FixVersion.FIX_4_4)
+                .withApplicationVersion(FixVersion.FIX_4_4)
+                .withSenderCompID(sender)
+                .withTargetCompID(target)
+                .withDefaultPrecision(FixTimestampPrecision.MILLISECONDS)
+                .build();
+    }
+
+    public Venue venue() {
+        return this.venue;
+    }
+
+    public SocketReader<Mbp10Schema> reader() {
+        return this.reader;
+    }
+
+    public int frameCount() {
+        return this.frames.size();
+    }
+
+    public ByteBuffer frame(int index) {
+        return this.frames.get(index);
+    }
+
+    /**
+     * Push one recorded frame through the reader, exactly as {@code doWork} would after a socket read.
+     * FIX frames are parsed into the client's inbound message first, with MsgSeqNum rewritten so the
+     * capture can be looped without tripping the session's gap detection.
+     */
+    public void feed(int index) {
+        final ByteBuffer frame = this.frames.get(index);
+        frame.clear();
+        this.lastFed = index;
+        if (this.fixClient != null) {
+            this.fixClient.isCompleteMessage(frame);
+            this.fixClient.getMessage().getTag(Fix50Sp2Tags.MsgSeqNum).setInt(this.fixSeqNum++);
+            this.reader.recvTimestamp = this.clock.nanoTime();
+            this.reader.handleGatewayMessage(this.fixClient.getFrame().rewind());
+        } else {
+            this.reader.recvTimestamp = this.clock.nanoTime();
+            this.reader.handleGatewayMessage(frame);
+        }
+    }
+
+    /**
+     * The last frame {@link #feed} pushed through the reader, as a journal would hold it. FIX frames are
+     * re-encoded with the MsgSeqNum the session saw, so a fresh reader can replay them in order.
+     */
+    public ByteBuffer fedFrame() {
+        if (this.fixClient != null) {
+            this.fixScratch.clear();
+            this.fixClient.getMessage().writeToBuffer(this.fixScratch);
+            return this.fixScratch.flip();
+        }
+        return this.frames.get(this.lastFed).clear();
+    }
+}
@@ -0,0 +1,107 @@
+package group.gnometrading.gateways.inbound;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import group.gnometrading.gateways.inbound.mbp.Mbp10SchemaFactory;
+import group.gnometrading.schemas.Mbp10Schema;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ReplayBufferTest {
+
+    private static final Mbp10SchemaFactory FACTORY = new Mbp10SchemaFactory() {};
+
+    private final Mbp10Schema schema = new Mbp10Schema();
+
+    // ========== Buffering Tests ==========
+
+    @Test
+    void testMessagesWithinRingAreReadInOrder() {
+        ReplayBuffer<Mbp10Schema> buffer = new ReplayBuffer<>(FACTORY, 8, 0);
+        offerSequences(buffer, 0, 8);
+
+        assertEquals(0, buffer.spilledMessages());
+        assertEquals(sequences(0, 8), readSequences(buffer));
+    }
+
+    @Test
+    void testOverflowSpillsInsteadOfFailing() {
+        ReplayBuffer<Mbp10Schema> buffer = new ReplayBuffer<>(FACTORY, 4, 1 << 20);
+        offerSequences(buffer, 0, 100);
+
+        assertEquals(96, buffer.spilledMessages());
+        assertTrue(buffer.spillCapacity() > 0);
+        assertEquals(sequences(0, 100), readSequences(buffer));
+    }
+
+    @Test
+    void testSpillGrowsUpToItsCap() {
+        int recordLength = Integer.BYTES + schema.totalMessageSize();
+        ReplayBuffer<Mbp10Schema> buffer = new ReplayBuffer<>(FACTORY, 1, 1 << 20);
+        int messages = 1 + (1 << 20) / recordLength;
+        offerSequences(buffer, 0, messages);
+
+        assertEquals(1 << 20, buffer.spillCapacity());
+        assertFalse(buffer.offer(schema), "Offers past the cap must fail");
+        assertEquals(sequences(0, messages), readSequences(buffer));
+    }
+
+    @Test
+    void testWithoutSpillCapacityFullRingRejects() {
+        ReplayBuffer<Mbp10Schema> buffer = new ReplayBuffer<>(FACTORY, 2, 0);
+        offerSequences(buffer, 0, 2);
+
+        assertFalse(buffer.offer(schema));
+    }
+
+    @Test
+    void testReadEmptiesTheBuffer() {
+        ReplayBuffer<Mbp10Schema> buffer = new ReplayBuffer<>(FACTORY, 2, 1 << 16);
+        offerSequences(buffer, 0, 5);
+        readSequences(buffer);
+
+        offerSequences(buffer, 10, 13);
+        assertEquals(sequences(10, 13), readSequences(buffer));
+    }
+
+    @Test
+    void testResetDiscardsBufferedMessages() {
+        ReplayBuffer<Mbp10Schema> buffer = new ReplayBuffer<>(FACTORY, 2, 1 << 16);
+        offerSequences(buffer, 0, 5);
+        buffer.reset();
+
+        assertEquals(0, buffer.spilledMessages());
+        assertEquals(List.of(), readSequences(buffer));
+    }
+
+    @Test
+    void testInvalidSizesThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new ReplayBuffer<>(FACTORY, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ReplayBuffer<>(FACTORY, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ReplayBuffer<>(FACTORY, 4, -1));
+    }
+
+    // ========== Helper Methods ==========
+
+    private void offerSequences(ReplayBuffer<Mbp10Schema> buffer, long from, long to) {
+        for (long sequence = from; sequence < to; sequence++) {
+            schema.encoder.sequence(sequence);
+            assertTrue(buffer.offer(schema), "Offer of " + sequence + " failed");
+        }
+    }
+
+    private static List<Long> readSequences(ReplayBuffer<Mbp10Schema> buffer) {
+        List<Long> sequences = new ArrayList<>();
+        buffer.read(replayed -> sequences.add(replayed.decoder.sequence()));
+        return sequences;
+    }
+
+    private static List<Long> sequences(long from, long to) {
+        List<Long> sequences = new ArrayList<>();
+        for (long sequence = from; sequence < to; sequence++) {
+            sequences.add(sequence);
+        }
+        return sequences;
+    }
+}
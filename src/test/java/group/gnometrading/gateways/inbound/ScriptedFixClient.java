@@ -0,0 +1,78 @@
+package group.gnometrading.gateways.inbound;
+
+import group.gnometrading.gateways.fix.FixConfig;
+import group.gnometrading.gateways.fix.FixSocketMessageClient;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * A FIX client that never touches a socket. Each {@link #connect()} re-arms a fixed script of inbound frames,
+ * which {@link #readMessage} parses into {@link #getMessage()} one per call; writes are counted and dropped.
+ * <p>
+ * Hand-written rather than mocked so that calls on the reader's hot path allocate nothing and allocation
+ * tests can assert exactly zero.
+ */
+public final class ScriptedFixClient extends FixSocketMessageClient {
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 12;
+    private static final ByteBuffer[] NO_FRAMES = new ByteBuffer[0];
+
+    private ByteBuffer[] script = NO_FRAMES;
+    private volatile int nextFrame;
+    private volatile int connects;
+    private volatile int writes;
+
+    public ScriptedFixClient(final FixConfig config) throws IOException {
+        // Never connected, so no socket factory is needed
+        super(InetSocketAddress.createUnresolved("scripted", 0), null, config, READ_BUFFER_SIZE, WRITE_BUFFER_SIZE);
+    }
+
+    /**
+     * Frames to deliver, in order, after every connect.
+     */
+    public void onConnect(final ByteBuffer... frames) {
+        this.script = frames;
+    }
+
+    public int connects() {
+        return this.connects;
+    }
+
+    public int writes() {
+        return this.writes;
+    }
+
+    @Override
+    public void connect() {
+        this.nextFrame = 0;
+        this.connects++;
+    }
+
+    @Override
+    public int readMessage(final ByteBuffer buffer) {
+        final int index = this.nextFrame;
+        if (index >= this.script.length) {
+            return 0;
+        }
+        this.nextFrame = index + 1;
+        final ByteBuffer frame = this.script[index];
+        frame.rewind();
+        return isCompleteMessage(frame) ? 1 : 0;
+    }
+
+    @Override
+    public int write() {
+        final ByteBuffer buffer = getWriteBuffer();
+        final int written = buffer.position();
+        buffer.clear();
+        this.writes++;
+        return written;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+}
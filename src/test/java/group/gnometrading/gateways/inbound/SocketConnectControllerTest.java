@@ -3,9 +3,13 @@ package group.gnometrading.gateways.inbound;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import group.gnometrading.gateways.inbound.counters.CounterType;
+import group.gnometrading.gateways.inbound.counters.GatewayCounters;
+import group.gnometrading.gateways.inbound.counters.ListingCounters;
 import group.gnometrading.logging.LogMessage;
 import group.gnometrading.logging.Logger;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -14,6 +18,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Tests for SocketConnectController focusing on:
@@ -23,9 +28,9 @@ import org.junit.jupiter.api.Timeout;
  * 4. Thread safety and interrupt handling
  *
  * IMPLEMENTATION NOTES:
- * - Uses ScheduledExecutorService for timeout management (no manual watchdog threads)
- * - Connect runs on supervisor thread, timeout task runs on executor thread
- * - AtomicBoolean ensures thread-safe timeout flag checking
+ * - One reusable watchdog thread per controller polls the armed deadline, so attempts allocate nothing
+ * - Connect runs on supervisor thread, the timeout interrupt comes from the watchdog thread
+ * - An atomic timeout state ensures thread-safe timeout flag checking
  * - No race conditions or interrupt flag bugs
  */
 class SocketConnectControllerTest {
@@ -176,6 +181,26 @@ class SocketConnectControllerTest {
         verify(logger, atLeastOnce()).log(LogMessage.SOCKET_CONNECT_FAILED);
     }
 
+    @Test
+    @Timeout(10)
+    void testFailedAttemptsAreCounted(@TempDir Path directory) throws IOException {
+        try (GatewayCounters counters = new GatewayCounters(directory.resolve("counters.dat"), 64)) {
+            ListingCounters listing = counters.allocate(1, "test");
+            controller = new SocketConnectController(
+                    logger, socketReader, Duration.ofSeconds(5), 3, Duration.ofMillis(10), listing);
+
+            doThrow(new IOException("Fail 1"))
+                    .doThrow(new IOException("Fail 2"))
+                    .doNothing()
+                    .when(socketReader)
+                    .connect();
+
+            controller.connect();
+
+            assertEquals(2L, listing.get(CounterType.CONNECT_FAILURES));
+        }
+    }
+
     // ========== Backoff Tests ==========
 
     @Test
@@ -397,11 +422,11 @@ class SocketConnectControllerTest {
     }
 
     /**
-     * Test that timeout mechanism works correctly with ScheduledExecutorService
+     * Test that the watchdog enforces the timeout
      */
     @Test
     @Timeout(5)
-    void testTimeoutMechanismWithScheduledExecutor() throws Exception {
+    void testTimeoutMechanismWithWatchdog() throws Exception {
         controller =
                 new SocketConnectController(logger, socketReader, Duration.ofMillis(100), 0, Duration.ofSeconds(1));
 
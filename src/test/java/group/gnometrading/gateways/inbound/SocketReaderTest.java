@@ -3,28 +3,37 @@ package group.gnometrading.gateways.inbound;
 import static org.junit.jupiter.api.Assertions.*;
 
 import group.gnometrading.concurrent.GnomeAgentRunner;
+import group.gnometrading.gateways.inbound.counters.CounterType;
+import group.gnometrading.gateways.inbound.counters.GatewayCounters;
+import group.gnometrading.gateways.inbound.counters.ListingCounters;
 import group.gnometrading.gateways.inbound.mbp.Mbp10Book;
 import group.gnometrading.gateways.inbound.mbp.Mbp10SchemaFactory;
 import group.gnometrading.logging.NullLogger;
+import group.gnometrading.schemas.Action;
 import group.gnometrading.schemas.Mbp10Schema;
 import group.gnometrading.sequencer.GlobalSequence;
 import group.gnometrading.sequencer.SequencedRingBuffer;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.ArrayDeque;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import org.agrona.concurrent.EpochNanoClock;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Test suite for SocketReader focusing on doWork() and connect() methods.
@@ -55,35 +64,36 @@ class SocketReaderTest {
     @Test
     void testDoWorkWhenPaused() throws Exception {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
-        socketReader.pause = true;
+        socketReader.requestPause();
 
         GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
         long deadline = System.currentTimeMillis() + 5000;
-        while (!socketReader.isPaused && System.currentTimeMillis() < deadline) {
+        while (!socketReader.isPaused() && System.currentTimeMillis() < deadline) {
             Thread.yield();
         }
 
-        assertTrue(socketReader.isPaused);
+        assertTrue(socketReader.isPaused());
         assertEquals(0, socketReader.readSocketCallCount.get());
     }
 
     @Test
     void testDoWorkWhenNotPaused() throws Exception {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
-        socketReader.pause = false;
+        socketReader.resume();
         socketReader.addNextReadResult(ByteBuffer.wrap("test".getBytes()));
 
         int result = socketReader.doWork();
 
-        assertEquals(0, result);
-        assertEquals(1, socketReader.readSocketCallCount.get());
+        assertEquals(1, result);
+        // The drain stops at the first empty read
+        assertEquals(2, socketReader.readSocketCallCount.get());
         assertEquals(4, socketReader.handleMessageByteCount.get());
     }
 
     @Test
     void testDoWorkWithNullBuffer() throws Exception {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
-        socketReader.pause = false;
+        socketReader.resume();
 
         int result = socketReader.doWork();
 
@@ -95,7 +105,7 @@ class SocketReaderTest {
     @Test
     void testDoWorkWithEmptyBuffer() throws Exception {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
-        socketReader.pause = false;
+        socketReader.resume();
         ByteBuffer emptyBuffer = ByteBuffer.allocate(0);
         socketReader.addNextReadResult(emptyBuffer);
 
@@ -109,7 +119,7 @@ class SocketReaderTest {
     @Test
     void testDoWorkProcessesMultipleMessages() throws Exception {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
-        socketReader.pause = false;
+        socketReader.resume();
 
         // Create buffer with multiple "messages" (each byte is a message in our test)
         ByteBuffer buffer = ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5});
@@ -117,15 +127,15 @@ class SocketReaderTest {
 
         int result = socketReader.doWork();
 
-        assertEquals(0, result);
-        assertEquals(1, socketReader.readSocketCallCount.get());
+        assertEquals(1, result);
+        assertEquals(2, socketReader.readSocketCallCount.get());
         assertEquals(5, socketReader.handleMessageByteCount.get());
     }
 
     @Test
     void testDoWorkSetsRecvTimestamp() throws Exception {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
-        socketReader.pause = false;
+        socketReader.resume();
         socketReader.addNextReadResult(ByteBuffer.wrap("test".getBytes()));
 
         long beforeTime = clock.nanoTime();
@@ -136,6 +146,31 @@ class SocketReaderTest {
         assertTrue(socketReader.recvTimestamp <= afterTime);
     }
 
+    @Test
+    void testDoWorkDrainsBufferedFramesUpToBudget() throws Exception {
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock);
+        socketReader.resume();
+        socketReader.setFrameBudget(3);
+        for (int i = 0; i < 5; i++) {
+            socketReader.addNextReadResult(ByteBuffer.wrap(new byte[] {1, 2}));
+        }
+
+        assertEquals(3, socketReader.doWork());
+        assertEquals(6, socketReader.handleMessageByteCount.get());
+
+        assertEquals(2, socketReader.doWork());
+        assertEquals(10, socketReader.handleMessageByteCount.get());
+
+        assertEquals(0, socketReader.doWork());
+    }
+
+    @Test
+    void testInvalidFrameBudgetThrows() {
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock);
+
+        assertThrows(IllegalArgumentException.class, () -> socketReader.setFrameBudget(0));
+    }
+
     // ========== connect Tests ==========
 
     @Test
@@ -143,12 +178,11 @@ class SocketReaderTest {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
         GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
         long deadline = System.currentTimeMillis() + 5000;
-        while (!socketReader.isPaused && System.currentTimeMillis() < deadline) {
+        while (!socketReader.isPaused() && System.currentTimeMillis() < deadline) {
             Thread.yield();
         }
 
         // Add some data to replay buffer
-        socketReader.buffer = true;
         socketReader.schema.encoder.sequence(100L);
         socketReader.offer();
 
@@ -161,8 +195,7 @@ class SocketReaderTest {
     @Test
     void testConnectSetsCorrectFlags() throws IOException {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
-        socketReader.pause = true;
-        socketReader.buffer = false;
+        assertEquals(ReaderState.PAUSE_REQUESTED, socketReader.state());
         GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
 
         // Start connect in supervisor thread
@@ -183,14 +216,14 @@ class SocketReaderTest {
         }
 
         assertFalse(supervisor.isAlive());
-        assertFalse(socketReader.pause);
+        assertEquals(ReaderState.RUNNING, socketReader.state());
 
-        // Worker thread clears isPaused after observing pause=false — spin-wait for it
+        // Worker thread leaves PAUSED after observing the resume — spin-wait for it
         long deadline = System.currentTimeMillis() + 1000;
-        while (socketReader.isPaused && System.currentTimeMillis() < deadline) {
+        while (socketReader.isPaused() && System.currentTimeMillis() < deadline) {
             Thread.yield();
         }
-        assertFalse(socketReader.isPaused);
+        assertFalse(socketReader.isPaused());
     }
 
     @Test
@@ -235,7 +268,7 @@ class SocketReaderTest {
     @Timeout(10)
     void testDoWorkAndConnectConcurrency() throws Exception {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
-        socketReader.pause = false;
+        socketReader.resume();
 
         AtomicBoolean workerRunning = new AtomicBoolean(true);
         AtomicInteger doWorkCalls = new AtomicInteger(0);
@@ -291,7 +324,7 @@ class SocketReaderTest {
         assertTrue(doWorkCalls.get() > 0, "doWork should have been called");
 
         // Verify final state
-        assertFalse(socketReader.pause);
+        assertEquals(ReaderState.RUNNING, socketReader.state());
     }
 
     @Test
@@ -342,7 +375,7 @@ class SocketReaderTest {
     @Timeout(10)
     void testPauseLatchSynchronization() throws Exception {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
-        socketReader.pause = false;
+        socketReader.resume();
 
         CountDownLatch workerReady = new CountDownLatch(1);
         AtomicBoolean workerAcknowledged = new AtomicBoolean(false);
@@ -373,16 +406,16 @@ class SocketReaderTest {
         }
         assertTrue(workerAcknowledged.get(), "Worker should have completed at least one doWork cycle");
 
-        // Set pause flag
-        socketReader.pause = true;
+        // Request pause
+        socketReader.requestPause();
 
-        // Spin-wait for isPaused instead of a timed join (the worker never exits the loop)
+        // Spin-wait for isPaused() instead of a timed join (the worker never exits the loop)
         deadline = System.currentTimeMillis() + 5000;
-        while (!socketReader.isPaused && System.currentTimeMillis() < deadline) {
+        while (!socketReader.isPaused() && System.currentTimeMillis() < deadline) {
             Thread.yield();
         }
 
-        assertTrue(socketReader.isPaused);
+        assertTrue(socketReader.isPaused());
     }
 
     // ========== Advanced Race Condition Tests ==========
@@ -391,7 +424,7 @@ class SocketReaderTest {
     @Timeout(10)
     void testConnectWhileDoWorkIsProcessingMessages() throws Exception {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
-        socketReader.pause = false;
+        socketReader.resume();
 
         AtomicBoolean workerRunning = new AtomicBoolean(true);
         AtomicInteger messagesProcessed = new AtomicInteger(0);
@@ -447,7 +480,7 @@ class SocketReaderTest {
         }
 
         assertTrue(messagesProcessed.get() > 0, "Worker should have processed messages");
-        assertFalse(socketReader.pause, "Should not be paused after connect");
+        assertEquals(ReaderState.RUNNING, socketReader.state(), "Should be running after connect");
     }
 
     @Test
@@ -500,13 +533,12 @@ class SocketReaderTest {
     void testOfferBufferLatchBehavior() throws Exception {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
 
-        // When buffering
-        socketReader.buffer = true;
+        // When buffering (readers start with a pause requested)
         socketReader.schema.encoder.sequence(100L);
         socketReader.offer();
 
         // When not buffering
-        socketReader.buffer = false;
+        socketReader.resume();
         socketReader.offer();
     }
 
@@ -536,9 +568,329 @@ class SocketReaderTest {
 
     @Test
     @Timeout(10)
-    void testVolatileFlagVisibility() throws Exception {
+    void testReplayBufferSpillsDuringConnect() throws Exception {
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock, true);
+        socketReader.setReplayBuffer(4, 1 << 16);
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+
+        for (int i = 0; i < 50; i++) {
+            socketReader.schema.encoder.sequence(i);
+            socketReader.addNextReadResult(socketReader.schema.buffer, socketReader.schema.totalMessageSize());
+        }
+
+        Mbp10Book snapshot = new Mbp10Book();
+        snapshot.sequenceNumber = 5L;
+        socketReader.setSnapshot(snapshot);
+
+        socketReader.connect();
+
+        assertEquals(46, socketReader.replaySpilledMessages());
+        assertEquals(49L, socketReader.internalBook.getSequenceNumber());
+    }
+
+    @Test
+    @Timeout(10)
+    void testRawFrameReplayParsesFramesAfterConnect() throws Exception {
+        List<Long> published = capturePublishedSequences();
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock, true);
+        socketReader.setReplayMode(ReplayMode.RAW_FRAMES);
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+
+        for (int i = 0; i < 10; i++) {
+            socketReader.schema.encoder.sequence(i);
+            socketReader.addNextReadResult(socketReader.schema.buffer, socketReader.schema.totalMessageSize());
+        }
+
+        socketReader.connect();
+
+        assertEquals(10, socketReader.handledFrames.get(), "Frames are only parsed once the snapshot is in");
+        assertEquals(0, socketReader.replaySpilledMessages());
+        awaitPublished(published, 10);
+        assertEquals(sequences(0, 10), published);
+    }
+
+    @Test
+    @Timeout(10)
+    void testRawFrameReplayDropsFramesCoveredBySnapshot() throws Exception {
+        List<Long> published = capturePublishedSequences();
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock, true);
+        socketReader.setReplayMode(ReplayMode.RAW_FRAMES);
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+
+        for (int i = 0; i < 10; i++) {
+            socketReader.schema.encoder.sequence(i);
+            socketReader.addNextReadResult(socketReader.schema.buffer, socketReader.schema.totalMessageSize());
+        }
+
+        Mbp10Book snapshot = new Mbp10Book();
+        snapshot.sequenceNumber = 5L;
+        socketReader.setSnapshot(snapshot);
+
+        socketReader.connect();
+
+        awaitPublished(published, 5);
+        assertEquals(sequences(5, 10), published);
+    }
+
+    @Test
+    @Timeout(10)
+    void testRawFramePauseRequestedMidFrameDropsRestOfFrame(@TempDir Path directory) throws Exception {
+        List<Long> published = capturePublishedSequences();
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock, true) {
+            @Override
+            protected void handleGatewayMessage(ByteBuffer buffer) {
+                buffer.position(buffer.limit());
+                this.schema.encoder.sequence(1);
+                offer();
+                requestPause();
+                this.schema.encoder.sequence(2);
+                offer();
+            }
+        };
+        socketReader.setReplayMode(ReplayMode.RAW_FRAMES);
+        try (GatewayCounters counters = new GatewayCounters(directory.resolve("counters.dat"), 64)) {
+            ListingCounters listing = counters.allocate(1, "test");
+            socketReader.setCounters(listing);
+            socketReader.resume();
+            socketReader.addNextReadResult(ByteBuffer.wrap(new byte[] {1}));
+
+            assertEquals(1, socketReader.doWork());
+            awaitPublished(published, 1);
+            assertEquals(List.of(1L), published);
+            assertEquals(1L, listing.get(CounterType.REPLAY_DROPPED));
+        }
+    }
+
+    @Test
+    void testReplayModeDefaultsToDecoded() {
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock);
+        assertEquals(ReplayMode.DECODED, socketReader.replayMode());
+
+        socketReader.setReplayMode(ReplayMode.RAW_FRAMES);
+        assertEquals(ReplayMode.RAW_FRAMES, socketReader.replayMode());
+    }
+
+    @Test
+    @Timeout(10)
+    void testReplayStorageIsAllocatedOnceOnFirstConnect() throws Exception {
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock);
+        socketReader.setReplayBuffer(4, 1 << 16);
+        socketReader.setReplayMode(ReplayMode.RAW_FRAMES);
+        socketReader.setReplayMode(ReplayMode.DECODED);
+        assertEquals(0, socketReader.schemaArrays.get(), "Settings alone allocate no replay storage");
+
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+        socketReader.connect();
+        socketReader.connect();
+
+        assertEquals(1, socketReader.schemaArrays.get());
+    }
+
+    @Test
+    @Timeout(10)
+    void testRawFrameReplayAllocatesNoReplaySchemas() throws Exception {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
-        socketReader.pause = false;
+        socketReader.setReplayMode(ReplayMode.RAW_FRAMES);
+
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+        socketReader.connect();
+
+        assertEquals(0, socketReader.schemaArrays.get());
+    }
+
+    @Test
+    void testRawFrameReplayRejectedWhenUnsupported() {
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock);
+        socketReader.rawFrameReplay = false;
+
+        assertThrows(IllegalArgumentException.class, () -> socketReader.setReplayMode(ReplayMode.RAW_FRAMES));
+        assertEquals(ReplayMode.DECODED, socketReader.replayMode());
+    }
+
+    // ========== Snapshot Record Tests ==========
+
+    @Test
+    @Timeout(10)
+    void testSnapshotRecordFollowsEveryNthRecord() throws Exception {
+        List<String> published = capturePublishedRecords();
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock, true);
+        socketReader.setSnapshotRecordInterval(0L, 3);
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+        socketReader.connect();
+
+        for (int i = 0; i < 9; i++) {
+            addLiveFrame(i);
+        }
+
+        awaitPublished(published, 12);
+        assertEquals(List.of("0", "1", "2", "2S", "3", "4", "5", "5S", "6", "7", "8", "8S"), published);
+        assertEquals(3L, socketReader.snapshotRecordsPublished());
+    }
+
+    @Test
+    @Timeout(10)
+    void testSnapshotRecordIntervalFollowsRecvTimestamp() throws Exception {
+        AtomicLong nanos = new AtomicLong(1_000L);
+        List<String> published = capturePublishedRecords();
+        socketReader = new TestSocketReader(sequencedRingBuffer, nanos::get, true);
+        socketReader.setSnapshotRecordInterval(100L, 0);
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+        socketReader.connect();
+
+        for (int i = 0; i < 3; i++) {
+            addLiveFrame(i);
+        }
+        awaitPublished(published, 4);
+        assertEquals(List.of("0", "0S", "1", "2"), published);
+
+        nanos.set(1_100L);
+        addLiveFrame(3);
+        awaitPublished(published, 6);
+        assertEquals(List.of("0", "0S", "1", "2", "3", "3S"), published);
+    }
+
+    @Test
+    @Timeout(10)
+    void testSnapshotRecordsOffByDefault() throws Exception {
+        List<String> published = capturePublishedRecords();
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock, true);
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+        socketReader.connect();
+
+        for (int i = 0; i < 5; i++) {
+            addLiveFrame(i);
+        }
+
+        awaitPublished(published, 5);
+        assertEquals(List.of("0", "1", "2", "3", "4"), published);
+        assertEquals(0L, socketReader.snapshotRecordsPublished());
+    }
+
+    @Test
+    void testInvalidSnapshotRecordIntervalThrows() {
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock);
+        assertThrows(IllegalArgumentException.class, () -> socketReader.setSnapshotRecordInterval(-1L, 0));
+        assertThrows(IllegalArgumentException.class, () -> socketReader.setSnapshotRecordInterval(0L, -1));
+    }
+
+    // ========== Latency Tests ==========
+
+    @Test
+    @Timeout(10)
+    void testLatencyIsRecordedPerMessageKind() throws Exception {
+        List<String> published = capturePublishedRecords();
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock, true);
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+        socketReader.connect();
+
+        addLiveFrame(0);
+        addLiveFrame(1, Action.Trade);
+        addLiveFrame(2);
+
+        awaitPublished(published, 3);
+        LatencyHistogram book = awaitLatencyCount(MessageKind.BOOK, 2);
+        LatencyHistogram trade = awaitLatencyCount(MessageKind.TRADE, 1);
+        assertEquals(2L, book.count());
+        assertEquals(1L, trade.count());
+        assertTrue(book.max() >= book.min());
+    }
+
+    @Test
+    @Timeout(10)
+    void testLatencyMeasuresRecvTimestampToPublish() throws Exception {
+        AtomicLong nanos = new AtomicLong(1_000L);
+        List<String> published = capturePublishedRecords();
+        socketReader = new TestSocketReader(sequencedRingBuffer, nanos::get, true);
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+        socketReader.connect();
+
+        addLiveFrame(0);
+        awaitPublished(published, 1);
+        LatencyHistogram book = awaitLatencyCount(MessageKind.BOOK, 1);
+
+        assertEquals(0L, book.max(), "A clock that does not move records no latency");
+    }
+
+    @Test
+    @Timeout(10)
+    void testReplayedRecordsAreNotTimed() throws Exception {
+        List<Long> published = capturePublishedSequences();
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock, true);
+        socketReader.setReplayMode(ReplayMode.RAW_FRAMES);
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+
+        for (int i = 0; i < 5; i++) {
+            socketReader.schema.encoder.sequence(i);
+            socketReader.addNextReadResult(socketReader.schema.buffer, socketReader.schema.totalMessageSize());
+        }
+        socketReader.connect();
+        awaitPublished(published, 5);
+
+        LatencyHistogram book = new LatencyHistogram();
+        socketReader.latencySnapshot(MessageKind.BOOK, book);
+        assertEquals(0L, book.count());
+    }
+
+    // ========== Counter Tests ==========
+
+    @Test
+    @Timeout(10)
+    void testCountersTrackFramesRecordsAndReplay(@TempDir Path directory) throws Exception {
+        try (GatewayCounters counters = new GatewayCounters(directory.resolve("counters.dat"), 64)) {
+            ListingCounters listing = counters.allocate(1, "test");
+            List<String> published = capturePublishedRecords();
+            socketReader = new TestSocketReader(sequencedRingBuffer, clock, true);
+            socketReader.setCounters(listing);
+            GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+
+            Mbp10Schema frame = new Mbp10Schema();
+            for (int i = 0; i < 3; i++) {
+                frame.encoder.sequence(i);
+                socketReader.addNextReadResult(frame.buffer, frame.totalMessageSize());
+            }
+            socketReader.connect();
+
+            addLiveFrame(3);
+            addLiveFrame(4, Action.Trade);
+            awaitPublished(published, 5);
+            // Counters are updated before each record is published, so they are current once it arrives
+            long frameSize = frame.totalMessageSize();
+            assertEquals(5L, listing.get(CounterType.FRAMES_READ));
+            assertEquals(5L * frameSize, listing.get(CounterType.BYTES_READ));
+            assertEquals(3L, listing.get(CounterType.REPLAY_BUFFERED));
+            assertEquals(4L, listing.get(CounterType.BOOK_EMITS));
+            assertEquals(1L, listing.get(CounterType.TRADES));
+        }
+    }
+
+    // ========== Integrity Tests ==========
+
+    @Test
+    @Timeout(10)
+    void testBookRecordsAreIntegrityCheckedBeforePublishing() throws Exception {
+        List<String> published = capturePublishedRecords();
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock, true);
+        socketReader.bookIntegrity().setAction(IntegrityCheck.LEVEL_ANOMALY, IntegrityAction.RECONNECT);
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+        socketReader.connect();
+
+        addLiveFrame(0, Action.Trade);
+        awaitPublished(published, 1);
+        assertEquals(0L, socketReader.bookIntegrity().failures(IntegrityCheck.LEVEL_ANOMALY));
+        assertFalse(socketReader.bookIntegrity().takeResyncRequest());
+
+        // An empty book record has no levels on either side
+        addLiveFrame(1);
+        awaitPublished(published, 2);
+        assertEquals(1L, socketReader.bookIntegrity().failures(IntegrityCheck.LEVEL_ANOMALY));
+        assertTrue(socketReader.bookIntegrity().takeResyncRequest());
+    }
+
+    @Test
+    @Timeout(10)
+    void testPauseRequestVisibility() throws Exception {
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock);
+        socketReader.resume();
 
         AtomicBoolean workerSawPause = new AtomicBoolean(false);
         CountDownLatch workerStarted = new CountDownLatch(1);
@@ -551,7 +903,7 @@ class SocketReaderTest {
                 pauseSet.await();
                 // Give supervisor time to set pause flag
                 sleep(10);
-                if (socketReader.pause) {
+                if (socketReader.state() == ReaderState.PAUSE_REQUESTED) {
                     workerSawPause.set(true);
                 }
             } catch (InterruptedException e) {
@@ -562,20 +914,20 @@ class SocketReaderTest {
         worker.start();
         workerStarted.await();
 
-        // Supervisor sets pause flag
-        socketReader.pause = true;
+        // Supervisor requests a pause
+        socketReader.requestPause();
         pauseSet.countDown();
 
         worker.join(1000);
 
-        assertTrue(workerSawPause.get(), "Worker should see pause flag due to volatile");
+        assertTrue(workerSawPause.get(), "Worker should see the pause request");
     }
 
     @Test
     @Timeout(10)
     void testStressTestDoWorkAndConnect() throws Exception {
         socketReader = new TestSocketReader(sequencedRingBuffer, clock);
-        socketReader.pause = false;
+        socketReader.resume();
 
         AtomicBoolean workerRunning = new AtomicBoolean(true);
         AtomicInteger doWorkCalls = new AtomicInteger(0);
@@ -629,8 +981,147 @@ class SocketReaderTest {
         assertEquals(10, connectCalls.get(), "connect should have been called 10 times");
     }
 
+    // ========== State Machine Tests ==========
+
+    @Test
+    @Timeout(10)
+    void testReaderStartsPauseRequestedAndBuffers() {
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock);
+
+        assertEquals(ReaderState.PAUSE_REQUESTED, socketReader.state());
+        assertFalse(socketReader.isPaused());
+    }
+
+    @Test
+    @Timeout(10)
+    void testRequestPauseIsAcknowledgedByReaderThread() throws Exception {
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock);
+        socketReader.resume();
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+
+        socketReader.requestPause();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!socketReader.isPaused() && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+
+        assertEquals(ReaderState.PAUSED, socketReader.state());
+        assertTrue(socketReader.lastPauseHandoffNanos() >= 0);
+
+        // A second request while paused must not undo the acknowledgement
+        socketReader.requestPause();
+        assertEquals(ReaderState.PAUSED, socketReader.state());
+    }
+
+    @Test
+    @Timeout(10)
+    void testConnectRecordsHandoffTimings() throws Exception {
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock);
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+
+        socketReader.connect();
+        sleep(5);
+        socketReader.disconnect();
+
+        assertTrue(socketReader.isPaused());
+        assertTrue(socketReader.lastPauseHandoffNanos() >= 0);
+        assertTrue(socketReader.lastPausedNanos() > 0, "Reader should report time spent paused during connect");
+    }
+
+    @Test
+    @Timeout(10)
+    void testResumeWakesParkedReader() throws Exception {
+        socketReader = new TestSocketReader(sequencedRingBuffer, clock);
+        GnomeAgentRunner.startOnThread(new GnomeAgentRunner(socketReader, null));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!socketReader.isPaused() && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        // Long enough for the reader to back off from spinning to parking
+        sleep(20);
+
+        socketReader.addNextReadResult(ByteBuffer.wrap(new byte[] {1}));
+        socketReader.resume();
+
+        deadline = System.currentTimeMillis() + 5000;
+        while (socketReader.handleMessageByteCount.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(1, socketReader.handleMessageByteCount.get());
+        assertEquals(ReaderState.RUNNING, socketReader.state());
+    }
+
     // ========== Helper Methods ==========
 
+    private List<Long> capturePublishedSequences() {
+        List<Long> published = new CopyOnWriteArrayList<>();
+        captureWith(record -> published.add(record.decoder.sequence()));
+        return published;
+    }
+
+    /**
+     * Published records as their sequence, suffixed with "S" for snapshot records.
+     */
+    private List<String> capturePublishedRecords() {
+        List<String> published = new CopyOnWriteArrayList<>();
+        captureWith(record ->
+                published.add(record.decoder.sequence() + (record.decoder.flags().snapshot() ? "S" : "")));
+        return published;
+    }
+
+    private void captureWith(Consumer<Mbp10Schema> handler) {
+        sequencedRingBuffer.shutdown();
+        sequencedRingBuffer = new SequencedRingBuffer<>(Mbp10Schema::new, new GlobalSequence());
+        sequencedRingBuffer.handleEventsWith((gSeq, templateId, buffer, length) -> {
+            Mbp10Schema captured = new Mbp10Schema();
+            captured.buffer.putBytes(0, buffer, 0, length);
+            captured.wrap(captured.buffer);
+            handler.accept(captured);
+        });
+        sequencedRingBuffer.start();
+    }
+
+    /**
+     * Queue a frame once the reader is live, without touching the slot the reader thread is encoding into.
+     */
+    private void addLiveFrame(long sequence) {
+        addLiveFrame(sequence, Action.Modify);
+    }
+
+    private void addLiveFrame(long sequence, Action action) {
+        Mbp10Schema frame = new Mbp10Schema();
+        frame.encoder.sequence(sequence);
+        frame.encoder.action(action);
+        socketReader.addNextReadResult(frame.buffer, frame.totalMessageSize());
+    }
+
+    /**
+     * Latency is recorded just after the publish, so it can trail the published record by a moment.
+     */
+    private LatencyHistogram awaitLatencyCount(MessageKind kind, long count) {
+        LatencyHistogram snapshot = new LatencyHistogram();
+        socketReader.latencySnapshot(kind, snapshot);
+        while (snapshot.count() < count) {
+            Thread.yield();
+            socketReader.latencySnapshot(kind, snapshot);
+        }
+        return snapshot;
+    }
+
+    private void awaitPublished(List<?> published, int count) {
+        while (published.size() < count) {
+            Thread.yield();
+        }
+    }
+
+    private static List<Long> sequences(long from, long to) {
+        List<Long> sequences = new ArrayList<>();
+        for (long sequence = from; sequence < to; sequence++) {
+            sequences.add(sequence);
+        }
+        return sequences;
+    }
+
     private void sleep(long millis) {
         try {
             Thread.sleep(millis);
@@ -646,14 +1137,17 @@ class SocketReaderTest {
 
         final AtomicInteger readSocketCallCount = new AtomicInteger(0);
         final AtomicInteger handleMessageByteCount = new AtomicInteger(0);
+        final AtomicInteger handledFrames = new AtomicInteger(0);
         final AtomicInteger connectCallCount = new AtomicInteger(0);
+        final AtomicInteger schemaArrays = new AtomicInteger(0);
         final AtomicBoolean attachSocketCalled = new AtomicBoolean(false);
         final AtomicBoolean fetchSnapshotCalled = new AtomicBoolean(false);
         final AtomicBoolean pendingReads = new AtomicBoolean(false);
 
-        private final Deque<ByteBuffer> readResults = new ArrayDeque<>();
+        private final Deque<ByteBuffer> readResults = new ConcurrentLinkedDeque<>();
         private Book<Mbp10Schema> snapshot;
         private final boolean shouldOfferBuffer;
+        boolean rawFrameReplay = true;
 
         public TestSocketReader(SequencedRingBuffer<Mbp10Schema> outputBuffer, EpochNanoClock clock) {
             this(outputBuffer, clock, false);
@@ -685,14 +1179,31 @@ class SocketReaderTest {
         protected ByteBuffer readSocket() throws IOException {
             readSocketCallCount.incrementAndGet();
             if (!readResults.isEmpty()) {
-                return readResults.removeFirst();
+                ByteBuffer result = readResults.removeFirst();
+                if (readResults.isEmpty() && replayMode() == ReplayMode.RAW_FRAMES) {
+                    // Raw frames are held unparsed until after the snapshot
+                    pendingReads.set(false);
+                }
+                return result;
             }
             return null;
         }
 
+        @Override
+        protected boolean supportsRawFrameReplay() {
+            return rawFrameReplay;
+        }
+
+        @Override
+        public Mbp10Schema[] createSchemaArray(int size) {
+            schemaArrays.incrementAndGet();
+            return Mbp10SchemaFactory.super.createSchemaArray(size);
+        }
+
         @Override
         protected void handleGatewayMessage(ByteBuffer buffer) {
             if (shouldOfferBuffer) {
+                handledFrames.incrementAndGet();
                 this.schema.buffer.putBytes(0, buffer, buffer.remaining());
                 offer();
             } else {
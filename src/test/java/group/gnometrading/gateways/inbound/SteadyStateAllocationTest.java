@@ -0,0 +1,64 @@
+package group.gnometrading.gateways.inbound;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.sequencer.GlobalSequence;
+import group.gnometrading.sequencer.SequencedRingBuffer;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Runs every venue's reader over its recorded capture and fails if the steady-state message path allocates.
+ * <p>
+ * After warm-up, the bytes the feeding thread allocates across full passes of the capture are read from
+ * {@link com.sun.management.ThreadMXBean} and must be exactly zero. The FIX venue runs on a hand-written
+ * {@link ScriptedFixClient}, so no mocking framework allocates on the measured path.
+ */
+class SteadyStateAllocationTest {
+
+    private static final int WARMUP_PASSES = 200;
+    private static final int MEASURED_PASSES = 20;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // ========== Allocation Tests ==========
+
+    @ParameterizedTest
+    @EnumSource(RecordedVenue.Venue.class)
+    @Timeout(120)
+    void testMessagePathDoesNotAllocate(RecordedVenue.Venue venue) throws Exception {
+        SequencedRingBuffer<Mbp10Schema> ringBuffer =
+                new SequencedRingBuffer<>(Mbp10Schema::new, new GlobalSequence());
+        ringBuffer.handleEventsWith((globalSequence, templateId, buffer, length) -> {});
+        ringBuffer.start();
+        try {
+            RecordedVenue recorded = new RecordedVenue(venue, ringBuffer, System::nanoTime);
+            for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+                feedAll(recorded);
+            }
+
+            long start = threads.getCurrentThreadAllocatedBytes();
+            for (int pass = 0; pass < MEASURED_PASSES; pass++) {
+                feedAll(recorded);
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - start;
+
+            long messages = (long) MEASURED_PASSES * recorded.frameCount();
+            assertEquals(0L, allocated, String.format("%s allocated over %,d msgs", venue, messages));
+        } finally {
+            ringBuffer.shutdown();
+        }
+    }
+
+    // ========== Helper Methods ==========
+
+    private static void feedAll(RecordedVenue recorded) {
+        for (int i = 0; i < recorded.frameCount(); i++) {
+            recorded.feed(i);
+        }
+    }
+}
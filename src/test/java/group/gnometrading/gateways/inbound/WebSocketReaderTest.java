@@ -0,0 +1,196 @@
+package group.gnometrading.gateways.inbound;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import group.gnometrading.gateways.inbound.mbp.Mbp10SchemaFactory;
+import group.gnometrading.logging.NullLogger;
+import group.gnometrading.networking.websockets.WebSocketClient;
+import group.gnometrading.networking.websockets.WebSocketClientBuilder;
+import group.gnometrading.networking.websockets.WebSocketResponse;
+import group.gnometrading.networking.websockets.enums.Opcode;
+import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.sequencer.GlobalSequence;
+import group.gnometrading.sequencer.SequencedRingBuffer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class WebSocketReaderTest {
+
+    private SequencedRingBuffer<Mbp10Schema> ringBuffer;
+    private WebSocketClient client;
+    private WebSocketResponse idle;
+    private TestWebSocketReader reader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ringBuffer = new SequencedRingBuffer<>(Mbp10Schema::new, new GlobalSequence());
+        ringBuffer.start();
+
+        client = mock(WebSocketClient.class);
+        // A non-blocking read with nothing buffered
+        idle = mock(WebSocketResponse.class);
+        when(idle.isSuccess()).thenReturn(false);
+        when(idle.isClosed()).thenReturn(false);
+        when(client.read()).thenReturn(idle);
+
+        reader = new TestWebSocketReader(ringBuffer, client);
+        reader.connect();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ringBuffer.shutdown();
+    }
+
+    // ========== Idle Tests ==========
+
+    @Test
+    void socketIsNonBlockingAfterConnect() throws Exception {
+        verify(client).configureBlocking(false);
+    }
+
+    @Test
+    void idleSocketReturnsZero() throws Exception {
+        assertEquals(0, reader.doWork());
+        assertEquals(0, reader.doWork());
+        assertEquals(0, reader.handledFrames.get());
+    }
+
+    @Test
+    void bufferedFramesAreDrainedThenIdle() throws Exception {
+        WebSocketResponse frame = mock(WebSocketResponse.class);
+        when(frame.isSuccess()).thenReturn(true);
+        when(frame.getOpcode()).thenReturn(Opcode.TEXT);
+        when(frame.getBody()).thenAnswer(invocation -> ByteBuffer.wrap(new byte[] {1, 2, 3}));
+        when(client.read()).thenReturn(frame, frame, idle);
+
+        assertEquals(2, reader.doWork());
+        assertEquals(2, reader.handledFrames.get());
+        assertEquals(0, reader.doWork());
+    }
+
+    // ========== Loopback Tests ==========
+
+    @Test
+    @Timeout(10)
+    void emptyNonBlockingSocketIsIdleNotClosed() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            WebSocketClient loopback = new WebSocketClientBuilder()
+                    .withURI(new URI("ws://127.0.0.1:" + server.getLocalPort() + "/"))
+                    .build();
+            ExecutorService acceptor = Executors.newSingleThreadExecutor();
+            Future<Socket> accepted = acceptor.submit(() -> acceptHandshake(server));
+            loopback.connect();
+            loopback.configureBlocking(false);
+            acceptor.shutdown();
+
+            try (Socket peer = accepted.get(5, TimeUnit.SECONDS)) {
+                // Nothing sent yet: the read must come back empty, not report the socket as closed
+                for (int i = 0; i < 100; i++) {
+                    WebSocketResponse response = loopback.read();
+                    assertFalse(response.isSuccess());
+                    assertFalse(response.isClosed());
+                }
+
+                byte[] payload = "{}".getBytes(StandardCharsets.US_ASCII);
+                OutputStream out = peer.getOutputStream();
+                out.write(new byte[] {(byte) 0x81, (byte) payload.length});
+                out.write(payload);
+                out.flush();
+                WebSocketResponse frame = awaitRead(loopback, WebSocketResponse::isSuccess);
+                assertEquals(Opcode.TEXT, frame.getOpcode());
+                assertEquals(payload.length, frame.getBody().remaining());
+            }
+
+            // The peer has closed its end
+            awaitRead(loopback, WebSocketResponse::isClosed);
+            loopback.close();
+        }
+    }
+
+    private static WebSocketResponse awaitRead(WebSocketClient client, Predicate<WebSocketResponse> until)
+            throws IOException {
+        while (true) {
+            WebSocketResponse response = client.read();
+            if (until.test(response)) {
+                return response;
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Accept one client and complete the server side of its opening handshake.
+     */
+    private static Socket acceptHandshake(ServerSocket server) throws Exception {
+        Socket socket = server.accept();
+        BufferedReader in =
+                new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        String key = null;
+        String line;
+        while ((line = in.readLine()) != null && !line.isEmpty()) {
+            if (line.regionMatches(true, 0, "Sec-WebSocket-Key:", 0, 18)) {
+                key = line.substring(18).trim();
+            }
+        }
+        byte[] digest = MessageDigest.getInstance("SHA-1")
+                .digest((key + "258EAFA5-E914-47DA-95CA-C5AB0DC85B11").getBytes(StandardCharsets.US_ASCII));
+        String response = "HTTP/1.1 101 Switching Protocols\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + Base64.getEncoder().encodeToString(digest) + "\r\n\r\n";
+        socket.getOutputStream().write(response.getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+        return socket;
+    }
+
+    static class TestWebSocketReader extends WebSocketReader<Mbp10Schema> implements Mbp10SchemaFactory {
+
+        final AtomicInteger handledFrames = new AtomicInteger();
+
+        TestWebSocketReader(SequencedRingBuffer<Mbp10Schema> outputBuffer, WebSocketClient client) {
+            super(new NullLogger(), outputBuffer, System::nanoTime, null, null, client);
+        }
+
+        @Override
+        protected void handleGatewayMessage(ByteBuffer buffer) {
+            buffer.position(buffer.limit());
+            handledFrames.incrementAndGet();
+        }
+
+        @Override
+        protected void keepAlive() {}
+
+        @Override
+        public Book<Mbp10Schema> fetchSnapshot() {
+            return null;
+        }
+
+        @Override
+        protected void subscribe() {}
+    }
+}
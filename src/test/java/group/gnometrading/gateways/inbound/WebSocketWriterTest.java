@@ -0,0 +1,107 @@
+package group.gnometrading.gateways.inbound;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import group.gnometrading.gateways.inbound.counters.CounterType;
+import group.gnometrading.gateways.inbound.counters.GatewayCounters;
+import group.gnometrading.gateways.inbound.counters.ListingCounters;
+import group.gnometrading.networking.websockets.WebSocketClient;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+class WebSocketWriterTest {
+
+    private static final int MESSAGE_SIZE = 100;
+
+    // ========== Partial Write Tests ==========
+
+    @Test
+    void partialWritesAreRetriedUntilTheMessageIsSent() {
+        WebSocketClient client = mock(WebSocketClient.class);
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+        when(client.writeBuffer(any(ByteBuffer.class))).thenAnswer(invocation -> {
+            ByteBuffer buffer = invocation.getArgument(0);
+            // Every other attempt finds the send buffer full, the rest take 7 bytes
+            int written = calls.getAndIncrement() % 2 == 0 ? 0 : Math.min(7, buffer.remaining());
+            buffer.position(buffer.position() + written);
+            sent.addAndGet(written);
+            return written;
+        });
+        WebSocketWriter writer = new WebSocketWriter(client);
+
+        queueMessage(writer);
+        writer.doWork();
+
+        assertEquals(MESSAGE_SIZE, sent.get());
+    }
+
+    @Test
+    @Timeout(10)
+    void stalledPeerFailsTheWriteAfterTheLimit() {
+        WebSocketClient client = mock(WebSocketClient.class);
+        when(client.writeBuffer(any(ByteBuffer.class))).thenReturn(0);
+        WebSocketWriter writer = new WebSocketWriter(client, TimeUnit.MILLISECONDS.toNanos(20));
+
+        queueMessage(writer);
+        UncheckedIOException failure = assertThrows(UncheckedIOException.class, writer::doWork);
+        assertInstanceOf(IOException.class, failure.getCause());
+    }
+
+    // ========== Counter Tests ==========
+
+    @Test
+    void queueDepthIsReportedAfterEachDrain(@TempDir Path directory) {
+        try (GatewayCounters counters = new GatewayCounters(directory.resolve("counters.dat"), 64)) {
+            ListingCounters listing = counters.allocate(1, "test");
+            WebSocketClient client = mock(WebSocketClient.class);
+            WebSocketWriter writer = new WebSocketWriter(client);
+            writer.setCounters(listing);
+            AtomicBoolean queued = new AtomicBoolean();
+            when(client.writeBuffer(any(ByteBuffer.class))).thenAnswer(invocation -> {
+                ByteBuffer buffer = invocation.getArgument(0);
+                int written = buffer.remaining();
+                buffer.position(buffer.limit());
+                // The write ring is drained before the control ring, so this waits for the next doWork
+                if (queued.compareAndSet(false, true)) {
+                    queueMessage(writer);
+                }
+                return written;
+            });
+
+            queueControlMessage(writer);
+            writer.doWork();
+            assertEquals(1L, listing.get(CounterType.WRITER_QUEUE_DEPTH));
+
+            writer.doWork();
+            assertEquals(0L, listing.get(CounterType.WRITER_QUEUE_DEPTH));
+        }
+    }
+
+    // ========== Helper Methods ==========
+
+    private static void queueMessage(WebSocketWriter writer) {
+        int sequence = writer.claimWriteBuffer();
+        ByteBuffer buffer = writer.getWriteBuffer(sequence);
+        buffer.put(new byte[MESSAGE_SIZE]);
+        writer.publishWriteBuffer(sequence);
+    }
+
+    private static void queueControlMessage(WebSocketWriter writer) {
+        int sequence = writer.claimControlWriteBuffer();
+        ByteBuffer buffer = writer.getControlWriteBuffer(sequence);
+        buffer.put(new byte[MESSAGE_SIZE]);
+        writer.publishControlWriteBuffer(sequence);
+    }
+}
@@ -0,0 +1,149 @@
+package group.gnometrading.gateways.inbound.counters;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import group.gnometrading.gateways.inbound.IntegrityCheck;
+import group.gnometrading.gateways.inbound.MessageKind;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import org.agrona.concurrent.status.CountersReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GatewayCountersTest {
+
+    private static final int LISTING_ID = 42;
+
+    @TempDir
+    Path directory;
+
+    // ========== Counter Tests ==========
+
+    @Test
+    void testListingCountersTrackEveryUpdate() {
+        try (GatewayCounters counters = new GatewayCounters(directory.resolve("counters.dat"), 64)) {
+            ListingCounters listing = counters.allocate(LISTING_ID, "BTCUSDT");
+            listing.onFrame(100);
+            listing.onFrame(50);
+            listing.onPublished(MessageKind.BOOK);
+            listing.onPublished(MessageKind.BOOK);
+            listing.onPublished(MessageKind.TRADE);
+            listing.onSnapshotRecord();
+            listing.onReplayBuffered();
+            listing.replaySpilled(7);
+            listing.onReplayDropped();
+            listing.onReconnect();
+            listing.onConnectFailure();
+            listing.onSilenceTimeout();
+            listing.writerQueueDepth(3);
+            listing.captureQueueDepth(4096);
+            listing.onIntegrityFailure(IntegrityCheck.CROSSED_BOOK);
+            listing.onIntegrityFailure(IntegrityCheck.LEVEL_ANOMALY);
+            listing.onIntegrityFailure(IntegrityCheck.LEVEL_ANOMALY);
+
+            assertEquals(2L, listing.get(CounterType.FRAMES_READ));
+            assertEquals(150L, listing.get(CounterType.BYTES_READ));
+            assertEquals(2L, listing.get(CounterType.BOOK_EMITS));
+            assertEquals(1L, listing.get(CounterType.TRADES));
+            assertEquals(1L, listing.get(CounterType.SNAPSHOT_RECORDS));
+            assertEquals(1L, listing.get(CounterType.REPLAY_BUFFERED));
+            assertEquals(7L, listing.get(CounterType.REPLAY_SPILLED));
+            assertEquals(1L, listing.get(CounterType.REPLAY_DROPPED));
+            assertEquals(1L, listing.get(CounterType.RECONNECTS));
+            assertEquals(1L, listing.get(CounterType.CONNECT_FAILURES));
+            assertEquals(1L, listing.get(CounterType.SILENCE_TIMEOUTS));
+            assertEquals(3L, listing.get(CounterType.WRITER_QUEUE_DEPTH));
+            assertEquals(4096L, listing.get(CounterType.CAPTURE_QUEUE_DEPTH));
+            assertEquals(1L, listing.get(CounterType.CROSSED_BOOKS));
+            assertEquals(0L, listing.get(CounterType.SEQUENCE_REGRESSIONS));
+            assertEquals(0L, listing.get(CounterType.STALE_TOPS_OF_BOOK));
+            assertEquals(2L, listing.get(CounterType.LEVEL_ANOMALIES));
+        }
+    }
+
+    @Test
+    void testNoOpCountersIgnoreUpdates() {
+        ListingCounters.NO_OP.onFrame(100);
+        ListingCounters.NO_OP.onPublished(MessageKind.BOOK);
+        ListingCounters.NO_OP.replaySpilled(7);
+        ListingCounters.NO_OP.onIntegrityFailure(IntegrityCheck.CROSSED_BOOK);
+        ListingCounters.NO_OP.close();
+
+        for (CounterType type : CounterType.values()) {
+            assertEquals(0L, ListingCounters.NO_OP.get(type), type.name());
+        }
+    }
+
+    @Test
+    void testCountersAreReadableThroughASeparateMapping() {
+        Path path = directory.resolve("counters.dat");
+        try (GatewayCounters counters = new GatewayCounters(path, 64)) {
+            ListingCounters first = counters.allocate(LISTING_ID, "BTCUSDT");
+            ListingCounters second = counters.allocate(LISTING_ID + 1, "ETHUSDT");
+            first.onFrame(10);
+            second.onFrame(20);
+            second.onFrame(30);
+
+            try (GatewayCounters monitor = GatewayCounters.open(path)) {
+                Map<String, Long> bytesRead = new HashMap<>();
+                CountersReader reader = monitor.reader();
+                reader.forEach((counterId, typeId, keyBuffer, label) -> {
+                    if (typeId == CounterType.BYTES_READ.typeId()) {
+                        bytesRead.put(keyBuffer.getInt(0) + " " + label, reader.getCounterValue(counterId));
+                    }
+                });
+
+                assertEquals(
+                        Map.of("42 bytes read: BTCUSDT", 10L, "43 bytes read: ETHUSDT", 50L), bytesRead);
+            }
+        }
+    }
+
+    @Test
+    void testClosedListingFreesItsCounters() {
+        try (GatewayCounters counters = new GatewayCounters(directory.resolve("counters.dat"), 64)) {
+            counters.allocate(LISTING_ID, "BTCUSDT").close();
+
+            int[] allocated = {0};
+            counters.reader().forEach((counterId, typeId, keyBuffer, label) -> allocated[0]++);
+            assertEquals(0, allocated[0]);
+        }
+    }
+
+    @Test
+    void testAllocationFailsWhenFull() {
+        int maxCounters = CounterType.values().length;
+        try (GatewayCounters counters = new GatewayCounters(directory.resolve("counters.dat"), maxCounters)) {
+            counters.allocate(LISTING_ID, "BTCUSDT");
+            assertThrows(RuntimeException.class, () -> counters.allocate(LISTING_ID + 1, "ETHUSDT"));
+        }
+    }
+
+    // ========== File Tests ==========
+
+    @Test
+    void testOpenRejectsOtherFiles() throws IOException {
+        Path path = directory.resolve("other.dat");
+        Files.write(path, new byte[GatewayCounters.HEADER_LENGTH]);
+
+        assertThrows(IllegalArgumentException.class, () -> GatewayCounters.open(path));
+    }
+
+    @Test
+    void testReadOnlyCountersCannotAllocate() {
+        Path path = directory.resolve("counters.dat");
+        try (GatewayCounters counters = new GatewayCounters(path, 16);
+                GatewayCounters monitor = GatewayCounters.open(path)) {
+            assertThrows(IllegalStateException.class, () -> monitor.allocate(LISTING_ID, "BTCUSDT"));
+        }
+    }
+
+    @Test
+    void testInvalidMaxCountersThrows() {
+        assertThrows(
+                IllegalArgumentException.class, () -> new GatewayCounters(directory.resolve("counters.dat"), 0));
+    }
+}
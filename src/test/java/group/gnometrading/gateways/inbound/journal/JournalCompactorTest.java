@@ -0,0 +1,246 @@
+package group.gnometrading.gateways.inbound.journal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalCompactorTest {
+
+    private static final int LISTING_ID = 7;
+    private static final String BOOK_FRAME = "{\"channel\":\"l2Book\",\"data\":{\"coin\":\"BTC\","
+            + "\"levels\":[[{\"px\":\"97000.0\",\"sz\":\"1.5\",\"n\":3}]]}}";
+
+    @TempDir
+    Path directory;
+
+    private record Frame(int listingId, long recvTimestamp, String payload) {}
+
+    // ========== Compaction Tests ==========
+
+    @Test
+    void testClosedSegmentsAreArchivedAndDeleted() throws Exception {
+        JournalConfig config = config(1 << 14, 1 << 10);
+        List<Frame> written = new ArrayList<>();
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            for (int i = 0; i < 400; i++) {
+                String payload = BOOK_FRAME + i;
+                capture(sink, 1_000L + i, payload);
+                written.add(new Frame(LISTING_ID, 1_000L + i, payload));
+            }
+            assertTrue(sink.segmentIndex() > 2);
+
+            JournalCompactor compactor = new JournalCompactor(config, LISTING_ID);
+            drain(compactor);
+
+            assertEquals(sink.segmentIndex(), compactor.compactedSegments());
+            assertEquals(sink.segmentIndex(), compactor.nextSegmentIndex());
+            assertTrue(Files.exists(sink.segmentPath()), "The active segment is left alone");
+            for (long index = 0; index < sink.segmentIndex(); index++) {
+                assertFalse(Files.exists(directory.resolve(JournalFormat.segmentFileName(LISTING_ID, index))));
+                assertTrue(Files.exists(directory.resolve(JournalFormat.archiveFileName(LISTING_ID, index))));
+            }
+            compactor.onClose();
+        }
+
+        JournalCompactor compactor = new JournalCompactor(config, LISTING_ID);
+        drain(compactor);
+        compactor.onClose();
+
+        List<Frame> read = new ArrayList<>();
+        long last = JournalFormat.lastSegmentIndex(directory, LISTING_ID);
+        for (long index = 0; index <= last; index++) {
+            try (JournalArchiveReader reader = archive(index)) {
+                assertEquals(index, reader.segmentIndex());
+                assertEquals(LISTING_ID, reader.listingId());
+                assertEquals(reader.frameCount(), reader.read(collectInto(read)));
+            }
+        }
+        assertEquals(written, read);
+    }
+
+    @Test
+    void testArchiveIsSmallerThanSegment() throws Exception {
+        JournalConfig config = config(1 << 16, 1 << 12);
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            for (int i = 0; i < 200; i++) {
+                capture(sink, 1_000L + i, BOOK_FRAME);
+            }
+        }
+        long written = 200L * JournalFormat.align(JournalFormat.FRAME_HEADER_LENGTH + BOOK_FRAME.length());
+
+        JournalCompactor compactor = new JournalCompactor(config, LISTING_ID);
+        drain(compactor);
+        compactor.onClose();
+
+        long archived = Files.size(directory.resolve(JournalFormat.archiveFileName(LISTING_ID, 0)));
+        assertTrue(archived * 4 < written, "Repetitive frames should compress well, got " + archived);
+    }
+
+    @Test
+    void testActiveSegmentIsNotCompacted() {
+        JournalConfig config = config(1 << 16, 1 << 12);
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            capture(sink, 1L, "open");
+            JournalCompactor compactor = new JournalCompactor(config, LISTING_ID);
+
+            assertEquals(0, compactor.doWork());
+            assertEquals(0, compactor.compactedSegments());
+            assertTrue(Files.exists(sink.segmentPath()));
+            compactor.onClose();
+        }
+    }
+
+    @Test
+    void testSinkContinuesAfterArchivedSegments() {
+        JournalConfig config = config(1 << 16, 1 << 12);
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            capture(sink, 1L, "first");
+        }
+        JournalCompactor compactor = new JournalCompactor(config, LISTING_ID);
+        drain(compactor);
+        compactor.onClose();
+
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            assertEquals(1, sink.segmentIndex(), "Archived indices must not be reused");
+        }
+    }
+
+    @Test
+    void testEmptyDirectoryStartsAtTheSinksFirstSegment() {
+        JournalConfig config = config(1 << 16, 1 << 12);
+        JournalCompactor compactor = new JournalCompactor(config, LISTING_ID);
+        assertEquals(0, compactor.nextSegmentIndex());
+
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            assertEquals(compactor.nextSegmentIndex(), sink.segmentIndex());
+            capture(sink, 1L, "first");
+        }
+        assertEquals(1, compactor.doWork());
+        assertEquals(1, compactor.compactedSegments());
+        assertTrue(Files.exists(directory.resolve(JournalFormat.archiveFileName(LISTING_ID, 0))));
+        compactor.onClose();
+    }
+
+    @Test
+    void testSegmentLeftActiveByACrashIsCompactedOnceTheWriterMovesOn() {
+        JournalConfig config = config(1 << 16, 1 << 12);
+        // Never closed, as if the process died with the segment still active
+        MappedJournalSink crashed = new MappedJournalSink(config, LISTING_ID);
+        capture(crashed, 1L, "before crash");
+
+        JournalCompactor compactor = new JournalCompactor(config, LISTING_ID);
+        assertEquals(0, compactor.doWork(), "The writer may still be appending");
+
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            assertEquals(1, sink.segmentIndex());
+            assertEquals(1, compactor.doWork());
+            assertEquals(1, compactor.compactedSegments());
+            assertTrue(Files.exists(sink.segmentPath()), "The new active segment is left alone");
+        }
+        compactor.onClose();
+
+        List<Frame> read = new ArrayList<>();
+        try (JournalArchiveReader reader = archive(0)) {
+            reader.read(collectInto(read));
+        }
+        assertEquals(List.of(new Frame(LISTING_ID, 1L, "before crash")), read);
+    }
+
+    // ========== Block Index Tests ==========
+
+    @Test
+    void testReadFromTimestampInflatesOnlyTheBlocksItNeeds() {
+        JournalConfig config = config(1 << 16, 512);
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            for (int i = 0; i < 200; i++) {
+                capture(sink, 1_000L + i * 10L, BOOK_FRAME);
+            }
+        }
+        JournalCompactor compactor = new JournalCompactor(config, LISTING_ID);
+        drain(compactor);
+        compactor.onClose();
+
+        try (JournalArchiveReader reader = archive(0)) {
+            assertTrue(reader.blockCount() > 4);
+            long from = 1_000L + 150 * 10L;
+            int firstBlock = reader.findBlock(from);
+            assertTrue(reader.blockFirstTimestamp(firstBlock) <= from);
+            assertTrue(reader.blockLastTimestamp(firstBlock) >= from);
+
+            List<Frame> read = new ArrayList<>();
+            assertEquals(50, reader.read(collectInto(read), from));
+            assertEquals(from, read.get(0).recvTimestamp());
+            assertEquals(reader.blockCount() - firstBlock, reader.blocksInflated());
+        }
+    }
+
+    @Test
+    void testFindBlockPastTheEnd() {
+        JournalConfig config = config(1 << 16, 512);
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            capture(sink, 1L, "only");
+        }
+        JournalCompactor compactor = new JournalCompactor(config, LISTING_ID);
+        drain(compactor);
+        compactor.onClose();
+
+        try (JournalArchiveReader reader = archive(0)) {
+            assertEquals(0, reader.findBlock(0L));
+            assertEquals(reader.blockCount(), reader.findBlock(2L));
+            assertEquals(0, reader.read((listingId, recvTimestamp, payload) -> {}, 2L));
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> reader.readBlock(reader.blockCount(), (listingId, recvTimestamp, payload) -> {}));
+        }
+    }
+
+    @Test
+    void testInvalidArchiveThrows() throws Exception {
+        Path path = directory.resolve("not-an-archive");
+        Files.write(path, new byte[JournalArchiveFormat.HEADER_LENGTH]);
+
+        assertThrows(IllegalArgumentException.class, () -> new JournalArchiveReader(path));
+    }
+
+    // ========== Helper Methods ==========
+
+    private JournalConfig config(int segmentSize, int archiveBlockSize) {
+        return new JournalConfig.Builder()
+                .withDirectory(directory)
+                .withSegmentSize(segmentSize)
+                .withRollInterval(Duration.ofHours(1))
+                .withPreTouch(false)
+                .withArchiveBlockSize(archiveBlockSize)
+                .build();
+    }
+
+    private JournalArchiveReader archive(long segmentIndex) {
+        return new JournalArchiveReader(directory.resolve(JournalFormat.archiveFileName(LISTING_ID, segmentIndex)));
+    }
+
+    private static void drain(JournalCompactor compactor) {
+        while (compactor.doWork() > 0) {
+            // Keep compacting
+        }
+    }
+
+    private static void capture(MappedJournalSink sink, long recvTimestamp, String payload) {
+        sink.capture(recvTimestamp, ByteBuffer.wrap(payload.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static JournalSegmentReader.FrameHandler collectInto(List<Frame> frames) {
+        return (listingId, recvTimestamp, payload) -> {
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            frames.add(new Frame(listingId, recvTimestamp, new String(bytes, StandardCharsets.US_ASCII)));
+        };
+    }
+}
@@ -0,0 +1,185 @@
+package group.gnometrading.gateways.inbound.journal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalReaderTest {
+
+    private static final int LISTING_ID = 3;
+    private static final long START = 1_000_000L;
+    private static final long SPACING = 10L;
+
+    @TempDir
+    Path directory;
+
+    // ========== Segment Seek Tests ==========
+
+    @Test
+    void testSeekLandsOnFirstFrameAtOrAfterTimestamp() {
+        try (MappedJournalSink sink = new MappedJournalSink(config(1 << 20), LISTING_ID)) {
+            writeFrames(sink, 0, 1000);
+            try (JournalSegmentReader reader = new JournalSegmentReader(sink.segmentPath())) {
+                reader.seek(timestamp(500));
+                assertEquals(timestamp(500), reader.peekTimestamp());
+
+                reader.seek(timestamp(500) + 1);
+                assertEquals(timestamp(501), reader.peekTimestamp());
+
+                reader.seek(Long.MIN_VALUE);
+                assertEquals(JournalFormat.HEADER_LENGTH, reader.position());
+
+                reader.seek(timestamp(1000));
+                assertEquals(-1, reader.peekTimestamp());
+            }
+        }
+    }
+
+    @Test
+    void testSinkWritesSparseIndex() throws Exception {
+        JournalConfig config = config(1 << 20);
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            writeFrames(sink, 0, 1000);
+            assertTrue(Files.exists(sink.indexPath()));
+            assertEquals(
+                    JournalFormat.indexCapacity(config.segmentSize(), config.indexInterval()),
+                    Files.size(sink.indexPath()));
+        }
+    }
+
+    @Test
+    void testSeekFindsFirstOfRepeatedTimestamps() {
+        try (MappedJournalSink sink = new MappedJournalSink(config(1 << 20), LISTING_ID)) {
+            for (int i = 0; i < 100; i++) {
+                capture(sink, START, "before-" + i);
+            }
+            for (int i = 0; i < 100; i++) {
+                capture(sink, START + 1, "same-" + i);
+            }
+            try (JournalSegmentReader reader = new JournalSegmentReader(sink.segmentPath())) {
+                reader.seek(START + 1);
+                List<String> payloads = new ArrayList<>();
+                reader.read(collectInto(payloads));
+                assertEquals(100, payloads.size());
+                assertEquals("same-0", payloads.get(0));
+            }
+        }
+    }
+
+    @Test
+    void testSeekWithoutIndexScansFromStart() throws Exception {
+        Path segment;
+        try (MappedJournalSink sink = new MappedJournalSink(config(1 << 20), LISTING_ID)) {
+            writeFrames(sink, 0, 100);
+            segment = sink.segmentPath();
+            Files.delete(sink.indexPath());
+        }
+        try (JournalSegmentReader reader = new JournalSegmentReader(segment)) {
+            reader.seek(timestamp(42));
+            assertEquals(timestamp(42), reader.peekTimestamp());
+        }
+    }
+
+    // ========== Journal Seek Tests ==========
+
+    @Test
+    void testSeekAcrossSegmentsAndArchives() {
+        JournalConfig config = config(1 << 12);
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            writeFrames(sink, 0, 1000);
+            assertTrue(sink.segmentIndex() > 4);
+        }
+        JournalCompactor compactor = new JournalCompactor(config, LISTING_ID);
+        for (int i = 0; i < 2; i++) {
+            compactor.doWork();
+        }
+        compactor.onClose();
+        assertTrue(Files.exists(directory.resolve(JournalFormat.archiveFileName(LISTING_ID, 0))));
+
+        JournalReader reader = new JournalReader(directory);
+        for (int target : new int[] {0, 10, 300, 999}) {
+            reader.seek(LISTING_ID, timestamp(target));
+            List<String> payloads = new ArrayList<>();
+            assertEquals(1000 - target, reader.read(collectInto(payloads)), "Seek to frame " + target);
+            assertEquals("frame-" + target, payloads.get(0));
+        }
+    }
+
+    @Test
+    void testSeekSkipsEarlierSegments() throws Exception {
+        JournalConfig config = config(1 << 12);
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            writeFrames(sink, 0, 1000);
+        }
+        JournalReader reader = new JournalReader(directory);
+
+        reader.seek(LISTING_ID, timestamp(999));
+        assertEquals(JournalFormat.lastSegmentIndex(directory, LISTING_ID), reader.startSegmentIndex());
+
+        reader.seek(LISTING_ID, Long.MIN_VALUE);
+        assertEquals(0, reader.startSegmentIndex());
+    }
+
+    @Test
+    void testSeekPastEndReadsNothing() {
+        try (MappedJournalSink sink = new MappedJournalSink(config(1 << 12), LISTING_ID)) {
+            writeFrames(sink, 0, 100);
+        }
+        JournalReader reader = new JournalReader(directory);
+        reader.seek(LISTING_ID, timestamp(100));
+
+        assertEquals(0, reader.read((listingId, recvTimestamp, payload) -> {}));
+    }
+
+    @Test
+    void testSeekUnknownListingReadsNothing() {
+        JournalReader reader = new JournalReader(directory);
+        reader.seek(LISTING_ID + 1, 0L);
+
+        assertEquals(-1, reader.startSegmentIndex());
+        assertEquals(0, reader.read((listingId, recvTimestamp, payload) -> {}));
+    }
+
+    // ========== Helper Methods ==========
+
+    private JournalConfig config(int segmentSize) {
+        return new JournalConfig.Builder()
+                .withDirectory(directory)
+                .withSegmentSize(segmentSize)
+                .withRollInterval(Duration.ofHours(1))
+                .withPreTouch(false)
+                .withArchiveBlockSize(512)
+                .withIndexInterval(256)
+                .build();
+    }
+
+    private static long timestamp(int frame) {
+        return START + frame * SPACING;
+    }
+
+    private static void writeFrames(MappedJournalSink sink, int from, int to) {
+        for (int i = from; i < to; i++) {
+            capture(sink, timestamp(i), "frame-" + i);
+        }
+    }
+
+    private static void capture(MappedJournalSink sink, long recvTimestamp, String payload) {
+        sink.capture(recvTimestamp, ByteBuffer.wrap(payload.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static JournalSegmentReader.FrameHandler collectInto(List<String> payloads) {
+        return (listingId, recvTimestamp, payload) -> {
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            payloads.add(new String(bytes, StandardCharsets.US_ASCII));
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package group.gnometrading.gateways.inbound.journal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedJournalSinkTest {
+
+    private static final int LISTING_ID = 42;
+
+    @TempDir
+    Path directory;
+
+    private record Frame(int listingId, long recvTimestamp, String payload) {}
+
+    // ========== Capture Tests ==========
+
+    @Test
+    void testCapturedFramesReadBackInOrder() {
+        try (MappedJournalSink sink = new MappedJournalSink(config(1 << 16, Duration.ofHours(1)), LISTING_ID)) {
+            capture(sink, 100L, "{\"a\":1}");
+            capture(sink, 200L, "");
+            capture(sink, 300L, "PONG");
+
+            List<Frame> frames = readAll(sink.segmentPath());
+            assertEquals(
+                    List.of(
+                            new Frame(LISTING_ID, 100L, "{\"a\":1}"),
+                            new Frame(LISTING_ID, 200L, ""),
+                            new Frame(LISTING_ID, 300L, "PONG")),
+                    frames);
+        }
+    }
+
+    @Test
+    void testCaptureDoesNotAdvanceBuffer() {
+        try (MappedJournalSink sink = new MappedJournalSink(config(1 << 16, Duration.ofHours(1)), LISTING_ID)) {
+            ByteBuffer buffer = ByteBuffer.wrap("xxpayload".getBytes(StandardCharsets.US_ASCII));
+            buffer.position(2);
+            sink.capture(1L, buffer);
+
+            assertEquals(2, buffer.position());
+            assertEquals(List.of(new Frame(LISTING_ID, 1L, "payload")), readAll(sink.segmentPath()));
+        }
+    }
+
+    @Test
+    void testRollsWhenSegmentIsFull() throws Exception {
+        int segmentSize = JournalFormat.HEADER_LENGTH + 4 * JournalFormat.align(JournalFormat.FRAME_HEADER_LENGTH + 10);
+        try (MappedJournalSink sink = new MappedJournalSink(config(segmentSize, Duration.ofHours(1)), LISTING_ID)) {
+            for (int i = 0; i < 10; i++) {
+                capture(sink, i + 1, String.format("frame-%04d", i));
+            }
+            assertEquals(2, sink.segmentIndex());
+        }
+
+        List<Frame> frames = new ArrayList<>();
+        for (long index = 0; index <= 2; index++) {
+            Path path = directory.resolve(JournalFormat.segmentFileName(LISTING_ID, index));
+            try (JournalSegmentReader reader = new JournalSegmentReader(path)) {
+                assertTrue(reader.isClosed());
+                assertEquals(index, reader.segmentIndex());
+            }
+            frames.addAll(readAll(path));
+        }
+        assertEquals(10, frames.size());
+        assertEquals("frame-0009", frames.get(9).payload());
+    }
+
+    @Test
+    void testRollsWhenIntervalElapses() {
+        long interval = Duration.ofSeconds(1).toNanos();
+        try (MappedJournalSink sink = new MappedJournalSink(config(1 << 16, Duration.ofSeconds(1)), LISTING_ID)) {
+            capture(sink, 1_000L, "a");
+            capture(sink, 1_000L + interval - 1, "b");
+            assertEquals(0, sink.segmentIndex());
+
+            capture(sink, 1_000L + interval, "c");
+            assertEquals(1, sink.segmentIndex());
+
+            try (JournalSegmentReader reader = new JournalSegmentReader(sink.segmentPath())) {
+                assertEquals(1_000L + interval, reader.firstTimestamp());
+                assertFalse(reader.isClosed());
+            }
+        }
+    }
+
+    @Test
+    void testReopenContinuesAfterLastSegment() {
+        JournalConfig config = config(1 << 16, Duration.ofHours(1));
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            capture(sink, 1L, "first");
+        }
+        try (MappedJournalSink sink = new MappedJournalSink(config, LISTING_ID)) {
+            capture(sink, 2L, "second");
+            assertEquals(1, sink.segmentIndex());
+        }
+        assertEquals(
+                List.of(new Frame(LISTING_ID, 1L, "first")),
+                readAll(directory.resolve(JournalFormat.segmentFileName(LISTING_ID, 0))));
+    }
+
+    @Test
+    void testSegmentsArePreallocated() throws Exception {
+        try (MappedJournalSink sink = new MappedJournalSink(config(1 << 16, Duration.ofHours(1)), LISTING_ID)) {
+            assertEquals(1 << 16, Files.size(sink.segmentPath()));
+        }
+    }
+
+    @Test
+    void testOversizedFrameThrows() {
+        try (MappedJournalSink sink = new MappedJournalSink(config(1 << 10, Duration.ofHours(1)), LISTING_ID)) {
+            assertThrows(IllegalArgumentException.class, () -> sink.capture(1L, ByteBuffer.allocate(1 << 10)));
+        }
+    }
+
+    @Test
+    void testCaptureAfterCloseThrows() {
+        MappedJournalSink sink = new MappedJournalSink(config(1 << 16, Duration.ofHours(1)), LISTING_ID);
+        sink.close();
+
+        assertThrows(IllegalStateException.class, () -> capture(sink, 1L, "late"));
+    }
+
+    // ========== Reader Tests ==========
+
+    @Test
+    void testReaderSeesFramesAsTheyArePublished() {
+        try (MappedJournalSink sink = new MappedJournalSink(config(1 << 16, Duration.ofHours(1)), LISTING_ID)) {
+            capture(sink, 1L, "one");
+            try (JournalSegmentReader reader = new JournalSegmentReader(sink.segmentPath())) {
+                assertEquals(1, reader.read((listingId, recvTimestamp, payload) -> {}));
+                assertEquals(-1, reader.peekTimestamp());
+
+                capture(sink, 2L, "two");
+                assertEquals(2L, reader.peekTimestamp());
+                assertEquals(1, reader.read((listingId, recvTimestamp, payload) -> {}));
+            }
+        }
+    }
+
+    @Test
+    void testInvalidSegmentThrows() throws Exception {
+        Path path = directory.resolve("not-a-journal");
+        Files.write(path, new byte[JournalFormat.HEADER_LENGTH]);
+
+        assertThrows(IllegalArgumentException.class, () -> new JournalSegmentReader(path));
+    }
+
+    // ========== Helper Methods ==========
+
+    private JournalConfig config(int segmentSize, Duration rollInterval) {
+        return new JournalConfig.Builder()
+                .withDirectory(directory)
+                .withSegmentSize(segmentSize)
+                .withRollInterval(rollInterval)
+                .build();
+    }
+
+    private static void capture(MappedJournalSink sink, long recvTimestamp, String payload) {
+        sink.capture(recvTimestamp, ByteBuffer.wrap(payload.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static List<Frame> readAll(Path path) {
+        List<Frame> frames = new ArrayList<>();
+        try (JournalSegmentReader reader = new JournalSegmentReader(path)) {
+            reader.read((listingId, recvTimestamp, payload) -> {
+                byte[] bytes = new byte[payload.remaining()];
+                payload.get(bytes);
+                frames.add(new Frame(listingId, recvTimestamp, new String(bytes, StandardCharsets.US_ASCII)));
+            });
+        }
+        return frames;
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import group.gnometrading.schemas.Mbp10Encoder;
 import group.gnometrading.schemas.Mbp10Schema;
+import group.gnometrading.schemas.Mbp1Schema;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -14,12 +15,12 @@ import org.junit.jupiter.params.provider.ValueSource;
  */
 class MbpBookTest {
 
-    private MbpBook book;
+    private MbpBook<Mbp10Schema> book;
     private Mbp10Schema schema;
 
     @BeforeEach
     void setUp() {
-        book = new MbpBook(10);
+        book = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         schema = new Mbp10Schema();
     }
 
@@ -28,7 +29,7 @@ class MbpBookTest {
     @ParameterizedTest
     @ValueSource(ints = {1, 5, 10, 20, 50})
     void testConstructorWithValidDepth(int depth) {
-        MbpBook testBook = new MbpBook(depth);
+        MbpBook<Mbp10Schema> testBook = new MbpBook<>(depth, Mbp10Levels.INSTANCE);
         assertNotNull(testBook);
         assertNotNull(testBook.asks);
         assertNotNull(testBook.bids);
@@ -235,7 +236,7 @@ class MbpBookTest {
 
     @Test
     void testCopyFromEmptyBook() {
-        MbpBook source = new MbpBook(10);
+        MbpBook<Mbp10Schema> source = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         book.copyFrom(source);
 
         assertEquals(source.sequenceNumber, book.sequenceNumber);
@@ -251,7 +252,7 @@ class MbpBookTest {
 
     @Test
     void testCopyFromPopulatedBook() {
-        MbpBook source = new MbpBook(10);
+        MbpBook<Mbp10Schema> source = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         source.sequenceNumber = 54321L;
         for (int i = 0; i < 10; i++) {
             source.bids[i].price = 3000L + i;
@@ -277,7 +278,7 @@ class MbpBookTest {
 
     @Test
     void testCopyFromDoesNotShareReferences() {
-        MbpBook source = new MbpBook(10);
+        MbpBook<Mbp10Schema> source = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         source.bids[0].price = 1000L;
         source.asks[0].price = 2000L;
 
@@ -296,7 +297,7 @@ class MbpBookTest {
 
     @Test
     void testCompareToWithEqualSequence() {
-        MbpBook other = new MbpBook(10);
+        MbpBook<Mbp10Schema> other = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         book.sequenceNumber = 100L;
         other.sequenceNumber = 100L;
 
@@ -305,7 +306,7 @@ class MbpBookTest {
 
     @Test
     void testCompareToWithLowerSequence() {
-        MbpBook other = new MbpBook(10);
+        MbpBook<Mbp10Schema> other = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         book.sequenceNumber = 50L;
         other.sequenceNumber = 100L;
 
@@ -314,7 +315,7 @@ class MbpBookTest {
 
     @Test
     void testCompareToWithHigherSequence() {
-        MbpBook other = new MbpBook(10);
+        MbpBook<Mbp10Schema> other = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         book.sequenceNumber = 200L;
         other.sequenceNumber = 100L;
 
@@ -323,7 +324,7 @@ class MbpBookTest {
 
     @Test
     void testCompareToWithNullSequences() {
-        MbpBook other = new MbpBook(10);
+        MbpBook<Mbp10Schema> other = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         book.sequenceNumber = Mbp10Encoder.sequenceNullValue();
         other.sequenceNumber = Mbp10Encoder.sequenceNullValue();
 
@@ -332,7 +333,7 @@ class MbpBookTest {
 
     @Test
     void testCompareToWithExtremeValues() {
-        MbpBook other = new MbpBook(10);
+        MbpBook<Mbp10Schema> other = new MbpBook<>(10, Mbp10Levels.INSTANCE);
 
         book.sequenceNumber = Long.MIN_VALUE;
         other.sequenceNumber = Long.MAX_VALUE;
@@ -362,13 +363,13 @@ class MbpBookTest {
 
     @Test
     void testEqualsWithEmptyBooks() {
-        MbpBook other = new MbpBook(10);
+        MbpBook<Mbp10Schema> other = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         assertEquals(book, other);
     }
 
     @Test
     void testEqualsWithIdenticalBooks() {
-        MbpBook other = new MbpBook(10);
+        MbpBook<Mbp10Schema> other = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         book.sequenceNumber = 123L;
         other.sequenceNumber = 123L;
 
@@ -393,7 +394,7 @@ class MbpBookTest {
 
     @Test
     void testEqualsWithDifferentSequence() {
-        MbpBook other = new MbpBook(10);
+        MbpBook<Mbp10Schema> other = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         book.sequenceNumber = 100L;
         other.sequenceNumber = 200L;
 
@@ -402,7 +403,7 @@ class MbpBookTest {
 
     @Test
     void testEqualsWithDifferentBidPrice() {
-        MbpBook other = new MbpBook(10);
+        MbpBook<Mbp10Schema> other = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         book.sequenceNumber = 100L;
         other.sequenceNumber = 100L;
 
@@ -414,7 +415,7 @@ class MbpBookTest {
 
     @Test
     void testEqualsWithDifferentAskSize() {
-        MbpBook other = new MbpBook(10);
+        MbpBook<Mbp10Schema> other = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         book.sequenceNumber = 100L;
         other.sequenceNumber = 100L;
 
@@ -426,7 +427,7 @@ class MbpBookTest {
 
     @Test
     void testEqualsWithDifferentBidCount() {
-        MbpBook other = new MbpBook(10);
+        MbpBook<Mbp10Schema> other = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         book.sequenceNumber = 100L;
         other.sequenceNumber = 100L;
 
@@ -546,7 +547,7 @@ class MbpBookTest {
         book.writeTo(schema);
 
         // Create new book and update from schema
-        MbpBook newBook = new MbpBook(10);
+        MbpBook<Mbp10Schema> newBook = new MbpBook<>(10, Mbp10Levels.INSTANCE);
         schema.encoder.sequence(777L);
         newBook.updateFrom(schema);
 
@@ -590,6 +591,57 @@ class MbpBookTest {
         }
     }
 
+    // ========== Depth Tests ==========
+
+    @Test
+    void testWriteToShallowBookNullsMissingLevels() {
+        MbpBook<Mbp10Schema> shallow = new MbpBook<>(3, Mbp10Levels.INSTANCE);
+        for (int i = 0; i < 3; i++) {
+            shallow.bids[i].update(1000L - i, 10L + i, 1L);
+            shallow.asks[i].update(1001L + i, 20L + i, 1L);
+        }
+        shallow.writeTo(schema);
+
+        assertEquals(998L, getBidPrice(schema, 2));
+        assertEquals(1003L, getAskPrice(schema, 2));
+        for (int i = 3; i < 10; i++) {
+            assertEquals(Mbp10Encoder.bidPrice0NullValue(), getBidPrice(schema, i));
+            assertEquals(Mbp10Encoder.askPrice0NullValue(), getAskPrice(schema, i));
+        }
+    }
+
+    @Test
+    void testWriteToDeepBookPublishesTopLevels() {
+        MbpBook<Mbp10Schema> deep = new MbpBook<>(20, Mbp10Levels.INSTANCE);
+        for (int i = 0; i < 20; i++) {
+            deep.bids[i].update(1000L - i, 10L, 1L);
+        }
+        deep.writeTo(schema);
+        assertEquals(1000L, getBidPrice(schema, 0));
+        assertEquals(991L, getBidPrice(schema, 9));
+
+        MbpBook<Mbp10Schema> copy = new MbpBook<>(20, Mbp10Levels.INSTANCE);
+        copy.updateFrom(schema);
+        assertEquals(991L, copy.bids[9].price);
+        assertEquals(Mbp10Encoder.askPrice0NullValue(), copy.bids[10].price);
+    }
+
+    @Test
+    void testMbp1BookWritesTopOfBook() {
+        Mbp1Book top = new Mbp1Book();
+        top.bids[0].update(1000L, 10L, 2L);
+        top.asks[0].update(1001L, 20L, 3L);
+        Mbp1Schema mbp1 = new Mbp1Schema();
+        top.writeTo(mbp1);
+
+        assertEquals(1000L, mbp1.decoder.bidPrice0());
+        assertEquals(10L, mbp1.decoder.bidSize0());
+        assertEquals(2L, mbp1.decoder.bidCount0());
+        assertEquals(1001L, mbp1.decoder.askPrice0());
+        assertEquals(20L, mbp1.decoder.askSize0());
+        assertEquals(3L, mbp1.decoder.askCount0());
+    }
+
     // ========== Helper Methods ==========
 
     private void populateSchema(Mbp10Schema schema) {
@@ -2,6 +2,7 @@ package group.gnometrading.gateways.inbound.mbp.buffer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import group.gnometrading.gateways.inbound.mbp.Mbp10Levels;
 import group.gnometrading.schemas.Mbp10Encoder;
 import group.gnometrading.schemas.Mbp10Schema;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,14 +24,14 @@ import org.junit.jupiter.params.provider.ValueSource;
  */
 class MbpBufferSideTest {
 
-    private MbpBufferSide bidSide;
-    private MbpBufferSide askSide;
+    private MbpBufferSide<Mbp10Schema> bidSide;
+    private MbpBufferSide<Mbp10Schema> askSide;
     private Mbp10Schema schema;
 
     @BeforeEach
     void setUp() {
-        bidSide = new MbpBufferSide(10, true);
-        askSide = new MbpBufferSide(10, false);
+        bidSide = new MbpBufferSide<>(10, true, Mbp10Levels.INSTANCE);
+        askSide = new MbpBufferSide<>(10, false, Mbp10Levels.INSTANCE);
         schema = new Mbp10Schema();
     }
 
@@ -39,14 +40,14 @@ class MbpBufferSideTest {
     @ParameterizedTest
     @ValueSource(ints = {1, 5, 10, 20, 50, 100})
     void testConstructorWithValidMaxLevels(int maxLevels) {
-        MbpBufferSide side = new MbpBufferSide(maxLevels, true);
+        MbpBufferSide<Mbp10Schema> side = new MbpBufferSide<>(maxLevels, true, Mbp10Levels.INSTANCE);
         assertNotNull(side);
     }
 
     @Test
     void testConstructorWithZeroMaxLevelsThrowsException() {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-            new MbpBufferSide(0, true);
+            new MbpBufferSide<>(0, true, Mbp10Levels.INSTANCE);
         });
         assertTrue(exception.getMessage().contains("Invalid max levels"));
     }
@@ -54,7 +55,7 @@ class MbpBufferSideTest {
     @Test
     void testConstructorWithNegativeMaxLevelsThrowsException() {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-            new MbpBufferSide(-1, true);
+            new MbpBufferSide<>(-1, true, Mbp10Levels.INSTANCE);
         });
         assertTrue(exception.getMessage().contains("Invalid max levels"));
     }
@@ -254,7 +255,7 @@ class MbpBufferSideTest {
 
     @Test
     void testMaxLevelsWithSingleLevel() {
-        MbpBufferSide side = new MbpBufferSide(1, true);
+        MbpBufferSide<Mbp10Schema> side = new MbpBufferSide<>(1, true, Mbp10Levels.INSTANCE);
         side.update(10000L, 100L, 1L);
         side.update(10100L, 200L, 2L); // Should replace the only level
     }
@@ -477,7 +478,7 @@ class MbpBufferSideTest {
 
     @Test
     void testReturnValueWithSingleLevelBook() {
-        MbpBufferSide side = new MbpBufferSide(1, true);
+        MbpBufferSide<Mbp10Schema> side = new MbpBufferSide<>(1, true, Mbp10Levels.INSTANCE);
         assertEquals(0, side.update(10000L, 100L, 1L)); // First insert
         assertEquals(0, side.update(10000L, 200L, 2L)); // Update same
         assertEquals(0, side.update(10100L, 300L, 3L)); // Replace with higher priority
@@ -655,7 +656,7 @@ class MbpBufferSideTest {
 
         bidSide.writeTo(schema);
 
-        MbpBufferSide newSide = new MbpBufferSide(10, true);
+        MbpBufferSide<Mbp10Schema> newSide = new MbpBufferSide<>(10, true, Mbp10Levels.INSTANCE);
         newSide.updateFrom(schema);
 
         Mbp10Schema schema2 = new Mbp10Schema();
@@ -667,7 +668,7 @@ class MbpBufferSideTest {
 
     @Test
     void testCountFieldInCopyFrom() {
-        MbpBufferSide source = new MbpBufferSide(10, true);
+        MbpBufferSide<Mbp10Schema> source = new MbpBufferSide<>(10, true, Mbp10Levels.INSTANCE);
         source.update(10000L, 100L, 25L);
         source.update(9900L, 200L, 50L);
 
@@ -884,13 +885,13 @@ class MbpBufferSideTest {
 
     @Test
     void testCopyFromEmptyBook() {
-        MbpBufferSide source = new MbpBufferSide(10, true);
+        MbpBufferSide<Mbp10Schema> source = new MbpBufferSide<>(10, true, Mbp10Levels.INSTANCE);
         bidSide.copyFrom(source);
     }
 
     @Test
     void testCopyFromPopulatedBook() {
-        MbpBufferSide source = new MbpBufferSide(10, true);
+        MbpBufferSide<Mbp10Schema> source = new MbpBufferSide<>(10, true, Mbp10Levels.INSTANCE);
         source.update(10000L, 100L, 1L);
         source.update(9900L, 200L, 2L);
         source.update(9800L, 300L, 3L);
@@ -912,7 +913,7 @@ class MbpBufferSideTest {
 
     @Test
     void testCopyFromDoesNotShareReferences() {
-        MbpBufferSide source = new MbpBufferSide(10, true);
+        MbpBufferSide<Mbp10Schema> source = new MbpBufferSide<>(10, true, Mbp10Levels.INSTANCE);
         source.update(10000L, 100L, 1L);
 
         bidSide.copyFrom(source);
@@ -931,7 +932,7 @@ class MbpBufferSideTest {
         bidSide.update(10000L, 100L, 1L);
         bidSide.update(9900L, 200L, 2L);
 
-        MbpBufferSide source = new MbpBufferSide(10, true);
+        MbpBufferSide<Mbp10Schema> source = new MbpBufferSide<>(10, true, Mbp10Levels.INSTANCE);
         source.update(8000L, 999L, 99L);
 
         bidSide.copyFrom(source);
@@ -995,7 +996,7 @@ class MbpBufferSideTest {
         bidSide.writeTo(schema);
 
         // Create new side and update from schema
-        MbpBufferSide newSide = new MbpBufferSide(10, true);
+        MbpBufferSide<Mbp10Schema> newSide = new MbpBufferSide<>(10, true, Mbp10Levels.INSTANCE);
         newSide.updateFrom(schema);
 
         // Verify they match
@@ -1376,4 +1377,108 @@ class MbpBufferSideTest {
                 throw new IllegalArgumentException("Invalid level: " + level);
         }
     }
+
+    // ========== Dirty Level Tracking Tests ==========
+
+    @Test
+    void testWriteToSameSchemaSkipsCleanLevels() {
+        for (int i = 0; i < 10; i++) {
+            bidSide.update(10000L - i * 100L, 100L, 1L);
+        }
+        bidSide.writeTo(schema);
+
+        // Scribble over a clean level; a skipped level keeps the scribble
+        schema.encoder.bidSize2(999L);
+        assertEquals(7, bidSide.update(10000L - 700L, 700L, 7L));
+        bidSide.writeTo(schema);
+
+        assertEquals(999L, schema.decoder.bidSize2());
+        assertEquals(700L, schema.decoder.bidSize7());
+        assertEquals(7L, schema.decoder.bidCount7());
+    }
+
+    @Test
+    void testWriteToSameSchemaReencodesShiftedLevels() {
+        askSide.update(10000L, 100L, 1L);
+        askSide.update(10100L, 200L, 1L);
+        askSide.update(10200L, 300L, 1L);
+        askSide.writeTo(schema);
+
+        assertEquals(1, askSide.update(10100L, 0L, 0L));
+        askSide.writeTo(schema);
+        assertEquals(10000L, schema.decoder.askPrice0());
+        assertEquals(10200L, schema.decoder.askPrice1());
+        assertEquals(Mbp10Encoder.askPrice2NullValue(), schema.decoder.askPrice2());
+
+        assertEquals(1, askSide.update(10050L, 50L, 1L));
+        askSide.writeTo(schema);
+        assertEquals(10050L, schema.decoder.askPrice1());
+        assertEquals(10200L, schema.decoder.askPrice2());
+    }
+
+    @Test
+    void testWriteToDifferentSchemaWritesAllLevels() {
+        bidSide.update(10000L, 100L, 1L);
+        bidSide.update(9900L, 200L, 1L);
+        bidSide.writeTo(schema);
+
+        Mbp10Schema other = new Mbp10Schema();
+        other.encoder.bidSize0(999L);
+        bidSide.writeTo(other);
+        assertEquals(100L, other.decoder.bidSize0());
+        assertEquals(200L, other.decoder.bidSize1());
+    }
+
+    @Test
+    void testReclaimedSlotOnlyReencodesLevelsChangedSinceItsWrite() {
+        Mbp10Schema[] ring = {new Mbp10Schema(), new Mbp10Schema()};
+        for (int i = 0; i < 10; i++) {
+            bidSide.update(10000L - i * 100L, 100L, 1L);
+        }
+        bidSide.writeTo(ring[0]);
+        assertEquals(5, bidSide.update(10000L - 500L, 500L, 5L));
+        bidSide.writeTo(ring[1]);
+        assertEquals(8, bidSide.update(10000L - 800L, 800L, 8L));
+
+        // Slot 0 missed the changes at levels 5 and 8; levels above 5 keep the scribble
+        ring[0].encoder.bidSize2(999L);
+        ring[0].encoder.bidSize6(999L);
+        bidSide.writeTo(ring[0]);
+        assertEquals(999L, ring[0].decoder.bidSize2());
+        assertEquals(500L, ring[0].decoder.bidSize5());
+        assertEquals(100L, ring[0].decoder.bidSize6());
+        assertEquals(800L, ring[0].decoder.bidSize8());
+
+        // Slot 1 only missed the change at level 8
+        ring[1].encoder.bidSize6(999L);
+        bidSide.writeTo(ring[1]);
+        assertEquals(999L, ring[1].decoder.bidSize6());
+        assertEquals(800L, ring[1].decoder.bidSize8());
+    }
+
+    @Test
+    void testInvalidateImageWritesAllLevels() {
+        bidSide.update(10000L, 100L, 1L);
+        bidSide.writeTo(schema);
+
+        schema.encoder.bidSize0(999L);
+        bidSide.invalidateImage(schema);
+        bidSide.writeTo(schema);
+        assertEquals(100L, schema.decoder.bidSize0());
+    }
+
+    @Test
+    void testCopyFromAndResetInvalidateImage() {
+        MbpBufferSide<Mbp10Schema> other = new MbpBufferSide<>(10, true, Mbp10Levels.INSTANCE);
+        other.update(10000L, 100L, 1L);
+        bidSide.writeTo(schema);
+
+        bidSide.copyFrom(other);
+        bidSide.writeTo(schema);
+        assertEquals(10000L, schema.decoder.bidPrice0());
+
+        bidSide.reset();
+        bidSide.writeTo(schema);
+        assertEquals(Mbp10Encoder.bidPrice0NullValue(), schema.decoder.bidPrice0());
+    }
 }
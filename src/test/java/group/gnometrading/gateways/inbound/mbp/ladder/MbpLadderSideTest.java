@@ -0,0 +1,240 @@
+package group.gnometrading.gateways.inbound.mbp.ladder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import group.gnometrading.gateways.inbound.mbp.Mbp10Levels;
+import group.gnometrading.schemas.Mbp10Encoder;
+import group.gnometrading.schemas.Mbp10Schema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test suite for MbpLadderSide covering:
+ * - Constructor validation
+ * - Depth reporting for inserts, modifies and removes, including across bitmap words
+ * - Prices outside the ladder or off the tick grid
+ * - Schema integration (updateFrom/writeTo)
+ * - Copy and reset
+ */
+class MbpLadderSideTest {
+
+    private static final long MIN_PRICE = 1_000L;
+    private static final long TICK = 10L;
+    private static final int TICKS = 200;
+
+    private MbpLadderSide<Mbp10Schema> bidSide;
+    private MbpLadderSide<Mbp10Schema> askSide;
+    private Mbp10Schema schema;
+
+    @BeforeEach
+    void setUp() {
+        bidSide = new MbpLadderSide<>(MIN_PRICE, TICK, TICKS, true, Mbp10Levels.INSTANCE);
+        askSide = new MbpLadderSide<>(MIN_PRICE, TICK, TICKS, false, Mbp10Levels.INSTANCE);
+        schema = new Mbp10Schema();
+    }
+
+    private static long price(int tick) {
+        return MIN_PRICE + tick * TICK;
+    }
+
+    // ========== Constructor Tests ==========
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 63, 64, 65, 1001})
+    void testConstructorWithValidTicks(int ticks) {
+        assertNotNull(new MbpLadderSide<>(0L, 1L, ticks, true, Mbp10Levels.INSTANCE));
+    }
+
+    @Test
+    void testConstructorWithZeroTicksThrowsException() {
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> new MbpLadderSide<>(
+                        0L, 1L, 0, true, Mbp10Levels.INSTANCE));
+        assertTrue(exception.getMessage().contains("Invalid ticks"));
+    }
+
+    @Test
+    void testConstructorWithZeroTickSizeThrowsException() {
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> new MbpLadderSide<>(
+                        0L, 0L, 10, true, Mbp10Levels.INSTANCE));
+        assertTrue(exception.getMessage().contains("Invalid tick size"));
+    }
+
+    // ========== Update Tests ==========
+
+    @Test
+    void testFirstInsertIsDepthZero() {
+        assertEquals(0, bidSide.update(price(50), 100L, 1L));
+        assertEquals(0, askSide.update(price(50), 100L, 1L));
+    }
+
+    @Test
+    void testBidDepthsDescending() {
+        assertEquals(0, bidSide.update(price(50), 100L, 1L));
+        assertEquals(0, bidSide.update(price(60), 100L, 1L));
+        assertEquals(2, bidSide.update(price(40), 100L, 1L));
+        assertEquals(1, bidSide.update(price(55), 100L, 1L));
+        assertEquals(1, bidSide.update(price(55), 200L, 2L), "Modify should report the existing depth");
+    }
+
+    @Test
+    void testAskDepthsAscending() {
+        assertEquals(0, askSide.update(price(50), 100L, 1L));
+        assertEquals(0, askSide.update(price(40), 100L, 1L));
+        assertEquals(2, askSide.update(price(60), 100L, 1L));
+        assertEquals(1, askSide.update(price(45), 100L, 1L));
+        assertEquals(1, askSide.update(price(45), 200L, 2L), "Modify should report the existing depth");
+    }
+
+    @Test
+    void testDepthAcrossBitmapWords() {
+        for (int tick = 0; tick < TICKS; tick += 3) {
+            bidSide.update(price(tick), 100L, 1L);
+            askSide.update(price(tick), 100L, 1L);
+        }
+        // Ticks 0, 3, ..., 198: 67 levels
+        assertEquals(66, bidSide.update(price(0), 1L, 1L));
+        assertEquals(0, bidSide.update(price(198), 1L, 1L));
+        assertEquals(33, bidSide.update(price(99), 1L, 1L));
+        assertEquals(0, askSide.update(price(0), 1L, 1L));
+        assertEquals(66, askSide.update(price(198), 1L, 1L));
+        assertEquals(22, askSide.update(price(66), 1L, 1L));
+    }
+
+    @Test
+    void testRemoveBestPromotesNextLevel() {
+        bidSide.update(price(10), 100L, 1L);
+        bidSide.update(price(130), 200L, 2L);
+        assertEquals(0, bidSide.update(price(130), 0L, 0L));
+        bidSide.writeTo(schema);
+        assertEquals(price(10), schema.decoder.bidPrice0());
+        assertEquals(100L, schema.decoder.bidSize0());
+
+        askSide.update(price(10), 100L, 1L);
+        askSide.update(price(130), 200L, 2L);
+        assertEquals(0, askSide.update(price(10), 0L, 0L));
+        askSide.writeTo(schema);
+        assertEquals(price(130), schema.decoder.askPrice0());
+        assertEquals(200L, schema.decoder.askSize0());
+    }
+
+    @Test
+    void testRemoveMissingLevelIsNoop() {
+        bidSide.update(price(10), 100L, 1L);
+        assertEquals(0, bidSide.update(price(20), 0L, 0L));
+        bidSide.writeTo(schema);
+        assertEquals(price(10), schema.decoder.bidPrice0());
+        assertEquals(Mbp10Encoder.bidPrice1NullValue(), schema.decoder.bidPrice1());
+    }
+
+    @Test
+    void testRemoveLastLevelEmptiesSide() {
+        askSide.update(price(10), 100L, 1L);
+        askSide.update(price(10), 0L, 0L);
+        askSide.writeTo(schema);
+        assertEquals(Mbp10Encoder.askPrice0NullValue(), schema.decoder.askPrice0());
+        assertEquals(0, askSide.update(price(100), 100L, 1L));
+    }
+
+    @Test
+    void testPricesOutsideLadderAreIgnored() {
+        assertEquals(MbpLadderSide.OUT_OF_LADDER, bidSide.update(MIN_PRICE - TICK, 100L, 1L));
+        assertEquals(MbpLadderSide.OUT_OF_LADDER, bidSide.update(price(TICKS), 100L, 1L));
+        assertEquals(MbpLadderSide.OUT_OF_LADDER, bidSide.update(price(5) + 1, 100L, 1L));
+        bidSide.writeTo(schema);
+        assertEquals(Mbp10Encoder.bidPrice0NullValue(), schema.decoder.bidPrice0());
+    }
+
+    // ========== Schema Integration Tests ==========
+
+    @Test
+    void testWriteToFillsTopTenAndNullsTheRest() {
+        for (int tick = 0; tick < 5; tick++) {
+            bidSide.update(price(tick * 20), 100L + tick, tick + 1L);
+        }
+        bidSide.writeTo(schema);
+        assertEquals(price(80), schema.decoder.bidPrice0());
+        assertEquals(104L, schema.decoder.bidSize0());
+        assertEquals(5L, schema.decoder.bidCount0());
+        assertEquals(price(0), schema.decoder.bidPrice4());
+        assertEquals(Mbp10Encoder.bidPrice5NullValue(), schema.decoder.bidPrice5());
+        assertEquals(Mbp10Encoder.bidSize9NullValue(), schema.decoder.bidSize9());
+    }
+
+    @Test
+    void testWriteToTruncatesAtTenLevels() {
+        for (int tick = 0; tick < 30; tick++) {
+            askSide.update(price(tick * 5), 100L, 1L);
+        }
+        askSide.writeTo(schema);
+        assertEquals(price(0), schema.decoder.askPrice0());
+        assertEquals(price(45), schema.decoder.askPrice9());
+    }
+
+    @Test
+    void testUpdateFromRoundTrips() {
+        for (int tick = 0; tick < 12; tick++) {
+            bidSide.update(price(tick * 7), 100L + tick, 1L);
+        }
+        bidSide.writeTo(schema);
+
+        MbpLadderSide<Mbp10Schema> other = new MbpLadderSide<>(MIN_PRICE, TICK, TICKS, true, Mbp10Levels.INSTANCE);
+        other.updateFrom(schema);
+        Mbp10Schema copy = new Mbp10Schema();
+        other.writeTo(copy);
+        assertEquals(schema.decoder.bidPrice0(), copy.decoder.bidPrice0());
+        assertEquals(schema.decoder.bidSize0(), copy.decoder.bidSize0());
+        assertEquals(schema.decoder.bidPrice9(), copy.decoder.bidPrice9());
+        assertEquals(schema.decoder.bidSize9(), copy.decoder.bidSize9());
+    }
+
+    // ========== Copy and Reset Tests ==========
+
+    @Test
+    void testCopyFromIsIndependent() {
+        askSide.update(price(10), 100L, 1L);
+        askSide.update(price(20), 200L, 2L);
+
+        MbpLadderSide<Mbp10Schema> other = new MbpLadderSide<>(MIN_PRICE, TICK, TICKS, false, Mbp10Levels.INSTANCE);
+        other.copyFrom(askSide);
+        askSide.update(price(10), 0L, 0L);
+
+        other.writeTo(schema);
+        assertEquals(price(10), schema.decoder.askPrice0());
+        assertEquals(price(20), schema.decoder.askPrice1());
+        assertEquals(1, other.update(price(20), 300L, 3L));
+    }
+
+    @Test
+    void testCopyFromReplacesEveryLevelAcrossBitmapWords() {
+        MbpLadderSide<Mbp10Schema> other = new MbpLadderSide<>(MIN_PRICE, TICK, TICKS, true, Mbp10Levels.INSTANCE);
+        other.update(price(190), 900L, 9L);
+        other.update(price(5), 500L, 5L);
+        bidSide.update(price(70), 700L, 7L);
+        bidSide.update(price(130), 300L, 3L);
+
+        other.copyFrom(bidSide);
+
+        other.writeTo(schema);
+        assertEquals(price(130), schema.decoder.bidPrice0());
+        assertEquals(300L, schema.decoder.bidSize0());
+        assertEquals(3L, schema.decoder.bidCount0());
+        assertEquals(price(70), schema.decoder.bidPrice1());
+        assertEquals(700L, schema.decoder.bidSize1());
+        assertEquals(7L, schema.decoder.bidCount1());
+        assertEquals(Mbp10Encoder.bidPrice2NullValue(), schema.decoder.bidPrice2());
+    }
+
+    @Test
+    void testResetClearsSide() {
+        bidSide.update(price(10), 100L, 1L);
+        bidSide.update(price(20), 100L, 1L);
+        bidSide.reset();
+        bidSide.writeTo(schema);
+        assertEquals(Mbp10Encoder.bidPrice0NullValue(), schema.decoder.bidPrice0());
+        assertEquals(0, bidSide.update(price(5), 100L, 1L));
+    }
+}